@@ -4,5 +4,6 @@ public enum DataSourceType {
         ORACLE,
         MYSQL,
         POSTGRESQL,
-        MONGO
+        MONGO,
+        REDIS
     }
\ No newline at end of file
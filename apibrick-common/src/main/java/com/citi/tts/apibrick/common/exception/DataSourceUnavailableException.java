@@ -0,0 +1,29 @@
+package com.citi.tts.apibrick.common.exception;
+
+/**
+ * Exception thrown when a query is rejected without reaching the data source,
+ * because its circuit breaker is open, its concurrency limit (bulkhead) is reached
+ * or its tenant waited too long for its share of a shared connection pool
+ */
+public class DataSourceUnavailableException extends RuntimeException {
+
+    private final String datasourceId;
+    private final String reason;
+
+    public DataSourceUnavailableException(String datasourceId, String reason, String message) {
+        super(message);
+        this.datasourceId = datasourceId;
+        this.reason = reason;
+    }
+
+    public String getDatasourceId() {
+        return datasourceId;
+    }
+
+    /**
+     * Rejection reason: CIRCUIT_OPEN, BULKHEAD_FULL or POOL_SHARE_EXHAUSTED
+     */
+    public String getReason() {
+        return reason;
+    }
+}
@@ -0,0 +1,16 @@
+package com.citi.tts.apibrick.common.exception;
+
+/**
+ * Exception thrown when a query result exceeds its configured row or byte limit
+ * and the query is configured to fail instead of truncating
+ */
+public class QueryLimitExceededException extends RuntimeException {
+
+    public QueryLimitExceededException(String message) {
+        super(message);
+    }
+
+    public QueryLimitExceededException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
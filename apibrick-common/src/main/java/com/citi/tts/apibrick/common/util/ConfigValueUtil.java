@@ -0,0 +1,50 @@
+package com.citi.tts.apibrick.common.util;
+
+/**
+ * Config Value Utility - Reads typed options from step and data source configuration maps
+ * Values arrive either as JSON numbers/booleans or as strings (e.g. resolved placeholders)
+ */
+public class ConfigValueUtil {
+
+    /**
+     * Read a numeric option
+     *
+     * @param value        Raw option value (Number, numeric String or null)
+     * @param defaultValue Value used when the option is absent or blank
+     * @return Option value
+     * @throws NumberFormatException if the value is a non-numeric string
+     */
+    public static long toLong(Object value, long defaultValue) {
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        if (value instanceof String text && !text.isBlank()) {
+            return Long.parseLong(text.trim());
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Read an int option, see {@link #toLong(Object, long)}
+     */
+    public static int toInt(Object value, int defaultValue) {
+        return Math.toIntExact(toLong(value, defaultValue));
+    }
+
+    /**
+     * Read a boolean option
+     *
+     * @param value        Raw option value (Boolean, "true"/"false" or null)
+     * @param defaultValue Value used when the option is absent
+     * @return Option value
+     */
+    public static boolean toBoolean(Object value, boolean defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        return Boolean.parseBoolean(String.valueOf(value).trim());
+    }
+
+    private ConfigValueUtil() {
+    }
+}
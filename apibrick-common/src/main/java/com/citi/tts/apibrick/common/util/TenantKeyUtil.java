@@ -0,0 +1,45 @@
+package com.citi.tts.apibrick.common.util;
+
+/**
+ * Tenant Key Utility - Builds tenant-isolated cache keys
+ * Shared by the service layer (TenantDataIsolation) and the core engine (query cache, Redis data source)
+ */
+public class TenantKeyUtil {
+
+    private static final char SEPARATOR = ':';
+
+    /**
+     * Prefix Redis key with tenant ID
+     * Format: {tenantId}:{key}
+     *
+     * @param key Original key
+     * @param tenantId Tenant ID
+     * @return Prefixed key
+     */
+    public static String prefixRedisKey(String key, String tenantId) {
+        if (key == null || key.isEmpty()) {
+            throw new IllegalArgumentException("Redis key cannot be null or empty");
+        }
+        if (tenantId == null || tenantId.isEmpty()) {
+            throw new IllegalArgumentException("Tenant ID cannot be null or empty");
+        }
+        return tenantId + SEPARATOR + key;
+    }
+
+    /**
+     * Extract tenant ID from prefixed Redis key
+     *
+     * @param prefixedKey Prefixed key (format: {tenantId}:{key})
+     * @return Tenant ID or null if key is not properly formatted
+     */
+    public static String extractTenantFromKey(String prefixedKey) {
+        if (prefixedKey == null || prefixedKey.indexOf(SEPARATOR) < 0) {
+            return null;
+        }
+        return prefixedKey.substring(0, prefixedKey.indexOf(SEPARATOR));
+    }
+
+    private TenantKeyUtil() {
+        // Utility class
+    }
+}
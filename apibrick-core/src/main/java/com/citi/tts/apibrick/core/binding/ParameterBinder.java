@@ -0,0 +1,115 @@
+package com.citi.tts.apibrick.core.binding;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parameter Binder - Replaces ${name} placeholders in a query template
+ * <p>
+ * Maps and lists are copied recursively. A string that consists of a single placeholder
+ * is replaced by the resolved value with its type kept (number, list, ...); placeholders
+ * embedded in a longer string are replaced by the value's text. Unresolved placeholders
+ * bind to null.
+ * <p>
+ * bindValues additionally keeps request values from adding structure (documents, operators) to
+ * the template, for query languages where structure is code (Mongo, Redis).
+ * <p>
+ * Example: {"$match": {"status": "${status}", "amount": {"$gte": "${minAmount}"}}}
+ */
+public final class ParameterBinder {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\$\\{([^}]+)}");
+
+    private ParameterBinder() {
+    }
+
+    /**
+     * Bind placeholders in a template
+     *
+     * @param template Template (Map, List, String or scalar)
+     * @param resolver Resolves a placeholder name to its value
+     * @return Bound copy of the template
+     */
+    public static Object bind(Object template, Function<String, Object> resolver) {
+        return bind(template, resolver, false);
+    }
+
+    /**
+     * Bind placeholders in a query document whose structure must not come from request values
+     * (Mongo pipelines, Redis keys and commands)
+     * <p>
+     * A whole-value placeholder must resolve to null, a scalar or a list of scalars, and no bound
+     * string may introduce a leading "$": a request value such as {"$ne": null} or "$where"
+     * would otherwise be read as a query operator or field reference.
+     *
+     * @param template Template (Map, List, String or scalar)
+     * @param resolver Resolves a placeholder name to its value
+     * @return Bound copy of the template
+     * @throws IllegalArgumentException if a placeholder resolves to a map or an operator
+     */
+    public static Object bindValues(Object template, Function<String, Object> resolver) {
+        return bind(template, resolver, true);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object bind(Object template, Function<String, Object> resolver, boolean valuesOnly) {
+        if (template instanceof Map<?, ?> map) {
+            Map<String, Object> bound = new LinkedHashMap<>();
+            ((Map<String, Object>) map).forEach((key, value) -> bound.put(key, bind(value, resolver, valuesOnly)));
+            return bound;
+        }
+        if (template instanceof List<?> list) {
+            List<Object> bound = new ArrayList<>(list.size());
+            for (Object item : list) {
+                bound.add(bind(item, resolver, valuesOnly));
+            }
+            return bound;
+        }
+        if (template instanceof String text && text.contains("${")) {
+            Matcher matcher = PLACEHOLDER.matcher(text);
+            if (matcher.matches()) {
+                String name = matcher.group(1).trim();
+                Object value = resolver.apply(name);
+                if (valuesOnly) {
+                    checkValue(name, value, true);
+                }
+                return value;
+            }
+            StringBuilder bound = new StringBuilder();
+            while (matcher.find()) {
+                Object value = resolver.apply(matcher.group(1).trim());
+                matcher.appendReplacement(bound, Matcher.quoteReplacement(String.valueOf(value)));
+            }
+            matcher.appendTail(bound);
+            // A "$" written in the template (e.g. a field reference) is fine, one from a value is not
+            if (valuesOnly && (!text.startsWith("$") || text.startsWith("${"))) {
+                checkValue(text, bound.toString(), false);
+            }
+            return bound.toString();
+        }
+        return template;
+    }
+
+    private static void checkValue(String name, Object value, boolean allowList) {
+        if (value instanceof Map) {
+            throw new IllegalArgumentException("Parameter " + name + " must be a value, not a document");
+        }
+        if (value instanceof Collection<?> items) {
+            if (!allowList) {
+                throw new IllegalArgumentException("Parameter " + name + " must be a value, not a list");
+            }
+            for (Object item : items) {
+                checkValue(name, item, false);
+            }
+        }
+        if (value instanceof CharSequence text && text.toString().startsWith("$")) {
+            throw new IllegalArgumentException("Parameter " + name + " must not start with '$'");
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.citi.tts.apibrick.core.binding;
+
+import com.citi.tts.apibrick.core.workflow.engine.StepContext;
+
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Step Bindings - Resolves ${name} placeholders of a step configuration against the step context
+ * <p>
+ * A name resolves to the request parameter of that name first, then to the context variable.
+ * Dotted names navigate into maps, e.g. "customer.id" or "lookup.output.data".
+ * Used with ParameterBinder by the steps that bind request values into their configuration
+ * (DATASOURCE_QUERY, DATASOURCE_WRITE, HTTP_CALL, KAFKA_SEND).
+ */
+public final class StepBindings {
+
+    private StepBindings() {
+    }
+
+    /**
+     * Resolver for ParameterBinder over a step context
+     *
+     * @param context Step context
+     * @return Function resolving a placeholder name to its value (null if unresolved)
+     */
+    public static Function<String, Object> resolver(StepContext context) {
+        return name -> resolve(name, context);
+    }
+
+    /**
+     * Resolve a placeholder name: request parameter first, then context variable
+     *
+     * @param name    Placeholder name, optionally dotted
+     * @param context Step context
+     * @return Resolved value, or null
+     */
+    @SuppressWarnings("unchecked")
+    public static Object resolve(String name, StepContext context) {
+        if (context.getRequestParams().containsKey(name)) {
+            return context.getRequestParam(name);
+        }
+        // Longest context key that prefixes the name ("stepId.output" keys contain a dot)
+        for (int end = name.length(); end > 0; end = name.lastIndexOf('.', end - 1)) {
+            String prefix = name.substring(0, end);
+            Object value = context.getRequestParams().containsKey(prefix)
+                    ? context.getRequestParam(prefix)
+                    : context.get(prefix);
+            if (value != null) {
+                for (String part : end < name.length() ? name.substring(end + 1).split("\\.") : new String[0]) {
+                    if (!(value instanceof Map)) {
+                        return null;
+                    }
+                    value = ((Map<String, Object>) value).get(part);
+                }
+                return value;
+            }
+        }
+        return null;
+    }
+}
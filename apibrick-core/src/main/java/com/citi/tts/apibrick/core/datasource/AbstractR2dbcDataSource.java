@@ -0,0 +1,753 @@
+package com.citi.tts.apibrick.core.datasource;
+
+import com.citi.tts.apibrick.common.util.ConfigValueUtil;
+import com.citi.tts.apibrick.core.datasource.batch.LookupBatchOptions;
+import com.citi.tts.apibrick.core.datasource.batch.LookupBatcher;
+import com.citi.tts.apibrick.core.datasource.pool.PoolSharingOptions;
+import com.citi.tts.apibrick.core.datasource.pool.SharedPool;
+import com.citi.tts.apibrick.core.datasource.pool.SharedPoolRegistry;
+import com.citi.tts.apibrick.core.datasource.pool.TenantShare;
+import com.citi.tts.apibrick.core.datasource.result.ColumnarResultSet;
+import com.citi.tts.apibrick.core.datasource.write.BatchWriter;
+import com.citi.tts.apibrick.core.datasource.write.WriteBehindBuffer;
+import com.citi.tts.apibrick.core.datasource.write.WriteRequest;
+import com.citi.tts.apibrick.core.datasource.write.WriteStatementValidator;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.Batch;
+import io.r2dbc.spi.ColumnMetadata;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.R2dbcBadGrammarException;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Statement;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Abstract R2DBC Data Source - Query execution shared by the relational data sources
+ * <p>
+ * Subclasses build the driver connection factory in init() and hand it to initPool();
+ * this class provides:
+ * - Connection pooling (r2dbc-pool), sized from the "pool" section of the data source config,
+ *   shared with other tenants on the same physical connection with a fair share per tenant
+ *   (see SharedPoolRegistry, PoolSharingOptions)
+ * - Bounded, streaming query execution with per-column converters (see QueryLimits, R2dbcRowMapper)
+ * - Columnar collection of multi-row results (see ColumnarResultSet)
+ * - Select lists narrowed to the columns of the fieldMapping (see ProjectionPushdown)
+ * - Keyset pagination with opaque cursors (see KeysetPagination)
+ * - Several queries on one connection, pipelined or as one compound request (see MultiQuery)
+ * - Batched single-key lookups (see LookupBatcher)
+ * - Batched parameterized writes to allowlisted tables, optionally buffered
+ *   (see BatchWriter, WriteBehindBuffer, WriteStatementValidator)
+ * - Queries of one flow on one held connection, optionally in a read-only snapshot
+ *   (see FlowConnections)
+ * <p>
+ * Pool configuration (all optional):
+ * "pool": { "initialSize": 1, "maxSize": 5, "maxIdleMinutes": 5, "maxLifeMinutes": 60,
+ *           "maxAcquireSeconds": 8, "maxCreateSeconds": 10 }
+ */
+public abstract class AbstractR2dbcDataSource implements DataSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(AbstractR2dbcDataSource.class);
+
+    // The tenant's share of the pool, shared with other tenants or private to this data source
+    protected TenantShare connectionPool;
+    protected String tenantId;
+    // Key of the shared pool, null when the pool is private
+    private String sharedPoolKey;
+    private SharedPool privatePool;
+    private LookupBatcher lookupBatcher;
+    private ProjectionPushdown projectionPushdown;
+    private BatchWriter batchWriter;
+    private WriteBehindBuffer writeBehindBuffer;
+    private WriteStatementValidator writeValidator;
+    // Limits of queries that do not set their own (see QueryLimits.forDataSource)
+    private QueryLimits queryLimits = QueryLimits.UNLIMITED;
+
+    /**
+     * Query parser producing ParsedSql in the driver's placeholder syntax
+     */
+    protected abstract QueryParser getQueryParser();
+
+    /**
+     * Choose the converter for a column from its metadata
+     */
+    protected abstract ColumnConverter converterFor(ColumnMetadata column);
+
+    /**
+     * Query used to validate pooled connections and test connectivity
+     */
+    protected String getValidationQuery() {
+        return "SELECT 1";
+    }
+
+    /**
+     * Quote character for identifiers in the driver's SQL dialect
+     */
+    protected char getIdentifierQuote() {
+        return '"';
+    }
+
+    /**
+     * Clause limiting a query to its first rows in the driver's SQL dialect
+     */
+    protected String getLimitClause(int rows) {
+        return "LIMIT " + rows;
+    }
+
+    /**
+     * Convert SQL with "?" placeholders to the driver's placeholder syntax
+     * Drivers that bind "?" by index (MySQL, Oracle) use the SQL as is
+     */
+    protected String toNativeSql(String sql) {
+        return sql;
+    }
+
+    /**
+     * Create a connection pool over the driver connection factory, private to this data source
+     *
+     * @param connectionFactory Driver connection factory
+     * @param config            Data source configuration (reads the optional "pool" section)
+     */
+    protected void initPool(ConnectionFactory connectionFactory, Map<String, Object> config) {
+        this.privatePool = new SharedPool(createPool(connectionFactory, config), getType() + "/" + tenantId,
+                getMaxPoolSize(config));
+        initShare(privatePool.share(tenantId, PoolSharingOptions.from(config)), config);
+    }
+
+    /**
+     * Use the pool shared by all data sources with the same physical connection configuration,
+     * creating it over the driver connection factory on first use
+     * Falls back to a private pool if "poolSharing.enabled" is false
+     *
+     * @param connectionFactory Driver connection factory
+     * @param config            Data source configuration (reads the optional "pool" and "poolSharing" sections)
+     * @param server            Server and database, naming the pool in logs and metrics (no credentials)
+     * @param identity          Everything that makes two connections interchangeable
+     *                          (host, port, database, credentials, session options)
+     */
+    protected void initPool(ConnectionFactory connectionFactory, Map<String, Object> config,
+                            String server, List<?> identity) {
+        PoolSharingOptions options = PoolSharingOptions.from(config);
+        if (!options.isEnabled()) {
+            initPool(connectionFactory, config);
+            return;
+        }
+        // Tenants with different pool sizes still share; the shared pool's own size keeps pools apart
+        Map<String, Object> poolSettings = new HashMap<>(poolSection(config));
+        poolSettings.remove("maxSize");
+        poolSettings.put("maxPoolSize", options.getMaxPoolSize());
+        String poolKey = SharedPoolRegistry.poolKey(getType().name(), identity, poolSettings);
+        this.sharedPoolKey = poolKey;
+        initShare(SharedPoolRegistry.shared().acquire(poolKey, getType() + "/" + server,
+                maxSize -> createPool(connectionFactory, config, maxSize), tenantId, options), config);
+    }
+
+    private void initShare(TenantShare share, Map<String, Object> config) {
+        this.connectionPool = share;
+        this.lookupBatcher = new LookupBatcher(connectionPool, this::converterFor, this::toNativeSql,
+                this::getLimitClause);
+        this.projectionPushdown = new ProjectionPushdown(getIdentifierQuote());
+        // Writes always go to the primary pool
+        this.batchWriter = new BatchWriter(connectionPool, this::toNativeSql);
+        this.writeBehindBuffer = new WriteBehindBuffer(batchWriter, tenantId);
+        this.writeValidator = WriteStatementValidator.from(config);
+        this.queryLimits = QueryLimits.forDataSource(config);
+    }
+
+    /**
+     * Create a connection pool sized from the "pool" section of the data source config
+     * Used for the primary pool and for additional pools (e.g. read replicas)
+     *
+     * @param connectionFactory Driver connection factory
+     * @param config            Data source configuration
+     * @return New connection pool
+     */
+    protected ConnectionPool createPool(ConnectionFactory connectionFactory, Map<String, Object> config) {
+        return createPool(connectionFactory, config, getMaxPoolSize(config));
+    }
+
+    private ConnectionPool createPool(ConnectionFactory connectionFactory, Map<String, Object> config, int maxSize) {
+        Map<String, Object> pool = poolSection(config);
+
+        ConnectionPoolConfiguration poolConfig = ConnectionPoolConfiguration.builder(connectionFactory)
+                .initialSize(Math.min(ConfigValueUtil.toInt(pool.get("initialSize"), 1), maxSize))
+                .maxSize(maxSize)
+                .maxIdleTime(Duration.ofMinutes(ConfigValueUtil.toLong(pool.get("maxIdleMinutes"), 5)))
+                .maxLifeTime(Duration.ofMinutes(ConfigValueUtil.toLong(pool.get("maxLifeMinutes"), 60)))
+                .maxCreateConnectionTime(Duration.ofSeconds(ConfigValueUtil.toLong(pool.get("maxCreateSeconds"), 10)))
+                .maxAcquireTime(Duration.ofSeconds(ConfigValueUtil.toLong(pool.get("maxAcquireSeconds"), 8)))
+                .validationQuery(getValidationQuery())
+                .acquireRetry(1)
+                .build();
+
+        return new ConnectionPool(poolConfig);
+    }
+
+    private static int getMaxPoolSize(Map<String, Object> config) {
+        return ConfigValueUtil.toInt(poolSection(config).get("maxSize"), 5);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> poolSection(Map<String, Object> config) {
+        return config.get("pool") instanceof Map
+                ? (Map<String, Object>) config.get("pool")
+                : Map.of();
+    }
+
+    /**
+     * Create a row mapper for one result set
+     *
+     * @param fieldMapping Field mapping configuration (target field -> source column)
+     * @return Row mapper to pass to Result.map
+     */
+    public R2dbcRowMapper newRowMapper(Map<String, Object> fieldMapping) {
+        return new R2dbcRowMapper(fieldMapping, this::converterFor);
+    }
+
+    @Override
+    public Mono<Map<String, Object>> executeQuery(Map<String, Object> queryConfig) {
+        LookupBatchOptions batchOptions = LookupBatchOptions.from(queryConfig);
+        if (batchOptions != null) {
+            return executeBatchedLookup(queryConfig, batchOptions);
+        }
+        KeysetPagination pagination;
+        try {
+            pagination = KeysetPagination.from(queryConfig);
+        } catch (Exception e) {
+            return Mono.error(e);
+        }
+        if (pagination != null) {
+            return executePage(queryConfig, pagination);
+        }
+        MultiQuery multiQuery;
+        try {
+            multiQuery = MultiQuery.from(queryConfig);
+        } catch (Exception e) {
+            return Mono.error(e);
+        }
+        if (multiQuery != null) {
+            return executeMultiQuery(queryConfig, multiQuery);
+        }
+
+        return executeSingle(queryConfig);
+    }
+
+    /**
+     * Execute one query and collect its rows
+     */
+    private Mono<Map<String, Object>> executeSingle(Map<String, Object> queryConfig) {
+        R2dbcRowMapper rowMapper = newRowMapper(fieldMapping(queryConfig));
+        AtomicBoolean truncated = new AtomicBoolean(false);
+        return collectResult(streamValues(queryConfig, rowMapper, () -> truncated.set(true)), rowMapper, truncated);
+    }
+
+    /**
+     * Collect converted rows into a query result: the row itself for a single row,
+     * otherwise data, count and truncated
+     */
+    private static Mono<Map<String, Object>> collectResult(Flux<Object[]> values,
+                                                           R2dbcRowMapper rowMapper,
+                                                           AtomicBoolean truncated) {
+        return values
+                // Rows are appended column by column instead of being kept as one map per row
+                .collect(ColumnarResultSet::builder,
+                        (builder, row) -> builder.addRow(rowMapper.getFieldNames(), row))
+                .map(builder -> {
+                    ColumnarResultSet rows = builder.build();
+                    Map<String, Object> result = new HashMap<>();
+                    if (rows.size() == 1 && !truncated.get()) {
+                        // Single row result
+                        result.putAll(rows.get(0));
+                    } else {
+                        // Multiple rows result
+                        result.put("data", rows);
+                        result.put("count", rows.size());
+                        result.put("truncated", truncated.get());
+                    }
+                    return result;
+                });
+    }
+
+    @Override
+    public Flux<Map<String, Object>> streamQuery(Map<String, Object> queryConfig) {
+        R2dbcRowMapper rowMapper = newRowMapper(fieldMapping(queryConfig));
+        return streamValues(queryConfig, rowMapper, null)
+                .map(rowMapper::toMap)
+                // Streams may be consumed after later queries started, so they never use a held connection
+                .contextWrite(context -> context.delete(FlowConnections.class));
+    }
+
+    /**
+     * Execute one page of a keyset-paginated query
+     * The result always has the multi-row shape, plus hasMore and nextCursor (null on the last page)
+     */
+    private Mono<Map<String, Object>> executePage(Map<String, Object> queryConfig, KeysetPagination pagination) {
+        Map<String, Object> pageConfig;
+        List<String> sortFields;
+        try {
+            ParsedSql pageSql = pagination.rewrite(parse(queryConfig),
+                    getLimitClause(pagination.getPageSize() + 1));
+            pageConfig = new HashMap<>(queryConfig);
+            pageConfig.remove("pagination");
+            pageConfig.put("sql", pageSql.getSql());
+            pageConfig.put("parameters", pageSql.getParameters());
+            pageConfig.put("maxRows", pagination.getPageSize() + 1);
+
+            // Sort keys are always read, so the cursor can be built from the last row
+            Map<String, Object> fieldMapping = fieldMapping(queryConfig);
+            sortFields = new ArrayList<>();
+            if (fieldMapping != null && !fieldMapping.isEmpty()) {
+                Map<String, Object> pageMapping = new LinkedHashMap<>(fieldMapping);
+                for (String sortKey : pagination.getSortKeys()) {
+                    String field = pageMapping.entrySet().stream()
+                            .filter(entry -> sortKey.equals(String.valueOf(
+                                    entry.getValue() != null ? entry.getValue() : entry.getKey())))
+                            .map(Map.Entry::getKey)
+                            .findFirst()
+                            .orElse(null);
+                    if (field == null) {
+                        if (pageMapping.containsKey(sortKey)) {
+                            throw new IllegalArgumentException(
+                                    "Pagination sortKey " + sortKey + " must be mapped in fieldMapping");
+                        }
+                        field = sortKey;
+                        pageMapping.put(field, sortKey);
+                    }
+                    sortFields.add(field);
+                }
+                pageConfig.put("fieldMapping", pageMapping);
+            } else {
+                sortFields.addAll(pagination.getSortKeys());
+            }
+        } catch (Exception e) {
+            logger.error("{} paginated query error: {}", getType(), e.getMessage());
+            return Mono.error(e);
+        }
+
+        // Sort keys are also read unconverted, so the cursor binds them back with their SQL type
+        R2dbcRowMapper rowMapper = new R2dbcRowMapper(fieldMapping(pageConfig), this::converterFor, sortFields);
+        AtomicBoolean truncated = new AtomicBoolean(false);
+        return streamValues(pageConfig, rowMapper, () -> truncated.set(true))
+                .collectList()
+                .map(rows -> {
+                    // One extra row is fetched to tell whether another page follows
+                    boolean hasMore = truncated.get() || rows.size() > pagination.getPageSize();
+                    List<Object[]> page = rows.size() > pagination.getPageSize()
+                            ? rows.subList(0, pagination.getPageSize())
+                            : rows;
+
+                    ColumnarResultSet.Builder builder = ColumnarResultSet.builder();
+                    int fieldCount = page.isEmpty() ? 0 : rowMapper.getFieldNames().length;
+                    page.forEach(values -> builder.addRow(rowMapper.getFieldNames(),
+                            Arrays.copyOf(values, fieldCount)));
+
+                    String nextCursor = null;
+                    if (hasMore && !page.isEmpty()) {
+                        Object[] last = page.get(page.size() - 1);
+                        nextCursor = pagination.nextCursor(
+                                Arrays.asList(last).subList(fieldCount, fieldCount + sortFields.size()));
+                    }
+
+                    Map<String, Object> result = new HashMap<>();
+                    result.put("data", builder.build());
+                    result.put("count", page.size());
+                    result.put("truncated", false);
+                    result.put("hasMore", hasMore);
+                    result.put("nextCursor", nextCursor);
+                    return result;
+                });
+    }
+
+    /**
+     * Execute several queries on one connection, each result under its query's name
+     * Compound execution sends them as one multi-statement request; otherwise they are
+     * pipelined where the driver supports it, or run back to back
+     */
+    private Mono<Map<String, Object>> executeMultiQuery(Map<String, Object> queryConfig, MultiQuery multiQuery) {
+        if (connectionPool == null) {
+            return Mono.error(new IllegalStateException(getType() + " data source not initialized"));
+        }
+        List<PreparedQuery> prepared = new ArrayList<>();
+        // Statements as written of the queries that run narrowed (see ProjectionPushdown)
+        List<String> narrowed = new ArrayList<>();
+        List<String> statements;
+        try {
+            for (Map.Entry<String, Map<String, Object>> entry : multiQuery.getQueries().entrySet()) {
+                Map<String, Object> subQuery = entry.getValue();
+                ParsedSql parsedSql = parse(subQuery);
+                ParsedSql executedSql = projectionPushdown.apply(parsedSql, subQuery);
+                if (executedSql != parsedSql) {
+                    narrowed.add(parsedSql.getSql());
+                }
+                prepared.add(new PreparedQuery(entry.getKey(), executedSql,
+                        QueryLimits.from(subQuery, queryLimits), newRowMapper(fieldMapping(subQuery))));
+            }
+            statements = multiQuery.isCompound() ? toCompoundStatements(prepared) : null;
+        } catch (Exception e) {
+            logger.error("{} multi query rejected: {}", getType(), e.getMessage());
+            return Mono.error(e);
+        }
+
+        return withConnection(queryConfig, connection -> {
+                    if (statements != null) {
+                        // One request, one result per statement in order
+                        Batch batch = connection.createBatch();
+                        statements.forEach(batch::add);
+                        return Flux.from(batch.execute())
+                                .index()
+                                .concatMap(indexed -> collectNamed(prepared.get(indexed.getT1().intValue()),
+                                        Flux.just(indexed.getT2())));
+                    }
+                    return Flux.fromIterable(prepared)
+                            .flatMapSequential(query -> collectNamed(query, Flux.from(
+                                            createStatement(connection, query.parsedSql(), query.limits()).execute())),
+                                    supportsPipelining() ? prepared.size() : 1);
+                })
+                .collectMap(named -> named.getKey(), named -> named.getValue(), LinkedHashMap::new)
+                .onErrorResume(error -> !narrowed.isEmpty() && error instanceof R2dbcBadGrammarException, error -> {
+                    logger.warn("{} narrowed multi query rejected, running it as written: {}",
+                            getType(), error.getMessage());
+                    narrowed.forEach(projectionPushdown::forget);
+                    return executeMultiQuery(queryConfig, multiQuery);
+                })
+                .onErrorResume(error -> {
+                    logger.error("{} multi query execution error", getType(), error);
+                    return Mono.error(error);
+                });
+    }
+
+    private Mono<Map.Entry<String, Object>> collectNamed(PreparedQuery query, Flux<? extends Result> results) {
+        AtomicBoolean truncated = new AtomicBoolean(false);
+        Flux<Object[]> rows = results.concatMap(result -> result.map(query.rowMapper()::values));
+        return collectResult(query.limits().apply(rows, QueryLimits::estimateSize, () -> truncated.set(true)),
+                query.rowMapper(), truncated)
+                .map(result -> Map.<String, Object>entry(query.name(), result));
+    }
+
+    /**
+     * Statements of a compound request, or null if one of the queries cannot be sent inline
+     */
+    private List<String> toCompoundStatements(List<PreparedQuery> prepared) {
+        List<String> statements = new ArrayList<>(prepared.size());
+        for (PreparedQuery query : prepared) {
+            String statement = toCompoundStatement(query.parsedSql());
+            if (statement == null) {
+                return null;
+            }
+            statements.add(statement);
+        }
+        return statements;
+    }
+
+    /**
+     * Whether statements subscribed concurrently on one connection are pipelined by the driver
+     * (sent without waiting for the previous result)
+     */
+    protected boolean supportsPipelining() {
+        return false;
+    }
+
+    /**
+     * Render a query with its parameters inline, for a multi-statement request
+     * Drivers without multi-statement requests, or parameters that cannot be rendered
+     * safely, return null and the queries are executed one by one
+     *
+     * @param parsedSql Query with "?" placeholders
+     * @return Statement text with inline parameters, or null
+     */
+    protected String toCompoundStatement(ParsedSql parsedSql) {
+        return null;
+    }
+
+    /**
+     * Execute a single-key lookup merged with concurrent lookups of the same statement,
+     * or as a regular query if the statement cannot be batched
+     */
+    private Mono<Map<String, Object>> executeBatchedLookup(Map<String, Object> queryConfig,
+                                                           LookupBatchOptions batchOptions) {
+        if (lookupBatcher == null) {
+            return Mono.error(new IllegalStateException(getType() + " data source not initialized"));
+        }
+        try {
+            ParsedSql parsedSql = parse(queryConfig);
+            if (!lookupBatcher.canBatch(parsedSql.getSql(), batchOptions)) {
+                // The statement's answer for one key may depend on the other keys (e.g. LIMIT, GROUP BY)
+                return executeSingle(queryConfig);
+            }
+            return lookupBatcher.execute(parsedSql.getSql(), parsedSql.getParameters(), queryConfig,
+                    QueryLimits.from(queryConfig, queryLimits), batchOptions);
+        } catch (Exception e) {
+            logger.error("{} batched lookup error", getType(), e);
+            return Mono.error(e);
+        }
+    }
+
+    @Override
+    public Mono<Map<String, Object>> executeWrite(Map<String, Object> writeConfig) {
+        if (batchWriter == null) {
+            return Mono.error(new IllegalStateException(getType() + " data source not initialized"));
+        }
+        try {
+            WriteRequest request = WriteRequest.from(writeConfig);
+            String table = writeValidator.validate(request.getSql());
+            if (request.getWriteBehind() != null) {
+                return writeBehindBuffer.submit(request.getSql(), request.getRows(), request.getNullTypes(),
+                        request.getWriteBehind());
+            }
+            return batchWriter
+                    .write(request.getSql(), request.getRows(), request.getBatchSize(), request.getNullTypes())
+                    .map(rowsAffected -> {
+                        Map<String, Object> result = new HashMap<>();
+                        result.put("rowsAffected", rowsAffected);
+                        result.put("rows", request.getRows().size());
+                        return result;
+                    })
+                    .onErrorResume(error -> {
+                        logger.error("{} write error. table={}", getType(), table, error);
+                        return Mono.error(error);
+                    });
+        } catch (Exception e) {
+            logger.error("{} write rejected: {}", getType(), e.getMessage());
+            return Mono.error(e);
+        }
+    }
+
+    /**
+     * Stream converted row values bounded by the query limits
+     * Each row is converted as soon as it is decoded, so no intermediate raw row list is kept
+     *
+     * @param queryConfig Query configuration
+     * @param rowMapper   Row mapper for this execution (converters are chosen once per result set)
+     * @param onTruncate  Invoked if the result was cut short by a limit (may be null)
+     * @return Flux of converted row values, aligned with rowMapper.getFieldNames()
+     */
+    protected Flux<Object[]> streamValues(Map<String, Object> queryConfig,
+                                          R2dbcRowMapper rowMapper,
+                                          Runnable onTruncate) {
+        if (connectionPool == null) {
+            return Flux.error(new IllegalStateException(getType() + " data source not initialized"));
+        }
+
+        try {
+            ParsedSql parsedSql = parse(queryConfig);
+            QueryLimits limits = QueryLimits.from(queryConfig, queryLimits);
+            ParsedSql executedSql = projectionPushdown.apply(parsedSql, queryConfig);
+
+            Flux<Object[]> rows = executeRows(queryConfig, executedSql, limits, rowMapper);
+
+            if (executedSql != parsedSql) {
+                // The database may reject a narrowed statement, e.g. after a column was dropped;
+                // it then runs as written, unless rows were already read
+                Flux<Object[]> narrowed = rows;
+                rows = Flux.defer(() -> {
+                    AtomicBoolean emitted = new AtomicBoolean(false);
+                    return narrowed
+                            .doOnNext(values -> emitted.set(true))
+                            .onErrorResume(error -> !emitted.get() && error instanceof R2dbcBadGrammarException,
+                                    error -> {
+                                        logger.warn("{} narrowed query rejected, running it as written: {}",
+                                                getType(), error.getMessage());
+                                        projectionPushdown.forget(parsedSql.getSql());
+                                        return executeRows(queryConfig, parsedSql, limits, rowMapper);
+                                    });
+                });
+            } else if (projectionPushdown.needsColumns(parsedSql.getSql(), queryConfig)) {
+                // Learn the full result columns so later executions can be narrowed
+                rows = rows.doFinally(signal -> {
+                    if (rowMapper.getColumnNames() != null) {
+                        projectionPushdown.learn(parsedSql.getSql(), rowMapper.getColumnNames());
+                    }
+                });
+            }
+
+            return limits.apply(rows, QueryLimits::estimateSize, onTruncate)
+                    .onErrorResume(error -> {
+                        logger.error("{} query execution error", getType(), error);
+                        return Flux.error(error);
+                    });
+
+        } catch (Exception e) {
+            logger.error("{} query error", getType(), e);
+            return Flux.error(e);
+        }
+    }
+
+    private Flux<Object[]> executeRows(Map<String, Object> queryConfig, ParsedSql parsedSql, QueryLimits limits,
+                                       R2dbcRowMapper rowMapper) {
+        return withConnection(queryConfig, connection ->
+                Flux.from(createStatement(connection, parsedSql, limits).execute())
+                        .concatMap(result -> result.map(rowMapper::values)));
+    }
+
+    /**
+     * Run work on a connection for a query
+     * Uses the connection the flow holds for this data source (see FlowConnections), otherwise
+     * a pooled connection released on complete, error or cancel
+     */
+    protected <T> Flux<T> withConnection(Map<String, Object> queryConfig,
+                                         Function<Connection, Publisher<T>> work) {
+        Function<Connection, Publisher<T>> observed = connection -> observeQuery(connection, work.apply(connection));
+        return Flux.deferContextual(context -> {
+            FlowConnections flowConnections = FlowConnections.from(context);
+            if (flowConnections != null) {
+                return flowConnections.use(List.of(this, getConnectionRoute(queryConfig)),
+                        Mono.defer(() -> Mono.from(acquireConnection(queryConfig))),
+                        this::beginReadOnlySnapshot,
+                        this::releaseConnection,
+                        observed);
+            }
+            return Flux.usingWhen(
+                    acquireConnection(queryConfig),
+                    observed,
+                    connection -> releaseConnection(connection, null),
+                    (connection, error) -> releaseConnection(connection, error),
+                    connection -> releaseConnection(connection, null));
+        });
+    }
+
+    /**
+     * Acquire a connection for a query, released by the caller when the query terminates
+     */
+    protected Publisher<? extends Connection> acquireConnection(Map<String, Object> queryConfig) {
+        return connectionPool.create();
+    }
+
+    /**
+     * Release a connection obtained from acquireConnection once its query terminated
+     *
+     * @param connection Connection to release
+     * @param error      Error the query failed with, null on completion or cancellation
+     */
+    protected Publisher<Void> releaseConnection(Connection connection, Throwable error) {
+        return connection.close();
+    }
+
+    /**
+     * Observe one query on a connection from acquireConnection, e.g. to time it
+     * A connection held by a flow runs several queries, so per-query measurements belong here
+     * rather than in acquireConnection and releaseConnection
+     *
+     * @param connection Connection the query runs on
+     * @param query      Query results
+     * @return Query results, observed
+     */
+    protected <T> Publisher<T> observeQuery(Connection connection, Publisher<T> query) {
+        return query;
+    }
+
+    /**
+     * Route of the connection acquireConnection returns for a query
+     * A flow holds one connection per route, so queries routed differently never share one
+     */
+    protected String getConnectionRoute(Map<String, Object> queryConfig) {
+        return "primary";
+    }
+
+    /**
+     * Begin the read-only snapshot transaction of a connection held by a flow
+     * Subclasses may override if the driver does not support REPEATABLE READ
+     */
+    protected Publisher<Void> beginReadOnlySnapshot(Connection connection) {
+        return connection.beginTransaction(FlowConnections.READ_ONLY_REPEATABLE_READ);
+    }
+
+    /**
+     * Create and bind the statement for a query
+     * Subclasses may override to apply driver-specific statement options
+     */
+    protected Statement createStatement(Connection connection, ParsedSql parsedSql, QueryLimits limits) {
+        Statement statement = connection.createStatement(toNativeSql(parsedSql.getSql()));
+        for (int i = 0; i < parsedSql.getParameters().size(); i++) {
+            statement.bind(i, parsedSql.getParameters().get(i));
+        }
+        statement.fetchSize(limits.getFetchSize());
+        return statement;
+    }
+
+    /**
+     * Parse and validate the query configuration (prevents SQL injection)
+     */
+    protected ParsedSql parse(Map<String, Object> queryConfig) {
+        Object parsedQuery = getQueryParser().parse(queryConfig);
+        if (!(parsedQuery instanceof ParsedSql parsedSql)) {
+            throw new IllegalArgumentException("Invalid " + getType() + " query format");
+        }
+        getQueryParser().validate(queryConfig);
+        return parsedSql;
+    }
+
+    @SuppressWarnings("unchecked")
+    protected static Map<String, Object> fieldMapping(Map<String, Object> queryConfig) {
+        return (Map<String, Object>) queryConfig.get("fieldMapping");
+    }
+
+    /**
+     * Connections of the tenant's share held or awaited (queries, streams, flows, lookups and writes),
+     * plus buffered write-behind rows
+     */
+    @Override
+    public int getInFlightCount() {
+        int inFlight = writeBehindBuffer != null ? writeBehindBuffer.getBufferedRowCount() : 0;
+        TenantShare share = connectionPool;
+        if (share != null) {
+            inFlight += share.getActiveCount() + share.getPendingCount();
+        }
+        return inFlight;
+    }
+
+    @Override
+    public Mono<Boolean> testConnection() {
+        if (connectionPool == null) {
+            return Mono.just(false);
+        }
+        return Mono.usingWhen(
+                        connectionPool.create(),
+                        connection -> Flux.from(connection.createStatement(getValidationQuery()).execute())
+                                .concatMap(result -> result.map((row, metadata) -> true))
+                                .next(),
+                        Connection::close)
+                .timeout(Duration.ofSeconds(5))
+                .defaultIfEmpty(false)
+                .onErrorReturn(false);
+    }
+
+    @Override
+    public void close() {
+        if (writeBehindBuffer != null) {
+            // Flush buffered writes while the pool is still open
+            writeBehindBuffer.close();
+        }
+        if (sharedPoolKey != null) {
+            SharedPoolRegistry.shared().release(sharedPoolKey, tenantId);
+            sharedPoolKey = null;
+        } else if (privatePool != null) {
+            privatePool.unshare(tenantId);
+            privatePool.dispose();
+            privatePool = null;
+        }
+        if (connectionPool != null) {
+            logger.info("{} data source closed. tenantId={}", getType(), tenantId);
+        }
+    }
+
+    /**
+     * One query of a multi query, parsed and ready to execute
+     */
+    private record PreparedQuery(String name, ParsedSql parsedSql, QueryLimits limits, R2dbcRowMapper rowMapper) {
+    }
+}
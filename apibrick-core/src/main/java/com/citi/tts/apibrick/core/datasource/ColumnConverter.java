@@ -0,0 +1,56 @@
+package com.citi.tts.apibrick.core.datasource;
+
+import io.r2dbc.spi.Readable;
+
+import java.math.BigDecimal;
+
+/**
+ * Column Converter - Reads and converts a single column of a row by index
+ * <p>
+ * Chosen once per result set from the column metadata (Java type, precision, scale)
+ * so per-cell conversion does not need to inspect the runtime type of every value
+ */
+@FunctionalInterface
+public interface ColumnConverter {
+
+    /**
+     * Read the column value from the row and convert it to a JSON-compatible value
+     *
+     * @param row   Current row
+     * @param index Column index in the result set
+     * @return Converted value (may be null)
+     */
+    Object read(Readable row, int index);
+
+    /**
+     * Decide once per DECIMAL/NUMERIC column how its values are exposed:
+     * - scale 0 and precision <= 18: long (always fits)
+     * - scale > 0 and precision <= 15: double (15 significant digits always round-trip)
+     * - otherwise: plain string, so no precision is lost
+     *
+     * @param precision Declared precision (null if unknown)
+     * @param scale     Declared scale (null if unknown)
+     * @return Column converter
+     */
+    static ColumnConverter decimal(Integer precision, Integer scale) {
+        int p = precision != null ? precision : Integer.MAX_VALUE;
+        int s = scale != null ? scale : 0;
+
+        if (s <= 0 && p <= 18) {
+            return (row, index) -> {
+                BigDecimal value = row.get(index, BigDecimal.class);
+                return value != null ? value.longValue() : null;
+            };
+        }
+        if (s > 0 && p <= 15) {
+            return (row, index) -> {
+                BigDecimal value = row.get(index, BigDecimal.class);
+                return value != null ? value.doubleValue() : null;
+            };
+        }
+        return (row, index) -> {
+            BigDecimal value = row.get(index, BigDecimal.class);
+            return value != null ? value.toPlainString() : null;
+        };
+    }
+}
@@ -1,13 +1,15 @@
 package com.citi.tts.apibrick.core.datasource;
 
 import com.citi.tts.apibrick.common.enums.DataSourceType;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import java.util.List;
 import java.util.Map;
 
 /**
  * DataSource interface - Unified abstraction for all data sources
  * 
- * Supports multiple database types (Oracle, MySQL, PostgreSQL, MongoDB)
+ * Supports multiple database types (Oracle, MySQL, PostgreSQL, MongoDB, Redis)
  * All operations are reactive and non-blocking
  */
 public interface DataSource {
@@ -30,7 +32,54 @@ public interface DataSource {
      * @return Mono<Map<String, Object>> Query result as JSON-like structure
      */
     Mono<Map<String, Object>> executeQuery(Map<String, Object> queryConfig);
-    
+
+    /**
+     * Execute a query and stream the converted rows with backpressure
+     * Rows are bounded by the QueryLimits in the query configuration
+     *
+     * Default implementation adapts executeQuery for data sources without native streaming
+     *
+     * @param queryConfig Query configuration (SQL, Mongo query, etc.)
+     * @return Flux<Map<String, Object>> Converted rows
+     */
+    @SuppressWarnings("unchecked")
+    default Flux<Map<String, Object>> streamQuery(Map<String, Object> queryConfig) {
+        return executeQuery(queryConfig)
+            .flatMapMany(result -> {
+                Object data = result.get("data");
+                if (data instanceof List<?> rows && result.containsKey("count")) {
+                    return Flux.fromIterable((List<Map<String, Object>>) rows);
+                }
+                return Flux.just(result);
+            });
+    }
+
+    /**
+     * Execute a parameterized write (INSERT, UPSERT, UPDATE) against the data source
+     * Only tables in the data source's "writableTables" allowlist may be written
+     *
+     * Default implementation rejects writes for data sources without write support
+     *
+     * @param writeConfig Write configuration (see WriteRequest)
+     * @return Mono<Map<String, Object>> Write result (rows affected, or rows accepted when buffered)
+     */
+    default Mono<Map<String, Object>> executeWrite(Map<String, Object> writeConfig) {
+        return Mono.error(new UnsupportedOperationException(getType() + " data source does not support writes"));
+    }
+
+    /**
+     * Get the work in progress on the data source: queries, streams and writes not yet
+     * completed, connections held by flows or waiting to be acquired, buffered writes not yet flushed
+     * A data source with work in progress is not closed as idle (see DataSourceManager)
+     *
+     * Default implementation reports none, for data sources without tracking
+     *
+     * @return Number of operations in progress, 0 if idle
+     */
+    default int getInFlightCount() {
+        return 0;
+    }
+
     /**
      * Close the data source and release resources
      * Called when data source is disabled or deleted
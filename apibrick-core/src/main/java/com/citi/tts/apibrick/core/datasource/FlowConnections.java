@@ -0,0 +1,228 @@
+package com.citi.tts.apibrick.core.datasource;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.IsolationLevel;
+import io.r2dbc.spi.Option;
+import io.r2dbc.spi.TransactionDefinition;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Flow Connections - Connections held by one flow execution, one per relational data source
+ * <p>
+ * Without it every DATASOURCE_QUERY step acquires (and validates) a pooled connection and closes it
+ * when the query ends. With connection affinity, the first query of a flow against a data source
+ * acquires its connection and the later queries of the same flow reuse it; all held connections
+ * are released when the flow ends, on completion, error or cancellation (see PipelineEngine).
+ * <p>
+ * - Read-only snapshot: the held connection is opened in a read-only transaction
+ *   (REPEATABLE READ where the driver supports it), so all queries of the flow read one snapshot;
+ *   the transaction is committed at flow end, rolled back if the execution errored or was cancelled
+ * - Only one query at a time runs on a held connection; a query issued while it is busy
+ *   (e.g. a stream still being consumed) uses a pooled connection as before
+ * - Writes, batched lookups and streamed results always use the pool
+ * <p>
+ * Published to the data sources through the Reactor context of the flow execution.
+ */
+public class FlowConnections {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlowConnections.class);
+
+    /**
+     * Transaction of a read-only snapshot with the driver's default isolation level
+     */
+    public static final TransactionDefinition READ_ONLY = definition(null);
+
+    /**
+     * Transaction of a read-only snapshot at REPEATABLE READ
+     */
+    public static final TransactionDefinition READ_ONLY_REPEATABLE_READ = definition(IsolationLevel.REPEATABLE_READ);
+
+    private final boolean readOnlySnapshot;
+
+    // Map: data source instance -> connection held for it
+    private final Map<Object, HeldConnection> connections = new ConcurrentHashMap<>();
+    private final AtomicBoolean released = new AtomicBoolean(false);
+
+    /**
+     * @param readOnlySnapshot Whether held connections run in a read-only snapshot transaction
+     */
+    public FlowConnections(boolean readOnlySnapshot) {
+        this.readOnlySnapshot = readOnlySnapshot;
+    }
+
+    /**
+     * Add flow connections to a Reactor context
+     */
+    public Context bind(Context context) {
+        return context.put(FlowConnections.class, this);
+    }
+
+    /**
+     * Get the flow connections of a Reactor context
+     *
+     * @return Flow connections, or null if the execution does not hold connections
+     */
+    public static FlowConnections from(ContextView context) {
+        return context.getOrDefault(FlowConnections.class, null);
+    }
+
+    /**
+     * Run a query on the connection held for a data source, acquiring it on first use
+     * Falls back to a pooled connection if the held one is busy or the flow already ended.
+     *
+     * @param owner   Data source the connection belongs to
+     * @param open    Acquires a new connection from the data source
+     * @param begin   Begins the read-only snapshot transaction on a new connection
+     * @param close   Returns a connection to the data source
+     * @param query   Query to run on the connection
+     * @return Query results
+     */
+    public <T> Flux<T> use(Object owner,
+                           Mono<? extends Connection> open,
+                           Function<Connection, Publisher<Void>> begin,
+                           BiFunction<Connection, Throwable, Publisher<Void>> close,
+                           Function<Connection, Publisher<T>> query) {
+        if (released.get()) {
+            return pooled(open, close, query);
+        }
+        HeldConnection held = connections.computeIfAbsent(owner, key -> new HeldConnection(
+                open.flatMap(connection -> begin(connection, begin, close)), close));
+        if (!held.busy.compareAndSet(false, true)) {
+            return pooled(open, close, query);
+        }
+        return held.connection
+                .flatMapMany(query::apply)
+                .doOnError(error -> {
+                    if (held.opened == null) {
+                        // Acquire failed: forget it so the next query of the flow tries again
+                        connections.remove(owner, held);
+                    }
+                })
+                // Free the connection before the result reaches the caller, whose next query may
+                // otherwise find it still busy and fall back to the pool
+                .doOnTerminate(() -> held.busy.set(false))
+                .doOnCancel(() -> held.busy.set(false));
+    }
+
+    /**
+     * Release all held connections: end the snapshot transaction and return them to their pools
+     *
+     * @param success Whether the flow execution completed (commit) or errored or was cancelled (rollback)
+     */
+    public Mono<Void> release(boolean success) {
+        if (!released.compareAndSet(false, true)) {
+            return Mono.empty();
+        }
+        List<HeldConnection> held = new ArrayList<>(connections.values());
+        connections.clear();
+        return Flux.fromIterable(held)
+                .flatMap(connection -> connection.release(readOnlySnapshot, success))
+                .then();
+    }
+
+    public boolean isReadOnlySnapshot() {
+        return readOnlySnapshot;
+    }
+
+    /**
+     * Get the number of connections currently held
+     */
+    public int getHeldCount() {
+        return (int) connections.values().stream().filter(held -> held.opened != null).count();
+    }
+
+    private Mono<Connection> begin(Connection connection,
+                                   Function<Connection, Publisher<Void>> begin,
+                                   BiFunction<Connection, Throwable, Publisher<Void>> close) {
+        if (!readOnlySnapshot) {
+            return Mono.just(connection);
+        }
+        return Mono.from(begin.apply(connection))
+                .thenReturn(connection)
+                .onErrorResume(error -> Mono.from(close.apply(connection, error))
+                        .then(Mono.error(error)));
+    }
+
+    private static <T> Flux<T> pooled(Mono<? extends Connection> open,
+                                      BiFunction<Connection, Throwable, Publisher<Void>> close,
+                                      Function<Connection, Publisher<T>> query) {
+        return Flux.usingWhen(open,
+                query,
+                connection -> close.apply(connection, null),
+                close::apply,
+                connection -> close.apply(connection, null));
+    }
+
+    private static TransactionDefinition definition(IsolationLevel isolationLevel) {
+        return new TransactionDefinition() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T> T getAttribute(Option<T> option) {
+                if (TransactionDefinition.READ_ONLY.equals(option)) {
+                    return (T) Boolean.TRUE;
+                }
+                if (TransactionDefinition.ISOLATION_LEVEL.equals(option)) {
+                    return (T) isolationLevel;
+                }
+                return null;
+            }
+        };
+    }
+
+    /**
+     * Connection held for one data source, acquired once on first use
+     */
+    private final class HeldConnection {
+
+        private final Mono<Connection> connection;
+        private final BiFunction<Connection, Throwable, Publisher<Void>> close;
+        private final AtomicBoolean busy = new AtomicBoolean(false);
+        private volatile Connection opened;
+
+        private HeldConnection(Mono<Connection> open, BiFunction<Connection, Throwable, Publisher<Void>> close) {
+            this.close = close;
+            this.connection = open
+                    .doOnNext(connection -> {
+                        opened = connection;
+                        if (released.get()) {
+                            // Flow ended while the connection was being acquired
+                            Mono.from(close.apply(connection, null)).subscribe();
+                        }
+                    })
+                    .cache();
+        }
+
+        private Mono<Void> release(boolean transactional, boolean success) {
+            Connection held = opened;
+            if (held == null) {
+                return Mono.empty();
+            }
+            Mono<Void> end = !transactional ? Mono.empty()
+                    : Mono.from(success ? held.commitTransaction() : held.rollbackTransaction());
+            return end
+                    .onErrorResume(error -> {
+                        logger.warn("Ending flow snapshot transaction failed: {}", error.getMessage());
+                        return Mono.empty();
+                    })
+                    .then(Mono.from(close.apply(held, null)))
+                    .onErrorResume(error -> {
+                        logger.warn("Releasing flow connection failed: {}", error.getMessage());
+                        return Mono.empty();
+                    });
+        }
+    }
+}
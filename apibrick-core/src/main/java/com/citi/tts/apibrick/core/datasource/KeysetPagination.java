@@ -0,0 +1,269 @@
+package com.citi.tts.apibrick.core.datasource;
+
+import com.citi.tts.apibrick.common.util.ConfigValueUtil;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Keyset Pagination - Pages through a query by the values of its sort key instead of an offset
+ * <p>
+ * Configured under "pagination" in the query configuration:
+ * {
+ *   "sql": "SELECT id, status, created_at FROM orders WHERE customer_id = ?",
+ *   "parameters": [42],
+ *   "pagination": {
+ *     "sortKey": ["created_at", "id"],
+ *     "direction": "DESC",
+ *     "pageSize": 50,
+ *     "cursor": "${cursor}"
+ *   }
+ * }
+ * - sortKey: result column(s) the pages are ordered by; the last one must be unique and no sort
+ *   key may be null, otherwise rows can be skipped or repeated across pages
+ * - direction: ASC (default) or DESC, applied to every sort key
+ * - pageSize: rows per page (default 50, at most 1000)
+ * - cursor: token returned as nextCursor by the previous page, empty for the first page
+ * <p>
+ * The query is wrapped and continued after the cursor row, so every page is an index range scan
+ * no matter how deep it is:
+ * SELECT * FROM (original) page_src WHERE (created_at < ?) OR (created_at = ? AND id < ?)
+ * ORDER BY created_at DESC, id DESC LIMIT 51
+ * <p>
+ * The original statement must not limit its rows itself (LIMIT, OFFSET, FETCH, TOP, ROWNUM).
+ */
+public class KeysetPagination {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_$]*");
+    private static final Pattern ROW_LIMIT = Pattern.compile("(?i)\\b(LIMIT|OFFSET|FETCH|TOP|ROWNUM)\\b");
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final List<String> sortKeys;
+    private final boolean descending;
+    private final int pageSize;
+    private final List<Object> after;
+
+    /**
+     * @param sortKeys   Result columns the pages are ordered by
+     * @param descending Whether the pages are in descending order
+     * @param pageSize   Rows per page
+     * @param cursor     Cursor of the previous page, null or empty for the first page
+     */
+    public KeysetPagination(List<String> sortKeys, boolean descending, int pageSize, String cursor) {
+        if (sortKeys == null || sortKeys.isEmpty()) {
+            throw new IllegalArgumentException("Pagination sortKey is required");
+        }
+        for (String sortKey : sortKeys) {
+            if (!IDENTIFIER.matcher(sortKey).matches()) {
+                throw new IllegalArgumentException("Invalid pagination sortKey: " + sortKey);
+            }
+        }
+        if (pageSize <= 0 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Pagination pageSize must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        this.sortKeys = List.copyOf(sortKeys);
+        this.descending = descending;
+        this.pageSize = pageSize;
+        this.after = cursor != null && !cursor.isBlank() ? decode(cursor) : null;
+    }
+
+    /**
+     * Read pagination from query configuration
+     *
+     * @param queryConfig Query configuration
+     * @return Pagination, or null if the query is not paginated
+     */
+    @SuppressWarnings("unchecked")
+    public static KeysetPagination from(Map<String, Object> queryConfig) {
+        if (queryConfig == null || !(queryConfig.get("pagination") instanceof Map)) {
+            return null;
+        }
+        Map<String, Object> pagination = (Map<String, Object>) queryConfig.get("pagination");
+        Object sortKey = pagination.get("sortKey");
+        List<String> sortKeys = sortKey instanceof List<?> keys
+                ? keys.stream().map(String::valueOf).map(String::trim).toList()
+                : sortKey != null ? List.of(sortKey.toString().split("\\s*,\\s*")) : List.of();
+        boolean descending = "DESC".equalsIgnoreCase(String.valueOf(pagination.get("direction")));
+        int pageSize = ConfigValueUtil.toInt(pagination.get("pageSize"), DEFAULT_PAGE_SIZE);
+        Object cursor = pagination.get("cursor");
+        return new KeysetPagination(sortKeys, descending, pageSize, cursor != null ? cursor.toString() : null);
+    }
+
+    /**
+     * Rewrite a query into its keyset form for the current page
+     * One row more than the page size is fetched to tell whether another page follows
+     *
+     * @param parsedSql   Original query
+     * @param limitClause Clause limiting the rows in the driver's dialect, e.g. "LIMIT 51"
+     * @return Page query with the cursor values appended to the parameters
+     */
+    public ParsedSql rewrite(ParsedSql parsedSql, String limitClause) {
+        String sql = parsedSql.getSql();
+        if (ROW_LIMIT.matcher(sql).find()) {
+            throw new IllegalArgumentException(
+                    "Paginated query must not limit its rows (LIMIT, OFFSET, FETCH, TOP, ROWNUM)");
+        }
+        List<Object> parameters = new ArrayList<>(parsedSql.getParameters());
+        StringBuilder page = new StringBuilder("SELECT * FROM (").append(sql).append(") page_src");
+
+        if (after != null) {
+            // (k1 > ?) OR (k1 = ? AND k2 > ?) ..., portable unlike row value comparison
+            String comparison = descending ? " < ?" : " > ?";
+            page.append(" WHERE ");
+            for (int i = 0; i < sortKeys.size(); i++) {
+                page.append(i > 0 ? " OR (" : "(");
+                for (int j = 0; j < i; j++) {
+                    page.append("page_src.").append(sortKeys.get(j)).append(" = ? AND ");
+                    parameters.add(after.get(j));
+                }
+                page.append("page_src.").append(sortKeys.get(i)).append(comparison).append(')');
+                parameters.add(after.get(i));
+            }
+        }
+
+        page.append(" ORDER BY ");
+        for (int i = 0; i < sortKeys.size(); i++) {
+            page.append(i > 0 ? ", " : "").append("page_src.").append(sortKeys.get(i))
+                    .append(descending ? " DESC" : "");
+        }
+        page.append(' ').append(limitClause);
+        return new ParsedSql(page.toString(), parameters);
+    }
+
+    /**
+     * Build the cursor continuing after a row
+     *
+     * @param sortKeyValues Driver values of the sort keys of the last row of the page, in sortKey order
+     *                      (converted values would lose their type, e.g. a DATETIME formatted as a string)
+     * @return Opaque cursor token
+     */
+    public String nextCursor(List<Object> sortKeyValues) {
+        List<List<String>> values = new ArrayList<>(sortKeyValues.size());
+        for (Object value : sortKeyValues) {
+            values.add(List.of(typeOf(value), String.valueOf(value)));
+        }
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(Map.of("k", fingerprint(), "v", values));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+        } catch (Exception e) {
+            throw new IllegalStateException("Pagination cursor cannot be encoded", e);
+        }
+    }
+
+    private List<Object> decode(String cursor) {
+        Map<String, Object> token;
+        try {
+            byte[] json = Base64.getUrlDecoder().decode(cursor.trim());
+            token = objectMapper.readValue(new String(json, StandardCharsets.UTF_8), new TypeReference<>() {
+            });
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Invalid pagination cursor", e);
+        }
+        if (!fingerprint().equals(token.get("k"))
+                || !(token.get("v") instanceof List<?> values) || values.size() != sortKeys.size()) {
+            throw new IllegalArgumentException("Pagination cursor does not belong to this query");
+        }
+        List<Object> decoded = new ArrayList<>(values.size());
+        for (Object value : values) {
+            if (!(value instanceof List<?> typed) || typed.size() != 2) {
+                throw new IllegalArgumentException("Invalid pagination cursor");
+            }
+            try {
+                decoded.add(parse(String.valueOf(typed.get(0)), String.valueOf(typed.get(1))));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid pagination cursor", e);
+            }
+        }
+        return decoded;
+    }
+
+    private String fingerprint() {
+        return Integer.toHexString((String.join(",", sortKeys) + (descending ? ":desc" : ":asc")).hashCode());
+    }
+
+    /**
+     * Type tag of a cursor value, so it is bound back with the type it was read with
+     */
+    private static String typeOf(Object value) {
+        if (value == null) {
+            throw new IllegalStateException("Pagination sort key value is null");
+        }
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return "long";
+        }
+        if (value instanceof BigDecimal || value instanceof BigInteger) {
+            return "decimal";
+        }
+        if (value instanceof Double || value instanceof Float) {
+            return "double";
+        }
+        if (value instanceof Boolean) {
+            return "boolean";
+        }
+        if (value instanceof LocalDateTime) {
+            return "datetime";
+        }
+        if (value instanceof LocalDate) {
+            return "date";
+        }
+        if (value instanceof LocalTime) {
+            return "time";
+        }
+        if (value instanceof OffsetDateTime) {
+            return "offsetdatetime";
+        }
+        if (value instanceof ZonedDateTime) {
+            return "zoneddatetime";
+        }
+        if (value instanceof Instant) {
+            return "instant";
+        }
+        return "string";
+    }
+
+    private static Object parse(String type, String value) {
+        return switch (type) {
+            case "long" -> Long.parseLong(value);
+            case "decimal" -> new BigDecimal(value);
+            case "double" -> Double.parseDouble(value);
+            case "boolean" -> Boolean.parseBoolean(value);
+            case "datetime" -> LocalDateTime.parse(value);
+            case "date" -> LocalDate.parse(value);
+            case "time" -> LocalTime.parse(value);
+            case "offsetdatetime" -> OffsetDateTime.parse(value);
+            case "zoneddatetime" -> ZonedDateTime.parse(value);
+            case "instant" -> Instant.parse(value);
+            case "string" -> value;
+            default -> throw new IllegalArgumentException("Invalid pagination cursor");
+        };
+    }
+
+    public List<String> getSortKeys() {
+        return sortKeys;
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+}
@@ -0,0 +1,98 @@
+package com.citi.tts.apibrick.core.datasource;
+
+import com.citi.tts.apibrick.common.util.ConfigValueUtil;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Multi Query - Several independent queries executed together on one connection
+ * <p>
+ * Configured under "queries" in the query configuration, one named query configuration each:
+ * {
+ *   "queries": {
+ *     "customer": { "sql": "SELECT id, name FROM customer WHERE id = ?", "parameters": [42] },
+ *     "orders": { "sql": "SELECT id, status FROM orders WHERE customer_id = ?", "parameters": [42],
+ *                 "maxRows": 20 }
+ *   },
+ *   "compound": true,
+ *   "maxRows": 100
+ * }
+ * - Each query returns its result under its own name, in the shape of a single query result
+ * - maxRows, maxBytes, fetchSize and onLimitExceeded of the outer configuration apply to every
+ *   query that does not set its own
+ * - compound: send all queries as one multi-statement request where the driver supports it
+ *   (MySQL), one round-trip instead of one per query; otherwise, and for parameters that cannot
+ *   be sent inline, the queries are pipelined on the connection or run back to back
+ * <p>
+ * Queries may not be paginated or batched. At most 20 queries per configuration.
+ */
+public class MultiQuery {
+
+    public static final int MAX_QUERIES = 20;
+
+    // Outer configuration entries inherited by every query
+    private static final List<String> INHERITED_KEYS = List.of("maxRows", "maxBytes", "fetchSize", "onLimitExceeded");
+
+    private final Map<String, Map<String, Object>> queries;
+    private final boolean compound;
+
+    /**
+     * @param queries  Query configurations by result name, in execution order
+     * @param compound Whether to send the queries as one multi-statement request where supported
+     */
+    public MultiQuery(Map<String, Map<String, Object>> queries, boolean compound) {
+        if (queries == null || queries.isEmpty()) {
+            throw new IllegalArgumentException("Multi query requires at least one query");
+        }
+        if (queries.size() > MAX_QUERIES) {
+            throw new IllegalArgumentException("Multi query allows at most " + MAX_QUERIES + " queries");
+        }
+        queries.forEach((name, query) -> {
+            if (query.get("pagination") != null || query.get("batch") != null) {
+                throw new IllegalArgumentException("Multi query " + name + " may not be paginated or batched");
+            }
+        });
+        this.queries = queries;
+        this.compound = compound;
+    }
+
+    /**
+     * Read a multi query from query configuration
+     *
+     * @param queryConfig Query configuration
+     * @return Multi query, or null if the configuration is a single query
+     */
+    @SuppressWarnings("unchecked")
+    public static MultiQuery from(Map<String, Object> queryConfig) {
+        if (queryConfig == null || queryConfig.get("queries") == null) {
+            return null;
+        }
+        if (!(queryConfig.get("queries") instanceof Map<?, ?> configured)) {
+            throw new IllegalArgumentException("Multi query \"queries\" must map result names to queries");
+        }
+        Map<String, Map<String, Object>> queries = new LinkedHashMap<>();
+        for (Map.Entry<?, ?> entry : configured.entrySet()) {
+            if (!(entry.getValue() instanceof Map<?, ?> query)) {
+                throw new IllegalArgumentException("Multi query " + entry.getKey() + " must be a query configuration");
+            }
+            Map<String, Object> merged = new LinkedHashMap<>((Map<String, Object>) query);
+            for (String key : INHERITED_KEYS) {
+                if (!merged.containsKey(key) && queryConfig.containsKey(key)) {
+                    merged.put(key, queryConfig.get(key));
+                }
+            }
+            queries.put(String.valueOf(entry.getKey()), merged);
+        }
+        return new MultiQuery(queries, ConfigValueUtil.toBoolean(queryConfig.get("compound"), false));
+    }
+
+    public Map<String, Map<String, Object>> getQueries() {
+        return queries;
+    }
+
+    public boolean isCompound() {
+        return compound;
+    }
+}
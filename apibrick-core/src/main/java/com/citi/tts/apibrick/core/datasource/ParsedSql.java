@@ -0,0 +1,27 @@
+package com.citi.tts.apibrick.core.datasource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parsed SQL - SQL statement in the driver's placeholder syntax with its positional parameters
+ * Produced by the SQL query parsers of the relational data sources
+ */
+public class ParsedSql {
+
+    private final String sql;
+    private final List<Object> parameters;
+
+    public ParsedSql(String sql, List<Object> parameters) {
+        this.sql = sql;
+        this.parameters = parameters != null ? parameters : new ArrayList<>();
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public List<Object> getParameters() {
+        return parameters;
+    }
+}
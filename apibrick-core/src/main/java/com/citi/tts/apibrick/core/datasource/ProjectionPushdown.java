@@ -0,0 +1,276 @@
+package com.citi.tts.apibrick.core.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import net.sf.jsqlparser.JSQLParserException;
+import net.sf.jsqlparser.expression.Alias;
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.LongValue;
+import net.sf.jsqlparser.parser.CCJSqlParserUtil;
+import net.sf.jsqlparser.schema.Column;
+import net.sf.jsqlparser.schema.Table;
+import net.sf.jsqlparser.statement.Statement;
+import net.sf.jsqlparser.statement.select.AllColumns;
+import net.sf.jsqlparser.statement.select.AllTableColumns;
+import net.sf.jsqlparser.statement.select.OrderByElement;
+import net.sf.jsqlparser.statement.select.PlainSelect;
+import net.sf.jsqlparser.statement.select.SelectItem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Projection Pushdown - Narrows the select list of a query to the columns its fieldMapping keeps
+ * <p>
+ * SELECT * FROM orders WHERE customer_id = ?          (fieldMapping keeps id and status)
+ * SELECT `id`, `status` FROM orders WHERE customer_id = ?
+ * <p>
+ * Result column names are learned from the first execution of a statement, so a rewrite never
+ * references a column the original statement did not return and rows map exactly as before.
+ * Until then, and for statements that cannot be narrowed safely, the SQL runs unchanged.
+ * A statement is narrowed only if it is a single SELECT without DISTINCT and either:
+ * - selects * (or table.*) from one table without joins, or
+ * - lists its items explicitly; items binding parameters or named in ORDER BY, GROUP BY or
+ *   HAVING are kept, and positional ORDER BY / GROUP BY disables the rewrite
+ * <p>
+ * Learned columns and rewrites are cached per statement for COLUMNS_TTL, so schema changes are
+ * picked up by relearning. A narrowed statement the database rejects is retried as written and
+ * forgotten (see forget). Disabled per query with "projectionPushdown": false.
+ */
+public class ProjectionPushdown {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProjectionPushdown.class);
+
+    static final int MAX_CACHED_STATEMENTS = 1000;
+    static final Duration COLUMNS_TTL = Duration.ofMinutes(10);
+
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_$]*");
+    private static final Pattern POSITIONAL = Pattern.compile("^\\d+$");
+
+    private final char identifierQuote;
+
+    // SQL -> result column names of the unmodified statement, empty if it cannot be narrowed
+    private final Cache<String, List<String>> columnsBySql;
+
+    // SQL + mapped columns -> SQL to execute (the original SQL if nothing can be removed)
+    private final Cache<ProjectionKey, String> rewrites;
+
+    /**
+     * @param identifierQuote Quote of the driver's SQL dialect for column identifiers
+     */
+    public ProjectionPushdown(char identifierQuote) {
+        this(identifierQuote, Ticker.systemTicker());
+    }
+
+    ProjectionPushdown(char identifierQuote, Ticker ticker) {
+        this.identifierQuote = identifierQuote;
+        this.columnsBySql = Caffeine.newBuilder()
+                .maximumSize(MAX_CACHED_STATEMENTS)
+                .expireAfterWrite(COLUMNS_TTL)
+                .ticker(ticker)
+                .build();
+        this.rewrites = Caffeine.newBuilder()
+                .maximumSize(MAX_CACHED_STATEMENTS)
+                .expireAfterWrite(COLUMNS_TTL)
+                .ticker(ticker)
+                .build();
+    }
+
+    /**
+     * Narrow a parsed query to the columns of its field mapping
+     *
+     * @param parsedSql   Parsed query
+     * @param queryConfig Query configuration (fieldMapping, projectionPushdown)
+     * @return Narrowed query, or parsedSql itself if it runs unchanged
+     */
+    public ParsedSql apply(ParsedSql parsedSql, Map<String, Object> queryConfig) {
+        if (!isEnabled(queryConfig)) {
+            return parsedSql;
+        }
+        List<String> columns = columnsBySql.getIfPresent(parsedSql.getSql());
+        if (columns == null || columns.isEmpty()) {
+            return parsedSql;
+        }
+
+        ProjectionKey key = new ProjectionKey(parsedSql.getSql(), mappedColumns(queryConfig));
+        String sql = rewrites.get(key, k -> narrow(k.sql(), columns, k.columns()));
+        return sql.equals(parsedSql.getSql()) ? parsedSql : new ParsedSql(sql, parsedSql.getParameters());
+    }
+
+    /**
+     * Check whether a query should report its result columns through learn()
+     *
+     * @param sql         Statement as executed unchanged
+     * @param queryConfig Query configuration
+     */
+    public boolean needsColumns(String sql, Map<String, Object> queryConfig) {
+        return isEnabled(queryConfig) && columnsBySql.getIfPresent(sql) == null;
+    }
+
+    /**
+     * Record the result columns of an unmodified statement
+     *
+     * @param sql         Statement as executed
+     * @param columnNames Names of all result columns, in order
+     */
+    public void learn(String sql, String[] columnNames) {
+        if (columnsBySql.getIfPresent(sql) != null) {
+            return;
+        }
+        columnsBySql.asMap().putIfAbsent(sql, parseSelect(sql) != null ? List.of(columnNames) : List.of());
+    }
+
+    /**
+     * Forget the learned columns and rewrites of a statement, e.g. after its narrowed form failed
+     * The statement runs unchanged and is learned again on its next execution.
+     *
+     * @param sql Statement as written
+     */
+    public void forget(String sql) {
+        columnsBySql.invalidate(sql);
+        rewrites.asMap().keySet().removeIf(key -> key.sql().equals(sql));
+    }
+
+    private static boolean isEnabled(Map<String, Object> queryConfig) {
+        return queryConfig.get("fieldMapping") instanceof Map<?, ?> mapping && !mapping.isEmpty()
+                && !"false".equalsIgnoreCase(String.valueOf(queryConfig.get("projectionPushdown")));
+    }
+
+    private static Set<String> mappedColumns(Map<String, Object> queryConfig) {
+        Set<String> columns = new HashSet<>();
+        ((Map<?, ?>) queryConfig.get("fieldMapping")).forEach((target, source) ->
+                columns.add(source != null ? source.toString() : target.toString()));
+        return columns;
+    }
+
+    /**
+     * Parse a statement that may be narrowed
+     *
+     * @return Plain SELECT, or null if the statement cannot be narrowed
+     */
+    private static PlainSelect parseSelect(String sql) {
+        try {
+            Statement statement = CCJSqlParserUtil.parse(sql);
+            if (!(statement instanceof PlainSelect select) || select.getDistinct() != null) {
+                return null;
+            }
+            if (select.getOrderByElements() != null) {
+                for (OrderByElement element : select.getOrderByElements()) {
+                    if (element.getExpression() instanceof LongValue) {
+                        return null;
+                    }
+                }
+            }
+            if (select.getGroupBy() != null) {
+                String groupBy = select.getGroupBy().toString().replaceFirst("(?i)^\\s*GROUP\\s+BY", "");
+                for (String expression : groupBy.split(",")) {
+                    if (POSITIONAL.matcher(expression.trim()).matches()) {
+                        return null;
+                    }
+                }
+            }
+            return select;
+        } catch (JSQLParserException e) {
+            logger.debug("Projection pushdown skipped, statement not parsed: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private String narrow(String sql, List<String> columns, Set<String> mapped) {
+        PlainSelect select = parseSelect(sql);
+        if (select == null) {
+            return sql;
+        }
+        List<SelectItem<?>> items = select.getSelectItems();
+        List<SelectItem<?>> narrowed = new ArrayList<>();
+        // Number of items selecting everything the statement returns today
+        int unchanged = items.size();
+
+        if (items.size() == 1 && isWildcard(items.get(0).getExpression())) {
+            boolean singleTable = select.getFromItem() instanceof Table
+                    && (select.getJoins() == null || select.getJoins().isEmpty());
+            if (!singleTable) {
+                return sql;
+            }
+            unchanged = new HashSet<>(columns).size();
+            Set<String> added = new LinkedHashSet<>();
+            for (String column : columns) {
+                if (mapped.contains(column) && added.add(column)) {
+                    if (column.indexOf(identifierQuote) >= 0) {
+                        return sql;
+                    }
+                    narrowed.add(new SelectItem<>(new Column(identifierQuote + column + identifierQuote)));
+                }
+            }
+        } else {
+            if (items.size() != columns.size()) {
+                return sql;
+            }
+            Set<String> referenced = referencedNames(select);
+            for (int i = 0; i < items.size(); i++) {
+                SelectItem<?> item = items.get(i);
+                if (isWildcard(item.getExpression())) {
+                    return sql;
+                }
+                Alias alias = item.getAlias();
+                boolean keep = mapped.contains(columns.get(i))
+                        // Removing a bound item would shift the positions of later parameters
+                        || item.toString().contains("?")
+                        || alias != null && referenced.contains(unquote(alias.getName()));
+                if (keep) {
+                    narrowed.add(item);
+                }
+            }
+        }
+
+        if (narrowed.isEmpty() || narrowed.size() == unchanged) {
+            return sql;
+        }
+        select.setSelectItems(narrowed);
+        return select.toString();
+    }
+
+    private static boolean isWildcard(Expression expression) {
+        return expression instanceof AllColumns || expression instanceof AllTableColumns;
+    }
+
+    /**
+     * Identifiers used by ORDER BY, GROUP BY and HAVING, which may reference select item aliases
+     */
+    private static Set<String> referencedNames(PlainSelect select) {
+        StringBuilder clauses = new StringBuilder();
+        if (select.getOrderByElements() != null) {
+            select.getOrderByElements().forEach(element -> clauses.append(element).append(' '));
+        }
+        if (select.getGroupBy() != null) {
+            clauses.append(select.getGroupBy()).append(' ');
+        }
+        if (select.getHaving() != null) {
+            clauses.append(select.getHaving());
+        }
+        Set<String> names = new HashSet<>();
+        Matcher matcher = IDENTIFIER.matcher(clauses);
+        while (matcher.find()) {
+            names.add(matcher.group().toLowerCase(Locale.ROOT));
+        }
+        return names;
+    }
+
+    private static String unquote(String name) {
+        return name.replaceAll("[`\"]", "").toLowerCase(Locale.ROOT);
+    }
+
+    private record ProjectionKey(String sql, Set<String> columns) {
+    }
+}
@@ -0,0 +1,118 @@
+package com.citi.tts.apibrick.core.datasource;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Query Key - Identifies one query execution
+ * <p>
+ * Two executions have equal keys when they target the same tenant and data source
+ * with the same statement and bound parameters. Used by the query result cache and
+ * by in-flight query coalescing.
+ * <p>
+ * The statement part is a SHA-256 of the canonical JSON of the query configuration
+ * (map keys sorted), without the entries that only control how the query is executed.
+ */
+public final class QueryKey {
+
+    // Query configuration entries that control how a query is executed, not what it returns
+    private static final Set<String> NON_SEMANTIC_KEYS = Set.of("cache", "resultMode", "coalesce", "batch");
+
+    private static final ObjectMapper CANONICAL_MAPPER = new ObjectMapper()
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
+    private final String tenantId;
+    private final String datasourceId;
+    private final String statementHash;
+
+    private QueryKey(String tenantId, String datasourceId, String statementHash) {
+        this.tenantId = tenantId;
+        this.datasourceId = datasourceId;
+        this.statementHash = statementHash;
+    }
+
+    /**
+     * Build a key for a query execution
+     *
+     * @param tenantId     Tenant ID
+     * @param datasourceId Data source configuration ID
+     * @param queryConfig  Query configuration (SQL and parameters, Mongo conditions, etc.)
+     * @return QueryKey
+     */
+    public static QueryKey of(String tenantId, String datasourceId, Map<String, Object> queryConfig) {
+        Map<String, Object> semantic = new TreeMap<>();
+        if (queryConfig != null) {
+            queryConfig.forEach((key, value) -> {
+                if (!NON_SEMANTIC_KEYS.contains(key)) {
+                    semantic.put(key, value);
+                }
+            });
+        }
+        try {
+            byte[] canonical = CANONICAL_MAPPER.writeValueAsBytes(semantic);
+            return new QueryKey(tenantId, datasourceId, sha256(canonical));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Query configuration is not serializable: " + e.getMessage(), e);
+        }
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public String getTenantId() {
+        return tenantId;
+    }
+
+    public String getDatasourceId() {
+        return datasourceId;
+    }
+
+    public String getStatementHash() {
+        return statementHash;
+    }
+
+    /**
+     * Key without the tenant part, format: {datasourceId}:{statementHash}
+     * Callers add the tenant prefix for shared stores (see TenantKeyUtil)
+     */
+    public String toUntenantedKey() {
+        return datasourceId + ":" + statementHash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof QueryKey other)) {
+            return false;
+        }
+        return Objects.equals(tenantId, other.tenantId)
+                && Objects.equals(datasourceId, other.datasourceId)
+                && statementHash.equals(other.statementHash);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(tenantId, datasourceId, statementHash);
+    }
+
+    @Override
+    public String toString() {
+        return tenantId + ":" + toUntenantedKey();
+    }
+}
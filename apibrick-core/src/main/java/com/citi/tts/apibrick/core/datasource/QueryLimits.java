@@ -0,0 +1,210 @@
+package com.citi.tts.apibrick.core.datasource;
+
+import com.citi.tts.apibrick.common.exception.QueryLimitExceededException;
+import com.citi.tts.apibrick.common.util.ConfigValueUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * Query Limits - Bounds the memory a single query result may occupy
+ * <p>
+ * Read from the query configuration, falling back to the "queryLimits" section of the data source config:
+ * - maxRows: maximum number of rows returned (default unlimited)
+ * - maxBytes: maximum estimated size of the returned rows (default unlimited)
+ * - fetchSize: rows requested from the driver per round-trip (default 256)
+ * - onLimitExceeded: TRUNCATE (default) stops reading and flags the result,
+ *   ERROR fails the query with QueryLimitExceededException
+ * <p>
+ * Results are never cut short unless a limit is configured, so a data source opts in to truncation
+ * explicitly (or per query).
+ */
+public class QueryLimits {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryLimits.class);
+
+    public static final int DEFAULT_MAX_ROWS = Integer.MAX_VALUE;
+    public static final long DEFAULT_MAX_BYTES = Long.MAX_VALUE;
+    public static final int DEFAULT_FETCH_SIZE = 256;
+
+    /**
+     * No row or byte limit
+     */
+    public static final QueryLimits UNLIMITED =
+            new QueryLimits(DEFAULT_MAX_ROWS, DEFAULT_MAX_BYTES, DEFAULT_FETCH_SIZE, false);
+
+    private final int maxRows;
+    private final long maxBytes;
+    private final int fetchSize;
+    private final boolean failOnExceed;
+
+    public QueryLimits(int maxRows, long maxBytes, int fetchSize, boolean failOnExceed) {
+        if (maxRows <= 0 || maxBytes <= 0 || fetchSize <= 0) {
+            throw new IllegalArgumentException("maxRows, maxBytes and fetchSize must be positive");
+        }
+        this.maxRows = maxRows;
+        this.maxBytes = maxBytes;
+        this.fetchSize = fetchSize;
+        this.failOnExceed = failOnExceed;
+    }
+
+    /**
+     * Build limits from query configuration, falling back to defaults
+     *
+     * @param queryConfig Query configuration
+     * @return QueryLimits instance
+     */
+    public static QueryLimits from(Map<String, Object> queryConfig) {
+        return from(queryConfig, UNLIMITED);
+    }
+
+    /**
+     * Build limits from query configuration, falling back to the data source limits
+     *
+     * @param queryConfig Query configuration
+     * @param defaults    Limits of the data source (see {@link #forDataSource(Map)})
+     * @return QueryLimits instance
+     */
+    public static QueryLimits from(Map<String, Object> queryConfig, QueryLimits defaults) {
+        if (queryConfig == null) {
+            return defaults;
+        }
+        int maxRows = ConfigValueUtil.toInt(queryConfig.get("maxRows"), defaults.maxRows);
+        long maxBytes = ConfigValueUtil.toLong(queryConfig.get("maxBytes"), defaults.maxBytes);
+        int fetchSize = ConfigValueUtil.toInt(queryConfig.get("fetchSize"), Math.min(defaults.fetchSize, maxRows));
+        Object onLimitExceeded = queryConfig.get("onLimitExceeded");
+        boolean failOnExceed = onLimitExceeded != null
+                ? "ERROR".equalsIgnoreCase(String.valueOf(onLimitExceeded))
+                : defaults.failOnExceed;
+        return new QueryLimits(maxRows, maxBytes, fetchSize, failOnExceed);
+    }
+
+    /**
+     * Build the default limits of a data source from the "queryLimits" section of its config
+     *
+     * @param config Data source configuration
+     * @return Configured limits, or UNLIMITED if the section is absent
+     */
+    @SuppressWarnings("unchecked")
+    public static QueryLimits forDataSource(Map<String, Object> config) {
+        return config != null && config.get("queryLimits") instanceof Map<?, ?> section
+                ? from((Map<String, Object>) section, UNLIMITED)
+                : UNLIMITED;
+    }
+
+    /**
+     * Apply the limits to a row stream
+     * Rows are pulled from upstream in fetchSize chunks; once a limit is reached the
+     * upstream is cancelled so the driver stops reading from the server
+     *
+     * @param rows       Row stream
+     * @param onTruncate Callback invoked once if the stream is cut short (may be null)
+     * @return Bounded row stream
+     */
+    public Flux<Map<String, Object>> apply(Flux<Map<String, Object>> rows, Runnable onTruncate) {
+        return apply(rows, QueryLimits::estimateSize, onTruncate);
+    }
+
+    /**
+     * Apply the limits to a stream of rows in any representation
+     *
+     * @param rows       Row stream
+     * @param sizer      Estimates the retained size of one row in bytes
+     * @param onTruncate Callback invoked once if the stream is cut short (may be null)
+     * @return Bounded row stream
+     */
+    public <T> Flux<T> apply(Flux<T> rows, ToLongFunction<? super T> sizer, Runnable onTruncate) {
+        return Flux.defer(() -> {
+            long[] state = new long[2]; // [0] = rows emitted, [1] = bytes emitted
+            return rows.limitRate(fetchSize)
+                    .<T>handle((row, sink) -> {
+                        // Sizing walks the whole row, so skip it when there is no byte limit
+                        long rowBytes = maxBytes == Long.MAX_VALUE ? 0 : sizer.applyAsLong(row);
+                        if (state[0] >= maxRows || state[1] + rowBytes > maxBytes) {
+                            String reason = state[0] >= maxRows
+                                    ? "row limit " + maxRows
+                                    : "byte limit " + maxBytes;
+                            if (failOnExceed) {
+                                sink.error(new QueryLimitExceededException(
+                                        "Query result exceeded " + reason));
+                                return;
+                            }
+                            logger.warn("Query result truncated at {} rows ({} bytes): {} reached",
+                                    state[0], state[1], reason);
+                            if (onTruncate != null) {
+                                onTruncate.run();
+                            }
+                            sink.complete();
+                            return;
+                        }
+                        state[0]++;
+                        state[1] += rowBytes;
+                        sink.next(row);
+                    });
+        });
+    }
+
+    /**
+     * Rough estimate of the heap retained by a converted row or value
+     */
+    public static long estimateSize(Object value) {
+        if (value == null) {
+            return 8;
+        }
+        if (value instanceof CharSequence text) {
+            return 40 + 2L * text.length();
+        }
+        if (value instanceof byte[] bytes) {
+            return 16 + bytes.length;
+        }
+        if (value instanceof Map<?, ?> map) {
+            long size = 48;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                size += 32 + estimateSize(entry.getKey()) + estimateSize(entry.getValue());
+            }
+            return size;
+        }
+        if (value instanceof Object[] array) {
+            long size = 16;
+            for (Object item : array) {
+                size += 8 + estimateSize(item);
+            }
+            return size;
+        }
+        if (value instanceof Collection<?> collection) {
+            long size = 40;
+            for (Object item : collection) {
+                size += 8 + estimateSize(item);
+            }
+            return size;
+        }
+        return 24;
+    }
+
+    /**
+     * Whether the number of rows is bounded (false for the default, unlimited rows)
+     */
+    public boolean isRowLimited() {
+        return maxRows != Integer.MAX_VALUE;
+    }
+
+    public int getMaxRows() {
+        return maxRows;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    public boolean isFailOnExceed() {
+        return failOnExceed;
+    }
+}
@@ -0,0 +1,169 @@
+package com.citi.tts.apibrick.core.datasource;
+
+import io.r2dbc.spi.ColumnMetadata;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * R2DBC Row Mapper - Converts R2DBC rows to JSON-like maps
+ * <p>
+ * One instance is created per result set. The conversion plan (output field name,
+ * column index and column converter) is built from the metadata of the first row and
+ * reused for every following row, so cells are fetched by index without name lookups
+ * or per-cell type checks.
+ * <p>
+ * Not thread-safe: R2DBC invokes the mapping function sequentially for a single result.
+ */
+public class R2dbcRowMapper implements BiFunction<Row, RowMetadata, Map<String, Object>> {
+
+    private final Map<String, Object> fieldMapping;
+    private final Function<ColumnMetadata, ColumnConverter> converterFactory;
+    private final List<String> rawFields;
+
+    // Conversion plan, built lazily from the first row's metadata
+    private String[] columnNames;
+    private String[] fieldNames;
+    private int[] columnIndexes;
+    private ColumnConverter[] converters;
+    private int[] rawIndexes;
+
+    /**
+     * @param fieldMapping     Field mapping (target field -> source column), null or empty maps all columns
+     * @param converterFactory Chooses a converter for a column from its metadata
+     */
+    public R2dbcRowMapper(Map<String, Object> fieldMapping,
+                          Function<ColumnMetadata, ColumnConverter> converterFactory) {
+        this(fieldMapping, converterFactory, List.of());
+    }
+
+    /**
+     * @param fieldMapping     Field mapping (target field -> source column), null or empty maps all columns
+     * @param converterFactory Chooses a converter for a column from its metadata
+     * @param rawFields        Output fields whose driver values are also returned unconverted, after the
+     *                         converted values (e.g. pagination sort keys, which must keep their SQL type)
+     */
+    public R2dbcRowMapper(Map<String, Object> fieldMapping,
+                          Function<ColumnMetadata, ColumnConverter> converterFactory,
+                          List<String> rawFields) {
+        this.fieldMapping = fieldMapping;
+        this.converterFactory = converterFactory;
+        this.rawFields = List.copyOf(rawFields);
+    }
+
+    @Override
+    public Map<String, Object> apply(Row row, RowMetadata metadata) {
+        return toMap(values(row, metadata));
+    }
+
+    /**
+     * Read and convert the row values in output field order
+     * Used to append rows to a ColumnarResultSet without building a map per row
+     *
+     * @param row      Current row
+     * @param metadata Row metadata
+     * @return Converted values, aligned with getFieldNames(), followed by the driver values of the raw fields
+     */
+    public Object[] values(Row row, RowMetadata metadata) {
+        if (converters == null) {
+            buildPlan(metadata);
+        }
+        Object[] values = new Object[fieldNames.length + rawIndexes.length];
+        for (int i = 0; i < fieldNames.length; i++) {
+            int index = columnIndexes[i];
+            values[i] = index < 0 ? null : converters[i].read(row, index);
+        }
+        for (int i = 0; i < rawIndexes.length; i++) {
+            values[fieldNames.length + i] = row.get(rawIndexes[i]);
+        }
+        return values;
+    }
+
+    /**
+     * Build a map from values returned by values(Row, RowMetadata)
+     */
+    public Map<String, Object> toMap(Object[] values) {
+        Map<String, Object> result = HashMap.newHashMap(fieldNames.length);
+        for (int i = 0; i < fieldNames.length; i++) {
+            result.put(fieldNames[i], values[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Output field names, available once the first row has been mapped
+     *
+     * @return Field names or null if no row has been mapped yet
+     */
+    public String[] getFieldNames() {
+        return fieldNames;
+    }
+
+    /**
+     * Names of all result columns, available once the first row has been mapped
+     *
+     * @return Column names or null if no row has been mapped yet
+     */
+    public String[] getColumnNames() {
+        return columnNames;
+    }
+
+    private void buildPlan(RowMetadata metadata) {
+        buildConversionPlan(metadata);
+        rawIndexes = new int[rawFields.size()];
+        for (int i = 0; i < rawIndexes.length; i++) {
+            int field = List.of(fieldNames).indexOf(rawFields.get(i));
+            if (field < 0 || columnIndexes[field] < 0) {
+                throw new IllegalArgumentException("Not a result column: " + rawFields.get(i));
+            }
+            rawIndexes[i] = columnIndexes[field];
+        }
+    }
+
+    private void buildConversionPlan(RowMetadata metadata) {
+        List<? extends ColumnMetadata> columns = metadata.getColumnMetadatas();
+        columnNames = new String[columns.size()];
+        for (int i = 0; i < columns.size(); i++) {
+            columnNames[i] = columns.get(i).getName();
+        }
+
+        if (fieldMapping == null || fieldMapping.isEmpty()) {
+            // Map all columns under their own names
+            fieldNames = new String[columns.size()];
+            columnIndexes = new int[columns.size()];
+            converters = new ColumnConverter[columns.size()];
+            for (int i = 0; i < columns.size(); i++) {
+                fieldNames[i] = columns.get(i).getName();
+                columnIndexes[i] = i;
+                converters[i] = converterFactory.apply(columns.get(i));
+            }
+            return;
+        }
+
+        Map<String, Integer> indexByName = HashMap.newHashMap(columns.size());
+        for (int i = 0; i < columns.size(); i++) {
+            indexByName.putIfAbsent(columns.get(i).getName(), i);
+        }
+
+        fieldNames = new String[fieldMapping.size()];
+        columnIndexes = new int[fieldMapping.size()];
+        converters = new ColumnConverter[fieldMapping.size()];
+        int i = 0;
+        for (Map.Entry<String, Object> mapping : fieldMapping.entrySet()) {
+            String targetField = mapping.getKey();
+            String sourceField = mapping.getValue() != null ? mapping.getValue().toString() : targetField;
+            Integer index = indexByName.get(sourceField);
+
+            fieldNames[i] = targetField;
+            // Unknown source columns map to null, as with Map-based conversion
+            columnIndexes[i] = index != null ? index : -1;
+            converters[i] = index != null ? converterFactory.apply(columns.get(index)) : null;
+            i++;
+        }
+    }
+}
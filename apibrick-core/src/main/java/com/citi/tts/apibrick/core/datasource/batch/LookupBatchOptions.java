@@ -0,0 +1,92 @@
+package com.citi.tts.apibrick.core.datasource.batch;
+
+import com.citi.tts.apibrick.common.util.ConfigValueUtil;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Lookup Batch Options - Per-query settings for batched key lookups
+ * <p>
+ * Configured under "batch" in the query configuration:
+ * {
+ *   "sql": "SELECT id, name FROM customer WHERE id = ?",
+ *   "parameters": [42],
+ *   "batch": {
+ *     "enabled": true,
+ *     "keyColumn": "id",
+ *     "keyField": "id",
+ *     "windowMillis": 5,
+ *     "maxBatchSize": 100
+ *   }
+ * }
+ * - keyColumn: column of the "keyColumn = ?" predicate that is turned into "keyColumn IN (...)"
+ * - keyField: result column holding the key, used to route rows back (default keyColumn without qualifier)
+ * - windowMillis: how long the first lookup of a batch waits for others (default 5)
+ * - maxBatchSize: batch is executed immediately once it holds this many keys (default 100)
+ */
+public class LookupBatchOptions {
+
+    public static final long DEFAULT_WINDOW_MILLIS = 5;
+    public static final int DEFAULT_MAX_BATCH_SIZE = 100;
+
+    private final String keyColumn;
+    private final String keyField;
+    private final Duration window;
+    private final int maxBatchSize;
+
+    public LookupBatchOptions(String keyColumn, String keyField, Duration window, int maxBatchSize) {
+        if (keyColumn == null || keyColumn.isBlank()) {
+            throw new IllegalArgumentException("Batch keyColumn is required");
+        }
+        if (window == null || window.isNegative()) {
+            throw new IllegalArgumentException("Batch window must not be negative");
+        }
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Batch maxBatchSize must be positive");
+        }
+        this.keyColumn = keyColumn.trim();
+        this.keyField = keyField != null && !keyField.isBlank()
+                ? keyField.trim()
+                : this.keyColumn.substring(this.keyColumn.lastIndexOf('.') + 1);
+        this.window = window;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Read batch options from query configuration
+     *
+     * @param queryConfig Query configuration
+     * @return Batch options, or null if batching is not enabled for this query
+     */
+    @SuppressWarnings("unchecked")
+    public static LookupBatchOptions from(Map<String, Object> queryConfig) {
+        if (queryConfig == null || !(queryConfig.get("batch") instanceof Map)) {
+            return null;
+        }
+        Map<String, Object> batch = (Map<String, Object>) queryConfig.get("batch");
+        if (!ConfigValueUtil.toBoolean(batch.get("enabled"), false)) {
+            return null;
+        }
+        long windowMillis = ConfigValueUtil.toLong(batch.get("windowMillis"), DEFAULT_WINDOW_MILLIS);
+        int maxBatchSize = ConfigValueUtil.toInt(batch.get("maxBatchSize"), DEFAULT_MAX_BATCH_SIZE);
+        return new LookupBatchOptions((String) batch.get("keyColumn"), (String) batch.get("keyField"),
+                Duration.ofMillis(windowMillis), maxBatchSize);
+    }
+
+    public String getKeyColumn() {
+        return keyColumn;
+    }
+
+    public String getKeyField() {
+        return keyField;
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+}
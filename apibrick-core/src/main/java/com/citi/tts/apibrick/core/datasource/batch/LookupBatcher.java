@@ -0,0 +1,543 @@
+package com.citi.tts.apibrick.core.datasource.batch;
+
+import com.citi.tts.apibrick.core.datasource.ColumnConverter;
+import com.citi.tts.apibrick.core.datasource.QueryLimits;
+import com.citi.tts.apibrick.core.datasource.R2dbcRowMapper;
+import io.r2dbc.spi.ColumnMetadata;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import io.r2dbc.spi.Statement;
+import net.sf.jsqlparser.JSQLParserException;
+import net.sf.jsqlparser.expression.AnalyticExpression;
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.ExpressionVisitorAdapter;
+import net.sf.jsqlparser.expression.JdbcParameter;
+import net.sf.jsqlparser.expression.Parenthesis;
+import net.sf.jsqlparser.expression.operators.conditional.AndExpression;
+import net.sf.jsqlparser.expression.operators.relational.EqualsTo;
+import net.sf.jsqlparser.parser.CCJSqlParserUtil;
+import net.sf.jsqlparser.schema.Column;
+import net.sf.jsqlparser.statement.select.PlainSelect;
+import net.sf.jsqlparser.statement.select.SelectItem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.UnaryOperator;
+import java.util.regex.Pattern;
+
+/**
+ * Lookup Batcher - Merges concurrent single-key lookups into one IN query
+ * <p>
+ * Lookups of the same statement (same SQL, other parameters and field mapping) that
+ * arrive within the batch window are collected; the batch is executed when the window
+ * elapses or maxBatchSize keys are collected, whichever comes first:
+ * <p>
+ * SELECT id, name FROM customer WHERE id = ?         (one lookup per caller)
+ * SELECT id, name FROM customer WHERE id IN (?, ?, ?) (one query per batch)
+ * <p>
+ * Rows are routed back to each caller by the value of the key field, and each caller
+ * receives the same result shape as a regular query execution.
+ * <p>
+ * Only statements whose answer per key does not depend on the other keys are batched:
+ * a plain SELECT where "keyColumn = ?" is a top-level AND condition of the WHERE clause,
+ * without LIMIT/OFFSET, DISTINCT, GROUP BY/HAVING, aggregates or window functions.
+ * Other statements run as single queries (see canBatch). The batch query fetches at most
+ * keys x maxRows rows; if it hits that bound, its lookups are answered by single queries.
+ * <p>
+ * The batch query is shared by the pipelines of its callers: it runs with the Reactor context
+ * of the first caller, and it is cancelled (or never started) once every caller has cancelled.
+ */
+public class LookupBatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(LookupBatcher.class);
+
+    private final ConnectionFactory connectionFactory;
+    private final Function<ColumnMetadata, ColumnConverter> converterFactory;
+    private final UnaryOperator<String> nativeSql;
+    private final IntFunction<String> limitClause;
+    private final Scheduler scheduler;
+
+    // Map: keyColumn + SQL -> rewritable statement, empty if the statement cannot be batched
+    private final Map<String, Optional<BatchStatement>> statements = new ConcurrentHashMap<>();
+
+    // Map: statement group -> batch still collecting lookups
+    private final Map<BatchGroup, Batch> openBatches = new ConcurrentHashMap<>();
+
+    /**
+     * @param connectionFactory Connection factory (usually the data source connection pool)
+     * @param converterFactory  Chooses a column converter from column metadata
+     */
+    public LookupBatcher(ConnectionFactory connectionFactory,
+                         Function<ColumnMetadata, ColumnConverter> converterFactory) {
+        this(connectionFactory, converterFactory, UnaryOperator.identity(), rows -> "LIMIT " + rows);
+    }
+
+    /**
+     * @param connectionFactory Connection factory (usually the data source connection pool)
+     * @param converterFactory  Chooses a column converter from column metadata
+     * @param nativeSql         Converts the batched "?" SQL to the driver's placeholder syntax
+     * @param limitClause       Clause limiting a query to its first rows in the driver's dialect
+     */
+    public LookupBatcher(ConnectionFactory connectionFactory,
+                         Function<ColumnMetadata, ColumnConverter> converterFactory,
+                         UnaryOperator<String> nativeSql,
+                         IntFunction<String> limitClause) {
+        this(connectionFactory, converterFactory, nativeSql, limitClause, Schedulers.parallel());
+    }
+
+    LookupBatcher(ConnectionFactory connectionFactory,
+                  Function<ColumnMetadata, ColumnConverter> converterFactory,
+                  UnaryOperator<String> nativeSql,
+                  IntFunction<String> limitClause,
+                  Scheduler scheduler) {
+        this.connectionFactory = connectionFactory;
+        this.converterFactory = converterFactory;
+        this.nativeSql = nativeSql;
+        this.limitClause = limitClause;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Check whether lookups of a statement can be merged into one IN query
+     * Statements that cannot should run as regular single queries
+     *
+     * @param sql     SQL with "?" placeholders
+     * @param options Batch options
+     * @return true if the statement is batched by execute()
+     * @throws IllegalArgumentException if the SQL has no "keyColumn = ?" predicate
+     */
+    public boolean canBatch(String sql, LookupBatchOptions options) {
+        return statement(sql, options).isPresent();
+    }
+
+    private Optional<BatchStatement> statement(String sql, LookupBatchOptions options) {
+        return statements.computeIfAbsent(options.getKeyColumn() + '\u0000' + sql,
+                k -> Optional.ofNullable(BatchStatement.parse(sql, options.getKeyColumn())));
+    }
+
+    /**
+     * Execute a single-key lookup as part of a batch, or alone if the statement cannot be batched
+     *
+     * @param sql         SQL with "?" placeholders and one "keyColumn = ?" predicate
+     * @param parameters  Positional parameters, including the lookup key
+     * @param queryConfig Query configuration (fieldMapping)
+     * @param limits      Limits of the query (maxRows bounds the rows per key)
+     * @param options     Batch options
+     * @return Mono with the lookup result
+     */
+    @SuppressWarnings("unchecked")
+    public Mono<Map<String, Object>> execute(String sql,
+                                             List<Object> parameters,
+                                             Map<String, Object> queryConfig,
+                                             QueryLimits limits,
+                                             LookupBatchOptions options) {
+        return Mono.defer(() -> {
+            Map<String, Object> fieldMapping = (Map<String, Object>) queryConfig.get("fieldMapping");
+            int maxRows = limits.getMaxRows();
+            BatchStatement statement = statement(sql, options).orElse(null);
+            if (statement == null) {
+                return executeSingle(sql, parameters != null ? parameters : List.of(), fieldMapping, maxRows);
+            }
+
+            List<Object> otherParameters = parameters != null ? new ArrayList<>(parameters) : new ArrayList<>();
+            if (statement.keyParameterIndex() >= otherParameters.size()) {
+                return Mono.error(new IllegalArgumentException(
+                        "Batch lookup key parameter is missing for column " + options.getKeyColumn()));
+            }
+            Object key = otherParameters.remove(statement.keyParameterIndex());
+            if (key == null) {
+                return Mono.error(new IllegalArgumentException("Batch lookup key must not be null"));
+            }
+
+            BatchGroup group = new BatchGroup(statement, otherParameters, fieldMapping, options.getKeyField(), maxRows);
+            Batch batch = join(group, key, options);
+            return batch.results
+                    .map(rowsByKey -> toResult(rowsByKey.get(normalizeKey(key)), maxRows))
+                    // Empty when the batch hit its row bound: this lookup is answered on its own
+                    .switchIfEmpty(Mono.defer(() -> executeSingle(sql,
+                            statement.parameters(otherParameters, key), fieldMapping, maxRows)))
+                    .doOnCancel(() -> leave(batch));
+        });
+    }
+
+    /**
+     * Add a lookup to the batch collecting its group, opening a new batch if none is
+     */
+    private Batch join(BatchGroup group, Object key, LookupBatchOptions options) {
+        Batch[] joined = new Batch[1];
+        boolean[] full = new boolean[1];
+        openBatches.compute(group, (k, batch) -> {
+            if (batch == null) {
+                batch = newBatch(k, options.getWindow());
+            }
+            batch.keys.add(key);
+            batch.callers.incrementAndGet();
+            joined[0] = batch;
+            if (batch.keys.size() >= options.getMaxBatchSize()) {
+                // Batch is full: stop collecting and execute right away
+                full[0] = true;
+                return null;
+            }
+            return batch;
+        });
+        if (full[0]) {
+            joined[0].full.tryEmitEmpty();
+        }
+        return joined[0];
+    }
+
+    /**
+     * Remove a cancelled lookup from its batch; the batch is cancelled with its last lookup
+     */
+    private void leave(Batch batch) {
+        boolean[] abandoned = new boolean[1];
+        openBatches.compute(batch.group, (k, current) -> {
+            if (batch.callers.decrementAndGet() > 0) {
+                return current;
+            }
+            abandoned[0] = true;
+            return current == batch ? null : current;
+        });
+        Disposable execution = batch.execution;
+        if (abandoned[0] && execution != null) {
+            logger.debug("Batched lookup cancelled by all its callers. keys={}", batch.keys.size());
+            execution.dispose();
+        }
+    }
+
+    /**
+     * Batch executed when its window elapses or it is full, once for all of its callers
+     * The replayed result also reaches callers subscribing after the query completed.
+     */
+    private Batch newBatch(BatchGroup group, Duration window) {
+        Batch batch = new Batch(group);
+        batch.results = Mono.firstWithSignal(Mono.delay(window, scheduler).then(), batch.full.asMono())
+                .then(Mono.defer(() -> executeBatch(batch)))
+                .flux()
+                .replay(1)
+                .autoConnect(1, execution -> batch.execution = execution)
+                .next();
+        return batch;
+    }
+
+    /**
+     * Execute the IN query of a batch
+     *
+     * @return Mono with the rows of each key, empty if the query hit its row bound
+     */
+    private Mono<Map<String, List<Map<String, Object>>>> executeBatch(Batch batch) {
+        // Removal happens under the map lock, so no lookup is added after this point
+        openBatches.remove(batch.group, batch);
+        BatchGroup group = batch.group;
+
+        // Distinct keys in arrival order
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (Object key : batch.keys) {
+            keys.putIfAbsent(normalizeKey(key), key);
+        }
+
+        // At most maxRows per key; one row more tells that the bound was hit
+        int maxBatchRows = (int) Math.min((long) keys.size() * group.maxRows(), Integer.MAX_VALUE - 1);
+        String sql = group.statement().sqlFor(keys.size()) + " " + limitClause.apply(maxBatchRows + 1);
+        List<Object> bindings = group.statement().bindings(group.otherParameters(), keys.values());
+        R2dbcRowMapper rowMapper = new R2dbcRowMapper(group.fieldMapping(), converterFactory);
+
+        logger.debug("Executing batched lookup. keys={}, lookups={}", keys.size(), batch.keys.size());
+
+        return query(sql, bindings, (row, metadata) -> new KeyedRow(
+                        normalizeKey(row.get(group.keyField())), rowMapper.apply(row, metadata)))
+                .take(maxBatchRows + 1L)
+                .collectList()
+                .flatMap(rows -> {
+                    if (rows.size() > maxBatchRows) {
+                        // Rows of some keys may be missing: each lookup is answered on its own
+                        logger.debug("Batched lookup hit its row bound, executing lookups singly. keys={}",
+                                keys.size());
+                        return Mono.empty();
+                    }
+                    Map<String, List<Map<String, Object>>> rowsByKey = new HashMap<>();
+                    rows.forEach(row -> rowsByKey.computeIfAbsent(row.key(), k -> new ArrayList<>())
+                            .add(row.row()));
+                    return Mono.just(rowsByKey);
+                })
+                .doOnError(error -> logger.error("Batched lookup execution error", error));
+    }
+
+    /**
+     * Execute one lookup as a single query, fetching at most maxRows + 1 rows
+     */
+    private Mono<Map<String, Object>> executeSingle(String sql, List<Object> parameters,
+                                                    Map<String, Object> fieldMapping, int maxRows) {
+        R2dbcRowMapper rowMapper = new R2dbcRowMapper(fieldMapping, converterFactory);
+        return query(sql, parameters, rowMapper)
+                .take(maxRows + 1L)
+                .collectList()
+                .map(rows -> toResult(rows, maxRows));
+    }
+
+    private <T> Flux<T> query(String sql, List<Object> bindings,
+                              BiFunction<Row, RowMetadata, T> mapper) {
+        String executed = nativeSql.apply(sql);
+        return Flux.usingWhen(
+                connectionFactory.create(),
+                connection -> {
+                    Statement statement = connection.createStatement(executed);
+                    for (int i = 0; i < bindings.size(); i++) {
+                        statement.bind(i, bindings.get(i));
+                    }
+                    return Flux.from(statement.execute())
+                            .concatMap(result -> result.map(mapper));
+                },
+                Connection::close);
+    }
+
+    /**
+     * Build the per-caller result, same shape as a regular query execution
+     */
+    private static Map<String, Object> toResult(Collection<Map<String, Object>> matched, int maxRows) {
+        List<Map<String, Object>> rows = matched != null ? new ArrayList<>(matched) : new ArrayList<>();
+        boolean truncated = rows.size() > maxRows;
+        if (truncated) {
+            rows = new ArrayList<>(rows.subList(0, maxRows));
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        if (rows.size() == 1 && !truncated) {
+            result.putAll(rows.get(0));
+        } else {
+            result.put("data", rows);
+            result.put("count", rows.size());
+            result.put("truncated", truncated);
+        }
+        return result;
+    }
+
+    /**
+     * Keys are compared by value so that e.g. a Long parameter matches an Integer column
+     */
+    private static String normalizeKey(Object key) {
+        if (key instanceof Number number) {
+            return new BigDecimal(number.toString()).stripTrailingZeros().toPlainString();
+        }
+        return String.valueOf(key);
+    }
+
+    /**
+     * Statement with its "keyColumn = ?" predicate located
+     * The SQL is parsed with JSqlParser, and the predicate is replaced by an IN list sized for each batch
+     */
+    record BatchStatement(String sql, String prefix, String keyColumn, String suffix, int keyParameterIndex) {
+
+        private static final Set<String> AGGREGATES = Set.of("COUNT", "SUM", "AVG", "MIN", "MAX", "GROUP_CONCAT",
+                "STRING_AGG", "LISTAGG", "ARRAY_AGG", "JSON_ARRAYAGG", "JSON_OBJECTAGG", "BIT_AND", "BIT_OR",
+                "BIT_XOR", "BOOL_AND", "BOOL_OR", "EVERY", "STDDEV", "STDDEV_POP", "STDDEV_SAMP", "VARIANCE",
+                "VAR_POP", "VAR_SAMP", "MEDIAN");
+
+        // Stands in for the key predicate while the rewritten statement is printed
+        private static final String KEY_MARKER = "apibrick_batch_key";
+
+        /**
+         * Locate the key predicate of a statement
+         *
+         * @param sql       SQL with "?" placeholders
+         * @param keyColumn Column of the "keyColumn = ?" predicate
+         * @return Statement to batch, or null if its lookups must run as single queries
+         * @throws IllegalArgumentException if the SQL has no "keyColumn = ?" predicate
+         */
+        static BatchStatement parse(String sql, String keyColumn) {
+            Pattern predicate = Pattern.compile(
+                    "(?i)(?<![\\w.`\"])" + Pattern.quote(keyColumn) + "\\s*=\\s*\\?");
+            if (!predicate.matcher(sql).find()) {
+                throw new IllegalArgumentException(
+                        "Batched lookup requires a '" + keyColumn + " = ?' predicate");
+            }
+
+            PlainSelect select;
+            try {
+                if (!(CCJSqlParserUtil.parse(sql) instanceof PlainSelect plainSelect)) {
+                    return null;
+                }
+                select = plainSelect;
+            } catch (JSQLParserException e) {
+                logger.debug("Lookup batching skipped, statement not parsed: {}", e.getMessage());
+                return null;
+            }
+            if (!isBatchable(select)) {
+                return null;
+            }
+
+            // The key predicate must be a top-level AND condition, so it filters each key independently
+            List<Expression> conjuncts = new ArrayList<>();
+            collectConjuncts(select.getWhere(), conjuncts);
+            EqualsTo keyPredicate = null;
+            for (Expression conjunct : conjuncts) {
+                if (conjunct instanceof EqualsTo equals && isKeyPredicate(equals, keyColumn)) {
+                    if (keyPredicate != null) {
+                        return null;
+                    }
+                    keyPredicate = equals;
+                }
+            }
+            if (keyPredicate == null) {
+                return null;
+            }
+
+            select.setWhere(replace(select.getWhere(), keyPredicate, new Column(KEY_MARKER)));
+            String printed = select.toString();
+            int marker = printed.indexOf(KEY_MARKER);
+            if (marker < 0 || printed.indexOf(KEY_MARKER, marker + 1) >= 0) {
+                return null;
+            }
+            int keyParameterIndex = ((JdbcParameter) keyPredicate.getRightExpression()).getIndex() - 1;
+            return new BatchStatement(sql, printed.substring(0, marker), keyPredicate.getLeftExpression().toString(),
+                    printed.substring(marker + KEY_MARKER.length()), keyParameterIndex);
+        }
+
+        /**
+         * Only statements returning the same rows for a key whatever the other keys of the batch
+         */
+        private static boolean isBatchable(PlainSelect select) {
+            if (select.getWhere() == null || select.getDistinct() != null
+                    || select.getLimit() != null || select.getOffset() != null || select.getFetch() != null
+                    || select.getTop() != null || select.getFirst() != null || select.getSkip() != null
+                    || select.getGroupBy() != null || select.getHaving() != null || select.getQualify() != null
+                    || select.getWindowDefinitions() != null || select.getWithItemsList() != null
+                    || select.getIntoTables() != null || select.getOracleHierarchical() != null
+                    || select.isForUpdate()) {
+                return false;
+            }
+            boolean[] aggregated = new boolean[1];
+            ExpressionVisitorAdapter visitor = new ExpressionVisitorAdapter() {
+                @Override
+                public void visit(net.sf.jsqlparser.expression.Function function) {
+                    if (function.getName() != null
+                            && AGGREGATES.contains(function.getName().toUpperCase(Locale.ROOT))) {
+                        aggregated[0] = true;
+                    }
+                    super.visit(function);
+                }
+
+                @Override
+                public void visit(AnalyticExpression expression) {
+                    aggregated[0] = true;
+                }
+            };
+            for (SelectItem<?> item : select.getSelectItems()) {
+                item.getExpression().accept(visitor);
+            }
+            if (select.getOrderByElements() != null) {
+                select.getOrderByElements().forEach(element -> element.getExpression().accept(visitor));
+            }
+            return !aggregated[0];
+        }
+
+        private static boolean isKeyPredicate(EqualsTo equals, String keyColumn) {
+            return equals.getLeftExpression() instanceof Column column
+                    && normalizeName(column.getFullyQualifiedName()).equals(normalizeName(keyColumn))
+                    && equals.getRightExpression() instanceof JdbcParameter parameter
+                    && !parameter.isUseFixedIndex() && parameter.getIndex() != null;
+        }
+
+        private static String normalizeName(String name) {
+            return name.replaceAll("[`\"]", "").toLowerCase(Locale.ROOT);
+        }
+
+        private static void collectConjuncts(Expression expression, List<Expression> conjuncts) {
+            if (expression instanceof AndExpression and) {
+                collectConjuncts(and.getLeftExpression(), conjuncts);
+                collectConjuncts(and.getRightExpression(), conjuncts);
+            } else if (expression instanceof Parenthesis parenthesis) {
+                collectConjuncts(parenthesis.getExpression(), conjuncts);
+            } else {
+                conjuncts.add(expression);
+            }
+        }
+
+        private static Expression replace(Expression expression, Expression target, Expression replacement) {
+            if (expression == target) {
+                return replacement;
+            }
+            if (expression instanceof AndExpression and) {
+                and.setLeftExpression(replace(and.getLeftExpression(), target, replacement));
+                and.setRightExpression(replace(and.getRightExpression(), target, replacement));
+            } else if (expression instanceof Parenthesis parenthesis) {
+                parenthesis.setExpression(replace(parenthesis.getExpression(), target, replacement));
+            }
+            return expression;
+        }
+
+        String sqlFor(int keyCount) {
+            StringBuilder sql = new StringBuilder(prefix).append(keyColumn).append(" IN (");
+            for (int i = 0; i < keyCount; i++) {
+                sql.append(i == 0 ? "?" : ", ?");
+            }
+            return sql.append(')').append(suffix).toString();
+        }
+
+        List<Object> bindings(List<Object> otherParameters, Collection<Object> keys) {
+            List<Object> bindings = new ArrayList<>(otherParameters.size() + keys.size());
+            bindings.addAll(otherParameters.subList(0, keyParameterIndex));
+            bindings.addAll(keys);
+            bindings.addAll(otherParameters.subList(keyParameterIndex, otherParameters.size()));
+            return bindings;
+        }
+
+        /**
+         * Parameters of the statement for a single lookup
+         */
+        List<Object> parameters(List<Object> otherParameters, Object key) {
+            return bindings(otherParameters, List.of(key));
+        }
+    }
+
+    /**
+     * Lookups sharing a group can be answered by the same query
+     */
+    private record BatchGroup(BatchStatement statement,
+                              List<Object> otherParameters,
+                              Map<String, Object> fieldMapping,
+                              String keyField,
+                              int maxRows) {
+    }
+
+    private record KeyedRow(String key, Map<String, Object> row) {
+    }
+
+    private static class Batch {
+        private final BatchGroup group;
+        // Keys of the lookups, added under the openBatches lock while the batch is collecting
+        private final List<Object> keys = new ArrayList<>();
+        private final AtomicInteger callers = new AtomicInteger();
+        private final Sinks.Empty<Void> full = Sinks.empty();
+        private Mono<Map<String, List<Map<String, Object>>>> results;
+        private volatile Disposable execution;
+
+        private Batch(BatchGroup group) {
+            this.group = group;
+        }
+    }
+}
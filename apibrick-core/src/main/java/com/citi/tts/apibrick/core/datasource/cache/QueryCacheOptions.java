@@ -0,0 +1,78 @@
+package com.citi.tts.apibrick.core.datasource.cache;
+
+import com.citi.tts.apibrick.common.util.ConfigValueUtil;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Query Cache Options - Per-query cache settings
+ * <p>
+ * Configured under "cache" in the query configuration:
+ * {
+ *   "cache": {
+ *     "enabled": true,
+ *     "ttlSeconds": 60,
+ *     "maxSize": 1000,
+ *     "distributed": true
+ *   }
+ * }
+ * - ttlSeconds: time-to-live in both tiers (default 60)
+ * - maxSize: maximum local (L1) entries of the region the result is cached in (default 1000); a region
+ *   holds all statements of the tenant's data source cached with the same ttlSeconds and maxSize
+ * - distributed: also use the shared Redis (L2) tier when configured (default true)
+ */
+public class QueryCacheOptions {
+
+    public static final long DEFAULT_TTL_SECONDS = 60;
+    public static final long DEFAULT_MAX_SIZE = 1000;
+
+    private final Duration ttl;
+    private final long maxSize;
+    private final boolean distributed;
+
+    public QueryCacheOptions(Duration ttl, long maxSize, boolean distributed) {
+        if (ttl == null || ttl.isZero() || ttl.isNegative()) {
+            throw new IllegalArgumentException("Cache TTL must be positive");
+        }
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache maxSize must be positive");
+        }
+        this.ttl = ttl;
+        this.maxSize = maxSize;
+        this.distributed = distributed;
+    }
+
+    /**
+     * Read cache options from query configuration
+     *
+     * @param queryConfig Query configuration
+     * @return Cache options, or null if caching is not enabled for this query
+     */
+    @SuppressWarnings("unchecked")
+    public static QueryCacheOptions from(Map<String, Object> queryConfig) {
+        if (queryConfig == null || !(queryConfig.get("cache") instanceof Map)) {
+            return null;
+        }
+        Map<String, Object> cache = (Map<String, Object>) queryConfig.get("cache");
+        if (!ConfigValueUtil.toBoolean(cache.get("enabled"), false)) {
+            return null;
+        }
+        long ttlSeconds = ConfigValueUtil.toLong(cache.get("ttlSeconds"), DEFAULT_TTL_SECONDS);
+        long maxSize = ConfigValueUtil.toLong(cache.get("maxSize"), DEFAULT_MAX_SIZE);
+        boolean distributed = ConfigValueUtil.toBoolean(cache.get("distributed"), true);
+        return new QueryCacheOptions(Duration.ofSeconds(ttlSeconds), maxSize, distributed);
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    public boolean isDistributed() {
+        return distributed;
+    }
+}
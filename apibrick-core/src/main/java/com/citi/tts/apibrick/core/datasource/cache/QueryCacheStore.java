@@ -0,0 +1,41 @@
+package com.citi.tts.apibrick.core.datasource.cache;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Query Cache Store - Shared (L2) tier of the query result cache
+ * <p>
+ * Values are serialized query results. Keys are already tenant-prefixed by the caller.
+ * Implementations must not fail the query on store errors; QueryResultCache treats
+ * errors as cache misses.
+ */
+public interface QueryCacheStore {
+
+    /**
+     * Get a cached value
+     *
+     * @param key Tenant-prefixed key
+     * @return Mono with the value, or Mono.empty() on miss
+     */
+    Mono<String> get(String key);
+
+    /**
+     * Store a value with a time-to-live
+     *
+     * @param key Tenant-prefixed key
+     * @param value Serialized query result
+     * @param ttl Time-to-live
+     * @return Mono<Void> completing when stored
+     */
+    Mono<Void> put(String key, String value, Duration ttl);
+
+    /**
+     * Delete all values whose key starts with the prefix
+     *
+     * @param keyPrefix Key prefix
+     * @return Mono<Long> number of deleted keys
+     */
+    Mono<Long> deleteByPrefix(String keyPrefix);
+}
@@ -0,0 +1,169 @@
+package com.citi.tts.apibrick.core.datasource.cache;
+
+import com.citi.tts.apibrick.common.util.TenantKeyUtil;
+import com.citi.tts.apibrick.core.datasource.QueryKey;
+import com.citi.tts.apibrick.core.datasource.result.SharedResults;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Query Result Cache - Opt-in, tenant-aware cache for data source query results
+ * <p>
+ * Two tiers:
+ * - L1: local Caffeine cache, one region per tenant/data source/cache options
+ * - L2: optional shared store (Redis), keys prefixed with the tenant ID
+ * <p>
+ * Key = tenant + data source + statement + bound parameters (see QueryKey).
+ * Concurrent misses for the same key on one node share a single load (stampede protection):
+ * the first caller checks L2 and runs the query, later callers wait on the same future.
+ * Each caller receives its own copy of the cached result (see SharedResults), so writes of
+ * one request never reach the cached entry or other requests.
+ * <p>
+ * Results of a data source are invalidated after writes through DATASOURCE_WRITE and when its
+ * definition changes; the local regions of a closed data source are dropped (see dropRegions).
+ */
+public class QueryResultCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryResultCache.class);
+
+    private static final String KEY_NAMESPACE = "qcache:";
+    private static final TypeReference<Map<String, Object>> RESULT_TYPE = new TypeReference<>() {
+    };
+
+    private final QueryCacheStore sharedStore;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // Map: tenantId/datasourceId/options -> local cache region
+    private final Map<RegionKey, AsyncCache<QueryKey, Map<String, Object>>> regions = new ConcurrentHashMap<>();
+
+    /**
+     * @param sharedStore Shared (L2) store, or null to use the local tier only
+     */
+    public QueryResultCache(QueryCacheStore sharedStore) {
+        this.sharedStore = sharedStore;
+    }
+
+    /**
+     * Get a query result from cache, loading it on miss
+     *
+     * @param key Query key
+     * @param options Cache options of the query
+     * @param loader Executes the query on cache miss
+     * @return Mono with the (possibly cached) query result
+     */
+    public Mono<Map<String, Object>> get(QueryKey key,
+                                         QueryCacheOptions options,
+                                         Supplier<Mono<Map<String, Object>>> loader) {
+        AsyncCache<QueryKey, Map<String, Object>> region = region(key, options);
+        return Mono.fromFuture(() -> region.get(key, (k, executor) -> loadThroughSharedStore(k, options, loader)
+                                .toFuture()), true)
+                .map(SharedResults::copyOf);
+    }
+
+    /**
+     * Invalidate all cached results of a data source for a tenant
+     *
+     * @param tenantId Tenant ID
+     * @param datasourceId Data source configuration ID
+     * @return Mono<Void> completing when both tiers are invalidated
+     */
+    public Mono<Void> invalidate(String tenantId, String datasourceId) {
+        dropRegions(tenantId, datasourceId);
+        logger.debug("Invalidated query cache. tenantId={}, datasourceId={}", tenantId, datasourceId);
+        return deleteShared(TenantKeyUtil.prefixRedisKey(KEY_NAMESPACE + datasourceId + ":", tenantId));
+    }
+
+    /**
+     * Drop the local regions of a data source, e.g. once it is closed
+     * Entries in the shared tier are left to expire, other nodes may still use them.
+     *
+     * @param tenantId Tenant ID
+     * @param datasourceId Data source configuration ID
+     */
+    public void dropRegions(String tenantId, String datasourceId) {
+        regions.keySet().removeIf(regionKey -> regionKey.tenantId().equals(tenantId)
+                && regionKey.datasourceId().equals(datasourceId));
+    }
+
+    /**
+     * Get the number of local cache regions
+     */
+    public int getRegionCount() {
+        return regions.size();
+    }
+
+    /**
+     * Get cache statistics of the local tier
+     */
+    public String getCacheStats() {
+        StringBuilder stats = new StringBuilder();
+        regions.forEach((regionKey, region) -> stats.append(regionKey.tenantId()).append(':')
+                .append(regionKey.datasourceId()).append(" -> ")
+                .append(region.synchronous().stats()).append('\n'));
+        return stats.toString();
+    }
+
+    private AsyncCache<QueryKey, Map<String, Object>> region(QueryKey key, QueryCacheOptions options) {
+        RegionKey regionKey = new RegionKey(key.getTenantId(), key.getDatasourceId(),
+                options.getTtl(), options.getMaxSize());
+        return regions.computeIfAbsent(regionKey, k -> Caffeine.newBuilder()
+                .maximumSize(options.getMaxSize())
+                .expireAfterWrite(options.getTtl())
+                .recordStats()
+                .buildAsync());
+    }
+
+    private Mono<Map<String, Object>> loadThroughSharedStore(QueryKey key,
+                                                             QueryCacheOptions options,
+                                                             Supplier<Mono<Map<String, Object>>> loader) {
+        if (sharedStore == null || !options.isDistributed()) {
+            return loader.get();
+        }
+        String sharedKey = TenantKeyUtil.prefixRedisKey(KEY_NAMESPACE + key.toUntenantedKey(), key.getTenantId());
+        return sharedStore.get(sharedKey)
+                .flatMap(this::decode)
+                .onErrorResume(error -> {
+                    logger.warn("Shared query cache read failed, falling back to data source. key={}", sharedKey, error);
+                    return Mono.empty();
+                })
+                .switchIfEmpty(Mono.defer(() -> loader.get()
+                        .flatMap(result -> Mono.fromCallable(() -> objectMapper.writeValueAsString(result))
+                                .flatMap(json -> sharedStore.put(sharedKey, json, options.getTtl()))
+                                .onErrorResume(error -> {
+                                    logger.warn("Shared query cache write failed. key={}", sharedKey, error);
+                                    return Mono.empty();
+                                })
+                                .thenReturn(result))));
+    }
+
+    private Mono<Void> deleteShared(String keyPrefix) {
+        if (sharedStore == null) {
+            return Mono.empty();
+        }
+        return sharedStore.deleteByPrefix(keyPrefix)
+                .doOnNext(count -> logger.debug("Deleted {} shared query cache entries. prefix={}", count, keyPrefix))
+                .then();
+    }
+
+    private Mono<Map<String, Object>> decode(String json) {
+        return Mono.fromCallable(() -> objectMapper.readValue(json, RESULT_TYPE));
+    }
+
+    private record RegionKey(String tenantId, String datasourceId, Duration ttl, long maxSize) {
+        RegionKey {
+            Objects.requireNonNull(tenantId, "tenantId");
+            Objects.requireNonNull(datasourceId, "datasourceId");
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.citi.tts.apibrick.core.datasource.cache;
+
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Redis Query Cache Store - Reactive Redis implementation of the shared cache tier
+ */
+public class RedisQueryCacheStore implements QueryCacheStore {
+
+    private static final long SCAN_COUNT = 500;
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+
+    public RedisQueryCacheStore(ReactiveStringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public Mono<String> get(String key) {
+        return redisTemplate.opsForValue().get(key);
+    }
+
+    @Override
+    public Mono<Void> put(String key, String value, Duration ttl) {
+        return redisTemplate.opsForValue().set(key, value, ttl).then();
+    }
+
+    @Override
+    public Mono<Long> deleteByPrefix(String keyPrefix) {
+        // SCAN instead of KEYS so invalidation never blocks the Redis server
+        ScanOptions options = ScanOptions.scanOptions()
+                .match(escapeGlob(keyPrefix) + "*")
+                .count(SCAN_COUNT)
+                .build();
+        return redisTemplate.delete(redisTemplate.scan(options));
+    }
+
+    /**
+     * Escape the glob characters of a key prefix, so e.g. a data source ID containing '*'
+     * does not match the keys of other data sources
+     */
+    static String escapeGlob(String keyPrefix) {
+        StringBuilder escaped = new StringBuilder(keyPrefix.length() + 8);
+        for (char c : keyPrefix.toCharArray()) {
+            if (c == '*' || c == '?' || c == '[' || c == ']' || c == '\\') {
+                escaped.append('\\');
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
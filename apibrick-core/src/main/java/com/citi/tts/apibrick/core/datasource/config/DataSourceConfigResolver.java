@@ -0,0 +1,60 @@
+package com.citi.tts.apibrick.core.datasource.config;
+
+import com.citi.tts.apibrick.common.enums.DataSourceType;
+import com.citi.tts.apibrick.core.datasource.manager.DataSourceDefinition;
+import com.citi.tts.apibrick.core.datasource.manager.DataSourceDefinitionProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Data Source Config Resolver - Resolves the type and configuration a tenant data source is opened with
+ * <p>
+ * The tenant's registered definition (see DataSourceDefinitionProvider) is used when there is
+ * one, including its type; otherwise the data source configured under database.mysql, built once
+ * and shared, with the type named by the step.
+ */
+@Component
+public class DataSourceConfigResolver {
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Autowired(required = false)
+    private DataSourceDefinitionProvider definitionProvider;
+
+    private volatile Map<String, Object> defaultConfig;
+
+    /**
+     * Resolve the definition of a tenant data source
+     *
+     * @param tenantId     Tenant ID
+     * @param datasourceId Data source configuration ID
+     * @param defaultType  Type of the data source if the tenant has no registered definition (may be null)
+     * @return Mono with the definition (read-only configuration), or an IllegalArgumentException
+     * if there is neither a registered definition nor a default type
+     */
+    public Mono<DataSourceDefinition> resolve(String tenantId, String datasourceId, DataSourceType defaultType) {
+        Mono<DataSourceDefinition> fallback = Mono.defer(() -> defaultType == null
+                ? Mono.error(new IllegalArgumentException(
+                        "Data source type is required for unregistered data source: " + datasourceId))
+                : Mono.just(new DataSourceDefinition(tenantId, datasourceId, defaultType, null, getDefaultConfig())));
+        if (definitionProvider == null) {
+            return fallback;
+        }
+        return definitionProvider.findDefinition(tenantId, datasourceId)
+                .switchIfEmpty(fallback);
+    }
+
+    private Map<String, Object> getDefaultConfig() {
+        Map<String, Object> config = defaultConfig;
+        if (config == null) {
+            config = Collections.unmodifiableMap(dataSourceProperties.toMap());
+            defaultConfig = config;
+        }
+        return config;
+    }
+}
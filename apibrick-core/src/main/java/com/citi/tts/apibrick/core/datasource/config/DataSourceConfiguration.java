@@ -1,19 +1,27 @@
 package com.citi.tts.apibrick.core.datasource.config;
 
 import com.citi.tts.apibrick.core.datasource.manager.DataSourceManager;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 /**
  * Configuration for Data Source Manager
  * Initializes DataSourceManager and discovers data source factories
+ * Idle data sources are closed after apibrick.datasource.idle-timeout-minutes (default 30),
+ * eviction and health checks run every apibrick.datasource.health-check-seconds (default 60)
  */
 @Configuration
 public class DataSourceConfiguration {
     
-    @Bean
-    public DataSourceManager dataSourceManager() {
-        DataSourceManager manager = new DataSourceManager();
+    @Bean(destroyMethod = "shutdown")
+    public DataSourceManager dataSourceManager(
+            @Value("${apibrick.datasource.idle-timeout-minutes:30}") long idleTimeoutMinutes,
+            @Value("${apibrick.datasource.health-check-seconds:60}") long healthCheckSeconds) {
+        DataSourceManager manager = new DataSourceManager(
+                Duration.ofMinutes(idleTimeoutMinutes), Duration.ofSeconds(healthCheckSeconds));
         manager.initialize();
         return manager;
     }
@@ -6,6 +6,7 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 
@@ -20,6 +21,8 @@ public class DataSourceProperties {
     private String dbName;
     private String username;
     private String password;
+    // Tables DATASOURCE_WRITE steps may write to, none if unset
+    private List<String> writableTables;
 
     public Map<String, Object> toMap() {
         Map<String, Object> dataSourceMap = new HashMap<>();
@@ -28,6 +31,9 @@ public class DataSourceProperties {
         dataSourceMap.put("dbName", this.dbName);
         dataSourceMap.put("username", this.username);
         dataSourceMap.put("password", this.password);
+        if (this.writableTables != null) {
+            dataSourceMap.put("writableTables", this.writableTables);
+        }
         return dataSourceMap;
     }
 }
\ No newline at end of file
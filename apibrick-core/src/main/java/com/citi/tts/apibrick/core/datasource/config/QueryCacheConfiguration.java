@@ -0,0 +1,35 @@
+package com.citi.tts.apibrick.core.datasource.config;
+
+import com.citi.tts.apibrick.core.datasource.cache.QueryCacheStore;
+import com.citi.tts.apibrick.core.datasource.cache.QueryResultCache;
+import com.citi.tts.apibrick.core.datasource.cache.RedisQueryCacheStore;
+import com.citi.tts.apibrick.core.datasource.manager.DataSourceManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+
+/**
+ * Configuration for the query result cache
+ * The shared Redis tier is enabled with apibrick.query-cache.redis.enabled=true,
+ * otherwise only the local Caffeine tier is used
+ */
+@Configuration
+public class QueryCacheConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "apibrick.query-cache.redis", name = "enabled", havingValue = "true")
+    public QueryCacheStore redisQueryCacheStore(ReactiveStringRedisTemplate redisTemplate) {
+        return new RedisQueryCacheStore(redisTemplate);
+    }
+
+    @Bean
+    public QueryResultCache queryResultCache(ObjectProvider<QueryCacheStore> sharedStore,
+                                             DataSourceManager dataSourceManager) {
+        QueryResultCache queryResultCache = new QueryResultCache(sharedStore.getIfAvailable());
+        // Local regions of removed or idle data sources are not kept around
+        dataSourceManager.addCloseListener(queryResultCache::dropRegions);
+        return queryResultCache;
+    }
+}
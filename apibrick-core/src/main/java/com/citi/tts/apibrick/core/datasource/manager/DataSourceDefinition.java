@@ -0,0 +1,21 @@
+package com.citi.tts.apibrick.core.datasource.manager;
+
+import com.citi.tts.apibrick.common.enums.DataSourceType;
+
+import java.util.Map;
+
+/**
+ * Data Source Definition - Registered connection settings of a tenant data source
+ *
+ * @param tenantId     Tenant ID
+ * @param datasourceId Data source configuration ID
+ * @param type         Data source type
+ * @param env          Environment the data source belongs to
+ * @param config       Data source configuration (host, port, dbName, username, decrypted password, options)
+ */
+public record DataSourceDefinition(String tenantId,
+                                   String datasourceId,
+                                   DataSourceType type,
+                                   String env,
+                                   Map<String, Object> config) {
+}
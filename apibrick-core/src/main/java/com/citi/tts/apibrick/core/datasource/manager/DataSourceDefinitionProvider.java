@@ -0,0 +1,27 @@
+package com.citi.tts.apibrick.core.datasource.manager;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Data Source Definition Provider - Source of per-tenant data source definitions
+ * <p>
+ * Implemented by the persistent data source registry. Without a provider every tenant uses the
+ * data source configured under database.mysql (see DataSourceProperties).
+ */
+public interface DataSourceDefinitionProvider {
+
+    /**
+     * Find the definition of a tenant data source
+     *
+     * @param tenantId     Tenant ID
+     * @param datasourceId Data source configuration ID
+     * @return Mono with the definition, or Mono.empty() if the tenant has no such data source
+     */
+    Mono<DataSourceDefinition> findDefinition(String tenantId, String datasourceId);
+
+    /**
+     * Definitions of the data sources of active tenants, whose pools are opened at startup
+     */
+    Flux<DataSourceDefinition> findActiveDefinitions();
+}
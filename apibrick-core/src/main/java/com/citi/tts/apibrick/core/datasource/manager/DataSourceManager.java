@@ -1,14 +1,30 @@
 package com.citi.tts.apibrick.core.datasource.manager;
 
 import com.citi.tts.apibrick.common.enums.DataSourceType;
+import com.citi.tts.apibrick.common.util.ConfigValueUtil;
 import com.citi.tts.apibrick.core.datasource.DataSource;
 import com.citi.tts.apibrick.core.datasource.DataSourceFactory;
+import com.citi.tts.apibrick.core.datasource.FlowConnections;
+import com.citi.tts.apibrick.core.datasource.QueryKey;
+import com.citi.tts.apibrick.core.datasource.resilience.ResilienceOptions;
+import com.citi.tts.apibrick.core.datasource.resilience.ResilientDataSource;
+import com.citi.tts.apibrick.core.datasource.result.SharedResults;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
 import java.util.ServiceLoader;
 
 /**
@@ -16,24 +32,59 @@ import java.util.ServiceLoader;
  * 
  * Features:
  * - Per-tenant data source isolation
- * - Connection pool management
+ * - Connection pool management: relational pools are shared across tenants on the same
+ *   physical connection, with a fair share and acquire metrics per tenant (see SharedPoolRegistry)
  * - Dynamic data source registration
  * - SPI-based data source discovery
+ * - Coalescing of identical in-flight queries
+ * - Per data source circuit breaker and bulkhead (see ResilientDataSource)
+ * - Idle eviction: data sources unused for the idle timeout and without work in progress
+ *   (see DataSource.getInFlightCount) are closed (reopened on next use)
+ * - Background health checks on the existing pools, state exposed per tenant:datasourceId
+ * - Warm-up: pools of registered data sources opened and validated in parallel at startup
  */
 @Component
 public class DataSourceManager {
     
     private static final Logger logger = LoggerFactory.getLogger(DataSourceManager.class);
     
-    // Map: tenantId:datasourceId -> DataSource instance
-    private final Map<String, DataSource> dataSourceMap = new ConcurrentHashMap<>();
+    public static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofMinutes(30);
+    public static final Duration DEFAULT_HEALTH_CHECK_INTERVAL = Duration.ofSeconds(60);
+    private static final Duration HEALTH_CHECK_TIMEOUT = Duration.ofSeconds(5);
+    private static final int HEALTH_CHECK_CONCURRENCY = 8;
+    
+    // Map: tenantId:datasourceId -> managed DataSource instance
+    private final Map<String, ManagedDataSource> dataSourceMap = new ConcurrentHashMap<>();
     
     // Map: DataSourceType -> DataSource factory
     private final Map<DataSourceType, DataSourceFactory> factoryMap = new ConcurrentHashMap<>();
+
+    // Map: QueryKey -> shared execution of a query that has not completed yet
+    private final Map<QueryKey, Mono<Map<String, Object>>> inFlightQueries = new ConcurrentHashMap<>();
+
+    // Notified with (tenantId, datasourceId) when a data source is removed or evicted
+    private final List<BiConsumer<String, String>> closeListeners = new CopyOnWriteArrayList<>();
+    
+    private final Duration idleTimeout;
+    private final Duration healthCheckInterval;
+    private volatile Disposable maintenance;
+    
+    public DataSourceManager() {
+        this(DEFAULT_IDLE_TIMEOUT, DEFAULT_HEALTH_CHECK_INTERVAL);
+    }
+    
+    /**
+     * @param idleTimeout Data sources unused for this long are closed
+     * @param healthCheckInterval Interval of the background idle eviction and health check
+     */
+    public DataSourceManager(Duration idleTimeout, Duration healthCheckInterval) {
+        this.idleTimeout = idleTimeout;
+        this.healthCheckInterval = healthCheckInterval;
+    }
     
     /**
      * Initialize data source manager
-     * Discovers all DataSource implementations via SPI
+     * Discovers all DataSource implementations via SPI and starts the background maintenance
      */
     public void initialize() {
         logger.info("Initializing Data Source Manager...");
@@ -50,6 +101,53 @@ public class DataSourceManager {
         }
         
         logger.info("Data Source Manager initialized with {} factory types", count);
+        
+        // Idle eviction and health checks, reusing the existing pools
+        maintenance = Flux.interval(healthCheckInterval, healthCheckInterval)
+            .onBackpressureDrop()
+            // Closing a pool may block
+            .publishOn(Schedulers.boundedElastic(), 1)
+            .concatMap(tick -> runMaintenance()
+                .onErrorResume(error -> {
+                    logger.warn("Data source maintenance failed", error);
+                    return Mono.empty();
+                }))
+            .subscribe();
+    }
+    
+    /**
+     * Register a data source factory in addition to the ones discovered via SPI
+     * 
+     * @param factory Data source factory
+     */
+    public void registerFactory(DataSourceFactory factory) {
+        factoryMap.put(factory.getSupportedType(), factory);
+    }
+    
+    /**
+     * Register a listener called with (tenantId, datasourceId) after a data source was removed
+     * or evicted as idle, e.g. to release state kept per data source
+     * 
+     * @param listener Close listener
+     */
+    public void addCloseListener(BiConsumer<String, String> listener) {
+        closeListeners.add(listener);
+    }
+    
+    /**
+     * Stop the background maintenance and close all data sources
+     * Called by the container on shutdown
+     */
+    public void shutdown() {
+        if (maintenance != null) {
+            maintenance.dispose();
+        }
+        dataSourceMap.forEach((key, managed) -> {
+            if (dataSourceMap.remove(key, managed)) {
+                closeQuietly(managed);
+            }
+        });
+        logger.info("Data Source Manager shut down");
     }
     
     /**
@@ -73,9 +171,10 @@ public class DataSourceManager {
         String key = buildKey(tenantId, datasourceId);
         
         // Check if data source already exists
-        DataSource existing = dataSourceMap.get(key);
+        ManagedDataSource existing = dataSourceMap.get(key);
         if (existing != null) {
-            return Mono.just(existing);
+            existing.touch();
+            return Mono.just(existing.dataSource);
         }
         
         // Create new data source
@@ -85,14 +184,67 @@ public class DataSourceManager {
                 "Data source type " + type + " is not supported"));
         }
         
+        ResilienceOptions resilienceOptions;
+        try {
+            resilienceOptions = ResilienceOptions.from(config);
+        } catch (IllegalArgumentException e) {
+            return Mono.error(e);
+        }
+        
         return factory.create(config, tenantId, env)
-            .doOnNext(ds -> {
-                dataSourceMap.put(key, ds);
+            // Circuit breaker and bulkhead, unless disabled with "resilience": {"enabled": false}
+            .map(ds -> resilienceOptions.isEnabled()
+                ? new ResilientDataSource(ds, tenantId, datasourceId, resilienceOptions)
+                : ds)
+            .map(ds -> {
+                ManagedDataSource created = new ManagedDataSource(tenantId, datasourceId, ds);
+                ManagedDataSource raced = dataSourceMap.putIfAbsent(key, created);
+                if (raced != null) {
+                    // Created concurrently by another caller: keep one instance, close the other pool
+                    closeQuietly(created);
+                    raced.touch();
+                    return raced.dataSource;
+                }
                 logger.info("Created data source. tenantId={}, datasourceId={}, type={}", 
                            tenantId, datasourceId, type);
+                return ds;
             });
     }
     
+    /**
+     * Open and validate the pools of registered data sources in parallel
+     * Called at startup so the first requests after a restart do not pay connection setup.
+     * Data sources that fail to open or validate are logged and left to be opened on first use.
+     * 
+     * @param definitions Data sources to open
+     * @param concurrency Maximum number of pools opened at the same time
+     * @return Mono with the number of data sources opened and validated
+     */
+    public Mono<Integer> warmUp(Flux<DataSourceDefinition> definitions, int concurrency) {
+        return definitions
+            .flatMap(definition -> getOrCreateDataSource(definition.datasourceId(), definition.type(),
+                        definition.config(), definition.tenantId(), definition.env())
+                    .flatMap(ds -> {
+                        ManagedDataSource managed =
+                            dataSourceMap.get(buildKey(definition.tenantId(), definition.datasourceId()));
+                        if (managed == null) {
+                            return Mono.just(false);
+                        }
+                        // Validates a connection and records the health like the background check
+                        return checkHealth(managed)
+                            .then(Mono.fromSupplier(() -> managed.health == DataSourceState.Health.UP));
+                    })
+                    .onErrorResume(error -> {
+                        logger.warn("Data source warm-up failed. tenantId={}, datasourceId={}, error={}",
+                                   definition.tenantId(), definition.datasourceId(), error.toString());
+                        return Mono.just(false);
+                    }),
+                concurrency)
+            .filter(Boolean::booleanValue)
+            .count()
+            .map(Long::intValue);
+    }
+    
     /**
      * Get existing data source
      * 
@@ -102,10 +254,70 @@ public class DataSourceManager {
      */
     public Mono<DataSource> getDataSource(String datasourceId, String tenantId) {
         String key = buildKey(tenantId, datasourceId);
-        DataSource ds = dataSourceMap.get(key);
-        return ds != null ? Mono.just(ds) : Mono.empty();
+        ManagedDataSource managed = dataSourceMap.get(key);
+        if (managed == null) {
+            return Mono.empty();
+        }
+        managed.touch();
+        return Mono.just(managed.dataSource);
     }
     
+    /**
+     * Execute a query, coalescing identical in-flight queries
+     * Callers issuing the same query (same tenant, data source, statement and parameters)
+     * while it is still running subscribe to the running execution instead of starting
+     * another one, so a burst of identical requests costs one database round-trip.
+     * Set "coalesce": false in the query configuration to always execute separately.
+     * Queries of a flow holding its own connections (see FlowConnections) are never coalesced.
+     *
+     * @param tenantId Tenant ID
+     * @param datasourceId Data source configuration ID
+     * @param dataSource Data source to execute the query on
+     * @param queryConfig Query configuration
+     * @return Mono with the query result (a per-caller copy of the shared result, see SharedResults)
+     */
+    public Mono<Map<String, Object>> executeQuery(
+            String tenantId,
+            String datasourceId,
+            DataSource dataSource,
+            Map<String, Object> queryConfig) {
+
+        ManagedDataSource managed = dataSourceMap.get(buildKey(tenantId, datasourceId));
+        if (managed != null) {
+            managed.touch();
+        }
+
+        if (!ConfigValueUtil.toBoolean(queryConfig.get("coalesce"), true)) {
+            return dataSource.executeQuery(queryConfig);
+        }
+
+        return Mono.deferContextual(context -> {
+            if (FlowConnections.from(context) != null) {
+                // Runs on the flow's own connection (and snapshot), never shared with other flows
+                return dataSource.executeQuery(queryConfig);
+            }
+            QueryKey key = QueryKey.of(tenantId, datasourceId, queryConfig);
+            return inFlightQueries.computeIfAbsent(key, k -> {
+                AtomicReference<Mono<Map<String, Object>>> self = new AtomicReference<>();
+                self.set(dataSource.executeQuery(queryConfig)
+                        // Unregister before the result reaches the subscribers (a later caller then
+                        // executes again instead of getting the replayed result), or on cancellation
+                        // by the last subscriber
+                        .doOnTerminate(() -> inFlightQueries.remove(k, self.get()))
+                        .doOnCancel(() -> inFlightQueries.remove(k, self.get()))
+                        .share());
+                return self.get();
+            });
+        }).map(SharedResults::copyOf);
+    }
+
+    /**
+     * Get the number of distinct queries currently in flight
+     */
+    public int getInFlightQueryCount() {
+        return inFlightQueries.size();
+    }
+
     /**
      * Remove and close a data source
      * 
@@ -114,15 +326,116 @@ public class DataSourceManager {
      */
     public void removeDataSource(String datasourceId, String tenantId) {
         String key = buildKey(tenantId, datasourceId);
-        DataSource ds = dataSourceMap.remove(key);
-        if (ds != null) {
-            ds.close();
+        ManagedDataSource managed = dataSourceMap.remove(key);
+        if (managed != null) {
+            closeQuietly(managed);
+            notifyClosed(managed);
             logger.info("Removed data source. tenantId={}, datasourceId={}", tenantId, datasourceId);
         }
     }
     
+    /**
+     * Get the state of all managed data sources
+     */
+    public List<DataSourceState> getDataSourceStates() {
+        List<DataSourceState> states = new ArrayList<>(dataSourceMap.size());
+        dataSourceMap.values().forEach(managed -> states.add(managed.toState()));
+        return states;
+    }
+    
+    /**
+     * Get the state of a managed data source
+     * 
+     * @param datasourceId Data source configuration ID
+     * @param tenantId Tenant ID
+     * @return State, or null if the data source is not open on this node
+     */
+    public DataSourceState getDataSourceState(String datasourceId, String tenantId) {
+        ManagedDataSource managed = dataSourceMap.get(buildKey(tenantId, datasourceId));
+        return managed != null ? managed.toState() : null;
+    }
+    
+    /**
+     * Close data sources idle for longer than the idle timeout, then health check the others
+     * 
+     * @return Mono<Void> completing when all health checks are done
+     */
+    Mono<Void> runMaintenance() {
+        return Mono.defer(() -> {
+            evictIdle();
+            return Flux.fromIterable(dataSourceMap.values())
+                .flatMap(this::checkHealth, HEALTH_CHECK_CONCURRENCY)
+                .then();
+        });
+    }
+    
+    /**
+     * Close data sources that have not been used for the idle timeout
+     * 
+     * @return Number of data sources closed
+     */
+    int evictIdle() {
+        long now = System.currentTimeMillis();
+        int evicted = 0;
+        for (Map.Entry<String, ManagedDataSource> entry : dataSourceMap.entrySet()) {
+            ManagedDataSource managed = entry.getValue();
+            if (now - managed.lastUsedAt < idleTimeout.toMillis() || managed.isBusy()) {
+                continue;
+            }
+            if (dataSourceMap.remove(entry.getKey(), managed)) {
+                closeQuietly(managed);
+                notifyClosed(managed);
+                evicted++;
+                logger.info("Closed idle data source. tenantId={}, datasourceId={}, idleMinutes={}",
+                           managed.tenantId, managed.datasourceId, (now - managed.lastUsedAt) / 60_000);
+            }
+        }
+        return evicted;
+    }
+    
+    private Mono<Void> checkHealth(ManagedDataSource managed) {
+        return managed.dataSource.testConnection()
+            .timeout(HEALTH_CHECK_TIMEOUT)
+            .onErrorReturn(false)
+            .defaultIfEmpty(false)
+            .doOnNext(up -> {
+                DataSourceState.Health health = up ? DataSourceState.Health.UP : DataSourceState.Health.DOWN;
+                if (health != managed.health && health == DataSourceState.Health.DOWN) {
+                    logger.warn("Data source health check failed. tenantId={}, datasourceId={}",
+                               managed.tenantId, managed.datasourceId);
+                } else if (health != managed.health && managed.health == DataSourceState.Health.DOWN) {
+                    logger.info("Data source recovered. tenantId={}, datasourceId={}",
+                               managed.tenantId, managed.datasourceId);
+                }
+                managed.health = health;
+                managed.lastHealthCheckAt = System.currentTimeMillis();
+            })
+            .then();
+    }
+    
+    private void closeQuietly(ManagedDataSource managed) {
+        try {
+            managed.dataSource.close();
+        } catch (Exception e) {
+            logger.warn("Failed to close data source. tenantId={}, datasourceId={}",
+                       managed.tenantId, managed.datasourceId, e);
+        }
+    }
+    
+    private void notifyClosed(ManagedDataSource managed) {
+        for (BiConsumer<String, String> listener : closeListeners) {
+            try {
+                listener.accept(managed.tenantId, managed.datasourceId);
+            } catch (Exception e) {
+                logger.warn("Data source close listener failed. tenantId={}, datasourceId={}",
+                           managed.tenantId, managed.datasourceId, e);
+            }
+        }
+    }
+    
     /**
      * Test data source connection
+     * The temporary data source is closed afterwards
      * 
      * @param type Data source type
      * @param config Configuration
@@ -141,11 +454,15 @@ public class DataSourceManager {
             return Mono.just(false);
         }
         
-        return factory.create(config, tenantId, env)
-            .flatMap(DataSource::testConnection)
-            .doFinally(signalType -> {
-                // Clean up test data source
-                // (In real implementation, you might want to cache test connections)
+        return Mono.usingWhen(
+                factory.create(config, tenantId, env),
+                DataSource::testConnection,
+                ds -> Mono.fromRunnable(ds::close))
+            .defaultIfEmpty(false)
+            .onErrorResume(error -> {
+                logger.warn("Data source connection test failed. tenantId={}, type={}, error={}",
+                           tenantId, type, error.toString());
+                return Mono.just(false);
             });
     }
     
@@ -155,5 +472,40 @@ public class DataSourceManager {
     private String buildKey(String tenantId, String datasourceId) {
         return tenantId + ":" + datasourceId;
     }
+    
+    /**
+     * Data source with its usage and health state
+     */
+    private static final class ManagedDataSource {
+        private final String tenantId;
+        private final String datasourceId;
+        private final DataSource dataSource;
+        private final long createdAt = System.currentTimeMillis();
+        private volatile long lastUsedAt = createdAt;
+        private volatile DataSourceState.Health health = DataSourceState.Health.UNKNOWN;
+        private volatile long lastHealthCheckAt;
+        
+        private ManagedDataSource(String tenantId, String datasourceId, DataSource dataSource) {
+            this.tenantId = tenantId;
+            this.datasourceId = datasourceId;
+            this.dataSource = dataSource;
+        }
+        
+        private void touch() {
+            lastUsedAt = System.currentTimeMillis();
+        }
+        
+        private boolean isBusy() {
+            return dataSource.getInFlightCount() > 0;
+        }
+        
+        private DataSourceState toState() {
+            return new DataSourceState(tenantId, datasourceId, dataSource.getType(),
+                Instant.ofEpochMilli(createdAt),
+                Instant.ofEpochMilli(lastUsedAt),
+                health,
+                lastHealthCheckAt > 0 ? Instant.ofEpochMilli(lastHealthCheckAt) : null,
+                dataSource instanceof ResilientDataSource resilient ? resilient.getCircuitState().name() : null);
+        }
+    }
 }
-
@@ -0,0 +1,33 @@
+package com.citi.tts.apibrick.core.datasource.manager;
+
+import com.citi.tts.apibrick.common.enums.DataSourceType;
+
+import java.time.Instant;
+
+/**
+ * Data Source State - Snapshot of a managed data source, for monitoring
+ *
+ * @param tenantId          Tenant ID
+ * @param datasourceId      Data source configuration ID
+ * @param type              Data source type
+ * @param createdAt         When the data source was created
+ * @param lastUsedAt        When the data source was last handed out or queried
+ * @param health            Result of the last background health check
+ * @param lastHealthCheckAt When the last health check completed, null if none ran yet
+ * @param circuitState      Circuit breaker state, null if resilience is disabled
+ */
+public record DataSourceState(String tenantId,
+                              String datasourceId,
+                              DataSourceType type,
+                              Instant createdAt,
+                              Instant lastUsedAt,
+                              Health health,
+                              Instant lastHealthCheckAt,
+                              String circuitState) {
+
+    public enum Health {
+        UNKNOWN,
+        UP,
+        DOWN
+    }
+}
@@ -0,0 +1,112 @@
+package com.citi.tts.apibrick.core.datasource.mongo;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoClients;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Mongo Client Registry - Shares one MongoClient per cluster connection string
+ * <p>
+ * A MongoClient owns a connection pool and server monitor threads, so data sources of
+ * different tenants on the same cluster reuse one client instead of creating their own.
+ * Tenant isolation stays at the collection level (tenantId_collection).
+ * <p>
+ * Clients are reference counted: each acquire must be paired with a release, and the
+ * client is closed when its last data source releases it.
+ * Connection strings contain credentials and are never logged.
+ */
+public class MongoClientRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(MongoClientRegistry.class);
+
+    private static final MongoClientRegistry SHARED = new MongoClientRegistry(MongoClients::create);
+
+    private final Function<MongoClientSettings, MongoClient> clientFactory;
+
+    // Map: connection string -> shared client and its reference count
+    private final Map<String, Entry> clients = new ConcurrentHashMap<>();
+
+    MongoClientRegistry(Function<MongoClientSettings, MongoClient> clientFactory) {
+        this.clientFactory = clientFactory;
+    }
+
+    /**
+     * Registry shared by all MongoDB data sources of this node
+     */
+    public static MongoClientRegistry shared() {
+        return SHARED;
+    }
+
+    /**
+     * Get the client of a cluster, creating it on first use
+     *
+     * @param connectionString Cluster connection string (including credentials and options)
+     * @return Shared MongoClient
+     */
+    public MongoClient acquire(String connectionString) {
+        Entry entry = clients.compute(connectionString, (key, existing) -> {
+            if (existing != null) {
+                existing.references++;
+                return existing;
+            }
+            MongoClientSettings settings = MongoClientSettings.builder()
+                    .applyConnectionString(new ConnectionString(key))
+                    .build();
+            logger.info("Created shared MongoDB client. hosts={}", settings.getClusterSettings().getHosts());
+            return new Entry(clientFactory.apply(settings));
+        });
+        return entry.client;
+    }
+
+    /**
+     * Release a client obtained from acquire, closing it when no data source uses it anymore
+     *
+     * @param connectionString Connection string passed to acquire
+     */
+    public void release(String connectionString) {
+        clients.computeIfPresent(connectionString, (key, entry) -> {
+            if (--entry.references > 0) {
+                return entry;
+            }
+            try {
+                entry.client.close();
+                logger.info("Closed shared MongoDB client, no data source left");
+            } catch (Exception e) {
+                logger.warn("Failed to close shared MongoDB client", e);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Number of open shared clients
+     */
+    public int getClientCount() {
+        return clients.size();
+    }
+
+    /**
+     * Number of data sources using the client of a connection string
+     */
+    public int getReferenceCount(String connectionString) {
+        Entry entry = clients.get(connectionString);
+        return entry != null ? entry.references : 0;
+    }
+
+    private static final class Entry {
+        private final MongoClient client;
+        // Only updated inside ConcurrentHashMap.compute, which serializes access per key
+        private volatile int references = 1;
+
+        private Entry(MongoClient client) {
+            this.client = client;
+        }
+    }
+}
@@ -11,6 +11,7 @@ import java.util.Map;
  * MongoDB Data Converter
  * Converts MongoDB Document to JSON-like Map structure
  * Handles ObjectId, nested documents, arrays, etc.
+ * Mapped source fields may be dotted paths into embedded documents
  */
 public class MongoDataConverter implements DataConverter {
     
@@ -30,7 +31,7 @@ public class MongoDataConverter implements DataConverter {
                 String targetField = mapping.getKey();
                 String sourceField = mapping.getValue() != null ? mapping.getValue().toString() : targetField;
                 
-                Object value = document.get(sourceField);
+                Object value = getValue(document, sourceField);
                 result.put(targetField, convertValue(value));
             }
         } else {
@@ -43,6 +44,24 @@ public class MongoDataConverter implements DataConverter {
         return result;
     }
     
+    /**
+     * Get a field value, following dotted paths into embedded documents ("address.city")
+     */
+    private Object getValue(Document document, String sourceField) {
+        Object value = document.get(sourceField);
+        if (value != null || sourceField.indexOf('.') < 0) {
+            return value;
+        }
+        Object current = document;
+        for (String part : sourceField.split("\\.")) {
+            if (!(current instanceof Document nested)) {
+                return null;
+            }
+            current = nested.get(part);
+        }
+        return current;
+    }
+
     /**
      * Convert MongoDB-specific types to JSON-compatible types
      */
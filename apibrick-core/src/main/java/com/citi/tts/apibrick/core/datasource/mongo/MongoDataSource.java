@@ -1,27 +1,42 @@
 package com.citi.tts.apibrick.core.datasource.mongo;
 
 import com.citi.tts.apibrick.common.enums.DataSourceType;
+import com.citi.tts.apibrick.common.util.ConfigValueUtil;
 import com.citi.tts.apibrick.core.datasource.DataSource;
 import com.citi.tts.apibrick.core.datasource.DataConverter;
-import com.citi.tts.apibrick.core.datasource.QueryParser;
-import com.mongodb.ConnectionString;
-import com.mongodb.MongoClientSettings;
+import com.citi.tts.apibrick.core.datasource.QueryLimits;
+import com.citi.tts.apibrick.core.datasource.result.ColumnarResultSet;
+import com.mongodb.reactivestreams.client.FindPublisher;
 import com.mongodb.reactivestreams.client.MongoClient;
-import com.mongodb.reactivestreams.client.MongoClients;
 import com.mongodb.reactivestreams.client.MongoCollection;
 import com.mongodb.reactivestreams.client.MongoDatabase;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import org.bson.Document;
 import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * MongoDB Data Source Implementation
  * 
  * Uses ReactiveMongo for non-blocking operations
  * Supports MongoDB Change Streams for data change notifications
+ * <p>
+ * Queries return all matching documents, bounded by limit/skip and the query limits (see QueryLimits),
+ * sorted and paged by keyset as configured (see MongoQueryParser). Only fields named in
+ * fieldMapping are returned by the server.
+ * With "pipeline" configured the query runs as a server-side aggregation instead.
+ * <p>
+ * Data sources on the same cluster share one MongoClient (see MongoClientRegistry).
  */
 public class MongoDataSource implements DataSource {
     
@@ -32,12 +47,31 @@ public class MongoDataSource implements DataSource {
     private String tenantId;
     private DataSourceType type = DataSourceType.MONGO;
     
-    private final QueryParser queryParser = new MongoQueryParser();
+    // Connection string the client was acquired with, and host:port for metrics
+    private String connectionString;
+    private String cluster;
+    
+    private final MongoClientRegistry clientRegistry;
+    
+    private final MongoQueryParser queryParser = new MongoQueryParser();
     private final DataConverter dataConverter = new MongoDataConverter();
+    // Limits of queries that do not set their own (see QueryLimits.forDataSource)
+    private QueryLimits queryLimits = QueryLimits.UNLIMITED;
+    // Queries subscribed and not yet terminated
+    private final AtomicInteger inFlight = new AtomicInteger();
+    
+    public MongoDataSource() {
+        this(MongoClientRegistry.shared());
+    }
+    
+    MongoDataSource(MongoClientRegistry clientRegistry) {
+        this.clientRegistry = clientRegistry;
+    }
     
     @Override
     public Mono<Void> init(Map<String, Object> config, String tenantId, String env) {
         this.tenantId = tenantId;
+        this.queryLimits = QueryLimits.forDataSource(config);
         
         try {
             // Build connection string
@@ -47,24 +81,25 @@ public class MongoDataSource implements DataSource {
             String username = (String) config.get("username");
             String password = (String) config.get("password");
             
+            // The database is not part of the connection string, so tenants using different
+            // databases of one cluster with the same credentials share a client
             String connectionString;
             if (username != null && password != null) {
-                connectionString = String.format("mongodb://%s:%s@%s:%s/%s?ssl=true",
-                    username, password, host, port, database);
+                String authSource = (String) config.getOrDefault("authSource", database);
+                connectionString = String.format("mongodb://%s:%s@%s:%s/?ssl=true&authSource=%s",
+                    username, password, host, port, authSource);
             } else {
-                connectionString = String.format("mongodb://%s:%s/%s", host, port, database);
+                connectionString = String.format("mongodb://%s:%s/", host, port);
             }
             
-            // Create MongoDB client settings
-            MongoClientSettings clientSettings = MongoClientSettings.builder()
-                .applyConnectionString(new ConnectionString(connectionString))
-                .build();
-            
-            // Create reactive MongoDB client
-            this.mongoClient = MongoClients.create(clientSettings);
+            // Shared reactive MongoDB client of the cluster
+            this.mongoClient = clientRegistry.acquire(connectionString);
+            this.connectionString = connectionString;
+            this.cluster = host + ":" + port;
             this.mongoDatabase = mongoClient.getDatabase(database);
             
-            logger.info("MongoDB data source initialized. tenantId={}, database={}", tenantId, database);
+            logger.info("MongoDB data source initialized. tenantId={}, cluster={}, database={}",
+                tenantId, cluster, database);
             
             return Mono.empty();
         } catch (Exception e) {
@@ -75,44 +110,188 @@ public class MongoDataSource implements DataSource {
     
     @Override
     public Mono<Map<String, Object>> executeQuery(Map<String, Object> queryConfig) {
+        AtomicBoolean truncated = new AtomicBoolean(false);
+        AtomicReference<Object> lastKey = new AtomicReference<>();
+        return track(streamDocuments(queryConfig, () -> truncated.set(true), lastKey))
+                // Documents are appended column by column instead of being kept as one map each
+                .collect(ColumnarResultSet::builder, ColumnarResultSet.Builder::addRow)
+                .map(builder -> {
+                    ColumnarResultSet rows = builder.build();
+                    Map<String, Object> result = new HashMap<>();
+                    if (rows.size() == 1 && !truncated.get() && queryConfig.get("keyset") == null) {
+                        // Single document result
+                        result.putAll(rows.get(0));
+                    } else {
+                        // Multiple documents result
+                        result.put("data", rows);
+                        result.put("count", rows.size());
+                        result.put("truncated", truncated.get());
+                        if (lastKey.get() != null) {
+                            // Pass as keyset.after to read the next page
+                            result.put("lastKey", lastKey.get());
+                        }
+                    }
+                    return result;
+                });
+    }
+
+    @Override
+    public Flux<Map<String, Object>> streamQuery(Map<String, Object> queryConfig) {
+        return track(streamDocuments(queryConfig, null, null));
+    }
+
+    @Override
+    public int getInFlightCount() {
+        return inFlight.get();
+    }
+
+    /**
+     * Count a query as in flight from subscription until it terminates or is cancelled
+     */
+    private <T> Flux<T> track(Flux<T> query) {
+        return Flux.defer(() -> {
+            inFlight.incrementAndGet();
+            return query.doFinally(signal -> inFlight.decrementAndGet());
+        });
+    }
+
+    /**
+     * Stream converted documents bounded by the query limits
+     * Filter, sort, skip, limit and projection (from fieldMapping) are all applied by the server,
+     * and documents are pulled in batches of the query fetchSize
+     *
+     * @param queryConfig Query configuration
+     * @param onTruncate  Invoked if the result was cut short by a limit (may be null)
+     * @param lastKey     Receives the keyset field value of the last document (may be null)
+     * @return Flux of converted documents
+     */
+    @SuppressWarnings("unchecked")
+    private Flux<Map<String, Object>> streamDocuments(Map<String, Object> queryConfig,
+                                                     Runnable onTruncate,
+                                                     AtomicReference<Object> lastKey) {
+        if (mongoDatabase == null) {
+            return Flux.error(new IllegalStateException("MongoDB data source not initialized"));
+        }
         try {
+            queryParser.validate(queryConfig);
+
             // Parse query configuration to Bson Document
             Object parsedQuery = queryParser.parse(queryConfig);
-            if (!(parsedQuery instanceof Document)) {
-                return Mono.error(new IllegalArgumentException("Invalid MongoDB query format"));
-            }
-            
-            Document queryFilter = (Document) parsedQuery;
-            String collectionName = (String) queryConfig.get("collection");
-            
-            if (collectionName == null || collectionName.isEmpty()) {
-                return Mono.error(new IllegalArgumentException("Collection name is required"));
+            if (!(parsedQuery instanceof Document queryFilter)) {
+                return Flux.error(new IllegalArgumentException("Invalid MongoDB query format"));
             }
-            
+
+            Map<String, Object> fieldMapping = (Map<String, Object>) queryConfig.get("fieldMapping");
+            String keysetField = queryParser.keysetField(queryConfig);
+            QueryLimits limits = QueryLimits.from(queryConfig, queryLimits);
+
             // Add tenant isolation: prefix collection name with tenant ID
-            String isolatedCollectionName = tenantId + "_" + collectionName;
+            String isolatedCollectionName = tenantId + "_" + queryConfig.get("collection");
             MongoCollection<Document> collection = mongoDatabase.getCollection(isolatedCollectionName);
-            
-            // Execute query reactively
-            Publisher<Document> publisher = collection.find(queryFilter).first();
-            
-            return Mono.from(publisher)
-                .map(document -> {
-                    // Convert MongoDB Document to Map
-                    Map<String, Object> fieldMapping = (Map<String, Object>) queryConfig.get("fieldMapping");
-                    return dataConverter.convert(document, fieldMapping);
-                })
-                .onErrorResume(error -> {
-                    logger.error("MongoDB query execution error", error);
-                    return Mono.error(error);
-                });
-            
+
+            Publisher<Document> publisher = queryParser.isAggregation(queryConfig)
+                    ? aggregate(collection, queryConfig, fieldMapping, limits)
+                    : find(collection, queryFilter, queryConfig, fieldMapping, keysetField, limits);
+
+            Flux<Document> documents = limits.apply(Flux.from(publisher), QueryLimits::estimateSize, onTruncate);
+            if (lastKey != null && keysetField != null) {
+                documents = documents.doOnNext(document -> lastKey.set(
+                        dataConverter.convert(document, Map.of(keysetField, keysetField)).get(keysetField)));
+            }
+            return instrument(documents)
+                    .map(document -> dataConverter.convert(document, fieldMapping))
+                    .onErrorResume(error -> {
+                        logger.error("MongoDB query execution error", error);
+                        return Flux.error(error);
+                    });
+
         } catch (Exception e) {
             logger.error("MongoDB query error", e);
-            return Mono.error(e);
+            return Flux.error(e);
         }
     }
-    
+
+    /**
+     * Record per-tenant usage of the shared client
+     * - apibrick.mongo.query: timer per query (tags tenant, cluster, outcome)
+     * - apibrick.mongo.documents: documents read (tags tenant, cluster)
+     */
+    private Flux<Document> instrument(Flux<Document> documents) {
+        return Flux.defer(() -> {
+            Timer.Sample sample = Timer.start(Metrics.globalRegistry);
+            long[] count = new long[1];
+            return documents
+                    .doOnNext(document -> count[0]++)
+                    .doFinally(signal -> {
+                        String outcome = switch (signal) {
+                            case ON_COMPLETE -> "success";
+                            case ON_ERROR -> "error";
+                            default -> "cancelled";
+                        };
+                        sample.stop(Timer.builder("apibrick.mongo.query")
+                                .description("MongoDB query latency")
+                                .tags("tenant", tenantId, "cluster", cluster, "outcome", outcome)
+                                .register(Metrics.globalRegistry));
+                        Metrics.counter("apibrick.mongo.documents", "tenant", tenantId, "cluster", cluster)
+                                .increment(count[0]);
+                    });
+        });
+    }
+
+    /**
+     * Find with filter, keyset, sort, skip, limit and projection applied by the server
+     */
+    private Publisher<Document> find(MongoCollection<Document> collection,
+                                     Document queryFilter,
+                                     Map<String, Object> queryConfig,
+                                     Map<String, Object> fieldMapping,
+                                     String keysetField,
+                                     QueryLimits limits) {
+        Document sort = queryParser.buildSort(queryConfig);
+        Document filter = queryParser.applyKeyset(queryFilter, queryConfig, sort);
+        Document projection = queryParser.buildProjection(fieldMapping, keysetField);
+        long limit = ConfigValueUtil.toLong(queryConfig.get("limit"), 0);
+        long skip = ConfigValueUtil.toLong(queryConfig.get("skip"), 0);
+
+        if (limits.isRowLimited()) {
+            // One document beyond maxRows lets the limits detect truncation
+            limit = limit > 0 ? Math.min(limit, limits.getMaxRows() + 1L) : limits.getMaxRows() + 1L;
+        }
+
+        FindPublisher<Document> publisher = collection.find(filter)
+                .projection(projection)
+                .limit((int) Math.min(limit, Integer.MAX_VALUE))
+                .skip((int) skip)
+                .batchSize(limits.getFetchSize());
+        if (!sort.isEmpty()) {
+            publisher = publisher.sort(sort);
+        }
+        return publisher;
+    }
+
+    /**
+     * Run the configured aggregation pipeline server-side
+     * The mapped fields are projected and the output is capped at maxRows + 1 by the server (if limited)
+     * Options: allowDiskUse (default false), batchSize (default the query fetchSize)
+     */
+    private Publisher<Document> aggregate(MongoCollection<Document> collection,
+                                          Map<String, Object> queryConfig,
+                                          Map<String, Object> fieldMapping,
+                                          QueryLimits limits) {
+        List<Document> pipeline = queryParser.buildPipeline(queryConfig);
+        Document projection = queryParser.buildProjection(fieldMapping, null);
+        if (projection != null) {
+            pipeline.add(new Document("$project", projection));
+        }
+        if (limits.isRowLimited()) {
+            pipeline.add(new Document("$limit", limits.getMaxRows() + 1));
+        }
+
+        return collection.aggregate(pipeline)
+                .allowDiskUse(ConfigValueUtil.toBoolean(queryConfig.get("allowDiskUse"), false))
+                .batchSize(ConfigValueUtil.toInt(queryConfig.get("batchSize"), limits.getFetchSize()));
+    }
+
     @Override
     public Mono<Boolean> testConnection() {
         try {
@@ -130,7 +309,10 @@ public class MongoDataSource implements DataSource {
     @Override
     public void close() {
         if (mongoClient != null) {
-            mongoClient.close();
+            // The client is shared; it is closed once the last data source of the cluster releases it
+            clientRegistry.release(connectionString);
+            mongoClient = null;
+            mongoDatabase = null;
             logger.info("MongoDB data source closed. tenantId={}", tenantId);
         }
     }
@@ -1,16 +1,43 @@
 package com.citi.tts.apibrick.core.datasource.mongo;
 
 import com.citi.tts.apibrick.common.enums.DataSourceType;
+import com.citi.tts.apibrick.common.util.ConfigValueUtil;
 import com.citi.tts.apibrick.core.datasource.QueryParser;
 import org.bson.Document;
+import org.bson.types.ObjectId;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * MongoDB Query Parser
  * Converts visual query configuration to MongoDB Bson Document
+ * <p>
+ * Besides the filter, builds the find options from the query configuration:
+ * - sort: [{"field": "createdAt", "direction": "DESC"}]
+ * - keyset: {"field": "_id", "after": "65f0..."} continues after the last key of the previous page
+ *   (field must be unique; ascending unless sorted DESC; "sort" may name no other field, since a
+ *   condition on the keyset field alone would skip or repeat documents sorted by another field)
+ * - projection: derived from fieldMapping so only mapped fields are returned by the server
+ * <p>
+ * Aggregation mode: when "pipeline" is configured the stages are executed server-side
+ * instead of a find; stages that read other collections or run server-side JavaScript
+ * are rejected to keep tenant isolation.
  */
 public class MongoQueryParser implements QueryParser {
+
+    // Aggregation stages allowed in a pipeline
+    private static final Set<String> ALLOWED_STAGES = Set.of(
+        "$match", "$project", "$group", "$sort", "$limit", "$skip", "$unwind", "$count",
+        "$addFields", "$set", "$unset", "$replaceRoot", "$replaceWith", "$bucket", "$bucketAuto",
+        "$sortByCount", "$sample", "$facet");
+
+    // Operators that run server-side JavaScript or reach other collections, rejected anywhere
+    // in a pipeline (including $facet sub-pipelines)
+    private static final Set<String> FORBIDDEN_OPERATORS = Set.of(
+        "$where", "$function", "$accumulator",
+        "$lookup", "$graphLookup", "$unionWith", "$out", "$merge");
     
     @Override
     public Object parse(Map<String, Object> queryConfig) {
@@ -77,6 +104,157 @@ public class MongoQueryParser implements QueryParser {
         return queryFilter;
     }
     
+    /**
+     * Build the sort document from the "sort" configuration
+     * The keyset field, if any, is the sort key when "sort" does not name it (see validate())
+     *
+     * @param queryConfig Query configuration
+     * @return Sort document (empty if unsorted)
+     */
+    @SuppressWarnings("unchecked")
+    public Document buildSort(Map<String, Object> queryConfig) {
+        Document sort = new Document();
+        Object sortConfig = queryConfig.get("sort");
+        if (sortConfig instanceof List<?> sortFields) {
+            for (Object item : sortFields) {
+                if (item instanceof Map<?, ?> sortField && sortField.get("field") != null) {
+                    sort.append(sortField.get("field").toString(),
+                            isDescending(sortField.get("direction")) ? -1 : 1);
+                }
+            }
+        } else if (sortConfig instanceof Map<?, ?> sortFields) {
+            // Shorthand: {"createdAt": -1, "name": "ASC"}
+            ((Map<String, Object>) sortFields).forEach((field, direction) ->
+                    sort.append(field, isDescending(direction) ? -1 : 1));
+        }
+
+        String keysetField = keysetField(queryConfig);
+        if (keysetField != null && !sort.containsKey(keysetField)) {
+            sort.append(keysetField, 1);
+        }
+        return sort;
+    }
+
+    /**
+     * Add the keyset condition to the filter: documents after the last key of the previous page
+     *
+     * @param filter      Filter built by parse()
+     * @param queryConfig Query configuration
+     * @param sort        Sort built by buildSort()
+     * @return Filter including the keyset condition
+     */
+    @SuppressWarnings("unchecked")
+    public Document applyKeyset(Document filter, Map<String, Object> queryConfig, Document sort) {
+        String keysetField = keysetField(queryConfig);
+        if (keysetField == null) {
+            return filter;
+        }
+        Object after = ((Map<String, Object>) queryConfig.get("keyset")).get("after");
+        if (after == null) {
+            // First page
+            return filter;
+        }
+        if ("_id".equals(keysetField) && after instanceof String text && ObjectId.isValid(text)) {
+            after = new ObjectId(text);
+        }
+        String operator = Integer.valueOf(-1).equals(sort.get(keysetField)) ? "$lt" : "$gt";
+        Document keysetCondition = new Document(keysetField, new Document(operator, after));
+        return filter.isEmpty() ? keysetCondition : new Document("$and", List.of(filter, keysetCondition));
+    }
+
+    /**
+     * Build the projection from the field mapping (source fields only)
+     *
+     * @param fieldMapping Field mapping (target field -> source field), null or empty returns all fields
+     * @param keysetField  Keyset field that must be returned for paging (may be null)
+     * @return Projection document, or null to return whole documents
+     */
+    public Document buildProjection(Map<String, Object> fieldMapping, String keysetField) {
+        if (fieldMapping == null || fieldMapping.isEmpty()) {
+            return null;
+        }
+        Document projection = new Document();
+        for (Map.Entry<String, Object> mapping : fieldMapping.entrySet()) {
+            String sourceField = mapping.getValue() != null ? mapping.getValue().toString() : mapping.getKey();
+            projection.append(sourceField, 1);
+        }
+        if (keysetField != null) {
+            projection.append(keysetField, 1);
+        }
+        if (!projection.containsKey("_id")) {
+            // _id is returned unless excluded explicitly
+            projection.append("_id", 0);
+        }
+        return projection;
+    }
+
+    /**
+     * Whether the query runs as an aggregation pipeline
+     */
+    public boolean isAggregation(Map<String, Object> queryConfig) {
+        return queryConfig.get("pipeline") != null;
+    }
+
+    /**
+     * Build the aggregation pipeline from the "pipeline" configuration
+     * Placeholders must already be bound (see ParameterBinder)
+     *
+     * @param queryConfig Query configuration
+     * @return Pipeline stages
+     * @throws IllegalArgumentException if a stage is malformed or not allowed
+     */
+    @SuppressWarnings("unchecked")
+    public List<Document> buildPipeline(Map<String, Object> queryConfig) {
+        if (!(queryConfig.get("pipeline") instanceof List<?> stages)) {
+            throw new IllegalArgumentException("Aggregation pipeline must be a list of stages");
+        }
+        List<Document> pipeline = new ArrayList<>(stages.size() + 2);
+        for (Object stage : stages) {
+            if (!(stage instanceof Map<?, ?> stageMap) || stageMap.size() != 1) {
+                throw new IllegalArgumentException("Each pipeline stage must be an object with a single operator");
+            }
+            String operator = stageMap.keySet().iterator().next().toString();
+            if (!ALLOWED_STAGES.contains(operator)) {
+                throw new IllegalArgumentException("Aggregation stage not allowed: " + operator);
+            }
+            checkOperators(stageMap);
+            pipeline.add(new Document((Map<String, Object>) stageMap));
+        }
+        return pipeline;
+    }
+
+    private static void checkOperators(Object value) {
+        if (value instanceof Map<?, ?> map) {
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (FORBIDDEN_OPERATORS.contains(String.valueOf(entry.getKey()))) {
+                    throw new IllegalArgumentException("Operator not allowed: " + entry.getKey());
+                }
+                checkOperators(entry.getValue());
+            }
+        } else if (value instanceof List<?> list) {
+            for (Object item : list) {
+                checkOperators(item);
+            }
+        }
+    }
+
+    /**
+     * Keyset field of the query, or null if keyset paging is not used
+     */
+    public String keysetField(Map<String, Object> queryConfig) {
+        if (queryConfig.get("keyset") instanceof Map<?, ?> keyset && keyset.get("field") != null) {
+            return keyset.get("field").toString();
+        }
+        return null;
+    }
+
+    private static boolean isDescending(Object direction) {
+        if (direction instanceof Number number) {
+            return number.intValue() < 0;
+        }
+        return direction != null && "DESC".equalsIgnoreCase(direction.toString());
+    }
+
     @Override
     public DataSourceType supportType() {
         return DataSourceType.MONGO;
@@ -85,7 +263,24 @@ public class MongoQueryParser implements QueryParser {
     @Override
     public void validate(Map<String, Object> queryConfig) {
         QueryParser.super.validate(queryConfig);
-        // Additional MongoDB-specific validation can be added here
+
+        Object collection = queryConfig.get("collection");
+        if (!(collection instanceof String name) || name.isEmpty()) {
+            throw new IllegalArgumentException("Collection name is required");
+        }
+        if (ConfigValueUtil.toLong(queryConfig.get("limit"), 0) < 0
+                || ConfigValueUtil.toLong(queryConfig.get("skip"), 0) < 0) {
+            throw new IllegalArgumentException("limit and skip must not be negative");
+        }
+        String keysetField = keysetField(queryConfig);
+        if (keysetField != null && queryConfig.get("sort") != null) {
+            for (String sortField : buildSort(queryConfig).keySet()) {
+                if (!sortField.equals(keysetField)) {
+                    throw new IllegalArgumentException("Keyset paging on " + keysetField
+                            + " cannot sort by another field: " + sortField);
+                }
+            }
+        }
     }
 }
 
@@ -1,7 +1,10 @@
 package com.citi.tts.apibrick.core.datasource.mysql;
 
 import com.citi.tts.apibrick.common.enums.DataSourceType;
+import com.citi.tts.apibrick.core.datasource.ColumnConverter;
 import com.citi.tts.apibrick.core.datasource.DataConverter;
+import com.citi.tts.apibrick.core.datasource.R2dbcRowMapper;
+import io.r2dbc.spi.ColumnMetadata;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -25,6 +28,9 @@ import java.util.Map;
  * - Time -> ISO8601 time string
  * - BigDecimal -> Number or String
  * - Blob/Clob -> String
+ * <p>
+ * Result sets read through R2DBC use newRowMapper, which picks a converter per column
+ * once from the column metadata instead of inspecting every cell
  */
 public class MySqlDataConverter implements DataConverter {
     
@@ -64,8 +70,67 @@ public class MySqlDataConverter implements DataConverter {
         return result;
     }
     
+    /**
+     * Create a row mapper for one result set
+     * Converters are chosen once per column from the result metadata and cells are read by index
+     *
+     * @param fieldMapping Field mapping configuration (target field -> source column)
+     * @return Row mapper to pass to Result.map
+     */
+    public R2dbcRowMapper newRowMapper(Map<String, Object> fieldMapping) {
+        return new R2dbcRowMapper(fieldMapping, this::converterFor);
+    }
+
+    /**
+     * Choose the converter for a column from its metadata (Java type, precision, scale)
+     *
+     * @param column Column metadata
+     * @return Column converter
+     */
+    ColumnConverter converterFor(ColumnMetadata column) {
+        Class<?> javaType = column.getJavaType();
+        if (javaType == null) {
+            return (row, index) -> convertValue(row.get(index));
+        }
+
+        if (javaType == LocalDateTime.class) {
+            return (row, index) -> format(row.get(index, LocalDateTime.class), DATETIME_FORMATTER);
+        }
+        if (javaType == LocalDate.class) {
+            return (row, index) -> format(row.get(index, LocalDate.class), DATE_FORMATTER);
+        }
+        if (javaType == LocalTime.class) {
+            return (row, index) -> format(row.get(index, LocalTime.class), TIME_FORMATTER);
+        }
+        if (javaType == BigDecimal.class) {
+            return ColumnConverter.decimal(column.getPrecision(), column.getScale());
+        }
+        if (javaType == byte[].class || io.r2dbc.spi.Blob.class.isAssignableFrom(javaType)
+                || java.nio.ByteBuffer.class.isAssignableFrom(javaType)) {
+            return (row, index) -> {
+                byte[] bytes = row.get(index, byte[].class);
+                return bytes != null ? java.util.Base64.getEncoder().encodeToString(bytes) : null;
+            };
+        }
+        if (javaType == String.class || io.r2dbc.spi.Clob.class.isAssignableFrom(javaType)) {
+            return (row, index) -> row.get(index, String.class);
+        }
+        if (Number.class.isAssignableFrom(javaType) || javaType == Boolean.class) {
+            // Already JSON-compatible, no conversion needed
+            return (row, index) -> row.get(index);
+        }
+
+        // Unknown type: fall back to runtime type inspection
+        return (row, index) -> convertValue(row.get(index));
+    }
+
+    private static String format(java.time.temporal.TemporalAccessor value, DateTimeFormatter formatter) {
+        return value != null ? formatter.format(value) : null;
+    }
+
     /**
      * Convert MySQL-specific types to JSON-compatible types
+     * Used for Map-based conversion and for columns without a dedicated converter
      */
     private Object convertValue(Object value) {
         if (value == null) {
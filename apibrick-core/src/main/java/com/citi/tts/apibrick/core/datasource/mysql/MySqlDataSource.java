@@ -1,27 +1,29 @@
 package com.citi.tts.apibrick.core.datasource.mysql;
 
 import com.citi.tts.apibrick.common.enums.DataSourceType;
-import com.citi.tts.apibrick.core.datasource.DataSource;
-import com.citi.tts.apibrick.core.datasource.DataConverter;
+import com.citi.tts.apibrick.common.util.ConfigValueUtil;
+import com.citi.tts.apibrick.core.datasource.AbstractR2dbcDataSource;
+import com.citi.tts.apibrick.core.datasource.ColumnConverter;
+import com.citi.tts.apibrick.core.datasource.ParsedSql;
 import com.citi.tts.apibrick.core.datasource.QueryParser;
+import com.citi.tts.apibrick.core.datasource.routing.ReplicaRouter;
+import com.citi.tts.apibrick.core.datasource.routing.ReplicaRoutingOptions;
 import io.asyncer.r2dbc.mysql.MySqlConnectionConfiguration;
 import io.asyncer.r2dbc.mysql.MySqlConnectionFactory;
 import io.asyncer.r2dbc.mysql.constant.SslMode;
-import io.r2dbc.pool.ConnectionPool;
-import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ColumnMetadata;
+import io.r2dbc.spi.Connection;
 import io.r2dbc.spi.ConnectionFactory;
-import io.r2dbc.spi.Result;
-import io.r2dbc.spi.Statement;
+import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.Duration;
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Pattern;
 
 
 /**
@@ -29,13 +31,20 @@ import java.util.Map;
  * <p>
  * Uses R2DBC (Reactive Relational Database Connectivity) for non-blocking operations
  * Supports connection pooling for better performance
+ * Single-key lookups with "batch" enabled are merged into IN queries (see LookupBatcher)
+ * Multi queries with "compound": true are sent as one multi-statement request (see MultiQuery)
+ * <p>
+ * Read replicas: with "replicas" configured, SELECT queries are load-balanced across the healthy
+ * replicas (see ReplicaRouter, "readRouting" options in ReplicaRoutingOptions); locking reads and
+ * queries with "readFromPrimary": true (read-your-writes) use the primary.
  * <p>
  * Map<String, Object> config = Map.of(
  * "host", "localhost",
  * "port", 3306,
  * "database", "apibrick",
  * "username", "root",
- * "password", "123456"
+ * "password", "123456",
+ * "replicas", List.of(Map.of("host", "replica-1"), Map.of("host", "replica-2", "port", 3307))
  * );
  * <p>
  * dataSourceManager.getOrCreateDataSource(
@@ -46,16 +55,22 @@ import java.util.Map;
  * "DEV"
  * );
  */
-public class MySqlDataSource implements DataSource {
+public class MySqlDataSource extends AbstractR2dbcDataSource {
 
     private static final Logger logger = LoggerFactory.getLogger(MySqlDataSource.class);
 
-    private ConnectionPool connectionPool;
-    private String tenantId;
     private final DataSourceType type = DataSourceType.MYSQL;
 
+    // Plain reads that may be served by a replica
+    private static final Pattern READ_ONLY_STATEMENT = Pattern.compile("\\s*(SELECT|WITH)\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern LOCKING_READ = Pattern.compile(
+            "\\bFOR\\s+(UPDATE|SHARE)\\b|\\bLOCK\\s+IN\\s+SHARE\\s+MODE\\b", Pattern.CASE_INSENSITIVE);
+
     private final QueryParser queryParser = new MySqlQueryParser();
-    private final DataConverter dataConverter = new MySqlDataConverter();
+    private final MySqlDataConverter dataConverter = new MySqlDataConverter();
+
+    // Null when no read replicas are configured
+    private ReplicaRouter replicaRouter;
 
     @Override
     public Mono<Void> init(Map<String, Object> config, String tenantId, String env) {
@@ -74,37 +89,38 @@ public class MySqlDataSource implements DataSource {
                 return Mono.error(new IllegalArgumentException(
                         "MySQL connection requires: host, database, username, password"));
             }
+            List<?> replicas = config.get("replicas") instanceof List<?> list ? list : List.of();
+            for (Object replica : replicas) {
+                if (!(replica instanceof Map<?, ?> replicaConfig) || replicaConfig.get("host") == null) {
+                    return Mono.error(new IllegalArgumentException("MySQL replica requires: host"));
+                }
+            }
 
-            // Build MySQL connection configuration
-            MySqlConnectionConfiguration connectionConfig = MySqlConnectionConfiguration.builder()
-                    .host(host)
-                    .port(port)
-                    .database(database)
-                    .username(username)
-                    .password(password)
-                    .connectTimeout(Duration.ofSeconds(10))
-                    .sslMode(SslMode.DISABLED)
-                    .build();
-            // Create connection factory
-            ConnectionFactory connectionFactory = MySqlConnectionFactory.from(connectionConfig);
-
-            // Create connection pool configuration
-            ConnectionPoolConfiguration poolConfig = ConnectionPoolConfiguration.builder(connectionFactory)
-                    .maxIdleTime(Duration.ofMinutes(5))
-                    .initialSize(1)
-                    .maxSize(5)
-                    .maxCreateConnectionTime(Duration.ofSeconds(10))
-                    .maxAcquireTime(Duration.ofSeconds(8))
-                    .maxLifeTime(Duration.ofHours(1))
-                    .validationQuery("SELECT 1")
-                    .acquireRetry(1)
-                    .build();
-
-            // Create connection pool
-            this.connectionPool = new ConnectionPool(poolConfig);
+            // Use the connection pool shared by data sources on the same database and credentials
+            initPool(connectionFactory(host, port, database, username, password), config,
+                    host + ":" + port + "/" + database, List.of(host, port, database, username, password));
+
+            // Read replicas, pooled per data source, connecting with the primary credentials unless given per replica
+            if (!replicas.isEmpty()) {
+                Map<String, ConnectionFactory> replicaPools = new LinkedHashMap<>();
+                for (Object entry : replicas) {
+                    Map<?, ?> replica = (Map<?, ?>) entry;
+                    String replicaHost = String.valueOf(replica.get("host"));
+                    int replicaPort = Integer.parseInt(String.valueOf(replica.containsKey("port")
+                            ? replica.get("port") : 3306));
+                    String replicaUsername = replica.containsKey("username")
+                            ? String.valueOf(replica.get("username")) : username;
+                    String replicaPassword = replica.containsKey("password")
+                            ? String.valueOf(replica.get("password")) : password;
+                    replicaPools.put(replicaHost + ":" + replicaPort, createPool(
+                            connectionFactory(replicaHost, replicaPort, database, replicaUsername, replicaPassword),
+                            config));
+                }
+                this.replicaRouter = new ReplicaRouter(replicaPools, ReplicaRoutingOptions.from(config));
+            }
 
-            logger.info("MySQL data source initialized. tenantId={}, host={}, database={}",
-                    tenantId, host, database);
+            logger.info("MySQL data source initialized. tenantId={}, host={}, database={}, replicas={}",
+                    tenantId, host, database, getReplicaStatus().size());
 
             return Mono.empty();
         } catch (Exception e) {
@@ -113,155 +129,119 @@ public class MySqlDataSource implements DataSource {
         }
     }
 
+    private static ConnectionFactory connectionFactory(String host, int port, String database,
+                                                       String username, String password) {
+        // Build MySQL connection configuration
+        MySqlConnectionConfiguration connectionConfig = MySqlConnectionConfiguration.builder()
+                .host(host)
+                .port(port)
+                .database(database)
+                .username(username)
+                .password(password)
+                .connectTimeout(Duration.ofSeconds(10))
+                .sslMode(SslMode.DISABLED)
+                .build();
+        // Create connection factory
+        return MySqlConnectionFactory.from(connectionConfig);
+    }
+
+    /**
+     * Route reads to a replica unless the query is pinned to the primary
+     */
     @Override
-    public Mono<Map<String, Object>> executeQuery(Map<String, Object> queryConfig) {
-        if (connectionPool == null) {
-            return Mono.error(new IllegalStateException("MySQL data source not initialized"));
+    protected Publisher<? extends Connection> acquireConnection(Map<String, Object> queryConfig) {
+        if (replicaRouter == null || isPrimaryOnly(queryConfig)) {
+            return super.acquireConnection(queryConfig);
         }
+        return replicaRouter.acquire(connectionPool::create);
+    }
 
-        try {
-            // Parse query configuration to SQL statement
-            Object parsedQuery = queryParser.parse(queryConfig);
-            if (!(parsedQuery instanceof ParsedSql parsedSql)) {
-                return Mono.error(new IllegalArgumentException("Invalid MySQL query format"));
-            }
-
-            // Validate query (prevent SQL injection)
-            queryParser.validate(queryConfig);
-
-            // Execute query using connection pool
-            return Mono.from(connectionPool.create())
-                    .flatMap(connection -> {
-                        try {
-                            // Create statement
-                            Statement statement = connection.createStatement(parsedSql.getSql());
-
-                            // Set parameters if any
-                            if (parsedSql.getParameters() != null) {
-                                for (int i = 0; i < parsedSql.getParameters().size(); i++) {
-                                    statement.bind(i, parsedSql.getParameters().get(i));
-                                }
-                            }
-
-                            // Execute query and collect results
-                            return Flux.from(statement.execute())
-                                    .flatMap(result -> {
-                                        return Flux.from(result.map((row, metadata) -> {
-                                            // Convert row to Map
-                                            Map<String, Object> rowMap = new HashMap<>();
-                                            for (io.r2dbc.spi.ColumnMetadata column : metadata.getColumnMetadatas()) {
-                                                String columnName = column.getName();
-                                                Object value = row.get(columnName);
-                                                rowMap.put(columnName, value);
-                                            }
-                                            return rowMap;
-                                        }));
-                                    })
-                                    .collectList()
-                                    .map(rows -> {
-                                        // Convert results using data converter
-                                        @SuppressWarnings("unchecked")
-                                        Map<String, Object> fieldMapping = (Map<String, Object>) queryConfig.get("fieldMapping");
-
-                                        Map<String, Object> result = new HashMap<>();
-                                        if (rows.size() == 1) {
-                                            // Single row result
-                                            result = dataConverter.convert(rows.get(0), fieldMapping);
-                                        } else {
-                                            // Multiple rows result
-                                            result.put("data", rows.stream()
-                                                    .map(row -> dataConverter.convert(row, fieldMapping))
-                                                    .toList());
-                                            result.put("count", rows.size());
-                                        }
+    /**
+     * MySQL executes a batch as one multi-statement request, so multi queries are sent inline
+     */
+    @Override
+    protected String toCompoundStatement(ParsedSql parsedSql) {
+        return MySqlQueryParser.toCompoundStatement(parsedSql.getSql(), parsedSql.getParameters());
+    }
 
-                                        return result;
-                                    })
-                                    .doFinally(signalType -> {
-                                        // Release connection back to pool
-                                        connection.close();
-                                    });
-                        } catch (Exception e) {
-                            connection.close();
-                            return Mono.error(e);
-                        }
-                    })
-                    .onErrorResume(error -> {
-                        logger.error("MySQL query execution error", error);
-                        return Mono.error(error);
-                    });
+    @Override
+    protected String getConnectionRoute(Map<String, Object> queryConfig) {
+        return replicaRouter == null || isPrimaryOnly(queryConfig) ? "primary" : "replica";
+    }
 
-        } catch (Exception e) {
-            logger.error("MySQL query error", e);
-            return Mono.error(e);
+    @Override
+    protected Publisher<Void> releaseConnection(Connection connection, Throwable error) {
+        if (replicaRouter == null) {
+            return super.releaseConnection(connection, error);
         }
+        return replicaRouter.release(connection);
     }
 
     @Override
-    public Mono<Boolean> testConnection() {
-        if (connectionPool == null) {
-            return Mono.just(false);
+    protected <T> Publisher<T> observeQuery(Connection connection, Publisher<T> query) {
+        return replicaRouter == null ? query : replicaRouter.observe(connection, query);
+    }
+
+    /**
+     * Queries that must read from the primary: pinned with "readFromPrimary" (read-your-writes),
+     * or statements that are not plain reads (locking reads, anything but SELECT/WITH)
+     * A multi query shares one connection, so it reads from a replica only if all its queries may
+     */
+    @SuppressWarnings("unchecked")
+    static boolean isPrimaryOnly(Map<String, Object> queryConfig) {
+        if (ConfigValueUtil.toBoolean(queryConfig.get("readFromPrimary"), false)) {
+            return true;
         }
-        try {
-            return Mono.from(connectionPool.create())
-                    .flatMap(connection -> {
-                        return Mono.from(connection.createStatement("SELECT 1").execute())
-                                .flatMap(this::processResult)
-                                .doFinally(signalType -> connection.close());
-                    })
-                    .timeout(Duration.ofSeconds(5))
-                    .onErrorReturn(false);
-        } catch (Exception e) {
-            return Mono.just(false);
+        Object sql = queryConfig.get("sql");
+        if (sql == null && queryConfig.get("queries") instanceof Map<?, ?> queries && !queries.isEmpty()) {
+            for (Object query : queries.values()) {
+                if (!(query instanceof Map) || isPrimaryOnly((Map<String, Object>) query)) {
+                    return true;
+                }
+            }
+            return false;
         }
+        return sql == null || !READ_ONLY_STATEMENT.matcher(sql.toString()).lookingAt()
+                || LOCKING_READ.matcher(sql.toString()).find();
     }
 
-    private Mono<Boolean> processResult(Result result) {
-        return Mono.from(result.map((row, metadata) -> row.get(0)))
-                .doFinally(signalType -> {
-                    if (result instanceof AutoCloseable) {
-                        try {
-                            ((AutoCloseable) result).close();
-                        } catch (Exception e) {
-                            logger.error("Failed to close ResultSet", e);
-                        }
-                    }
-                })
-                .map(ignored -> true);
+    /**
+     * State of the read replicas, empty if none are configured
+     */
+    public List<Map<String, Object>> getReplicaStatus() {
+        return replicaRouter != null ? replicaRouter.getReplicaStatus() : List.of();
+    }
+
+    @Override
+    public int getInFlightCount() {
+        return super.getInFlightCount() + (replicaRouter != null ? replicaRouter.getInFlightCount() : 0);
     }
 
     @Override
     public void close() {
-        if (connectionPool != null) {
-            connectionPool.dispose();
-            logger.info("MySQL data source closed. tenantId={}", tenantId);
+        super.close();
+        if (replicaRouter != null) {
+            replicaRouter.close();
         }
     }
 
     @Override
-    public DataSourceType getType() {
-        return type;
+    protected char getIdentifierQuote() {
+        return '`';
     }
 
-    /**
-     * Internal class to hold parsed SQL and parameters
-     */
-    static class ParsedSql {
-        private final String sql;
-        private final List<Object> parameters;
-
-        public ParsedSql(String sql, List<Object> parameters) {
-            this.sql = sql;
-            this.parameters = parameters != null ? parameters : new ArrayList<>();
-        }
+    @Override
+    protected QueryParser getQueryParser() {
+        return queryParser;
+    }
 
-        public String getSql() {
-            return sql;
-        }
+    @Override
+    protected ColumnConverter converterFor(ColumnMetadata column) {
+        return dataConverter.converterFor(column);
+    }
 
-        public List<Object> getParameters() {
-            return parameters;
-        }
+    @Override
+    public DataSourceType getType() {
+        return type;
     }
 }
-
@@ -1,6 +1,7 @@
 package com.citi.tts.apibrick.core.datasource.mysql;
 
 import com.citi.tts.apibrick.common.enums.DataSourceType;
+import com.citi.tts.apibrick.core.datasource.ParsedSql;
 import com.citi.tts.apibrick.core.datasource.QueryParser;
 import net.sf.jsqlparser.JSQLParserException;
 import net.sf.jsqlparser.parser.CCJSqlParserUtil;
@@ -9,7 +10,14 @@ import net.sf.jsqlparser.statement.select.Select;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
 import java.util.regex.Pattern;
@@ -57,7 +65,7 @@ public class MySqlQueryParser implements QueryParser {
         }
         
         // Create ParsedSql object
-        return new MySqlDataSource.ParsedSql(sql.trim(), parameters);
+        return new ParsedSql(sql.trim(), parameters);
     }
     
     @Override
@@ -104,5 +112,84 @@ public class MySqlQueryParser implements QueryParser {
             }
         }
     }
-}
 
+    /**
+     * Render a query with its parameters as inline literals, for a multi-statement request
+     * Strings are sent as hex literals with a character set introducer (_utf8mb4 X'...'),
+     * so no parameter value is ever parsed as SQL and column collations still apply.
+     *
+     * @param sql        Query with "?" placeholders
+     * @param parameters Parameter values in placeholder order
+     * @return Statement text, or null if a parameter has no safe literal form or the
+     *         placeholders do not match the parameters
+     */
+    public static String toCompoundStatement(String sql, List<Object> parameters) {
+        List<Object> values = parameters != null ? parameters : List.of();
+        StringBuilder statement = new StringBuilder(sql.length() + 16 * values.size());
+        int parameter = 0;
+        char quote = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            char ch = sql.charAt(i);
+            if (quote != 0) {
+                // Inside a literal or quoted identifier; doubled quotes are escapes and toggle twice
+                if (ch == '\\' && quote != '`' && i + 1 < sql.length()) {
+                    statement.append(ch).append(sql.charAt(++i));
+                    continue;
+                }
+                if (ch == quote) {
+                    quote = 0;
+                }
+            } else if (ch == '\'' || ch == '"' || ch == '`') {
+                quote = ch;
+            } else if (ch == ';') {
+                // A statement of its own would shift the results of the following queries
+                throw new IllegalArgumentException("Compound query must be a single statement without ';'");
+            } else if (ch == '?') {
+                if (parameter >= values.size()) {
+                    return null;
+                }
+                String literal = toLiteral(values.get(parameter++));
+                if (literal == null) {
+                    return null;
+                }
+                statement.append(literal);
+                continue;
+            }
+            statement.append(ch);
+        }
+        return parameter == values.size() ? statement.toString() : null;
+    }
+
+    private static String toLiteral(Object value) {
+        if (value == null) {
+            return "NULL";
+        }
+        if (value instanceof Boolean bool) {
+            return bool ? "TRUE" : "FALSE";
+        }
+        if (value instanceof Long || value instanceof Integer || value instanceof Short
+                || value instanceof Byte || value instanceof BigInteger) {
+            return value.toString();
+        }
+        if (value instanceof BigDecimal decimal) {
+            return decimal.toPlainString();
+        }
+        if (value instanceof Double || value instanceof Float) {
+            double number = ((Number) value).doubleValue();
+            return Double.isFinite(number) ? Double.toString(number) : null;
+        }
+        if (value instanceof String text) {
+            return "_utf8mb4 X'" + HexFormat.of().formatHex(text.getBytes(StandardCharsets.UTF_8)) + "'";
+        }
+        if (value instanceof LocalDate date) {
+            return "DATE '" + date + "'";
+        }
+        if (value instanceof LocalDateTime dateTime) {
+            return "TIMESTAMP '" + dateTime.toString().replace('T', ' ') + "'";
+        }
+        if (value instanceof LocalTime time) {
+            return "TIME '" + time + "'";
+        }
+        return null;
+    }
+}
@@ -0,0 +1,144 @@
+package com.citi.tts.apibrick.core.datasource.oracle;
+
+import com.citi.tts.apibrick.common.enums.DataSourceType;
+import com.citi.tts.apibrick.common.util.ConfigValueUtil;
+import com.citi.tts.apibrick.core.datasource.AbstractR2dbcDataSource;
+import com.citi.tts.apibrick.core.datasource.ColumnConverter;
+import com.citi.tts.apibrick.core.datasource.FlowConnections;
+import com.citi.tts.apibrick.core.datasource.QueryLimits;
+import com.citi.tts.apibrick.core.datasource.QueryParser;
+import io.r2dbc.spi.ColumnMetadata;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Option;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Oracle Data Source Implementation
+ * <p>
+ * Uses R2DBC (oracle-r2dbc) with connection pooling, see AbstractR2dbcDataSource
+ * <p>
+ * Driver tuning (all optional):
+ * - rowPrefetch: rows fetched per round-trip when a query sets no fetchSize (default 256)
+ * - lobPrefetchSize: LOB bytes returned inline with the row (default driver setting)
+ * - statementCacheSize: statements cached per connection (default 64, 0 off)
+ * Each query still fetches in chunks of its own fetchSize (see QueryLimits).
+ * <p>
+ * Map<String, Object> config = Map.of(
+ * "host", "localhost",
+ * "port", 1521,
+ * "serviceName", "ORCLPDB1",
+ * "username", "apibrick",
+ * "password", "123456"
+ * );
+ */
+public class OracleDataSource extends AbstractR2dbcDataSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(OracleDataSource.class);
+
+    // Oracle JDBC connection properties, passed through by oracle-r2dbc
+    private static final Option<String> DEFAULT_ROW_PREFETCH = Option.valueOf("oracle.jdbc.defaultRowPrefetch");
+    private static final Option<String> DEFAULT_LOB_PREFETCH_SIZE = Option.valueOf("oracle.jdbc.defaultLobPrefetchSize");
+    private static final Option<String> IMPLICIT_STATEMENT_CACHE_SIZE =
+            Option.valueOf("oracle.jdbc.implicitStatementCacheSize");
+
+    private static final int DEFAULT_STATEMENT_CACHE_SIZE = 64;
+
+    private final DataSourceType type = DataSourceType.ORACLE;
+
+    private final QueryParser queryParser = new OracleQueryParser();
+    private final OracleDataConverter dataConverter = new OracleDataConverter();
+
+    @Override
+    public Mono<Void> init(Map<String, Object> config, String tenantId, String env) {
+        this.tenantId = tenantId;
+
+        try {
+            // Extract connection configuration
+            String host = (String) config.get("host");
+            int port = Integer.parseInt(String.valueOf(config.getOrDefault("port", 1521)));
+            String serviceName = (String) config.getOrDefault("serviceName", config.get("dbName"));
+            String username = (String) config.get("username");
+            String password = (String) config.get("password");
+
+            if (host == null || serviceName == null || username == null || password == null) {
+                return Mono.error(new IllegalArgumentException(
+                        "Oracle connection requires: host, serviceName, username, password"));
+            }
+
+            // Build Oracle connection options
+            ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.builder()
+                    .option(ConnectionFactoryOptions.DRIVER, "oracle")
+                    .option(ConnectionFactoryOptions.HOST, host)
+                    .option(ConnectionFactoryOptions.PORT, port)
+                    .option(ConnectionFactoryOptions.DATABASE, serviceName)
+                    .option(ConnectionFactoryOptions.USER, username)
+                    .option(ConnectionFactoryOptions.PASSWORD, password)
+                    .option(ConnectionFactoryOptions.CONNECT_TIMEOUT, Duration.ofSeconds(10))
+                    // Fewer round-trips for large reads
+                    .option(DEFAULT_ROW_PREFETCH, String.valueOf(
+                            ConfigValueUtil.toLong(config.get("rowPrefetch"), QueryLimits.DEFAULT_FETCH_SIZE)))
+                    // Parsed statements are cached per connection and reused on every execution
+                    .option(IMPLICIT_STATEMENT_CACHE_SIZE, String.valueOf(
+                            ConfigValueUtil.toLong(config.get("statementCacheSize"), DEFAULT_STATEMENT_CACHE_SIZE)));
+            if (config.get("lobPrefetchSize") != null) {
+                options.option(DEFAULT_LOB_PREFETCH_SIZE,
+                        String.valueOf(ConfigValueUtil.toLong(config.get("lobPrefetchSize"), 0)));
+            }
+
+            // Use the connection pool shared by data sources on the same service, credentials and session options
+            initPool(ConnectionFactories.get(options.build()), config, host + ":" + port + "/" + serviceName,
+                    Arrays.asList(host, port, serviceName, username, password, config.get("rowPrefetch"),
+                            config.get("statementCacheSize"), config.get("lobPrefetchSize")));
+
+            logger.info("Oracle data source initialized. tenantId={}, host={}, serviceName={}",
+                    tenantId, host, serviceName);
+
+            return Mono.empty();
+        } catch (Exception e) {
+            logger.error("Failed to initialize Oracle data source", e);
+            return Mono.error(e);
+        }
+    }
+
+    @Override
+    protected String getValidationQuery() {
+        return "SELECT 1 FROM DUAL";
+    }
+
+    @Override
+    protected String getLimitClause(int rows) {
+        return "FETCH FIRST " + rows + " ROWS ONLY";
+    }
+
+    /**
+     * Oracle has no REPEATABLE READ; a read-only transaction already reads one consistent snapshot
+     */
+    @Override
+    protected Publisher<Void> beginReadOnlySnapshot(Connection connection) {
+        return connection.beginTransaction(FlowConnections.READ_ONLY);
+    }
+
+    @Override
+    protected QueryParser getQueryParser() {
+        return queryParser;
+    }
+
+    @Override
+    protected ColumnConverter converterFor(ColumnMetadata column) {
+        return dataConverter.converterFor(column);
+    }
+
+    @Override
+    public DataSourceType getType() {
+        return type;
+    }
+}
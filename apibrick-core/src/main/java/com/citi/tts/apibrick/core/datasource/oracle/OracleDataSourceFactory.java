@@ -0,0 +1,26 @@
+package com.citi.tts.apibrick.core.datasource.oracle;
+
+import com.citi.tts.apibrick.common.enums.DataSourceType;
+import com.citi.tts.apibrick.core.datasource.DataSource;
+import com.citi.tts.apibrick.core.datasource.DataSourceFactory;
+import reactor.core.publisher.Mono;
+import java.util.Map;
+
+/**
+ * Oracle Data Source Factory
+ * Creates Oracle data source instances using R2DBC
+ */
+public class OracleDataSourceFactory implements DataSourceFactory {
+
+    @Override
+    public Mono<DataSource> create(Map<String, Object> config, String tenantId, String env) {
+        OracleDataSource dataSource = new OracleDataSource();
+        return dataSource.init(config, tenantId, env)
+            .then(Mono.just(dataSource));
+    }
+
+    @Override
+    public DataSourceType getSupportedType() {
+        return DataSourceType.ORACLE;
+    }
+}
@@ -0,0 +1,108 @@
+package com.citi.tts.apibrick.core.datasource.pool;
+
+import com.citi.tts.apibrick.common.util.ConfigValueUtil;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Pool Sharing Options - How a data source uses a connection pool shared with other tenants
+ * <p>
+ * Configured under "poolSharing" in the data source configuration:
+ * "poolSharing": { "enabled": true, "maxPoolSize": 20, "maxTenantConnections": 4, "maxWaitSeconds": 8 }
+ * - enabled: share the pool with data sources of other tenants on the same server (default false)
+ * - maxPoolSize: size of the shared pool; by default the sum of the connection caps of the
+ *   tenants currently using it, so the pool never outgrows what its tenants asked for
+ * - maxTenantConnections: fixed limit of connections the tenant may hold at the same time;
+ *   by default the tenant's fair share, the pool size divided by the tenants currently using it,
+ *   never more than the tenant's own "pool.maxSize"
+ * - maxWaitSeconds: how long an acquisition waits for the tenant's share before it is rejected
+ *   (default the pool's maxAcquireSeconds)
+ */
+public class PoolSharingOptions {
+
+    private static final int DEFAULT_TENANT_POOL_SIZE = 5;
+
+    private final boolean enabled;
+    private final int maxPoolSize;
+    private final int tenantPoolSize;
+    private final int maxTenantConnections;
+    private final Duration maxWait;
+
+    /**
+     * @param enabled              Whether the pool is shared across tenants
+     * @param maxPoolSize          Size of the shared pool, 0 for the sum of the tenant caps
+     * @param tenantPoolSize       The tenant's own pool size ("pool.maxSize"), caps its fair share
+     * @param maxTenantConnections Fixed per-tenant limit, 0 for the fair share
+     * @param maxWait              Longest wait for the tenant's share
+     */
+    public PoolSharingOptions(boolean enabled, int maxPoolSize, int tenantPoolSize, int maxTenantConnections,
+                              Duration maxWait) {
+        if (maxPoolSize < 0 || maxTenantConnections < 0) {
+            throw new IllegalArgumentException(
+                    "Pool sharing maxPoolSize and maxTenantConnections must not be negative");
+        }
+        if (tenantPoolSize <= 0) {
+            throw new IllegalArgumentException("Pool maxSize must be positive");
+        }
+        if (maxWait == null || maxWait.isNegative() || maxWait.isZero()) {
+            throw new IllegalArgumentException("Pool sharing maxWaitSeconds must be positive");
+        }
+        this.enabled = enabled;
+        this.maxPoolSize = maxPoolSize;
+        this.tenantPoolSize = tenantPoolSize;
+        this.maxTenantConnections = maxTenantConnections;
+        this.maxWait = maxWait;
+    }
+
+    /**
+     * Read pool sharing options from data source configuration
+     *
+     * @param config Data source configuration
+     * @return Options, with defaults for everything not configured
+     */
+    @SuppressWarnings("unchecked")
+    public static PoolSharingOptions from(Map<String, Object> config) {
+        Map<String, Object> sharing = config != null && config.get("poolSharing") instanceof Map
+                ? (Map<String, Object>) config.get("poolSharing")
+                : Map.of();
+        Map<String, Object> pool = config != null && config.get("pool") instanceof Map
+                ? (Map<String, Object>) config.get("pool")
+                : Map.of();
+        boolean enabled = ConfigValueUtil.toBoolean(sharing.get("enabled"), false);
+        int maxPoolSize = ConfigValueUtil.toInt(sharing.get("maxPoolSize"), 0);
+        int tenantPoolSize = ConfigValueUtil.toInt(pool.get("maxSize"), DEFAULT_TENANT_POOL_SIZE);
+        int maxTenantConnections = ConfigValueUtil.toInt(sharing.get("maxTenantConnections"), 0);
+        long maxWaitSeconds = ConfigValueUtil.toLong(sharing.get("maxWaitSeconds"),
+                ConfigValueUtil.toLong(pool.get("maxAcquireSeconds"), 8));
+        return new PoolSharingOptions(enabled, maxPoolSize, tenantPoolSize, maxTenantConnections,
+                Duration.ofSeconds(maxWaitSeconds));
+    }
+
+    /**
+     * Most connections the tenant may hold: maxTenantConnections if set, otherwise its own pool size
+     */
+    public int getTenantCap() {
+        return maxTenantConnections > 0 ? maxTenantConnections : tenantPoolSize;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getMaxPoolSize() {
+        return maxPoolSize;
+    }
+
+    public int getTenantPoolSize() {
+        return tenantPoolSize;
+    }
+
+    public int getMaxTenantConnections() {
+        return maxTenantConnections;
+    }
+
+    public Duration getMaxWait() {
+        return maxWait;
+    }
+}
@@ -0,0 +1,129 @@
+package com.citi.tts.apibrick.core.datasource.pool;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.ConnectionFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shared Pool - A connection pool and the shares of the tenants using it
+ * <p>
+ * Each tenant acquires through its own TenantShare, which limits the connections the tenant
+ * holds at the same time to its fair share of the pool (see TenantShare). Shares are reference
+ * counted per tenant, since several data sources of one tenant may use the same pool.
+ */
+public class SharedPool {
+
+    private final ConnectionFactory pool;
+    private final String name;
+    // Configured size, 0 for the sum of the tenant caps
+    private final int maxSize;
+
+    // Map: tenantId -> share of the pool and the number of data sources using it
+    private final Map<String, TenantShare> shares = new ConcurrentHashMap<>();
+    private final Map<String, Integer> shareReferences = new ConcurrentHashMap<>();
+
+    // Number of data sources using the pool, only updated inside SharedPoolRegistry's compute
+    volatile int references;
+
+    /**
+     * @param pool    Connection pool
+     * @param name    Name of the pool in logs and metrics (never contains credentials)
+     * @param maxSize Size of the pool, 0 for the sum of the caps of the tenants using it
+     *                (see PoolSharingOptions.getTenantCap)
+     */
+    public SharedPool(ConnectionFactory pool, String name, int maxSize) {
+        this.pool = pool;
+        this.name = name;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Get the share of a tenant, creating it on first use
+     * Each call must be paired with unshare()
+     *
+     * @param tenantId Tenant ID
+     * @param options  Sharing options, taken from the first data source of the tenant
+     * @return Tenant's share of the pool
+     */
+    public synchronized TenantShare share(String tenantId, PoolSharingOptions options) {
+        String tenant = String.valueOf(tenantId);
+        shareReferences.merge(tenant, 1, Integer::sum);
+        return shares.computeIfAbsent(tenant, key -> new TenantShare(this, pool, key, options));
+    }
+
+    /**
+     * Release a share obtained from share(), removing it when no data source of the tenant uses it
+     *
+     * @param tenantId Tenant ID
+     */
+    public synchronized void unshare(String tenantId) {
+        String tenant = String.valueOf(tenantId);
+        Integer remaining = shareReferences.computeIfPresent(tenant, (key, count) -> count > 1 ? count - 1 : null);
+        if (remaining == null) {
+            TenantShare share = shares.remove(tenant);
+            if (share != null) {
+                share.close();
+            }
+        }
+    }
+
+    /**
+     * Close the pool
+     */
+    public void dispose() {
+        if (pool instanceof ConnectionPool connectionPool) {
+            connectionPool.dispose();
+        }
+    }
+
+    /**
+     * Number of tenants currently holding or waiting for connections, counting the requester
+     */
+    int getActiveTenantCount(TenantShare requester) {
+        int active = 1;
+        for (TenantShare share : shares.values()) {
+            if (share != requester && share.isActive()) {
+                active++;
+            }
+        }
+        return active;
+    }
+
+    /**
+     * Let the other tenants take up capacity a tenant no longer uses
+     */
+    void rebalance(TenantShare idle) {
+        for (TenantShare share : shares.values()) {
+            if (share != idle) {
+                share.grantWaiting();
+            }
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Connections the tenants may hold together: the configured size, or the sum of their caps
+     */
+    public int getMaxSize() {
+        if (maxSize > 0) {
+            return maxSize;
+        }
+        int size = 0;
+        for (TenantShare share : shares.values()) {
+            size += share.getCap();
+        }
+        return Math.max(1, size);
+    }
+
+    /**
+     * Number of tenants with a share of the pool
+     */
+    public int getTenantCount() {
+        return shares.size();
+    }
+}
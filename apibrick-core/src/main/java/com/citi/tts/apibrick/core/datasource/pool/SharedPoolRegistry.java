@@ -0,0 +1,144 @@
+package com.citi.tts.apibrick.core.datasource.pool;
+
+import io.r2dbc.spi.ConnectionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
+
+/**
+ * Shared Pool Registry - Shares one connection pool per physical connection configuration
+ * <p>
+ * Data sources of different tenants pointing at the same server, database and credentials with
+ * the same pool settings reuse one pool instead of each creating its own, so the server sees one
+ * pool's connections instead of one pool per tenant. Each tenant acquires through its own
+ * TenantShare, limited to its fair share of the pool.
+ * <p>
+ * The pool is sized by its own "poolSharing.maxPoolSize", or else by the sum of the caps of the
+ * tenants using it (see PoolSharingOptions), never by whichever data source happened to create it.
+ * <p>
+ * Pools are reference counted: each acquire must be paired with a release, and the pool is
+ * disposed when its last data source releases it.
+ * Pools are keyed by a hash of the connection identity, which contains credentials;
+ * neither is ever logged.
+ */
+public class SharedPoolRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(SharedPoolRegistry.class);
+
+    private static final SharedPoolRegistry SHARED = new SharedPoolRegistry();
+
+    // Map: pool key -> shared pool and its reference count
+    private final Map<String, SharedPool> pools = new ConcurrentHashMap<>();
+
+    /**
+     * Registry shared by all relational data sources of this node
+     */
+    public static SharedPoolRegistry shared() {
+        return SHARED;
+    }
+
+    /**
+     * Build the key of a pool from the physical connection configuration
+     *
+     * @param type     Data source type
+     * @param identity Everything that makes two connections interchangeable
+     *                 (host, port, database, credentials, session options)
+     * @param pool     "pool" section of the data source configuration
+     * @return Key not revealing the identity
+     */
+    public static String poolKey(String type, List<?> identity, Map<String, Object> pool) {
+        StringBuilder canonical = new StringBuilder(type);
+        for (Object part : identity) {
+            canonical.append('\u0000').append(part);
+        }
+        canonical.append('\u0000').append(new TreeMap<>(pool != null ? pool : Map.of()));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(canonical.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Get a tenant's share of a pool, creating the pool on first use
+     *
+     * @param poolKey     Key from poolKey(), including the maxPoolSize of the options
+     * @param name        Name of the pool in logs and metrics (e.g. host:port/database, no credentials)
+     * @param poolFactory Creates the pool with the given maximum size if it does not exist yet
+     * @param tenantId    Tenant ID
+     * @param options     Sharing options of the data source
+     * @return Tenant's share of the pool
+     */
+    public TenantShare acquire(String poolKey, String name, IntFunction<ConnectionFactory> poolFactory,
+                               String tenantId, PoolSharingOptions options) {
+        SharedPool pool = pools.compute(poolKey, (key, existing) -> {
+            SharedPool shared = existing;
+            if (shared == null) {
+                int maxSize = options.getMaxPoolSize();
+                // Without a size of its own the pool may grow to what its tenants' shares allow
+                shared = new SharedPool(poolFactory.apply(maxSize > 0 ? maxSize : Integer.MAX_VALUE), name, maxSize);
+                logger.info("Created shared connection pool. pool={}, maxSize={}", name,
+                        maxSize > 0 ? maxSize : "sum of tenant caps");
+            }
+            shared.references++;
+            return shared;
+        });
+        return pool.share(tenantId, options);
+    }
+
+    /**
+     * Release a share obtained from acquire, disposing the pool when no data source uses it anymore
+     *
+     * @param poolKey  Key passed to acquire
+     * @param tenantId Tenant ID passed to acquire
+     */
+    public void release(String poolKey, String tenantId) {
+        pools.computeIfPresent(poolKey, (key, pool) -> {
+            pool.unshare(tenantId);
+            if (--pool.references > 0) {
+                return pool;
+            }
+            try {
+                pool.dispose();
+                logger.info("Closed shared connection pool, no data source left. pool={}", pool.getName());
+            } catch (Exception e) {
+                logger.warn("Failed to close shared connection pool. pool={}", pool.getName(), e);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Number of open shared pools
+     */
+    public int getPoolCount() {
+        return pools.size();
+    }
+
+    /**
+     * Number of data sources using the pool of a key
+     */
+    public int getReferenceCount(String poolKey) {
+        SharedPool pool = pools.get(poolKey);
+        return pool != null ? pool.references : 0;
+    }
+
+    /**
+     * Number of tenants with a share of the pool of a key
+     */
+    public int getTenantCount(String poolKey) {
+        SharedPool pool = pools.get(poolKey);
+        return pool != null ? pool.getTenantCount() : 0;
+    }
+}
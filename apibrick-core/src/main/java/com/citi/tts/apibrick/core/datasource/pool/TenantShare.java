@@ -0,0 +1,240 @@
+package com.citi.tts.apibrick.core.datasource.pool;
+
+import com.citi.tts.apibrick.common.exception.DataSourceUnavailableException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Tenant Share - One tenant's access to a shared connection pool
+ * <p>
+ * A tenant holds at most its share of the pool's connections at the same time:
+ * maxTenantConnections if configured, otherwise the fair share, the pool size divided by the
+ * tenants currently holding or waiting for connections (at least 1). Acquisitions beyond the
+ * share wait in the tenant's own queue, so a busy tenant queues behind itself instead of taking
+ * every connection the pool frees; they are rejected with DataSourceUnavailableException
+ * (POOL_SHARE_EXHAUSTED) after maxWaitSeconds. A tenant alone on the pool may use all of it.
+ * <p>
+ * The share is released when the connection is closed.
+ * Metrics (tags tenant, pool):
+ * - apibrick.datasource.pool.acquire: time to obtain a connection, tag outcome
+ *   (success, rejected, error, cancelled)
+ * - apibrick.datasource.pool.active: connections held by the tenant
+ * - apibrick.datasource.pool.pending: acquisitions waiting for the tenant's share
+ */
+public class TenantShare implements ConnectionFactory {
+
+    public static final String REASON_POOL_SHARE_EXHAUSTED = "POOL_SHARE_EXHAUSTED";
+
+    private final SharedPool sharedPool;
+    private final ConnectionFactory pool;
+    private final String tenantId;
+    private final PoolSharingOptions options;
+    private final Tags tags;
+    private final List<Meter> meters;
+
+    // Permits and waiters are guarded by this; the counters are also read without it
+    private final Deque<Waiter> waiters = new ArrayDeque<>();
+    private volatile int active;
+    private volatile int pending;
+
+    TenantShare(SharedPool sharedPool, ConnectionFactory pool, String tenantId, PoolSharingOptions options) {
+        this.sharedPool = sharedPool;
+        this.pool = pool;
+        this.tenantId = tenantId;
+        this.options = options;
+        this.tags = Tags.of("tenant", tenantId, "pool", sharedPool.getName());
+        this.meters = List.of(
+                Gauge.builder("apibrick.datasource.pool.active", this, TenantShare::getActiveCount)
+                        .description("Pooled connections held by the tenant")
+                        .tags(tags)
+                        .register(Metrics.globalRegistry),
+                Gauge.builder("apibrick.datasource.pool.pending", this, TenantShare::getPendingCount)
+                        .description("Connection acquisitions waiting for the tenant's share")
+                        .tags(tags)
+                        .register(Metrics.globalRegistry));
+    }
+
+    @Override
+    public Mono<Connection> create() {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(Metrics.globalRegistry);
+            AtomicBoolean permitted = new AtomicBoolean(false);
+            AtomicBoolean handedOut = new AtomicBoolean(false);
+            AtomicBoolean rejected = new AtomicBoolean(false);
+            return acquirePermit()
+                    .timeout(options.getMaxWait(), Mono.defer(() -> {
+                        rejected.set(true);
+                        return Mono.error(new DataSourceUnavailableException(null, REASON_POOL_SHARE_EXHAUSTED,
+                                "Tenant " + tenantId + " holds its share of pool " + sharedPool.getName()
+                                        + " (" + getLimit() + " connections)"));
+                    }))
+                    .doOnNext(permit -> permitted.set(true))
+                    .then(Mono.from(pool.create()))
+                    .<Connection>map(connection -> {
+                        handedOut.set(true);
+                        return new TenantConnection(connection, this::releasePermit);
+                    })
+                    .doFinally(signal -> {
+                        if (permitted.get() && !handedOut.get()) {
+                            releasePermit();
+                        }
+                        String outcome = handedOut.get() ? "success"
+                                : rejected.get() ? "rejected"
+                                : switch (signal) {
+                                    case ON_ERROR -> "error";
+                                    default -> "cancelled";
+                                };
+                        sample.stop(Timer.builder("apibrick.datasource.pool.acquire")
+                                .description("Time to acquire a pooled connection")
+                                .tags(tags.and("outcome", outcome))
+                                .register(Metrics.globalRegistry));
+                    });
+        });
+    }
+
+    @Override
+    public ConnectionFactoryMetadata getMetadata() {
+        return pool.getMetadata();
+    }
+
+    /**
+     * Connections the tenant may hold at the same time
+     */
+    public int getLimit() {
+        int maxSize = sharedPool.getMaxSize();
+        int cap = Math.min(getCap(), maxSize);
+        if (options.getMaxTenantConnections() > 0) {
+            return cap;
+        }
+        int tenants = sharedPool.getActiveTenantCount(this);
+        return Math.max(1, Math.min(cap, (maxSize + tenants - 1) / tenants));
+    }
+
+    /**
+     * Most connections the tenant may ever hold (see PoolSharingOptions.getTenantCap)
+     */
+    int getCap() {
+        return options.getTenantCap();
+    }
+
+    public int getActiveCount() {
+        return active;
+    }
+
+    public int getPendingCount() {
+        return pending;
+    }
+
+    boolean isActive() {
+        return active > 0 || pending > 0;
+    }
+
+    /**
+     * Wait for a permit of the tenant's share
+     */
+    private Mono<Boolean> acquirePermit() {
+        return Mono.create(sink -> {
+            Waiter waiter = new Waiter(sink);
+            synchronized (this) {
+                if (active < getLimit()) {
+                    active++;
+                    waiter.granted = true;
+                } else {
+                    waiters.addLast(waiter);
+                    pending = waiters.size();
+                }
+            }
+            if (waiter.granted) {
+                sink.success(true);
+                return;
+            }
+            sink.onCancel(() -> {
+                boolean giveBack;
+                synchronized (this) {
+                    giveBack = waiter.granted;
+                    if (!giveBack) {
+                        waiters.remove(waiter);
+                        pending = waiters.size();
+                    }
+                }
+                if (giveBack) {
+                    // Granted while being cancelled: the permit was never delivered
+                    releasePermit();
+                }
+            });
+        });
+    }
+
+    /**
+     * Return a permit, handing it to the next waiter of the tenant if the share allows
+     */
+    private void releasePermit() {
+        List<Waiter> granted;
+        synchronized (this) {
+            active--;
+            granted = grant();
+        }
+        granted.forEach(waiter -> waiter.sink.success(true));
+        if (!isActive()) {
+            sharedPool.rebalance(this);
+        }
+    }
+
+    /**
+     * Grant waiting acquisitions the share allows now, e.g. after another tenant went idle
+     */
+    void grantWaiting() {
+        List<Waiter> granted;
+        synchronized (this) {
+            granted = grant();
+        }
+        granted.forEach(waiter -> waiter.sink.success(true));
+    }
+
+    // Called holding the lock
+    private List<Waiter> grant() {
+        List<Waiter> granted = new ArrayList<>();
+        while (!waiters.isEmpty() && active < getLimit()) {
+            Waiter waiter = waiters.pollFirst();
+            waiter.granted = true;
+            active++;
+            granted.add(waiter);
+        }
+        pending = waiters.size();
+        return granted;
+    }
+
+    /**
+     * Remove the metrics of the share, once no data source of the tenant uses it
+     */
+    void close() {
+        meters.forEach(Metrics.globalRegistry::remove);
+    }
+
+    /**
+     * Acquisition waiting for a permit
+     */
+    private static final class Waiter {
+        private final MonoSink<Boolean> sink;
+        // Guarded by the share's lock
+        private boolean granted;
+
+        private Waiter(MonoSink<Boolean> sink) {
+            this.sink = sink;
+        }
+    }
+}
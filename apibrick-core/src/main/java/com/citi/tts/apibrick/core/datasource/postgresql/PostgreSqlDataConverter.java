@@ -0,0 +1,252 @@
+package com.citi.tts.apibrick.core.datasource.postgresql;
+
+import com.citi.tts.apibrick.common.enums.DataSourceType;
+import com.citi.tts.apibrick.core.datasource.ColumnConverter;
+import com.citi.tts.apibrick.core.datasource.DataConverter;
+import com.citi.tts.apibrick.core.datasource.R2dbcRowMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.r2dbc.postgresql.codec.Interval;
+import io.r2dbc.postgresql.codec.Json;
+import io.r2dbc.spi.ColumnMetadata;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * PostgreSQL Data Converter
+ * Converts PostgreSQL values to JSON-like Map structure
+ *
+ * Handles type conversions:
+ * - timestamp/date/time -> ISO8601 string, timestamptz/timetz -> ISO8601 with offset
+ * - numeric -> Number or String (see ColumnConverter.decimal)
+ * - uuid, interval -> String
+ * - json/jsonb -> parsed JSON object/array
+ * - ARRAY -> JSON array
+ * - bytea -> base64 string
+ * <p>
+ * Result sets read through R2DBC use newRowMapper, which picks a converter per column
+ * once from the column metadata instead of inspecting every cell
+ */
+public class PostgreSqlDataConverter implements DataConverter {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostgreSqlDataConverter.class);
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE;
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ISO_LOCAL_TIME;
+    private static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+    private static final DateTimeFormatter OFFSET_DATETIME_FORMATTER = DateTimeFormatter.ISO_OFFSET_DATE_TIME;
+    private static final DateTimeFormatter OFFSET_TIME_FORMATTER = DateTimeFormatter.ISO_OFFSET_TIME;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Override
+    public Map<String, Object> convert(Object originalData, Map<String, Object> fieldMapping) {
+        if (!(originalData instanceof Map)) {
+            throw new IllegalArgumentException("Expected Map<String, Object>, got: " +
+                (originalData != null ? originalData.getClass().getName() : "null"));
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> rowData = (Map<String, Object>) originalData;
+        Map<String, Object> result = new HashMap<>();
+
+        // If field mapping is provided, use it; otherwise, convert all fields
+        if (fieldMapping != null && !fieldMapping.isEmpty()) {
+            for (Map.Entry<String, Object> mapping : fieldMapping.entrySet()) {
+                String targetField = mapping.getKey();
+                String sourceField = mapping.getValue() != null ? mapping.getValue().toString() : targetField;
+                result.put(targetField, convertValue(rowData.get(sourceField)));
+            }
+        } else {
+            for (Map.Entry<String, Object> entry : rowData.entrySet()) {
+                result.put(entry.getKey(), convertValue(entry.getValue()));
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Create a row mapper for one result set
+     *
+     * @param fieldMapping Field mapping configuration (target field -> source column)
+     * @return Row mapper to pass to Result.map
+     */
+    public R2dbcRowMapper newRowMapper(Map<String, Object> fieldMapping) {
+        return new R2dbcRowMapper(fieldMapping, this::converterFor);
+    }
+
+    /**
+     * Choose the converter for a column from its metadata (Java type, precision, scale)
+     *
+     * @param column Column metadata
+     * @return Column converter
+     */
+    ColumnConverter converterFor(ColumnMetadata column) {
+        Class<?> javaType = column.getJavaType();
+        if (javaType == null) {
+            return (row, index) -> convertValue(row.get(index));
+        }
+
+        if (javaType == LocalDateTime.class) {
+            return (row, index) -> format(row.get(index, LocalDateTime.class), DATETIME_FORMATTER);
+        }
+        if (javaType == OffsetDateTime.class) {
+            return (row, index) -> format(row.get(index, OffsetDateTime.class), OFFSET_DATETIME_FORMATTER);
+        }
+        if (javaType == LocalDate.class) {
+            return (row, index) -> format(row.get(index, LocalDate.class), DATE_FORMATTER);
+        }
+        if (javaType == LocalTime.class) {
+            return (row, index) -> format(row.get(index, LocalTime.class), TIME_FORMATTER);
+        }
+        if (javaType == OffsetTime.class) {
+            return (row, index) -> format(row.get(index, OffsetTime.class), OFFSET_TIME_FORMATTER);
+        }
+        if (javaType == BigDecimal.class) {
+            Integer precision = column.getPrecision();
+            if (precision == null || precision <= 0) {
+                // numeric without declared precision: decide per value
+                return (row, index) -> convertValue(row.get(index, BigDecimal.class));
+            }
+            return ColumnConverter.decimal(precision, column.getScale());
+        }
+        if (javaType == UUID.class || javaType == Interval.class) {
+            return (row, index) -> {
+                Object value = row.get(index);
+                return value != null ? value.toString() : null;
+            };
+        }
+        if (Json.class.isAssignableFrom(javaType)) {
+            return (row, index) -> parseJson(row.get(index, String.class));
+        }
+        if (javaType == byte[].class || ByteBuffer.class.isAssignableFrom(javaType)
+                || io.r2dbc.spi.Blob.class.isAssignableFrom(javaType)) {
+            return (row, index) -> {
+                byte[] bytes = row.get(index, byte[].class);
+                return bytes != null ? Base64.getEncoder().encodeToString(bytes) : null;
+            };
+        }
+        if (javaType.isArray()) {
+            return (row, index) -> toList(row.get(index, javaType));
+        }
+        if (javaType == String.class || io.r2dbc.spi.Clob.class.isAssignableFrom(javaType)) {
+            return (row, index) -> row.get(index, String.class);
+        }
+        if (Number.class.isAssignableFrom(javaType) || javaType == Boolean.class) {
+            // Already JSON-compatible, no conversion needed
+            return (row, index) -> row.get(index);
+        }
+
+        // Unknown type: fall back to runtime type inspection
+        return (row, index) -> convertValue(row.get(index));
+    }
+
+    private static String format(TemporalAccessor value, DateTimeFormatter formatter) {
+        return value != null ? formatter.format(value) : null;
+    }
+
+    private Object parseJson(String json) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, Object.class);
+        } catch (JsonProcessingException e) {
+            logger.warn("Failed to parse JSON column, returning raw text", e);
+            return json;
+        }
+    }
+
+    private List<Object> toList(Object array) {
+        if (array == null) {
+            return null;
+        }
+        Object[] elements = (Object[]) array;
+        List<Object> list = new ArrayList<>(elements.length);
+        for (Object element : elements) {
+            list.add(convertValue(element));
+        }
+        return list;
+    }
+
+    /**
+     * Convert PostgreSQL-specific types to JSON-compatible types
+     * Used for Map-based conversion and for columns without a dedicated converter
+     */
+    private Object convertValue(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof LocalDateTime dateTime) {
+            return dateTime.format(DATETIME_FORMATTER);
+        }
+        if (value instanceof OffsetDateTime dateTime) {
+            return dateTime.format(OFFSET_DATETIME_FORMATTER);
+        }
+        if (value instanceof LocalDate date) {
+            return date.format(DATE_FORMATTER);
+        }
+        if (value instanceof LocalTime time) {
+            return time.format(TIME_FORMATTER);
+        }
+        if (value instanceof OffsetTime time) {
+            return time.format(OFFSET_TIME_FORMATTER);
+        }
+        if (value instanceof BigDecimal bigDecimal) {
+            // Integral values that fit in a long become long, exact doubles become double, rest string
+            if (bigDecimal.scale() <= 0) {
+                try {
+                    return bigDecimal.longValueExact();
+                } catch (ArithmeticException e) {
+                    return bigDecimal.toPlainString();
+                }
+            }
+            double doubleValue = bigDecimal.doubleValue();
+            return BigDecimal.valueOf(doubleValue).compareTo(bigDecimal) == 0
+                    ? doubleValue
+                    : bigDecimal.toPlainString();
+        }
+        if (value instanceof UUID || value instanceof Interval) {
+            return value.toString();
+        }
+        if (value instanceof Json json) {
+            return parseJson(json.asString());
+        }
+        if (value instanceof ByteBuffer buffer) {
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.duplicate().get(bytes);
+            return Base64.getEncoder().encodeToString(bytes);
+        }
+        if (value instanceof byte[] bytes) {
+            return Base64.getEncoder().encodeToString(bytes);
+        }
+        if (value instanceof Object[]) {
+            return toList(value);
+        }
+
+        // Return primitive types and strings as-is
+        return value;
+    }
+
+    @Override
+    public DataSourceType supportType() {
+        return DataSourceType.POSTGRESQL;
+    }
+}
@@ -0,0 +1,132 @@
+package com.citi.tts.apibrick.core.datasource.postgresql;
+
+import com.citi.tts.apibrick.common.enums.DataSourceType;
+import com.citi.tts.apibrick.common.util.ConfigValueUtil;
+import com.citi.tts.apibrick.core.datasource.AbstractR2dbcDataSource;
+import com.citi.tts.apibrick.core.datasource.ColumnConverter;
+import com.citi.tts.apibrick.core.datasource.QueryParser;
+import com.citi.tts.apibrick.core.datasource.pool.PoolSharingOptions;
+import io.r2dbc.postgresql.PostgresqlConnectionConfiguration;
+import io.r2dbc.postgresql.PostgresqlConnectionFactory;
+import io.r2dbc.spi.ColumnMetadata;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * PostgreSQL Data Source Implementation
+ * <p>
+ * Uses R2DBC (r2dbc-postgresql) with connection pooling, see AbstractR2dbcDataSource
+ * <p>
+ * Driver tuning (all optional):
+ * - preparedStatementCacheSize: statements kept prepared per connection (default 256, -1 unlimited, 0 off)
+ * - forceBinary: decode results in the binary protocol (default true)
+ * Rows are fetched in chunks of the per-query fetchSize (see QueryLimits).
+ * Queries use JDBC-style "?" placeholders, rewritten to $1, $2, ... before execution.
+ * <p>
+ * Map<String, Object> config = Map.of(
+ * "host", "localhost",
+ * "port", 5432,
+ * "dbName", "apibrick",
+ * "schema", "public",
+ * "username", "postgres",
+ * "password", "123456"
+ * );
+ */
+public class PostgreSqlDataSource extends AbstractR2dbcDataSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostgreSqlDataSource.class);
+
+    private static final int DEFAULT_PREPARED_STATEMENT_CACHE_SIZE = 256;
+
+    private final DataSourceType type = DataSourceType.POSTGRESQL;
+
+    private final QueryParser queryParser = new PostgreSqlQueryParser();
+    private final PostgreSqlDataConverter dataConverter = new PostgreSqlDataConverter();
+
+    @Override
+    public Mono<Void> init(Map<String, Object> config, String tenantId, String env) {
+        this.tenantId = tenantId;
+
+        try {
+            // Extract connection configuration
+            String host = (String) config.get("host");
+            int port = Integer.parseInt(String.valueOf(config.getOrDefault("port", 5432)));
+            String database = (String) config.get("dbName");
+            String schema = (String) config.get("schema");
+            String username = (String) config.get("username");
+            String password = (String) config.get("password");
+
+            if (host == null || database == null || username == null || password == null) {
+                return Mono.error(new IllegalArgumentException(
+                        "PostgreSQL connection requires: host, database, username, password"));
+            }
+
+            // A pool shared across tenants cannot name one tenant on its connections
+            boolean shared = PoolSharingOptions.from(config).isEnabled();
+
+            // Build PostgreSQL connection configuration
+            PostgresqlConnectionConfiguration.Builder builder = PostgresqlConnectionConfiguration.builder()
+                    .host(host)
+                    .port(port)
+                    .database(database)
+                    .username(username)
+                    .password(password)
+                    .applicationName(shared ? "apibrick" : "apibrick-" + tenantId)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    // Parsed statements are cached per connection and reused on every execution
+                    .preparedStatementCacheQueries(ConfigValueUtil.toInt(config.get("preparedStatementCacheSize"),
+                            DEFAULT_PREPARED_STATEMENT_CACHE_SIZE))
+                    // Request binary result encoding instead of text for every column
+                    .forceBinary(ConfigValueUtil.toBoolean(config.get("forceBinary"), true));
+            if (schema != null && !schema.isBlank()) {
+                builder.schema(schema);
+            }
+
+            // Use the connection pool shared by data sources on the same database, credentials and session options
+            initPool(new PostgresqlConnectionFactory(builder.build()), config, host + ":" + port + "/" + database,
+                    Arrays.asList(host, port, database, schema, username, password,
+                            config.get("preparedStatementCacheSize"), config.get("forceBinary")));
+
+            logger.info("PostgreSQL data source initialized. tenantId={}, host={}, database={}",
+                    tenantId, host, database);
+
+            return Mono.empty();
+        } catch (Exception e) {
+            logger.error("Failed to initialize PostgreSQL data source", e);
+            return Mono.error(e);
+        }
+    }
+
+    @Override
+    protected QueryParser getQueryParser() {
+        return queryParser;
+    }
+
+    @Override
+    protected String toNativeSql(String sql) {
+        return PostgreSqlQueryParser.toNativeSql(sql);
+    }
+
+    /**
+     * The PostgreSQL driver sends statements issued on one connection without waiting for earlier results
+     */
+    @Override
+    protected boolean supportsPipelining() {
+        return true;
+    }
+
+    @Override
+    protected ColumnConverter converterFor(ColumnMetadata column) {
+        return dataConverter.converterFor(column);
+    }
+
+    @Override
+    public DataSourceType getType() {
+        return type;
+    }
+}
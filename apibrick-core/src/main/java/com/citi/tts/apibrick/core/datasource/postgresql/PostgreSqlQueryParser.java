@@ -0,0 +1,165 @@
+package com.citi.tts.apibrick.core.datasource.postgresql;
+
+import com.citi.tts.apibrick.common.enums.DataSourceType;
+import com.citi.tts.apibrick.core.datasource.ParsedSql;
+import com.citi.tts.apibrick.core.datasource.QueryParser;
+import net.sf.jsqlparser.JSQLParserException;
+import net.sf.jsqlparser.parser.CCJSqlParserUtil;
+import net.sf.jsqlparser.statement.Statement;
+import net.sf.jsqlparser.statement.select.Select;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * PostgreSQL Query Parser
+ * Converts query configuration to SQL statement with parameter binding
+ *
+ * Supports:
+ * - Direct SQL string with JDBC-style "?" placeholders ("??" for the jsonb ? operator)
+ * - Parameterized queries with parameter binding
+ * - SQL injection prevention
+ */
+public class PostgreSqlQueryParser implements QueryParser {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostgreSqlQueryParser.class);
+
+    // Dangerous SQL keywords that should not be allowed
+    private static final Pattern DANGEROUS_PATTERNS = Pattern.compile(
+        "(?i)(DROP\\s+TABLE|DROP\\s+DATABASE|DROP\\s+SCHEMA|TRUNCATE|DELETE\\s+FROM|UPDATE\\s+.*SET|ALTER\\s+TABLE"
+            + "|CREATE\\s+TABLE|INSERT\\s+INTO|COPY\\s+|PG_SLEEP|PG_READ_FILE|LO_IMPORT|DBLINK)",
+        Pattern.CASE_INSENSITIVE
+    );
+
+    @Override
+    public Object parse(Map<String, Object> queryConfig) {
+        // Get SQL string from configuration
+        String sql = (String) queryConfig.get("sql");
+        if (sql == null || sql.trim().isEmpty()) {
+            throw new IllegalArgumentException("SQL query is required");
+        }
+
+        // Get parameters if any
+        @SuppressWarnings("unchecked")
+        List<Object> parameters = (List<Object>) queryConfig.get("parameters");
+
+        // Parse SQL to validate syntax (optional, for better error messages)
+        try {
+            Statement statement = CCJSqlParserUtil.parse(sql);
+            // Only allow SELECT statements for safety
+            if (!(statement instanceof Select)) {
+                logger.warn("Non-SELECT statement detected: {}", statement.getClass().getSimpleName());
+            }
+        } catch (JSQLParserException e) {
+            logger.warn("SQL parsing warning (continuing anyway): {}", e.getMessage());
+        }
+
+        // Placeholders stay "?" here, the data source rewrites them to $n before execution
+        return new ParsedSql(sql.trim(), parameters);
+    }
+
+    @Override
+    public DataSourceType supportType() {
+        return DataSourceType.POSTGRESQL;
+    }
+
+    @Override
+    public void validate(Map<String, Object> queryConfig) {
+        QueryParser.super.validate(queryConfig);
+
+        String sql = (String) queryConfig.get("sql");
+        if (sql == null || sql.trim().isEmpty()) {
+            throw new IllegalArgumentException("SQL query cannot be null or empty");
+        }
+
+        // Check for dangerous SQL patterns
+        if (DANGEROUS_PATTERNS.matcher(sql).find()) {
+            throw new IllegalArgumentException(
+                "Dangerous SQL operation detected. Only SELECT queries are allowed for security reasons.");
+        }
+
+        // Only a single statement is allowed
+        String trimmed = sql.trim();
+        if (trimmed.endsWith(";")) {
+            trimmed = trimmed.substring(0, trimmed.length() - 1);
+        }
+        if (trimmed.contains(";")) {
+            throw new IllegalArgumentException("Multiple SQL statements detected. Only single statement allowed.");
+        }
+
+        // Check for comment-based SQL injection
+        if (sql.contains("--") || sql.contains("/*") || sql.contains("*/")) {
+            throw new IllegalArgumentException("SQL comments are not allowed for security reasons.");
+        }
+
+        // Validate parameters count matches placeholders
+        @SuppressWarnings("unchecked")
+        List<Object> parameters = (List<Object>) queryConfig.get("parameters");
+        if (parameters != null) {
+            int placeholderCount = countPlaceholders(sql);
+            if (parameters.size() != placeholderCount) {
+                throw new IllegalArgumentException(
+                    String.format("Parameter count mismatch: SQL has %d placeholders but %d parameters provided",
+                        placeholderCount, parameters.size()));
+            }
+        }
+    }
+
+    /**
+     * Rewrite "?" placeholders to PostgreSQL's $1, $2, ...
+     * Placeholders inside string literals and quoted identifiers are left alone,
+     * and "??" is emitted as a literal "?" (jsonb operator)
+     *
+     * @param sql SQL with "?" placeholders
+     * @return SQL with numbered placeholders
+     */
+    public static String toNativeSql(String sql) {
+        StringBuilder result = new StringBuilder(sql.length() + 16);
+        scan(sql, result);
+        return result.toString();
+    }
+
+    /**
+     * Count the placeholders toNativeSql would number
+     */
+    static int countPlaceholders(String sql) {
+        return scan(sql, null);
+    }
+
+    /**
+     * Walk the SQL, optionally writing the rewritten SQL, and return the placeholder count
+     */
+    private static int scan(String sql, StringBuilder result) {
+        int parameter = 0;
+        char quote = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            char ch = sql.charAt(i);
+            if (quote != 0) {
+                // Inside a literal or quoted identifier; doubled quotes are escapes and toggle twice
+                if (ch == quote) {
+                    quote = 0;
+                }
+            } else if (ch == '\'' || ch == '"') {
+                quote = ch;
+            } else if (ch == '?') {
+                if (i + 1 < sql.length() && sql.charAt(i + 1) == '?') {
+                    // Escaped operator: emit a single "?"
+                    i++;
+                } else {
+                    parameter++;
+                    if (result != null) {
+                        result.append('$').append(parameter);
+                    }
+                    continue;
+                }
+            }
+            if (result != null) {
+                result.append(ch);
+            }
+        }
+        return parameter;
+    }
+}
@@ -0,0 +1,175 @@
+package com.citi.tts.apibrick.core.datasource.redis;
+
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.resource.ClientResources;
+import io.lettuce.core.resource.DefaultClientResources;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Redis Connection Registry - Shares one connection per Redis server and database
+ * <p>
+ * Lettuce connections are thread-safe and multiplex concurrent commands, so data sources
+ * of different tenants on the same server use one connection instead of opening their own.
+ * All connections share one RedisClient and its event loops. Tenant isolation is done
+ * by key prefix (see TenantKeyUtil).
+ * <p>
+ * Connections are reference counted: each acquire must be paired with a release, and the
+ * connection is closed when its last data source releases it. A connection closed underneath
+ * is replaced on the next acquire; data sources look their connection up per command
+ * (see connection()) so they never keep using a replaced one. The client and its event
+ * loops are shut down once no connection is left.
+ * Connection strings contain credentials and are never logged.
+ */
+public class RedisConnectionRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisConnectionRegistry.class);
+
+    private static final RedisConnectionRegistry SHARED = new RedisConnectionRegistry(null);
+
+    private final Function<RedisURI, StatefulRedisConnection<String, String>> connector;
+    // Guarded by this
+    private RedisClient client;
+    private ClientResources resources;
+
+    // Map: connection string -> shared connection and its reference count
+    private final Map<String, Entry> connections = new ConcurrentHashMap<>();
+
+    /**
+     * @param connector Opens a connection, or null to connect with the shared RedisClient
+     */
+    RedisConnectionRegistry(Function<RedisURI, StatefulRedisConnection<String, String>> connector) {
+        this.connector = connector != null ? connector : uri -> client().connect(StringCodec.UTF8, uri);
+    }
+
+    /**
+     * Registry shared by all Redis data sources of this node
+     */
+    public static RedisConnectionRegistry shared() {
+        return SHARED;
+    }
+
+    /**
+     * Get the connection of a server, opening it on first use
+     * Opening a connection blocks, call from a thread that may block
+     *
+     * @param connectionString Redis URI (redis:// or rediss://, including credentials and database)
+     * @return Shared connection
+     */
+    public StatefulRedisConnection<String, String> acquire(String connectionString) {
+        Entry entry = connections.compute(connectionString, (key, existing) -> {
+            if (existing == null) {
+                return new Entry(1);
+            }
+            existing.references++;
+            return existing;
+        });
+        try {
+            // Outside compute: a slow server must not block other keys of the map
+            return entry.connect(RedisURI.create(connectionString));
+        } catch (RuntimeException e) {
+            release(connectionString);
+            throw e;
+        }
+    }
+
+    /**
+     * Get the current connection of a server acquired before
+     *
+     * @param connectionString Connection string passed to acquire
+     * @return Shared connection, or null if it is not acquired or not open yet
+     */
+    public StatefulRedisConnection<String, String> connection(String connectionString) {
+        Entry entry = connections.get(connectionString);
+        return entry != null ? entry.connection : null;
+    }
+
+    /**
+     * Release a connection obtained from acquire, closing it when no data source uses it anymore
+     *
+     * @param connectionString Connection string passed to acquire
+     */
+    public void release(String connectionString) {
+        Entry[] unused = new Entry[1];
+        connections.computeIfPresent(connectionString, (key, entry) -> {
+            if (--entry.references > 0) {
+                return entry;
+            }
+            unused[0] = entry;
+            return null;
+        });
+        if (unused[0] != null) {
+            unused[0].close();
+            shutdownClientIfUnused();
+        }
+    }
+
+    /**
+     * Number of open shared connections
+     */
+    public int getConnectionCount() {
+        return connections.size();
+    }
+
+    private synchronized RedisClient client() {
+        if (client == null) {
+            resources = DefaultClientResources.create();
+            client = RedisClient.create(resources);
+        }
+        return client;
+    }
+
+    private synchronized void shutdownClientIfUnused() {
+        // An acquire racing with this either registered its entry already, or creates a new client
+        if (client != null && connections.isEmpty()) {
+            client.shutdownAsync();
+            resources.shutdown();
+            client = null;
+            resources = null;
+            logger.info("Shut down Redis client, no connection left");
+        }
+    }
+
+    private final class Entry {
+        private volatile StatefulRedisConnection<String, String> connection;
+        // Only updated inside ConcurrentHashMap.compute, which serializes access per key
+        private int references;
+
+        private Entry(int references) {
+            this.references = references;
+        }
+
+        /**
+         * Open the connection unless it is open already, replacing one closed underneath
+         */
+        private synchronized StatefulRedisConnection<String, String> connect(RedisURI uri) {
+            StatefulRedisConnection<String, String> current = connection;
+            if (current == null || !current.isOpen()) {
+                current = connector.apply(uri);
+                connection = current;
+                logger.info("Opened shared Redis connection. host={}, port={}, database={}",
+                        uri.getHost(), uri.getPort(), uri.getDatabase());
+            }
+            return current;
+        }
+
+        private synchronized void close() {
+            if (connection == null) {
+                return;
+            }
+            try {
+                connection.close();
+                logger.info("Closed shared Redis connection, no data source left");
+            } catch (Exception e) {
+                logger.warn("Failed to close shared Redis connection", e);
+            }
+        }
+    }
+}
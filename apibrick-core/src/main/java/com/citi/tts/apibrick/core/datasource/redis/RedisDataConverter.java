@@ -0,0 +1,118 @@
+package com.citi.tts.apibrick.core.datasource.redis;
+
+import com.citi.tts.apibrick.common.enums.DataSourceType;
+import com.citi.tts.apibrick.core.datasource.DataConverter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Redis Data Converter
+ * Converts Redis string values and hashes to JSON-like values
+ * <p>
+ * Values are decoded by the "format" of the query configuration:
+ * - STRING (default): kept as stored
+ * - JSON: parsed into maps, lists and scalars
+ * - NUMBER: parsed into Long, or BigDecimal for decimals (counters)
+ */
+public class RedisDataConverter implements DataConverter {
+
+    public enum Format {
+        STRING,
+        JSON,
+        NUMBER
+    }
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Convert a hash to a map, applying field mapping
+     *
+     * @param originalData Hash fields and values (Map<String, String>)
+     * @param fieldMapping Field mapping (target field -> hash field), null or empty maps all fields
+     * @return Converted map with values kept as strings
+     */
+    @Override
+    public Map<String, Object> convert(Object originalData, Map<String, Object> fieldMapping) {
+        return convert(originalData, fieldMapping, Format.STRING);
+    }
+
+    /**
+     * Convert a hash to a map, applying field mapping and value format
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> convert(Object originalData, Map<String, Object> fieldMapping, Format format) {
+        if (!(originalData instanceof Map<?, ?>)) {
+            throw new IllegalArgumentException("Expected Redis hash, got: " +
+                (originalData != null ? originalData.getClass().getName() : "null"));
+        }
+        Map<String, String> hash = (Map<String, String>) originalData;
+        Map<String, Object> result = new HashMap<>();
+
+        if (fieldMapping != null && !fieldMapping.isEmpty()) {
+            for (Map.Entry<String, Object> mapping : fieldMapping.entrySet()) {
+                String targetField = mapping.getKey();
+                String sourceField = mapping.getValue() != null ? mapping.getValue().toString() : targetField;
+                result.put(targetField, decode(hash.get(sourceField), format));
+            }
+        } else {
+            hash.forEach((field, value) -> result.put(field, decode(value, format)));
+        }
+        return result;
+    }
+
+    /**
+     * Decode one stored value
+     *
+     * @param value  Stored value, null if the key or field does not exist
+     * @param format Value format
+     * @return Decoded value or null
+     */
+    public Object decode(String value, Format format) {
+        if (value == null) {
+            return null;
+        }
+        switch (format) {
+            case JSON:
+                try {
+                    return objectMapper.readValue(value, Object.class);
+                } catch (JsonProcessingException e) {
+                    throw new IllegalArgumentException("Redis value is not valid JSON: " + e.getOriginalMessage(), e);
+                }
+            case NUMBER:
+                try {
+                    return value.indexOf('.') < 0 && value.indexOf('e') < 0 && value.indexOf('E') < 0
+                            ? (Object) Long.valueOf(value.trim())
+                            : new BigDecimal(value.trim());
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Redis value is not a number: " + value, e);
+                }
+            default:
+                return value;
+        }
+    }
+
+    /**
+     * Read the value format from the query configuration
+     */
+    public static Format formatOf(Map<String, Object> queryConfig) {
+        Object format = queryConfig.get("format");
+        if (format == null) {
+            return Format.STRING;
+        }
+        try {
+            return Format.valueOf(format.toString().trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported Redis value format: " + format, e);
+        }
+    }
+
+    @Override
+    public DataSourceType supportType() {
+        return DataSourceType.REDIS;
+    }
+}
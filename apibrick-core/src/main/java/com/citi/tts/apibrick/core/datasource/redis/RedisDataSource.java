@@ -0,0 +1,271 @@
+package com.citi.tts.apibrick.core.datasource.redis;
+
+import com.citi.tts.apibrick.common.enums.DataSourceType;
+import com.citi.tts.apibrick.common.util.ConfigValueUtil;
+import com.citi.tts.apibrick.common.util.TenantKeyUtil;
+import com.citi.tts.apibrick.core.datasource.DataSource;
+import com.citi.tts.apibrick.core.datasource.redis.RedisQueryParser.RedisCommand;
+import io.lettuce.core.KeyValue;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.reactive.RedisReactiveCommands;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Redis Data Source Implementation
+ * <p>
+ * Key/value and hash lookups (session, feature flags, counters) without a SQL round-trip.
+ * Commands are configured in the query configuration (see RedisQueryParser), values are
+ * decoded by its "format" (see RedisDataConverter).
+ * <p>
+ * Results:
+ * - GET: {"key": ..., "value": ...}
+ * - MGET: {"data": [{"key": ..., "value": ...}], "count": n}, missing keys have a null value
+ * - HGETALL: the hash fields, filtered and renamed by fieldMapping
+ * - PIPELINE: one entry per command, named by its "as" (GET -> value, MGET -> key/value map,
+ *   HGETALL -> hash)
+ * <p>
+ * Tenant isolation: every key is prefixed with the tenant ID ({tenantId}:{key}).
+ * Data sources on the same server and database share one connection (see RedisConnectionRegistry).
+ */
+public class RedisDataSource implements DataSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisDataSource.class);
+
+    // Stands in for a missing key inside Mono.zip, which does not accept null values
+    private static final Object NULL_VALUE = new Object();
+
+    private final RedisConnectionRegistry connectionRegistry;
+    private final RedisQueryParser queryParser = new RedisQueryParser();
+    private final RedisDataConverter dataConverter = new RedisDataConverter();
+    private final DataSourceType type = DataSourceType.REDIS;
+
+    private String tenantId;
+    // Set once the shared connection is acquired; the connection itself is looked up per command
+    private volatile String connectionString;
+    // Queries subscribed and not yet terminated
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public RedisDataSource() {
+        this(RedisConnectionRegistry.shared());
+    }
+
+    RedisDataSource(RedisConnectionRegistry connectionRegistry) {
+        this.connectionRegistry = connectionRegistry;
+    }
+
+    @Override
+    public Mono<Void> init(Map<String, Object> config, String tenantId, String env) {
+        this.tenantId = tenantId;
+
+        return Mono.fromRunnable(() -> {
+                    String host = (String) config.get("host");
+                    if (host == null || host.isBlank()) {
+                        throw new IllegalArgumentException("Redis host is required");
+                    }
+                    String port = String.valueOf(config.getOrDefault("port", 6379));
+                    String database = String.valueOf(config.getOrDefault("database", 0));
+                    String username = (String) config.get("username");
+                    String password = (String) config.get("password");
+                    boolean ssl = ConfigValueUtil.toBoolean(config.get("ssl"), false);
+                    long timeoutMillis = ConfigValueUtil.toLong(config.get("timeoutMillis"), 2000);
+
+                    StringBuilder uri = new StringBuilder(ssl ? "rediss://" : "redis://");
+                    if (password != null) {
+                        if (username != null) {
+                            uri.append(encode(username)).append(':');
+                        }
+                        uri.append(encode(password)).append('@');
+                    }
+                    uri.append(host).append(':').append(port).append('/').append(database)
+                            .append("?timeout=").append(timeoutMillis).append("ms");
+
+                    // Shared connection of the server and database, opening it blocks
+                    connectionRegistry.acquire(uri.toString());
+                    this.connectionString = uri.toString();
+                    logger.info("Redis data source initialized. tenantId={}, host={}, port={}, database={}",
+                            tenantId, host, port, database);
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .doOnError(error -> logger.error("Failed to initialize Redis data source", error))
+                .then();
+    }
+
+    @Override
+    public Mono<Map<String, Object>> executeQuery(Map<String, Object> queryConfig) {
+        StatefulRedisConnection<String, String> connection = connection();
+        if (connection == null) {
+            return Mono.error(new IllegalStateException("Redis data source not initialized"));
+        }
+        try {
+            queryParser.validate(queryConfig);
+            List<RedisCommand> commands = queryParser.parseCommands(queryConfig);
+            RedisDataConverter.Format format = RedisDataConverter.formatOf(queryConfig);
+            @SuppressWarnings("unchecked")
+            Map<String, Object> fieldMapping = (Map<String, Object>) queryConfig.get("fieldMapping");
+            RedisReactiveCommands<String, String> redis = connection.reactive();
+
+            Mono<Map<String, Object>> result;
+            if (!"PIPELINE".equalsIgnoreCase(String.valueOf(queryConfig.get("command")))) {
+                RedisCommand command = commands.get(0);
+                result = switch (command.command()) {
+                    case "GET" -> get(redis, command, format).map(value -> {
+                        Map<String, Object> single = new HashMap<>();
+                        single.put("key", command.keys().get(0));
+                        single.put("value", value.orElse(null));
+                        return single;
+                    });
+                    case "MGET" -> mget(redis, command, format).map(values -> {
+                        List<Map<String, Object>> rows = new ArrayList<>(values.size());
+                        values.forEach((key, value) -> {
+                            Map<String, Object> row = new HashMap<>();
+                            row.put("key", key);
+                            row.put("value", value);
+                            rows.add(row);
+                        });
+                        Map<String, Object> multiple = new HashMap<>();
+                        multiple.put("data", rows);
+                        multiple.put("count", rows.size());
+                        return multiple;
+                    });
+                    default -> hgetall(redis, command, fieldMapping, format);
+                };
+            } else {
+                result = pipeline(redis, commands, fieldMapping, format);
+            }
+            return track(result).onErrorResume(error -> {
+                logger.error("Redis query execution error. tenantId={}", tenantId, error);
+                return Mono.error(error);
+            });
+        } catch (Exception e) {
+            logger.error("Redis query error", e);
+            return Mono.error(e);
+        }
+    }
+
+    /**
+     * Send all commands of a pipeline at once
+     * The commands are subscribed together, so Lettuce writes them back to back on the
+     * connection and the replies are read in one go instead of one round-trip per command
+     */
+    private Mono<Map<String, Object>> pipeline(RedisReactiveCommands<String, String> redis,
+                                               List<RedisCommand> commands,
+                                               Map<String, Object> fieldMapping,
+                                               RedisDataConverter.Format format) {
+        List<Mono<Object>> replies = new ArrayList<>(commands.size());
+        for (RedisCommand command : commands) {
+            replies.add(switch (command.command()) {
+                case "GET" -> get(redis, command, format).map(value -> value.orElse(NULL_VALUE));
+                case "MGET" -> mget(redis, command, format).cast(Object.class);
+                default -> hgetall(redis, command, fieldMapping, format).cast(Object.class);
+            });
+        }
+        return Mono.zip(replies, values -> {
+            Map<String, Object> result = new LinkedHashMap<>();
+            for (int i = 0; i < values.length; i++) {
+                result.put(commands.get(i).alias(), values[i] == NULL_VALUE ? null : values[i]);
+            }
+            return result;
+        });
+    }
+
+    private Mono<Optional<Object>> get(RedisReactiveCommands<String, String> redis,
+                                                 RedisCommand command,
+                                                 RedisDataConverter.Format format) {
+        return redis.get(tenantKey(command.keys().get(0)))
+                .map(value -> Optional.ofNullable(dataConverter.decode(value, format)))
+                .defaultIfEmpty(Optional.empty());
+    }
+
+    private Mono<Map<String, Object>> mget(RedisReactiveCommands<String, String> redis,
+                                           RedisCommand command,
+                                           RedisDataConverter.Format format) {
+        String[] keys = command.keys().stream().map(this::tenantKey).toArray(String[]::new);
+        // MGET replies in key order; the map is keyed by the keys as configured (without prefix)
+        return redis.mget(keys)
+                .index()
+                .<Map<String, Object>>collect(LinkedHashMap::new, (values, indexed) -> {
+                    KeyValue<String, String> keyValue = indexed.getT2();
+                    values.put(command.keys().get(indexed.getT1().intValue()),
+                            keyValue.hasValue() ? dataConverter.decode(keyValue.getValue(), format) : null);
+                });
+    }
+
+    private Mono<Map<String, Object>> hgetall(RedisReactiveCommands<String, String> redis,
+                                              RedisCommand command,
+                                              Map<String, Object> fieldMapping,
+                                              RedisDataConverter.Format format) {
+        return redis.hgetall(tenantKey(command.keys().get(0)))
+                .collectMap(KeyValue::getKey, KeyValue::getValue)
+                .map(hash -> dataConverter.convert(hash, fieldMapping, format));
+    }
+
+    private String tenantKey(String key) {
+        return TenantKeyUtil.prefixRedisKey(key, tenantId);
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public int getInFlightCount() {
+        return inFlight.get();
+    }
+
+    /**
+     * Count a query as in flight from subscription until it terminates or is cancelled
+     */
+    private <T> Mono<T> track(Mono<T> query) {
+        return Mono.defer(() -> {
+            inFlight.incrementAndGet();
+            return query.doFinally(signal -> inFlight.decrementAndGet());
+        });
+    }
+
+    @Override
+    public Mono<Boolean> testConnection() {
+        StatefulRedisConnection<String, String> connection = connection();
+        if (connection == null) {
+            return Mono.just(false);
+        }
+        return connection.reactive().ping()
+                .map("PONG"::equalsIgnoreCase)
+                .timeout(Duration.ofSeconds(5))
+                .onErrorReturn(false);
+    }
+
+    @Override
+    public void close() {
+        String released = connectionString;
+        if (released != null) {
+            connectionString = null;
+            // The connection is shared; it is closed once the last data source of the server releases it
+            connectionRegistry.release(released);
+            logger.info("Redis data source closed. tenantId={}", tenantId);
+        }
+    }
+
+    private StatefulRedisConnection<String, String> connection() {
+        String current = connectionString;
+        return current != null ? connectionRegistry.connection(current) : null;
+    }
+
+    @Override
+    public DataSourceType getType() {
+        return type;
+    }
+}
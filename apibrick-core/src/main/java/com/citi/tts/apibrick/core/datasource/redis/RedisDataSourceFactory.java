@@ -0,0 +1,27 @@
+package com.citi.tts.apibrick.core.datasource.redis;
+
+import com.citi.tts.apibrick.common.enums.DataSourceType;
+import com.citi.tts.apibrick.core.datasource.DataSource;
+import com.citi.tts.apibrick.core.datasource.DataSourceFactory;
+import reactor.core.publisher.Mono;
+import java.util.Map;
+
+/**
+ * Redis Data Source Factory
+ * Creates Redis data source instances
+ */
+public class RedisDataSourceFactory implements DataSourceFactory {
+    
+    @Override
+    public Mono<DataSource> create(Map<String, Object> config, String tenantId, String env) {
+        RedisDataSource dataSource = new RedisDataSource();
+        return dataSource.init(config, tenantId, env)
+            .then(Mono.just(dataSource));
+    }
+    
+    @Override
+    public DataSourceType getSupportedType() {
+        return DataSourceType.REDIS;
+    }
+}
+
@@ -0,0 +1,164 @@
+package com.citi.tts.apibrick.core.datasource.redis;
+
+import com.citi.tts.apibrick.common.enums.DataSourceType;
+import com.citi.tts.apibrick.common.util.ConfigValueUtil;
+import com.citi.tts.apibrick.core.datasource.QueryParser;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Redis Query Parser
+ * Converts query configuration to a list of read commands
+ * <p>
+ * Supported commands (read-only):
+ * - GET: {"command": "GET", "key": "session:abc"}
+ * - MGET: {"command": "MGET", "keys": ["flag:a", "flag:b"]}
+ * - HGETALL: {"command": "HGETALL", "key": "customer:42"}
+ * - PIPELINE: {"command": "PIPELINE", "commands": [{"command": "GET", "key": "counter:x", "as": "counter"}, ...]}
+ *   sends all commands without waiting for the replies in between
+ * <p>
+ * Keys are given without the tenant prefix, the data source adds it.
+ * The number of keys per query is bounded by maxKeys (default 1000).
+ */
+public class RedisQueryParser implements QueryParser {
+
+    public static final int DEFAULT_MAX_KEYS = 1000;
+
+    private static final Set<String> SINGLE_COMMANDS = Set.of("GET", "MGET", "HGETALL");
+    private static final String PIPELINE = "PIPELINE";
+
+    /**
+     * One read command
+     *
+     * @param command GET, MGET or HGETALL
+     * @param keys    Keys without tenant prefix (one for GET and HGETALL)
+     * @param alias   Name of the result in a pipeline
+     */
+    public record RedisCommand(String command, List<String> keys, String alias) {
+    }
+
+    @Override
+    public Object parse(Map<String, Object> queryConfig) {
+        return parseCommands(queryConfig);
+    }
+
+    /**
+     * Parse the query configuration into commands
+     *
+     * @param queryConfig Query configuration
+     * @return One command, or the commands of a pipeline in order
+     */
+    @SuppressWarnings("unchecked")
+    public List<RedisCommand> parseCommands(Map<String, Object> queryConfig) {
+        String command = commandName(queryConfig);
+        if (!PIPELINE.equals(command)) {
+            return List.of(parseCommand(queryConfig, command));
+        }
+        List<RedisCommand> commands = new ArrayList<>();
+        for (Object entry : (List<Object>) queryConfig.get("commands")) {
+            Map<String, Object> commandConfig = (Map<String, Object>) entry;
+            commands.add(parseCommand(commandConfig, commandName(commandConfig)));
+        }
+        return commands;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void validate(Map<String, Object> queryConfig) {
+        QueryParser.super.validate(queryConfig);
+        String command = commandName(queryConfig);
+        int maxKeys = ConfigValueUtil.toInt(queryConfig.get("maxKeys"), DEFAULT_MAX_KEYS);
+
+        if (!PIPELINE.equals(command)) {
+            checkCommand(queryConfig, command);
+            checkKeyCount(parseCommand(queryConfig, command).keys().size(), maxKeys);
+            return;
+        }
+
+        if (!(queryConfig.get("commands") instanceof List<?> commands) || commands.isEmpty()) {
+            throw new IllegalArgumentException("Redis PIPELINE requires a non-empty commands list");
+        }
+        Set<String> aliases = new HashSet<>();
+        int keyCount = 0;
+        for (Object entry : commands) {
+            if (!(entry instanceof Map<?, ?>)) {
+                throw new IllegalArgumentException("Redis pipeline command must be an object");
+            }
+            Map<String, Object> commandConfig = (Map<String, Object>) entry;
+            String nested = commandName(commandConfig);
+            if (PIPELINE.equals(nested)) {
+                throw new IllegalArgumentException("Redis pipelines cannot be nested");
+            }
+            checkCommand(commandConfig, nested);
+            RedisCommand parsed = parseCommand(commandConfig, nested);
+            if (!aliases.add(parsed.alias())) {
+                throw new IllegalArgumentException("Duplicate result name in Redis pipeline: " + parsed.alias());
+            }
+            keyCount += parsed.keys().size();
+        }
+        checkKeyCount(keyCount, maxKeys);
+    }
+
+    @Override
+    public DataSourceType supportType() {
+        return DataSourceType.REDIS;
+    }
+
+    private RedisCommand parseCommand(Map<String, Object> commandConfig, String command) {
+        List<String> keys = "MGET".equals(command)
+                ? toKeys(commandConfig.get("keys"))
+                : List.of(toKey(commandConfig.get("key")));
+        Object alias = commandConfig.get("as");
+        return new RedisCommand(command, keys, alias != null ? alias.toString() : String.join(",", keys));
+    }
+
+    private void checkCommand(Map<String, Object> commandConfig, String command) {
+        if (!SINGLE_COMMANDS.contains(command)) {
+            throw new IllegalArgumentException("Unsupported Redis command: " + command
+                    + " (supported: GET, MGET, HGETALL, PIPELINE)");
+        }
+        if ("MGET".equals(command)) {
+            if (!(commandConfig.get("keys") instanceof List<?> keys) || keys.isEmpty()) {
+                throw new IllegalArgumentException("Redis MGET requires a non-empty keys list");
+            }
+        }
+    }
+
+    private static void checkKeyCount(int keyCount, int maxKeys) {
+        if (keyCount > maxKeys) {
+            throw new IllegalArgumentException("Redis query reads " + keyCount
+                    + " keys, more than maxKeys " + maxKeys);
+        }
+    }
+
+    private static String commandName(Map<String, Object> commandConfig) {
+        Object command = commandConfig.get("command");
+        if (command == null || command.toString().isBlank()) {
+            throw new IllegalArgumentException("Redis command is required");
+        }
+        return command.toString().trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static List<String> toKeys(Object keys) {
+        if (!(keys instanceof List<?> list)) {
+            throw new IllegalArgumentException("Redis keys must be a list");
+        }
+        List<String> result = new ArrayList<>(list.size());
+        for (Object key : list) {
+            result.add(toKey(key));
+        }
+        return result;
+    }
+
+    private static String toKey(Object key) {
+        if (key == null || key.toString().isBlank()) {
+            throw new IllegalArgumentException("Redis key cannot be null or empty");
+        }
+        return key.toString();
+    }
+}
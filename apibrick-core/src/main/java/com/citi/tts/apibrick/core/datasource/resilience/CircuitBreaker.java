@@ -0,0 +1,172 @@
+package com.citi.tts.apibrick.core.datasource.resilience;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit Breaker - Stops sending queries to a data source that keeps failing or is too slow
+ * <p>
+ * States:
+ * - CLOSED: queries pass; outcomes of the last windowSize queries are recorded, and the circuit
+ *   opens once the failure rate or the slow-call rate reaches its threshold
+ * - OPEN: queries are rejected until openSeconds have passed
+ * - HALF_OPEN: up to halfOpenCalls probe queries pass; the circuit closes when all of them
+ *   succeed in time and opens again on the first failure or slow call
+ * <p>
+ * Only connectivity errors count as failures (see DataSourceErrors).
+ */
+public class CircuitBreaker {
+
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    // Outcome flags stored per window slot
+    private static final byte FAILURE = 1;
+    private static final byte SLOW = 2;
+
+    private final String name;
+    private final ResilienceOptions options;
+    private final LongSupplier nanoClock;
+
+    // Written while holding the lock on this breaker, read without it for metrics
+    private volatile State state = State.CLOSED;
+
+    // Sliding window of the most recent outcomes (CLOSED state)
+    private final byte[] window;
+    private int windowCount;
+    private int windowIndex;
+    private int failures;
+    private int slowCalls;
+
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    /**
+     * @param name    Name used in logs (tenantId:datasourceId)
+     * @param options Circuit breaker options
+     */
+    public CircuitBreaker(String name, ResilienceOptions options) {
+        this(name, options, System::nanoTime);
+    }
+
+    CircuitBreaker(String name, ResilienceOptions options, LongSupplier nanoClock) {
+        this.name = name;
+        this.options = options;
+        this.nanoClock = nanoClock;
+        this.window = new byte[options.getWindowSize()];
+    }
+
+    /**
+     * Ask permission to execute a query
+     * A granted permission must be followed by onResult or releasePermission
+     *
+     * @return true if the query may be executed
+     */
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (nanoClock.getAsLong() - openedAt < options.getOpenDuration().toNanos()) {
+                return false;
+            }
+            transitionTo(State.HALF_OPEN);
+            halfOpenPermits = options.getHalfOpenCalls();
+            halfOpenSuccesses = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermits <= 0) {
+                return false;
+            }
+            halfOpenPermits--;
+        }
+        return true;
+    }
+
+    /**
+     * Record the outcome of a permitted query
+     *
+     * @param durationNanos Query duration
+     * @param error         Error the query failed with, null on success
+     */
+    public synchronized void onResult(long durationNanos, Throwable error) {
+        boolean failure = error != null && DataSourceErrors.isConnectivityError(error);
+        boolean slow = durationNanos > options.getSlowCallDuration().toNanos();
+
+        if (state == State.HALF_OPEN) {
+            if (failure || slow) {
+                open(failure ? "probe failed: " + error : "probe slow");
+            } else if (++halfOpenSuccesses >= options.getHalfOpenCalls()) {
+                transitionTo(State.CLOSED);
+                resetWindow();
+            }
+            return;
+        }
+        if (state == State.OPEN) {
+            // Late outcome of a query started before the circuit opened
+            return;
+        }
+
+        if (windowCount == window.length) {
+            byte evicted = window[windowIndex];
+            failures -= evicted & FAILURE;
+            slowCalls -= (evicted & SLOW) >> 1;
+        } else {
+            windowCount++;
+        }
+        byte outcome = (byte) ((failure ? FAILURE : 0) | (slow ? SLOW : 0));
+        window[windowIndex] = outcome;
+        windowIndex = (windowIndex + 1) % window.length;
+        failures += failure ? 1 : 0;
+        slowCalls += slow ? 1 : 0;
+
+        if (windowCount >= options.getMinimumCalls()) {
+            int failureRate = failures * 100 / windowCount;
+            int slowCallRate = slowCalls * 100 / windowCount;
+            if (failureRate >= options.getFailureRateThreshold()) {
+                open("failure rate " + failureRate + "%");
+            } else if (slowCallRate >= options.getSlowCallRateThreshold()) {
+                open("slow call rate " + slowCallRate + "%");
+            }
+        }
+    }
+
+    /**
+     * Give back a permission whose query ended without an outcome (cancelled)
+     */
+    public synchronized void releasePermission() {
+        if (state == State.HALF_OPEN) {
+            halfOpenPermits++;
+        }
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    private void open(String reason) {
+        openedAt = nanoClock.getAsLong();
+        transitionTo(State.OPEN);
+        logger.warn("Data source circuit opened for {}s. datasource={}, reason={}",
+                options.getOpenDuration().toSeconds(), name, reason);
+    }
+
+    private void transitionTo(State newState) {
+        if (state != newState && newState != State.OPEN) {
+            logger.info("Data source circuit {}. datasource={}", newState, name);
+        }
+        state = newState;
+    }
+
+    private void resetWindow() {
+        windowCount = 0;
+        windowIndex = 0;
+        failures = 0;
+        slowCalls = 0;
+    }
+}
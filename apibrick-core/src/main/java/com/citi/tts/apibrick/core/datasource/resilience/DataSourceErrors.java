@@ -0,0 +1,48 @@
+package com.citi.tts.apibrick.core.datasource.resilience;
+
+import com.mongodb.MongoSocketException;
+import com.mongodb.MongoTimeoutException;
+import io.lettuce.core.RedisCommandTimeoutException;
+import io.lettuce.core.RedisConnectionException;
+import io.r2dbc.spi.R2dbcNonTransientResourceException;
+import io.r2dbc.spi.R2dbcTimeoutException;
+import io.r2dbc.spi.R2dbcTransientResourceException;
+
+import java.io.IOException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Data Source Errors - Classifies query errors
+ * <p>
+ * Connectivity errors mean the data source is unreachable, overloaded or timing out and
+ * count against it (circuit breaker, replica ejection). Errors of the query itself
+ * (SQL syntax, validation, query limits) do not.
+ */
+public final class DataSourceErrors {
+
+    private DataSourceErrors() {
+    }
+
+    /**
+     * Check whether an error, or one of its causes, is a connectivity error
+     *
+     * @param error Query error
+     * @return true if the error is caused by the data source rather than the query
+     */
+    public static boolean isConnectivityError(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof R2dbcNonTransientResourceException
+                    || cause instanceof R2dbcTransientResourceException
+                    || cause instanceof R2dbcTimeoutException
+                    || cause instanceof MongoSocketException
+                    || cause instanceof MongoTimeoutException
+                    || cause instanceof RedisConnectionException
+                    || cause instanceof RedisCommandTimeoutException
+                    || cause instanceof TimeoutException
+                    || cause instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,126 @@
+package com.citi.tts.apibrick.core.datasource.resilience;
+
+import com.citi.tts.apibrick.common.util.ConfigValueUtil;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Resilience Options - Circuit breaker and bulkhead settings of a data source
+ * <p>
+ * Configured under "resilience" in the data source configuration (all optional):
+ * {
+ *   "resilience": {
+ *     "enabled": true,
+ *     "windowSize": 50,
+ *     "minimumCalls": 20,
+ *     "failureRateThreshold": 50,
+ *     "slowCallMillis": 2000,
+ *     "slowCallRateThreshold": 80,
+ *     "openSeconds": 30,
+ *     "halfOpenCalls": 3,
+ *     "maxConcurrent": 100
+ *   }
+ * }
+ * - windowSize: number of most recent queries the failure and slow-call rates are computed over
+ * - minimumCalls: queries needed in the window before the circuit may open
+ * - failureRateThreshold: percentage of connectivity failures that opens the circuit
+ * - slowCallMillis / slowCallRateThreshold: percentage of queries slower than slowCallMillis
+ *   that opens the circuit
+ * - openSeconds: how long an open circuit rejects queries before probing
+ * - halfOpenCalls: probe queries allowed while half-open; all must succeed to close the circuit
+ * - maxConcurrent: queries allowed in flight at once (bulkhead), further queries fail fast
+ */
+public class ResilienceOptions {
+
+    private final boolean enabled;
+    private final int windowSize;
+    private final int minimumCalls;
+    private final int failureRateThreshold;
+    private final Duration slowCallDuration;
+    private final int slowCallRateThreshold;
+    private final Duration openDuration;
+    private final int halfOpenCalls;
+    private final int maxConcurrent;
+
+    public ResilienceOptions(boolean enabled, int windowSize, int minimumCalls, int failureRateThreshold,
+                             Duration slowCallDuration, int slowCallRateThreshold, Duration openDuration,
+                             int halfOpenCalls, int maxConcurrent) {
+        if (windowSize <= 0 || minimumCalls <= 0 || halfOpenCalls <= 0 || maxConcurrent <= 0) {
+            throw new IllegalArgumentException(
+                    "windowSize, minimumCalls, halfOpenCalls and maxConcurrent must be positive");
+        }
+        if (failureRateThreshold <= 0 || failureRateThreshold > 100
+                || slowCallRateThreshold <= 0 || slowCallRateThreshold > 100) {
+            throw new IllegalArgumentException("Rate thresholds must be between 1 and 100");
+        }
+        this.enabled = enabled;
+        this.windowSize = windowSize;
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallDuration = slowCallDuration;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.openDuration = openDuration;
+        this.halfOpenCalls = halfOpenCalls;
+        this.maxConcurrent = maxConcurrent;
+    }
+
+    /**
+     * Read resilience options from data source configuration, falling back to defaults
+     *
+     * @param config Data source configuration
+     * @return ResilienceOptions instance
+     */
+    @SuppressWarnings("unchecked")
+    public static ResilienceOptions from(Map<String, Object> config) {
+        Map<String, Object> resilience = config != null && config.get("resilience") instanceof Map
+                ? (Map<String, Object>) config.get("resilience")
+                : Map.of();
+        return new ResilienceOptions(
+                ConfigValueUtil.toBoolean(resilience.get("enabled"), true),
+                ConfigValueUtil.toInt(resilience.get("windowSize"), 50),
+                ConfigValueUtil.toInt(resilience.get("minimumCalls"), 20),
+                ConfigValueUtil.toInt(resilience.get("failureRateThreshold"), 50),
+                Duration.ofMillis(ConfigValueUtil.toLong(resilience.get("slowCallMillis"), 2000)),
+                ConfigValueUtil.toInt(resilience.get("slowCallRateThreshold"), 80),
+                Duration.ofSeconds(ConfigValueUtil.toLong(resilience.get("openSeconds"), 30)),
+                ConfigValueUtil.toInt(resilience.get("halfOpenCalls"), 3),
+                ConfigValueUtil.toInt(resilience.get("maxConcurrent"), 100));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    public int getMinimumCalls() {
+        return minimumCalls;
+    }
+
+    public int getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    public Duration getSlowCallDuration() {
+        return slowCallDuration;
+    }
+
+    public int getSlowCallRateThreshold() {
+        return slowCallRateThreshold;
+    }
+
+    public Duration getOpenDuration() {
+        return openDuration;
+    }
+
+    public int getHalfOpenCalls() {
+        return halfOpenCalls;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+}
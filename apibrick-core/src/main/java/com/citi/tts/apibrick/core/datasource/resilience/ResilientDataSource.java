@@ -0,0 +1,225 @@
+package com.citi.tts.apibrick.core.datasource.resilience;
+
+import com.citi.tts.apibrick.common.enums.DataSourceType;
+import com.citi.tts.apibrick.common.exception.DataSourceUnavailableException;
+import com.citi.tts.apibrick.core.datasource.DataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Resilient Data Source - Circuit breaker and bulkhead around a data source
+ * <p>
+ * Queries are rejected with DataSourceUnavailableException, without touching the connection
+ * pool, while the circuit is open (see CircuitBreaker) or when maxConcurrent queries are
+ * already in flight. A degraded data source then fails fast instead of holding every caller
+ * until the pool acquire timeout.
+ * <p>
+ * Metrics (global Micrometer registry, tags tenant and datasource):
+ * - apibrick.datasource.circuit.state: 0 closed, 1 half-open, 2 open
+ * - apibrick.datasource.inflight: queries in flight
+ * - apibrick.datasource.rejected: rejected queries (tag reason: CIRCUIT_OPEN, BULKHEAD_FULL)
+ */
+public class ResilientDataSource implements DataSource {
+
+    public static final String REASON_CIRCUIT_OPEN = "CIRCUIT_OPEN";
+    public static final String REASON_BULKHEAD_FULL = "BULKHEAD_FULL";
+
+    private final DataSource delegate;
+    private final String datasourceId;
+    private final ResilienceOptions options;
+    private final CircuitBreaker circuitBreaker;
+    private final LongSupplier nanoClock;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final Tags tags;
+    private final List<Meter> meters;
+
+    /**
+     * @param delegate     Initialized data source
+     * @param tenantId     Tenant ID
+     * @param datasourceId Data source configuration ID
+     * @param options      Resilience options
+     */
+    public ResilientDataSource(DataSource delegate, String tenantId, String datasourceId, ResilienceOptions options) {
+        this(delegate, tenantId, datasourceId, options, System::nanoTime);
+    }
+
+    ResilientDataSource(DataSource delegate, String tenantId, String datasourceId,
+                        ResilienceOptions options, LongSupplier nanoClock) {
+        this.delegate = delegate;
+        this.datasourceId = datasourceId;
+        this.options = options;
+        this.nanoClock = nanoClock;
+        this.circuitBreaker = new CircuitBreaker(tenantId + ":" + datasourceId, options, nanoClock);
+        this.tags = Tags.of("tenant", tenantId, "datasource", datasourceId);
+        this.meters = List.of(
+                Gauge.builder("apibrick.datasource.circuit.state", circuitBreaker,
+                                breaker -> switch (breaker.getState()) {
+                                    case CLOSED -> 0;
+                                    case HALF_OPEN -> 1;
+                                    case OPEN -> 2;
+                                })
+                        .description("Data source circuit breaker state (0 closed, 1 half-open, 2 open)")
+                        .tags(tags)
+                        .register(Metrics.globalRegistry),
+                Gauge.builder("apibrick.datasource.inflight", inFlight, AtomicInteger::get)
+                        .description("Data source queries in flight")
+                        .tags(tags)
+                        .register(Metrics.globalRegistry));
+    }
+
+    @Override
+    public Mono<Void> init(Map<String, Object> config, String tenantId, String env) {
+        return delegate.init(config, tenantId, env);
+    }
+
+    @Override
+    public Mono<Map<String, Object>> executeQuery(Map<String, Object> queryConfig) {
+        return guard(() -> delegate.executeQuery(queryConfig));
+    }
+
+    /**
+     * Writes share the bulkhead and circuit breaker with queries
+     */
+    @Override
+    public Mono<Map<String, Object>> executeWrite(Map<String, Object> writeConfig) {
+        return guard(() -> delegate.executeWrite(writeConfig));
+    }
+
+    private Mono<Map<String, Object>> guard(Supplier<Mono<Map<String, Object>>> execution) {
+        return Mono.defer(() -> {
+            DataSourceUnavailableException rejection = tryAcquire();
+            if (rejection != null) {
+                return Mono.error(rejection);
+            }
+            long start = nanoClock.getAsLong();
+            AtomicBoolean recorded = new AtomicBoolean();
+            return execution.get()
+                    .doOnSuccess(result -> release(start, null, recorded))
+                    .doOnError(error -> release(start, error, recorded))
+                    .doOnCancel(() -> cancel(recorded));
+        });
+    }
+
+    /**
+     * Streams are timed to their first row, so long result streams do not count as slow calls
+     */
+    @Override
+    public Flux<Map<String, Object>> streamQuery(Map<String, Object> queryConfig) {
+        return Flux.defer(() -> {
+            DataSourceUnavailableException rejection = tryAcquire();
+            if (rejection != null) {
+                return Flux.error(rejection);
+            }
+            long start = nanoClock.getAsLong();
+            long[] firstRow = {-1};
+            AtomicBoolean recorded = new AtomicBoolean();
+            return delegate.streamQuery(queryConfig)
+                    .doOnNext(row -> {
+                        if (firstRow[0] < 0) {
+                            firstRow[0] = nanoClock.getAsLong();
+                        }
+                    })
+                    .doOnError(error -> release(start, error, recorded))
+                    .doFinally(signal -> {
+                        if (signal == SignalType.CANCEL && firstRow[0] < 0) {
+                            cancel(recorded);
+                        } else if (signal != SignalType.ON_ERROR) {
+                            // Completed, or cancelled by the consumer after rows arrived
+                            long end = firstRow[0] >= 0 ? firstRow[0] : nanoClock.getAsLong();
+                            release(start, end, null, recorded);
+                        }
+                    });
+        });
+    }
+
+    private DataSourceUnavailableException tryAcquire() {
+        if (inFlight.incrementAndGet() > options.getMaxConcurrent()) {
+            inFlight.decrementAndGet();
+            return reject(REASON_BULKHEAD_FULL, "Data source " + datasourceId + " is at its limit of "
+                    + options.getMaxConcurrent() + " concurrent queries");
+        }
+        if (!circuitBreaker.tryAcquirePermission()) {
+            inFlight.decrementAndGet();
+            return reject(REASON_CIRCUIT_OPEN, "Data source " + datasourceId
+                    + " is unavailable (circuit open), query rejected");
+        }
+        return null;
+    }
+
+    private DataSourceUnavailableException reject(String reason, String message) {
+        Counter.builder("apibrick.datasource.rejected")
+                .description("Queries rejected by circuit breaker or bulkhead")
+                .tags(tags.and("reason", reason))
+                .register(Metrics.globalRegistry)
+                .increment();
+        return new DataSourceUnavailableException(datasourceId, reason, message);
+    }
+
+    private void release(long start, Throwable error, AtomicBoolean recorded) {
+        release(start, nanoClock.getAsLong(), error, recorded);
+    }
+
+    private void release(long start, long end, Throwable error, AtomicBoolean recorded) {
+        if (recorded.compareAndSet(false, true)) {
+            inFlight.decrementAndGet();
+            circuitBreaker.onResult(end - start, error);
+        }
+    }
+
+    private void cancel(AtomicBoolean recorded) {
+        if (recorded.compareAndSet(false, true)) {
+            inFlight.decrementAndGet();
+            circuitBreaker.releasePermission();
+        }
+    }
+
+    @Override
+    public Mono<Boolean> testConnection() {
+        return delegate.testConnection();
+    }
+
+    @Override
+    public void close() {
+        meters.forEach(Metrics.globalRegistry::remove);
+        delegate.close();
+    }
+
+    @Override
+    public DataSourceType getType() {
+        return delegate.getType();
+    }
+
+    /**
+     * Data source this one guards
+     */
+    public DataSource getDelegate() {
+        return delegate;
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    /**
+     * Queries admitted by the bulkhead, or the work in progress the delegate reports if more
+     * (e.g. connections held by flows between steps)
+     */
+    @Override
+    public int getInFlightCount() {
+        return Math.max(inFlight.get(), delegate.getInFlightCount());
+    }
+}
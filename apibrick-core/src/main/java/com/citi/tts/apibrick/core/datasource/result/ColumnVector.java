@@ -0,0 +1,270 @@
+package com.citi.tts.apibrick.core.datasource.result;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Column Vector - Storage for the values of one result set column
+ * <p>
+ * Numeric columns are kept in primitive arrays with a null bitmap, strings are
+ * dictionary-encoded, anything else falls back to an object array.
+ * A typed vector rejects values of another type so the builder can promote it
+ * to an object vector.
+ */
+abstract class ColumnVector {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    protected int size;
+
+    /**
+     * Create a vector suited to the first non-null value of a column
+     */
+    static ColumnVector forValue(Object value) {
+        if (value instanceof Integer) {
+            return new IntVector();
+        }
+        if (value instanceof Long) {
+            return new LongVector();
+        }
+        if (value instanceof Double) {
+            return new DoubleVector();
+        }
+        if (value instanceof String) {
+            return new DictionaryStringVector();
+        }
+        return new ObjectVector();
+    }
+
+    /**
+     * Append a value
+     *
+     * @return false if the value does not fit this vector's type (nothing is appended)
+     */
+    abstract boolean append(Object value);
+
+    abstract Object get(int row);
+
+    final int size() {
+        return size;
+    }
+
+    /**
+     * Copy this vector into an object vector that accepts any value
+     */
+    ObjectVector toObjectVector() {
+        ObjectVector copy = new ObjectVector();
+        for (int i = 0; i < size; i++) {
+            copy.append(get(i));
+        }
+        return copy;
+    }
+
+    /**
+     * Trim backing arrays once the result set is complete
+     */
+    abstract void trim();
+
+    static int grow(int currentLength, int required) {
+        return Math.max(required, Math.max(INITIAL_CAPACITY, currentLength + (currentLength >> 1)));
+    }
+
+    /**
+     * Base class for primitive vectors with a null bitmap
+     */
+    private abstract static class PrimitiveVector extends ColumnVector {
+
+        protected final BitSet nulls = new BitSet();
+
+        @Override
+        final boolean append(Object value) {
+            if (value == null) {
+                ensureCapacity(size + 1);
+                nulls.set(size++);
+                return true;
+            }
+            if (!accepts(value)) {
+                return false;
+            }
+            ensureCapacity(size + 1);
+            set(size++, value);
+            return true;
+        }
+
+        @Override
+        final Object get(int row) {
+            return nulls.get(row) ? null : getValue(row);
+        }
+
+        abstract boolean accepts(Object value);
+
+        abstract void ensureCapacity(int capacity);
+
+        abstract void set(int row, Object value);
+
+        abstract Object getValue(int row);
+    }
+
+    static final class IntVector extends PrimitiveVector {
+
+        private int[] values = new int[0];
+
+        @Override
+        boolean accepts(Object value) {
+            return value instanceof Integer;
+        }
+
+        @Override
+        void ensureCapacity(int capacity) {
+            if (capacity > values.length) {
+                values = Arrays.copyOf(values, grow(values.length, capacity));
+            }
+        }
+
+        @Override
+        void set(int row, Object value) {
+            values[row] = (Integer) value;
+        }
+
+        @Override
+        Object getValue(int row) {
+            return values[row];
+        }
+
+        @Override
+        void trim() {
+            values = Arrays.copyOf(values, size);
+        }
+    }
+
+    static final class LongVector extends PrimitiveVector {
+
+        private long[] values = new long[0];
+
+        @Override
+        boolean accepts(Object value) {
+            return value instanceof Long;
+        }
+
+        @Override
+        void ensureCapacity(int capacity) {
+            if (capacity > values.length) {
+                values = Arrays.copyOf(values, grow(values.length, capacity));
+            }
+        }
+
+        @Override
+        void set(int row, Object value) {
+            values[row] = (Long) value;
+        }
+
+        @Override
+        Object getValue(int row) {
+            return values[row];
+        }
+
+        @Override
+        void trim() {
+            values = Arrays.copyOf(values, size);
+        }
+    }
+
+    static final class DoubleVector extends PrimitiveVector {
+
+        private double[] values = new double[0];
+
+        @Override
+        boolean accepts(Object value) {
+            return value instanceof Double;
+        }
+
+        @Override
+        void ensureCapacity(int capacity) {
+            if (capacity > values.length) {
+                values = Arrays.copyOf(values, grow(values.length, capacity));
+            }
+        }
+
+        @Override
+        void set(int row, Object value) {
+            values[row] = (Double) value;
+        }
+
+        @Override
+        Object getValue(int row) {
+            return values[row];
+        }
+
+        @Override
+        void trim() {
+            values = Arrays.copyOf(values, size);
+        }
+    }
+
+    /**
+     * Dictionary-encoded strings: each distinct value is stored once, rows hold an int code
+     * (-1 for null). Low-cardinality columns such as status or country codes shrink the most.
+     */
+    static final class DictionaryStringVector extends ColumnVector {
+
+        private int[] codes = new int[0];
+        private final List<String> dictionary = new ArrayList<>();
+        private Map<String, Integer> lookup = new HashMap<>();
+
+        @Override
+        boolean append(Object value) {
+            if (value != null && !(value instanceof String)) {
+                return false;
+            }
+            if (size + 1 > codes.length) {
+                codes = Arrays.copyOf(codes, grow(codes.length, size + 1));
+            }
+            codes[size++] = value == null ? -1 : lookup.computeIfAbsent((String) value, key -> {
+                dictionary.add(key);
+                return dictionary.size() - 1;
+            });
+            return true;
+        }
+
+        @Override
+        Object get(int row) {
+            int code = codes[row];
+            return code < 0 ? null : dictionary.get(code);
+        }
+
+        @Override
+        void trim() {
+            codes = Arrays.copyOf(codes, size);
+            // The lookup table is only needed while appending
+            lookup = null;
+        }
+    }
+
+    static final class ObjectVector extends ColumnVector {
+
+        private Object[] values = new Object[0];
+
+        @Override
+        boolean append(Object value) {
+            if (size + 1 > values.length) {
+                values = Arrays.copyOf(values, grow(values.length, size + 1));
+            }
+            values[size++] = value;
+            return true;
+        }
+
+        @Override
+        Object get(int row) {
+            return values[row];
+        }
+
+        @Override
+        void trim() {
+            values = Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.citi.tts.apibrick.core.datasource.result;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * Columnar Result Set - Compact in-memory representation of a query result
+ * <p>
+ * Column names are stored once in a shared schema and values are kept per column:
+ * - Integer/Long/Double columns in primitive arrays with a null bitmap (no boxing per row)
+ * - String columns dictionary-encoded
+ * - Other types in object arrays
+ * <p>
+ * The result set is a List of Map rows, so ResponseGenerator (SpEL), DataConverter and
+ * Groovy scripts consume it like the List<Map<String, Object>> they received before.
+ * Rows are lightweight views created on access; writes to a row are kept in an overlay of the
+ * result set and never modify the columns. Results handed to several callers (cache, coalesced
+ * queries) are given to each as a copy() with its own overlays (see SharedResults).
+ */
+public class ColumnarResultSet extends AbstractList<Map<String, Object>> implements RandomAccess {
+
+    private static final ColumnarResultSet EMPTY = new ColumnarResultSet(new String[0], new ColumnVector[0], 0);
+
+    private final String[] columnNames;
+    private final Map<String, Integer> columnIndex;
+    private final ColumnVector[] columns;
+    private final int rowCount;
+
+    // Rows modified through their map view, copied on first write
+    private Map<Integer, Map<String, Object>> overlays;
+
+    private ColumnarResultSet(String[] columnNames, ColumnVector[] columns, int rowCount) {
+        this.columnNames = columnNames;
+        this.columns = columns;
+        this.rowCount = rowCount;
+        this.columnIndex = HashMap.newHashMap(columnNames.length);
+        for (int i = 0; i < columnNames.length; i++) {
+            columnIndex.putIfAbsent(columnNames[i], i);
+        }
+    }
+
+    private ColumnarResultSet(ColumnarResultSet source) {
+        this.columnNames = source.columnNames;
+        this.columns = source.columns;
+        this.rowCount = source.rowCount;
+        this.columnIndex = source.columnIndex;
+    }
+
+    /**
+     * Create a builder for a result set
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static ColumnarResultSet empty() {
+        return EMPTY;
+    }
+
+    @Override
+    public Map<String, Object> get(int row) {
+        if (row < 0 || row >= rowCount) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of bounds for size " + rowCount);
+        }
+        return new RowView(this, row);
+    }
+
+    @Override
+    public int size() {
+        return rowCount;
+    }
+
+    /**
+     * Copy sharing the column data, with its own row modifications
+     * Writes to rows of the copy are not seen by this result set, and the other way round
+     *
+     * @return Copy of the result set
+     */
+    public ColumnarResultSet copy() {
+        if (rowCount == 0) {
+            return this;
+        }
+        ColumnarResultSet copy = new ColumnarResultSet(this);
+        if (overlays != null) {
+            copy.overlays = HashMap.newHashMap(overlays.size());
+            overlays.forEach((row, values) -> copy.overlays.put(row, new HashMap<>(values)));
+        }
+        return copy;
+    }
+
+    /**
+     * Get column names in result order
+     */
+    public List<String> getColumnNames() {
+        return Collections.unmodifiableList(Arrays.asList(columnNames));
+    }
+
+    /**
+     * Get a single cell value
+     *
+     * @param row    Row index
+     * @param column Column name
+     * @return Cell value or null if the column does not exist
+     */
+    public Object getValue(int row, String column) {
+        int index = columnIndex(column);
+        return index < 0 ? null : columns[index].get(row);
+    }
+
+    int columnIndex(Object column) {
+        Integer index = columnIndex.get(column);
+        return index != null ? index : -1;
+    }
+
+    int columnCount() {
+        return columnNames.length;
+    }
+
+    String columnName(int index) {
+        return columnNames[index];
+    }
+
+    Object value(int row, int column) {
+        return columns[column].get(row);
+    }
+
+    Map<String, Object> overlay(int row) {
+        return overlays != null ? overlays.get(row) : null;
+    }
+
+    Map<String, Object> materialize(int row) {
+        if (overlays == null) {
+            overlays = new HashMap<>();
+        }
+        return overlays.computeIfAbsent(row, r -> {
+            Map<String, Object> copy = HashMap.newHashMap(columnNames.length);
+            for (int i = 0; i < columnNames.length; i++) {
+                copy.put(columnNames[i], columns[i].get(r));
+            }
+            return copy;
+        });
+    }
+
+    /**
+     * Builder - Appends rows column by column
+     * Column types are chosen from the first non-null value and promoted to a generic
+     * object column if a later value has a different type
+     */
+    public static class Builder {
+
+        private String[] columnNames;
+        private ColumnVector[] columns;
+        private int rowCount;
+
+        /**
+         * Append a row
+         *
+         * @param names  Column names (the same array for every row of a result)
+         * @param values Row values in column order
+         * @return this builder
+         */
+        public Builder addRow(String[] names, Object[] values) {
+            if (columnNames == null) {
+                columnNames = names.clone();
+                columns = new ColumnVector[names.length];
+            } else if (names.length != columnNames.length) {
+                throw new IllegalArgumentException("Row has " + names.length
+                        + " columns, result set has " + columnNames.length);
+            }
+
+            for (int i = 0; i < values.length; i++) {
+                append(i, values[i]);
+            }
+            rowCount++;
+            return this;
+        }
+
+        /**
+         * Append a row given as a map
+         * Columns are fixed by the first row; keys missing from later rows are stored as null
+         */
+        public Builder addRow(Map<String, Object> row) {
+            if (columnNames == null) {
+                String[] names = row.keySet().toArray(new String[0]);
+                return addRow(names, Arrays.stream(names).map(row::get).toArray());
+            }
+            Object[] values = new Object[columnNames.length];
+            for (int i = 0; i < columnNames.length; i++) {
+                values[i] = row.get(columnNames[i]);
+            }
+            return addRow(columnNames, values);
+        }
+
+        private void append(int column, Object value) {
+            ColumnVector vector = columns[column];
+            if (vector == null) {
+                if (value == null) {
+                    // Column type unknown until the first non-null value, leading nulls are back-filled
+                    return;
+                }
+                vector = ColumnVector.forValue(value);
+                for (int i = 0; i < rowCount; i++) {
+                    vector.append(null);
+                }
+                columns[column] = vector;
+            }
+            if (!vector.append(value)) {
+                vector = vector.toObjectVector();
+                vector.append(value);
+                columns[column] = vector;
+            }
+        }
+
+        public int size() {
+            return rowCount;
+        }
+
+        public ColumnarResultSet build() {
+            if (columnNames == null) {
+                return EMPTY;
+            }
+            for (int i = 0; i < columns.length; i++) {
+                if (columns[i] == null) {
+                    columns[i] = new ColumnVector.ObjectVector();
+                }
+                // Columns that ended with nulls are padded to the row count
+                while (columns[i].size() < rowCount) {
+                    columns[i].append(null);
+                }
+                columns[i].trim();
+            }
+            return new ColumnarResultSet(columnNames, columns, rowCount);
+        }
+    }
+}
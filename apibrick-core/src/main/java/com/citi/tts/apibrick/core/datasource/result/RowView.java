@@ -0,0 +1,97 @@
+package com.citi.tts.apibrick.core.datasource.result;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Row View - Map view over one row of a ColumnarResultSet
+ * <p>
+ * Reads go straight to the column vectors. Writes (e.g. from Groovy scripts) copy the row
+ * into an overlay held by the result set, so the columns are never modified and the
+ * change is visible to every later view of the same row.
+ */
+class RowView extends AbstractMap<String, Object> {
+
+    private final ColumnarResultSet resultSet;
+    private final int row;
+
+    RowView(ColumnarResultSet resultSet, int row) {
+        this.resultSet = resultSet;
+        this.row = row;
+    }
+
+    @Override
+    public Object get(Object key) {
+        Map<String, Object> overlay = resultSet.overlay(row);
+        if (overlay != null) {
+            return overlay.get(key);
+        }
+        int index = resultSet.columnIndex(key);
+        return index < 0 ? null : resultSet.value(row, index);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        Map<String, Object> overlay = resultSet.overlay(row);
+        if (overlay != null) {
+            return overlay.containsKey(key);
+        }
+        return resultSet.columnIndex(key) >= 0;
+    }
+
+    @Override
+    public int size() {
+        Map<String, Object> overlay = resultSet.overlay(row);
+        return overlay != null ? overlay.size() : resultSet.columnCount();
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        return resultSet.materialize(row).put(key, value);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        return resultSet.materialize(row).remove(key);
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        Map<String, Object> overlay = resultSet.overlay(row);
+        if (overlay != null) {
+            return overlay.entrySet();
+        }
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new Iterator<>() {
+                    private int column;
+
+                    @Override
+                    public boolean hasNext() {
+                        return column < resultSet.columnCount();
+                    }
+
+                    @Override
+                    public Entry<String, Object> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        int current = column++;
+                        return new SimpleImmutableEntry<>(resultSet.columnName(current),
+                                resultSet.value(row, current));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return resultSet.columnCount();
+            }
+        };
+    }
+}
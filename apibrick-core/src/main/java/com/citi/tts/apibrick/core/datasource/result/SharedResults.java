@@ -0,0 +1,52 @@
+package com.citi.tts.apibrick.core.datasource.result;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shared Results - Per-caller copies of query results shared between callers
+ * <p>
+ * Cached and coalesced query results are handed to several callers, which may modify them
+ * (e.g. Groovy scripts writing into rows). Each caller receives its own copy:
+ * - maps and lists are copied
+ * - a ColumnarResultSet shares its column data and gets its own row modifications
+ * - other values (strings, numbers, dates) are shared as is
+ */
+public final class SharedResults {
+
+    private SharedResults() {
+    }
+
+    /**
+     * Copy a shared query result for one caller
+     *
+     * @param result Shared query result
+     * @return Copy the caller may modify
+     */
+    public static Map<String, Object> copyOf(Map<String, Object> result) {
+        return copyMap(result);
+    }
+
+    private static Map<String, Object> copyMap(Map<?, ?> map) {
+        Map<String, Object> copy = HashMap.newHashMap(map.size());
+        map.forEach((key, value) -> copy.put(String.valueOf(key), copyValue(value)));
+        return copy;
+    }
+
+    private static Object copyValue(Object value) {
+        if (value instanceof ColumnarResultSet rows) {
+            return rows.copy();
+        }
+        if (value instanceof Map<?, ?> map) {
+            return copyMap(map);
+        }
+        if (value instanceof List<?> list) {
+            List<Object> copy = new ArrayList<>(list.size());
+            list.forEach(element -> copy.add(copyValue(element)));
+            return copy;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,297 @@
+package com.citi.tts.apibrick.core.datasource.routing;
+
+import com.citi.tts.apibrick.core.datasource.resilience.DataSourceErrors;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Replica Router - Load-balances read queries across read replicas
+ * <p>
+ * Each replica has its own connection pool. A replica is picked per query by the configured
+ * strategy (see ReplicaRoutingOptions) among the replicas that are not ejected:
+ * - consecutive connection failures (failureThreshold) eject a replica for ejectSeconds
+ * - an average query latency above maxLatencyMillis ejects a replica for ejectSeconds
+ * An ejected replica is readmitted with fresh statistics once ejectSeconds have passed.
+ * Latency and failures are recorded per query (see observe), not per connection, since a flow
+ * may hold one connection across several queries and the time in between.
+ * Reads go to the primary when no replica is available or the chosen replica cannot be reached.
+ * <p>
+ * SQL errors (syntax, constraint, ...) are not held against a replica.
+ */
+public class ReplicaRouter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRouter.class);
+
+    // Weight of the newest sample in the average latency
+    private static final double LATENCY_WEIGHT = 0.3;
+    // Samples needed before the average latency may eject a replica
+    private static final int MIN_LATENCY_SAMPLES = 5;
+
+    private final List<Replica> replicas;
+    private final ReplicaRoutingOptions options;
+    private final LongSupplier nanoClock;
+
+    // Map: connection handed out -> replica
+    private final Map<Connection, Replica> leases = new ConcurrentHashMap<>();
+
+    /**
+     * @param replicas Replica name (host:port) -> replica connection pool
+     * @param options  Routing options
+     */
+    public ReplicaRouter(Map<String, ? extends ConnectionFactory> replicas, ReplicaRoutingOptions options) {
+        this(replicas, options, System::nanoTime);
+    }
+
+    ReplicaRouter(Map<String, ? extends ConnectionFactory> replicas,
+                  ReplicaRoutingOptions options,
+                  LongSupplier nanoClock) {
+        this.replicas = new ArrayList<>(replicas.size());
+        replicas.forEach((name, connectionFactory) -> this.replicas.add(new Replica(name, connectionFactory)));
+        this.options = options;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Acquire a connection to a replica, falling back to the primary
+     * The connection must be handed back through release()
+     *
+     * @param primary Acquires a primary connection
+     * @return Mono with a replica or primary connection
+     */
+    public Mono<Connection> acquire(Supplier<Publisher<? extends Connection>> primary) {
+        return Mono.defer(() -> {
+            Replica replica = select();
+            if (replica == null) {
+                return Mono.from(primary.get());
+            }
+            replica.inFlight.incrementAndGet();
+            return Mono.<Connection>from(replica.connectionFactory.create())
+                    .doOnNext(connection -> leases.put(connection, replica))
+                    .doOnCancel(replica.inFlight::decrementAndGet)
+                    .onErrorResume(error -> {
+                        replica.inFlight.decrementAndGet();
+                        recordFailure(replica, error);
+                        logger.warn("Read replica unavailable, reading from primary. replica={}, error={}",
+                                replica.name, error.toString());
+                        return Mono.from(primary.get());
+                    });
+        });
+    }
+
+    /**
+     * Time a query on a connection obtained from acquire and record its outcome against the replica
+     * Cancelled queries are not recorded.
+     *
+     * @param connection Connection obtained from acquire
+     * @param query      Query running on the connection
+     * @return Query results
+     */
+    public <T> Flux<T> observe(Connection connection, Publisher<T> query) {
+        Replica replica = leases.get(connection);
+        if (replica == null) {
+            return Flux.from(query);
+        }
+        return Flux.defer(() -> {
+            long start = nanoClock.getAsLong();
+            return Flux.from(query)
+                    .doOnComplete(() -> recordSuccess(replica, nanoClock.getAsLong() - start))
+                    .doOnError(error -> {
+                        if (DataSourceErrors.isConnectivityError(error)) {
+                            recordFailure(replica, error);
+                        }
+                    });
+        });
+    }
+
+    /**
+     * Close a connection obtained from acquire
+     *
+     * @param connection Connection obtained from acquire
+     * @return Publisher completing when the connection is closed
+     */
+    public Publisher<Void> release(Connection connection) {
+        Replica replica = leases.remove(connection);
+        if (replica != null) {
+            replica.inFlight.decrementAndGet();
+        }
+        return connection.close();
+    }
+
+    /**
+     * Connections of all replicas being acquired or held
+     */
+    public int getInFlightCount() {
+        int inFlight = 0;
+        for (Replica replica : replicas) {
+            inFlight += replica.inFlight.get();
+        }
+        return inFlight;
+    }
+
+    /**
+     * Current state of each replica, for monitoring
+     */
+    public List<Map<String, Object>> getReplicaStatus() {
+        long now = nanoClock.getAsLong();
+        List<Map<String, Object>> status = new ArrayList<>(replicas.size());
+        for (Replica replica : replicas) {
+            Map<String, Object> state = new LinkedHashMap<>();
+            synchronized (replica) {
+                state.put("replica", replica.name);
+                state.put("available", !replica.ejected || now - replica.ejectedUntil >= 0);
+                state.put("inFlight", replica.inFlight.get());
+                state.put("latencyMillis", replica.samples > 0 ? Math.round(replica.latencyMillis) : null);
+                state.put("consecutiveFailures", replica.failures);
+            }
+            status.add(state);
+        }
+        return status;
+    }
+
+    /**
+     * Dispose the replica connection pools
+     */
+    public void close() {
+        for (Replica replica : replicas) {
+            if (replica.connectionFactory instanceof Disposable disposable) {
+                disposable.dispose();
+            }
+        }
+    }
+
+    /**
+     * Pick a replica by the configured strategy, null if none is available
+     */
+    Replica select() {
+        long now = nanoClock.getAsLong();
+        List<Replica> available = new ArrayList<>(replicas.size());
+        for (Replica replica : replicas) {
+            if (replica.isAvailable(now)) {
+                available.add(replica);
+            }
+        }
+        int count = available.size();
+        if (count <= 1) {
+            return count == 0 ? null : available.get(0);
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (options.getStrategy() == ReplicaRoutingOptions.Strategy.LATENCY) {
+            // Power of two choices: spreads load while preferring fast, idle replicas
+            int first = random.nextInt(count);
+            int second = (first + 1 + random.nextInt(count - 1)) % count;
+            Replica a = available.get(first);
+            Replica b = available.get(second);
+            return a.cost() <= b.cost() ? a : b;
+        }
+
+        // Least in-flight queries, ties spread by a random starting point
+        int start = random.nextInt(count);
+        Replica best = null;
+        for (int i = 0; i < count; i++) {
+            Replica candidate = available.get((start + i) % count);
+            if (best == null || candidate.inFlight.get() < best.inFlight.get()) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    private void recordSuccess(Replica replica, long elapsedNanos) {
+        double millis = elapsedNanos / 1_000_000.0;
+        synchronized (replica) {
+            replica.failures = 0;
+            replica.latencyMillis = replica.samples == 0
+                    ? millis
+                    : LATENCY_WEIGHT * millis + (1 - LATENCY_WEIGHT) * replica.latencyMillis;
+            replica.samples++;
+            if (options.getMaxLatency() != null && replica.samples >= MIN_LATENCY_SAMPLES
+                    && replica.latencyMillis > options.getMaxLatency().toMillis()) {
+                eject(replica, "average latency " + Math.round(replica.latencyMillis) + "ms");
+            }
+        }
+    }
+
+    private void recordFailure(Replica replica, Throwable error) {
+        synchronized (replica) {
+            replica.failures++;
+            if (replica.failures >= options.getFailureThreshold()) {
+                eject(replica, replica.failures + " consecutive failures, last: " + error);
+            }
+        }
+    }
+
+    // Called while holding the replica lock
+    private void eject(Replica replica, String reason) {
+        if (!replica.ejected) {
+            replica.ejectedUntil = nanoClock.getAsLong() + options.getEjectDuration().toNanos();
+            replica.ejected = true;
+            logger.warn("Read replica ejected for {}s. replica={}, reason={}",
+                    options.getEjectDuration().toSeconds(), replica.name, reason);
+        }
+    }
+
+    static final class Replica {
+        private final String name;
+        private final ConnectionFactory connectionFactory;
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        // Written while holding the lock on this replica
+        private int failures;
+        private int samples;
+        private long ejectedUntil;
+        // Also read without the lock on the routing path
+        private volatile double latencyMillis;
+        private volatile boolean ejected;
+
+        private Replica(String name, ConnectionFactory connectionFactory) {
+            this.name = name;
+            this.connectionFactory = connectionFactory;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        private boolean isAvailable(long now) {
+            if (!ejected) {
+                return true;
+            }
+            synchronized (this) {
+                if (!ejected) {
+                    return true;
+                }
+                if (now - ejectedUntil < 0) {
+                    return false;
+                }
+                // Readmit with fresh statistics
+                ejected = false;
+                failures = 0;
+                samples = 0;
+                latencyMillis = 0;
+                logger.info("Read replica readmitted. replica={}", name);
+                return true;
+            }
+        }
+
+        private double cost() {
+            return latencyMillis * (inFlight.get() + 1);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.citi.tts.apibrick.core.datasource.routing;
+
+import com.citi.tts.apibrick.common.util.ConfigValueUtil;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Replica Routing Options - Data source settings for routing reads to replicas
+ * <p>
+ * Configured under "readRouting" in the data source configuration:
+ * {
+ *   "readRouting": {
+ *     "strategy": "LEAST_PENDING",
+ *     "failureThreshold": 3,
+ *     "maxLatencyMillis": 500,
+ *     "ejectSeconds": 30
+ *   }
+ * }
+ * - strategy: LEAST_PENDING (default) picks the replica with the fewest in-flight queries,
+ *   LATENCY picks the better of two random replicas by average latency x in-flight queries
+ * - failureThreshold: consecutive connection failures that eject a replica (default 3)
+ * - maxLatencyMillis: average query latency above which a replica is ejected (default 0 = never)
+ * - ejectSeconds: how long an ejected replica receives no reads (default 30)
+ */
+public class ReplicaRoutingOptions {
+
+    public static final int DEFAULT_FAILURE_THRESHOLD = 3;
+    public static final long DEFAULT_EJECT_SECONDS = 30;
+
+    public enum Strategy {
+        LEAST_PENDING,
+        LATENCY
+    }
+
+    private final Strategy strategy;
+    private final int failureThreshold;
+    private final Duration maxLatency;
+    private final Duration ejectDuration;
+
+    public ReplicaRoutingOptions(Strategy strategy, int failureThreshold, Duration maxLatency, Duration ejectDuration) {
+        if (failureThreshold <= 0) {
+            throw new IllegalArgumentException("Read routing failureThreshold must be positive");
+        }
+        if (ejectDuration == null || ejectDuration.isNegative()) {
+            throw new IllegalArgumentException("Read routing ejectSeconds must not be negative");
+        }
+        this.strategy = strategy != null ? strategy : Strategy.LEAST_PENDING;
+        this.failureThreshold = failureThreshold;
+        this.maxLatency = maxLatency;
+        this.ejectDuration = ejectDuration;
+    }
+
+    /**
+     * Read routing options from data source configuration, falling back to defaults
+     *
+     * @param config Data source configuration
+     * @return ReplicaRoutingOptions instance
+     */
+    @SuppressWarnings("unchecked")
+    public static ReplicaRoutingOptions from(Map<String, Object> config) {
+        Map<String, Object> routing = config != null && config.get("readRouting") instanceof Map
+                ? (Map<String, Object>) config.get("readRouting")
+                : Map.of();
+        Strategy strategy;
+        try {
+            strategy = Strategy.valueOf(String.valueOf(routing.getOrDefault("strategy", Strategy.LEAST_PENDING))
+                    .trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported read routing strategy: " + routing.get("strategy"), e);
+        }
+        long maxLatencyMillis = ConfigValueUtil.toLong(routing.get("maxLatencyMillis"), 0);
+        return new ReplicaRoutingOptions(strategy,
+                ConfigValueUtil.toInt(routing.get("failureThreshold"), DEFAULT_FAILURE_THRESHOLD),
+                maxLatencyMillis > 0 ? Duration.ofMillis(maxLatencyMillis) : null,
+                Duration.ofSeconds(ConfigValueUtil.toLong(routing.get("ejectSeconds"), DEFAULT_EJECT_SECONDS)));
+    }
+
+    public Strategy getStrategy() {
+        return strategy;
+    }
+
+    public int getFailureThreshold() {
+        return failureThreshold;
+    }
+
+    /**
+     * Average latency above which a replica is ejected, null if latency never ejects
+     */
+    public Duration getMaxLatency() {
+        return maxLatency;
+    }
+
+    public Duration getEjectDuration() {
+        return ejectDuration;
+    }
+}
@@ -0,0 +1,134 @@
+package com.citi.tts.apibrick.core.datasource.write;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Statement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * Batch Writer - Executes a parameterized write for many rows in one transaction
+ * <p>
+ * Rows are bound to the same statement with Statement.add, batchSize rows per execution,
+ * so the driver sends one round trip per chunk instead of one per row:
+ * <p>
+ * INSERT INTO orders (id, status) VALUES (?, ?)   bound 500 times, executed once
+ * <p>
+ * All chunks of one write run on one connection inside a transaction; on error the
+ * transaction is rolled back and no row of the write is kept.
+ * <p>
+ * Nulls are bound with the parameter's configured null type, otherwise with the type of the
+ * parameter's non-null values in the same write, so the driver sends the column's type
+ * (e.g. INTEGER rather than VARCHAR, which PostgreSQL rejects for a non-text column).
+ * Parameters null in every row fall back to String.
+ */
+public class BatchWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchWriter.class);
+
+    private final ConnectionFactory connectionFactory;
+    private final UnaryOperator<String> nativeSql;
+
+    /**
+     * @param connectionFactory Connection factory (usually the data source primary pool)
+     * @param nativeSql         Converts "?" SQL to the driver's placeholder syntax
+     */
+    public BatchWriter(ConnectionFactory connectionFactory, UnaryOperator<String> nativeSql) {
+        this.connectionFactory = connectionFactory;
+        this.nativeSql = nativeSql;
+    }
+
+    /**
+     * Write rows, typing nulls by the non-null values of the same parameter
+     *
+     * @param sql       Write statement with "?" placeholders
+     * @param rows      One parameter list per row
+     * @param batchSize Rows bound to one statement execution
+     * @return Total number of rows updated
+     */
+    public Mono<Long> write(String sql, List<List<Object>> rows, int batchSize) {
+        return write(sql, rows, batchSize, List.of());
+    }
+
+    /**
+     * Write rows
+     *
+     * @param sql       Write statement with "?" placeholders
+     * @param rows      One parameter list per row
+     * @param batchSize Rows bound to one statement execution
+     * @param nullTypes Configured type to bind a null of each parameter as (entries may be null)
+     * @return Total number of rows updated
+     */
+    public Mono<Long> write(String sql, List<List<Object>> rows, int batchSize, List<Class<?>> nullTypes) {
+        if (rows.isEmpty()) {
+            return Mono.just(0L);
+        }
+        String statementSql = nativeSql.apply(sql);
+        Class<?>[] rowNullTypes = nullTypes(rows, nullTypes);
+        return Mono.usingWhen(
+                connectionFactory.create(),
+                connection -> Mono.from(connection.beginTransaction())
+                        .thenMany(Flux.range(0, (rows.size() + batchSize - 1) / batchSize)
+                                .concatMap(chunk -> execute(connection, statementSql, rows.subList(
+                                        chunk * batchSize, Math.min(rows.size(), (chunk + 1) * batchSize)),
+                                        rowNullTypes)))
+                        .reduce(0L, Long::sum)
+                        .flatMap(count -> Mono.from(connection.commitTransaction()).thenReturn(count))
+                        .onErrorResume(error -> Mono.from(connection.rollbackTransaction())
+                                .onErrorResume(rollbackError -> {
+                                    logger.warn("Write rollback failed: {}", rollbackError.getMessage());
+                                    return Mono.empty();
+                                })
+                                .then(Mono.<Long>error(error))),
+                Connection::close);
+    }
+
+    /**
+     * Type of each parameter position to bind nulls as: configured, else of the first non-null value
+     */
+    static Class<?>[] nullTypes(List<List<Object>> rows, List<Class<?>> configured) {
+        int width = rows.stream().mapToInt(List::size).max().orElse(0);
+        Class<?>[] types = new Class<?>[width];
+        for (int i = 0; i < Math.min(width, configured.size()); i++) {
+            types[i] = configured.get(i);
+        }
+        for (List<Object> row : rows) {
+            for (int i = 0; i < row.size(); i++) {
+                if (types[i] == null && row.get(i) != null) {
+                    types[i] = row.get(i).getClass();
+                }
+            }
+        }
+        for (int i = 0; i < width; i++) {
+            if (types[i] == null) {
+                types[i] = String.class;
+            }
+        }
+        return types;
+    }
+
+    private Flux<Long> execute(Connection connection, String sql, List<List<Object>> chunk, Class<?>[] nullTypes) {
+        Statement statement = connection.createStatement(sql);
+        for (int row = 0; row < chunk.size(); row++) {
+            if (row > 0) {
+                statement.add();
+            }
+            List<Object> parameters = chunk.get(row);
+            for (int i = 0; i < parameters.size(); i++) {
+                Object value = parameters.get(i);
+                if (value == null) {
+                    statement.bindNull(i, nullTypes[i]);
+                } else {
+                    statement.bind(i, value);
+                }
+            }
+        }
+        return Flux.from(statement.execute()).flatMap(Result::getRowsUpdated);
+    }
+}
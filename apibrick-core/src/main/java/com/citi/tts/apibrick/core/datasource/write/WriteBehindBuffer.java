@@ -0,0 +1,179 @@
+package com.citi.tts.apibrick.core.datasource.write;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Write-Behind Buffer - Acknowledges writes immediately and flushes them in batches
+ * <p>
+ * Rows of the same statement are buffered and written by a BatchWriter when maxBatchSize
+ * rows are collected or flushMillis have elapsed, whichever comes first; flushes of one
+ * statement run one at a time. Intended for high-volume ingestion where the caller does
+ * not need the write to be durable before it gets its response:
+ * - Writes are rejected with IllegalStateException once maxBufferedRows rows are waiting
+ * - A failed flush is logged and its rows are dropped (metric apibrick.datasource.writebehind.dropped)
+ * - close() flushes what is buffered before returning
+ */
+public class WriteBehindBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(WriteBehindBuffer.class);
+
+    private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(10);
+
+    private final BatchWriter writer;
+    private final String tenantId;
+    private final Counter droppedRows;
+
+    // Map: statement + buffering options -> flush pipeline
+    private final Map<BufferKey, Pipeline> pipelines = new ConcurrentHashMap<>();
+
+    /**
+     * @param writer   Writer executing the flushes
+     * @param tenantId Tenant ID, used in logs and metrics
+     */
+    public WriteBehindBuffer(BatchWriter writer, String tenantId) {
+        this.writer = writer;
+        this.tenantId = tenantId;
+        this.droppedRows = Counter.builder("apibrick.datasource.writebehind.dropped")
+                .description("Buffered rows dropped because their flush failed")
+                .tag("tenant", String.valueOf(tenantId))
+                .register(Metrics.globalRegistry);
+    }
+
+    /**
+     * Buffer rows of a write
+     *
+     * @param sql     Write statement with "?" placeholders
+     * @param rows    One parameter list per row
+     * @param options Buffering options
+     * @return Write result: accepted row count, buffered flag
+     */
+    public Mono<Map<String, Object>> submit(String sql, List<List<Object>> rows, WriteBehindOptions options) {
+        return submit(sql, rows, List.of(), options);
+    }
+
+    /**
+     * Buffer rows of a write
+     *
+     * @param sql       Write statement with "?" placeholders
+     * @param rows      One parameter list per row
+     * @param nullTypes Configured type to bind a null of each parameter as (see BatchWriter)
+     * @param options   Buffering options
+     * @return Write result: accepted row count, buffered flag
+     */
+    public Mono<Map<String, Object>> submit(String sql, List<List<Object>> rows, List<Class<?>> nullTypes,
+                                            WriteBehindOptions options) {
+        return Mono.fromCallable(() -> {
+            BufferKey key = new BufferKey(sql, nullTypes, options.getMaxBatchSize(), options.getFlushInterval(),
+                    options.getMaxBufferedRows());
+            pipelines.computeIfAbsent(key, k -> new Pipeline(sql, nullTypes, options)).offer(rows);
+
+            Map<String, Object> result = new HashMap<>();
+            result.put("accepted", rows.size());
+            result.put("buffered", true);
+            return result;
+        });
+    }
+
+    /**
+     * Rows accepted but not yet written
+     */
+    public int getBufferedRowCount() {
+        return pipelines.values().stream().mapToInt(pipeline -> pipeline.pending.get()).sum();
+    }
+
+    /**
+     * Stop accepting rows and flush what is buffered
+     * Blocks until the flushes completed or a timeout elapsed
+     */
+    public void close() {
+        pipelines.values().forEach(Pipeline::complete);
+        try {
+            Flux.fromIterable(pipelines.values())
+                    .flatMap(pipeline -> pipeline.drained)
+                    .then()
+                    .block(CLOSE_TIMEOUT);
+        } catch (Exception e) {
+            logger.warn("Write-behind buffer not drained on close, {} rows lost. tenantId={}",
+                    getBufferedRowCount(), tenantId);
+        }
+    }
+
+    private record BufferKey(String sql, List<Class<?>> nullTypes, int maxBatchSize, Duration flushInterval,
+                             int maxBufferedRows) {
+    }
+
+    /**
+     * Buffered rows of one statement and the subscription flushing them
+     */
+    private final class Pipeline {
+
+        private final String sql;
+        private final List<Class<?>> nullTypes;
+        private final WriteBehindOptions options;
+        private final Sinks.Many<List<Object>> sink = Sinks.many().unicast().onBackpressureBuffer();
+        private final AtomicInteger pending = new AtomicInteger();
+        private final Mono<Void> drained;
+
+        Pipeline(String sql, List<Class<?>> nullTypes, WriteBehindOptions options) {
+            this.sql = sql;
+            this.nullTypes = nullTypes;
+            this.options = options;
+            // Fair backpressure: a batch that times out waits for the previous flush instead of failing
+            this.drained = sink.asFlux()
+                    .bufferTimeout(options.getMaxBatchSize(), options.getFlushInterval(), true)
+                    .concatMap(this::flush)
+                    .then()
+                    .cache();
+            this.drained.subscribe();
+        }
+
+        // Synchronized: the sink only accepts serialized signals
+        synchronized void offer(List<List<Object>> rows) {
+            if (pending.get() + rows.size() > options.getMaxBufferedRows()) {
+                throw new IllegalStateException("Write-behind buffer is full (" + options.getMaxBufferedRows()
+                        + " rows), write rejected");
+            }
+            pending.addAndGet(rows.size());
+            int emitted = 0;
+            for (List<Object> row : rows) {
+                if (sink.tryEmitNext(row).isFailure()) {
+                    // Rows emitted before the failure are counted down when they are flushed
+                    pending.addAndGet(emitted - rows.size());
+                    throw new IllegalStateException("Write-behind buffer is closed, write rejected");
+                }
+                emitted++;
+            }
+        }
+
+        synchronized void complete() {
+            sink.tryEmitComplete();
+        }
+
+        private Mono<Void> flush(List<List<Object>> batch) {
+            return writer.write(sql, batch, options.getMaxBatchSize(), nullTypes)
+                    .doOnNext(count -> logger.debug("Write-behind flushed {} rows, {} updated. tenantId={}",
+                            batch.size(), count, tenantId))
+                    .onErrorResume(error -> {
+                        logger.error("Write-behind flush failed, {} rows dropped. tenantId={}",
+                                batch.size(), tenantId, error);
+                        droppedRows.increment(batch.size());
+                        return Mono.empty();
+                    })
+                    .doFinally(signal -> pending.addAndGet(-batch.size()))
+                    .then();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.citi.tts.apibrick.core.datasource.write;
+
+import com.citi.tts.apibrick.common.util.ConfigValueUtil;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Write-Behind Options - Buffering settings of a high-volume write
+ * <p>
+ * Configured under "writeBehind" in the write configuration:
+ * {
+ *   "writeBehind": {
+ *     "enabled": true,
+ *     "maxBatchSize": 500,
+ *     "flushMillis": 200,
+ *     "maxBufferedRows": 10000
+ *   }
+ * }
+ * - maxBatchSize: buffered rows are flushed once this many are collected (default 500)
+ * - flushMillis: buffered rows are flushed at the latest this long after the first one (default 200)
+ * - maxBufferedRows: rows waiting to be flushed; writes beyond it are rejected (default 10000)
+ */
+public class WriteBehindOptions {
+
+    public static final int DEFAULT_MAX_BATCH_SIZE = 500;
+    public static final long DEFAULT_FLUSH_MILLIS = 200;
+    public static final int DEFAULT_MAX_BUFFERED_ROWS = 10_000;
+
+    private final int maxBatchSize;
+    private final Duration flushInterval;
+    private final int maxBufferedRows;
+
+    public WriteBehindOptions(int maxBatchSize, Duration flushInterval, int maxBufferedRows) {
+        if (maxBatchSize <= 0 || maxBufferedRows <= 0) {
+            throw new IllegalArgumentException("Write-behind maxBatchSize and maxBufferedRows must be positive");
+        }
+        if (flushInterval == null || flushInterval.isNegative() || flushInterval.isZero()) {
+            throw new IllegalArgumentException("Write-behind flushMillis must be positive");
+        }
+        this.maxBatchSize = maxBatchSize;
+        this.flushInterval = flushInterval;
+        this.maxBufferedRows = Math.max(maxBufferedRows, maxBatchSize);
+    }
+
+    /**
+     * Read write-behind options from write configuration
+     *
+     * @param writeConfig Write configuration
+     * @return Write-behind options, or null if rows are written synchronously
+     */
+    @SuppressWarnings("unchecked")
+    public static WriteBehindOptions from(Map<String, Object> writeConfig) {
+        if (writeConfig == null || !(writeConfig.get("writeBehind") instanceof Map)) {
+            return null;
+        }
+        Map<String, Object> writeBehind = (Map<String, Object>) writeConfig.get("writeBehind");
+        if (!ConfigValueUtil.toBoolean(writeBehind.get("enabled"), false)) {
+            return null;
+        }
+        return new WriteBehindOptions(
+                ConfigValueUtil.toInt(writeBehind.get("maxBatchSize"), DEFAULT_MAX_BATCH_SIZE),
+                Duration.ofMillis(ConfigValueUtil.toLong(writeBehind.get("flushMillis"), DEFAULT_FLUSH_MILLIS)),
+                ConfigValueUtil.toInt(writeBehind.get("maxBufferedRows"), DEFAULT_MAX_BUFFERED_ROWS));
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public Duration getFlushInterval() {
+        return flushInterval;
+    }
+
+    public int getMaxBufferedRows() {
+        return maxBufferedRows;
+    }
+}
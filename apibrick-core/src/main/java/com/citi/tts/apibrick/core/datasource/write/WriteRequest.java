@@ -0,0 +1,158 @@
+package com.citi.tts.apibrick.core.datasource.write;
+
+import com.citi.tts.apibrick.common.util.ConfigValueUtil;
+import io.r2dbc.spi.R2dbcType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Write Request - Parameterized write statement and the rows to bind to it
+ * <p>
+ * Write configuration:
+ * {
+ *   "sql": "INSERT INTO orders (id, status) VALUES (?, ?)",
+ *   "rows": [[1, "NEW"], {"id": 2, "status": "NEW"}],
+ *   "columns": ["id", "status"],
+ *   "nullTypes": ["INTEGER", "VARCHAR"],
+ *   "batchSize": 500,
+ *   "writeBehind": { ... }
+ * }
+ * - rows: one parameter list per execution; map rows are turned into lists using "columns"
+ * - parameters: a single parameter list, used when "rows" is absent
+ * - nullTypes: SQL type (R2dbcType name) of each parameter, used to bind nulls; parameters without
+ *   one take the type of their non-null values in the same write (see BatchWriter)
+ * - batchSize: rows bound to one statement execution (Statement.add), default 500
+ * - writeBehind: optional buffering, see WriteBehindOptions
+ */
+public class WriteRequest {
+
+    public static final int DEFAULT_BATCH_SIZE = 500;
+    public static final int MAX_ROWS = 100_000;
+
+    private final String sql;
+    private final List<List<Object>> rows;
+    private final int batchSize;
+    private final List<Class<?>> nullTypes;
+    private final WriteBehindOptions writeBehind;
+
+    public WriteRequest(String sql, List<List<Object>> rows, int batchSize, WriteBehindOptions writeBehind) {
+        this(sql, rows, batchSize, List.of(), writeBehind);
+    }
+
+    public WriteRequest(String sql, List<List<Object>> rows, int batchSize, List<Class<?>> nullTypes,
+                        WriteBehindOptions writeBehind) {
+        if (sql == null || sql.isBlank()) {
+            throw new IllegalArgumentException("Write SQL is required");
+        }
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Write batchSize must be positive");
+        }
+        if (rows.size() > MAX_ROWS) {
+            throw new IllegalArgumentException("Write exceeds " + MAX_ROWS + " rows");
+        }
+        this.sql = sql.trim();
+        this.rows = rows;
+        this.batchSize = batchSize;
+        this.nullTypes = nullTypes;
+        this.writeBehind = writeBehind;
+    }
+
+    /**
+     * Read a write request from write configuration
+     *
+     * @param writeConfig Write configuration
+     * @return WriteRequest instance
+     */
+    @SuppressWarnings("unchecked")
+    public static WriteRequest from(Map<String, Object> writeConfig) {
+        List<List<Object>> rows = new ArrayList<>();
+        Object rowsValue = writeConfig.get("rows");
+        if (rowsValue instanceof List<?> list) {
+            List<String> columns = writeConfig.get("columns") instanceof List<?> names
+                    ? names.stream().map(String::valueOf).toList()
+                    : null;
+            for (Object row : list) {
+                rows.add(toParameters(row, columns));
+            }
+        } else if (rowsValue != null) {
+            throw new IllegalArgumentException("Write rows must be a list");
+        } else if (writeConfig.get("parameters") instanceof List<?> parameters) {
+            rows.add(new ArrayList<>(parameters));
+        } else {
+            rows.add(List.of());
+        }
+        return new WriteRequest((String) writeConfig.get("sql"), rows,
+                ConfigValueUtil.toInt(writeConfig.get("batchSize"), DEFAULT_BATCH_SIZE),
+                toNullTypes(writeConfig.get("nullTypes")),
+                WriteBehindOptions.from(writeConfig));
+    }
+
+    private static List<Class<?>> toNullTypes(Object value) {
+        if (value == null) {
+            return List.of();
+        }
+        if (!(value instanceof List<?> names)) {
+            throw new IllegalArgumentException("Write nullTypes must be a list");
+        }
+        List<Class<?>> nullTypes = new ArrayList<>(names.size());
+        for (Object name : names) {
+            if (name == null) {
+                nullTypes.add(null);
+                continue;
+            }
+            try {
+                nullTypes.add(R2dbcType.valueOf(name.toString().trim().toUpperCase(Locale.ROOT)).getJavaType());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown write null type: " + name);
+            }
+        }
+        return nullTypes;
+    }
+
+    private static List<Object> toParameters(Object row, List<String> columns) {
+        if (row instanceof List<?> values) {
+            return new ArrayList<>(values);
+        }
+        if (row instanceof Map<?, ?> values) {
+            if (columns == null) {
+                throw new IllegalArgumentException("Write \"columns\" is required for map rows");
+            }
+            List<Object> parameters = new ArrayList<>(columns.size());
+            for (String column : columns) {
+                parameters.add(values.get(column));
+            }
+            return parameters;
+        }
+        throw new IllegalArgumentException("Write row must be a list or a map");
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public List<List<Object>> getRows() {
+        return Collections.unmodifiableList(rows);
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Configured Java type to bind a null of each parameter as (entries may be null)
+     */
+    public List<Class<?>> getNullTypes() {
+        return Collections.unmodifiableList(nullTypes);
+    }
+
+    /**
+     * Write-behind options, null if rows are written synchronously
+     */
+    public WriteBehindOptions getWriteBehind() {
+        return writeBehind;
+    }
+}
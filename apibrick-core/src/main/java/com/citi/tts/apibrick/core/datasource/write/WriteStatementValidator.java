@@ -0,0 +1,113 @@
+package com.citi.tts.apibrick.core.datasource.write;
+
+import net.sf.jsqlparser.JSQLParserException;
+import net.sf.jsqlparser.parser.CCJSqlParserUtil;
+import net.sf.jsqlparser.schema.Table;
+import net.sf.jsqlparser.statement.Statement;
+import net.sf.jsqlparser.statement.insert.Insert;
+import net.sf.jsqlparser.statement.update.Update;
+import net.sf.jsqlparser.statement.upsert.Upsert;
+import net.sf.jsqlparser.util.TablesNamesFinder;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Write Statement Validator - Restricts write steps to parameterized writes of allowed tables
+ * <p>
+ * Accepted statements: INSERT (including INSERT ... ON DUPLICATE KEY UPDATE and
+ * INSERT ... ON CONFLICT), UPSERT, and UPDATE with a WHERE clause. Every table the statement
+ * references must be in the data source's "writableTables" allowlist:
+ * {
+ *   "writableTables": ["orders", "audit.order_event"]
+ * }
+ * - Names are compared case-insensitively, without identifier quotes
+ * - A schema-qualified table only matches a schema-qualified entry
+ * - Without an allowlist every write is rejected
+ */
+public class WriteStatementValidator {
+
+    private final Set<String> writableTables;
+
+    /**
+     * @param writableTables Tables write statements may reference
+     */
+    public WriteStatementValidator(Collection<String> writableTables) {
+        this.writableTables = writableTables.stream()
+                .map(WriteStatementValidator::normalize)
+                .filter(name -> !name.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * Read the writable table allowlist from data source configuration
+     * Accepts a list or a comma-separated string
+     *
+     * @param config Data source configuration
+     * @return WriteStatementValidator instance
+     */
+    public static WriteStatementValidator from(Map<String, Object> config) {
+        Object tables = config != null ? config.get("writableTables") : null;
+        if (tables instanceof Collection<?> collection) {
+            return new WriteStatementValidator(collection.stream().map(String::valueOf).toList());
+        }
+        if (tables instanceof String text) {
+            return new WriteStatementValidator(Arrays.asList(text.split(",")));
+        }
+        return new WriteStatementValidator(List.of());
+    }
+
+    /**
+     * Validate a write statement
+     *
+     * @param sql Write statement with "?" placeholders
+     * @return Normalized name of the table written to
+     * @throws IllegalArgumentException if the statement is not an allowed write
+     */
+    public String validate(String sql) {
+        if (sql == null || sql.isBlank()) {
+            throw new IllegalArgumentException("Write SQL is required");
+        }
+        Statement statement;
+        try {
+            statement = CCJSqlParserUtil.parse(sql);
+        } catch (JSQLParserException e) {
+            throw new IllegalArgumentException("Invalid write SQL: " + e.getMessage(), e);
+        }
+
+        Table target;
+        if (statement instanceof Insert insert) {
+            target = insert.getTable();
+        } else if (statement instanceof Upsert upsert) {
+            target = upsert.getTable();
+        } else if (statement instanceof Update update) {
+            if (update.getWhere() == null) {
+                throw new IllegalArgumentException("UPDATE without WHERE clause is not allowed");
+            }
+            target = update.getTable();
+        } else {
+            throw new IllegalArgumentException("Only INSERT, UPSERT and UPDATE statements are allowed");
+        }
+
+        // Tables read by subqueries or INSERT ... SELECT must be allowed as well
+        for (String table : new TablesNamesFinder().getTables(statement)) {
+            if (!writableTables.contains(normalize(table))) {
+                throw new IllegalArgumentException("Table is not writable for this tenant: " + table);
+            }
+        }
+        return normalize(target.getFullyQualifiedName());
+    }
+
+    public Set<String> getWritableTables() {
+        return writableTables;
+    }
+
+    private static String normalize(String table) {
+        return table.replaceAll("[`\"\\[\\]]", "").trim().toLowerCase(Locale.ROOT);
+    }
+}
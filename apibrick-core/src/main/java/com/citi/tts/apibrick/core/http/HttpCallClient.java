@@ -0,0 +1,153 @@
+package com.citi.tts.apibrick.core.http;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.channel.ChannelOption;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.BodyExtractors;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * HTTP Call Client - Shared, pooled reactive HTTP client for HTTP_CALL steps
+ * <p>
+ * One connection pool for all steps, limited per remote host (maxConnectionsPerHost), with
+ * idle connections evicted in the background. HTTP/2 is negotiated over TLS where the server
+ * supports it, responses are requested compressed and decompressed transparently.
+ * Response bodies are buffered up to a byte limit (counted after decompression); larger
+ * responses fail with DataBufferLimitException.
+ */
+public class HttpCallClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(HttpCallClient.class);
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final HttpClientProperties properties;
+    private final ConnectionProvider connectionProvider;
+    private final WebClient webClient;
+
+    public HttpCallClient(HttpClientProperties properties) {
+        this.properties = properties;
+        this.connectionProvider = ConnectionProvider.builder("apibrick-http")
+                .maxConnections(properties.getMaxConnectionsPerHost())
+                .pendingAcquireMaxCount(properties.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(Duration.ofMillis(properties.getPendingAcquireTimeoutMillis()))
+                .maxIdleTime(Duration.ofSeconds(properties.getMaxIdleTimeSeconds()))
+                .evictInBackground(Duration.ofSeconds(properties.getMaxIdleTimeSeconds()))
+                .metrics(true)
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .protocol(properties.isHttp2()
+                        ? new HttpProtocol[]{HttpProtocol.HTTP11, HttpProtocol.H2}
+                        : new HttpProtocol[]{HttpProtocol.HTTP11})
+                .compress(properties.isCompress())
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, properties.getConnectTimeoutMillis())
+                .responseTimeout(Duration.ofMillis(properties.getResponseTimeoutMillis()));
+        this.webClient = WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+
+    /**
+     * Execute an HTTP call
+     *
+     * @param method           HTTP method
+     * @param uri              Target URI
+     * @param headers          Request headers
+     * @param body             Request body: sent as is if a String, as JSON otherwise; null for none
+     * @param timeout          Timeout of the whole call, at most the configured response timeout;
+     *                         null for the configured one
+     * @param maxResponseBytes Response body limit, at most the configured limit; 0 for the configured one
+     * @return Mono with the response, whatever its status
+     */
+    public Mono<HttpCallResult> call(HttpMethod method, URI uri, Map<String, String> headers, Object body,
+                                     Duration timeout, int maxResponseBytes) {
+        int byteLimit = maxResponseBytes > 0
+                ? Math.min(maxResponseBytes, properties.getMaxResponseBytes()) : properties.getMaxResponseBytes();
+        Duration configuredTimeout = Duration.ofMillis(properties.getResponseTimeoutMillis());
+        Duration callTimeout = timeout != null && timeout.compareTo(configuredTimeout) < 0
+                ? timeout : configuredTimeout;
+
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(uri)
+                .headers(httpHeaders -> headers.forEach(httpHeaders::set));
+        WebClient.RequestHeadersSpec<?> exchange = request;
+        if (body != null) {
+            String payload;
+            try {
+                payload = body instanceof String text ? text : objectMapper.writeValueAsString(body);
+            } catch (JsonProcessingException e) {
+                return Mono.error(new IllegalArgumentException("Request body cannot be serialized", e));
+            }
+            if (!(body instanceof String) && headers.keySet().stream().noneMatch("Content-Type"::equalsIgnoreCase)) {
+                request.contentType(MediaType.APPLICATION_JSON);
+            }
+            exchange = request.bodyValue(payload);
+        }
+
+        return exchange.exchangeToMono(response -> readBody(response, byteLimit))
+                .timeout(callTimeout);
+    }
+
+    /**
+     * Dispose the connection pool
+     * Called by the container on shutdown
+     */
+    public void close() {
+        connectionProvider.disposeLater()
+                .doOnError(error -> logger.warn("Failed to dispose HTTP connection pool", error))
+                .onErrorResume(error -> Mono.empty())
+                .block(Duration.ofSeconds(10));
+    }
+
+    private Mono<HttpCallResult> readBody(ClientResponse response, int byteLimit) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        response.headers().asHttpHeaders().forEach((name, values) -> {
+            if (!values.isEmpty()) {
+                headers.put(name, values.get(0));
+            }
+        });
+        MediaType contentType = response.headers().contentType().orElse(null);
+        return DataBufferUtils.join(response.body(BodyExtractors.toDataBuffers()), byteLimit)
+                .map(buffer -> {
+                    byte[] bytes = new byte[buffer.readableByteCount()];
+                    buffer.read(bytes);
+                    DataBufferUtils.release(buffer);
+                    return bytes;
+                })
+                .defaultIfEmpty(new byte[0])
+                .map(bytes -> new HttpCallResult(response.statusCode().value(), headers,
+                        decode(bytes, contentType)));
+    }
+
+    private static Object decode(byte[] bytes, MediaType contentType) {
+        if (bytes.length == 0) {
+            return null;
+        }
+        if (contentType != null && contentType.getSubtype().toLowerCase().contains("json")) {
+            try {
+                return objectMapper.readValue(bytes, Object.class);
+            } catch (Exception e) {
+                logger.debug("Response body is not valid JSON, returned as text: {}", e.getMessage());
+            }
+        }
+        return new String(bytes, contentType != null && contentType.getCharset() != null
+                ? contentType.getCharset() : StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,13 @@
+package com.citi.tts.apibrick.core.http;
+
+import java.util.Map;
+
+/**
+ * HTTP Call Result - Response of a downstream HTTP call
+ *
+ * @param status  HTTP status code
+ * @param headers Response headers, first value per header name
+ * @param body    Response body: parsed JSON for JSON responses, text otherwise, null if empty
+ */
+public record HttpCallResult(int status, Map<String, String> headers, Object body) {
+}
@@ -0,0 +1,16 @@
+package com.citi.tts.apibrick.core.http;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for the shared HTTP client used by HTTP_CALL steps
+ */
+@Configuration
+public class HttpClientConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public HttpCallClient httpCallClient(HttpClientProperties properties) {
+        return new HttpCallClient(properties);
+    }
+}
@@ -0,0 +1,30 @@
+package com.citi.tts.apibrick.core.http;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Shared HTTP client used by HTTP_CALL steps (apibrick.http.*)
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "apibrick.http")
+public class HttpClientProperties {
+
+    // Connections per remote host:port; further requests wait for a free connection
+    private int maxConnectionsPerHost = 50;
+    private int pendingAcquireMaxCount = 500;
+    private long pendingAcquireTimeoutMillis = 5_000;
+    private long maxIdleTimeSeconds = 30;
+    private int connectTimeoutMillis = 2_000;
+    // Default per-call timeout and response body limit, lowered per step with timeoutMillis / maxResponseBytes
+    private long responseTimeoutMillis = 10_000;
+    private int maxResponseBytes = 1024 * 1024;
+    // Negotiate HTTP/2 over TLS (ALPN) where the server supports it
+    private boolean http2 = true;
+    // Request gzip / deflate responses and decompress them
+    private boolean compress = true;
+}
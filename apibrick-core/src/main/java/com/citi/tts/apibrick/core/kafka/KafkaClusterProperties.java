@@ -0,0 +1,79 @@
+package com.citi.tts.apibrick.core.kafka;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Kafka clusters KAFKA_SEND steps publish to, by cluster name
+ * <p>
+ * apibrick.kafka.clusters.default.bootstrap-servers=broker-1:9092,broker-2:9092
+ * apibrick.kafka.clusters.default.linger-ms=5
+ * <p>
+ * Clusters are shared by tenants, so the topics a tenant names are scoped: prefixed with
+ * topic-prefix (default "{tenantId}.", e.g. tenant-a.order-events), or, for tenants listed
+ * under tenant-topics, limited to exactly the listed topics.
+ * apibrick.kafka.clusters.default.tenant-topics.tenant-a=order-events,payment-events
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "apibrick.kafka")
+public class KafkaClusterProperties {
+
+    private Map<String, Cluster> clusters = new HashMap<>();
+
+    @Getter
+    @Setter
+    public static class Cluster {
+        private static final String TENANT_PLACEHOLDER = "{tenantId}";
+        private static final Pattern LEGAL_TOPIC = Pattern.compile("[a-zA-Z0-9._-]{1,249}");
+
+        private String bootstrapServers;
+        // Producer batching: wait up to lingerMs for a batch of up to batchSize bytes per partition
+        private int lingerMs = 5;
+        private int batchSize = 64 * 1024;
+        private String acks = "all";
+        private String compressionType = "lz4";
+        // Records in flight per send before backpressure is applied to the caller
+        private int maxInFlight = 256;
+        // Fire-and-forget records not yet acknowledged before further sends are rejected
+        private int maxPendingRecords = 10_000;
+        // Further client properties (e.g. security), passed through unchanged to producers and consumers
+        private Map<String, String> properties = new HashMap<>();
+        // Prefix of the topics of a tenant, "{tenantId}" replaced by the tenant ID; empty leaves topics unscoped
+        private String topicPrefix = TENANT_PLACEHOLDER + ".";
+        // Tenant ID -> the only topics the tenant may use, as named, instead of the prefix
+        private Map<String, List<String>> tenantTopics = new HashMap<>();
+
+        /**
+         * Resolve the topic a tenant names to the topic it uses on this cluster
+         *
+         * @param tenantId Tenant ID
+         * @param topic    Topic named by the tenant's step or flow binding
+         * @return Topic on the cluster
+         * @throws IllegalArgumentException if the tenant may not use the topic
+         */
+        public String tenantTopic(String tenantId, String topic) {
+            List<String> allowed = tenantTopics.get(tenantId);
+            if (allowed != null) {
+                if (!allowed.contains(topic)) {
+                    throw new IllegalArgumentException("Topic " + topic + " is not allowed for tenant " + tenantId);
+                }
+                return topic;
+            }
+            String prefix = topicPrefix != null ? topicPrefix.replace(TENANT_PLACEHOLDER, tenantId) : "";
+            String scoped = prefix + topic;
+            if (!LEGAL_TOPIC.matcher(scoped).matches()) {
+                throw new IllegalArgumentException("Invalid topic name: " + scoped);
+            }
+            return scoped;
+        }
+    }
+}
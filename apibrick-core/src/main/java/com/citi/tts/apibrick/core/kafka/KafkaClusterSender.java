@@ -0,0 +1,132 @@
+package com.citi.tts.apibrick.core.kafka;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderRecord;
+import reactor.kafka.sender.SenderResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Kafka Cluster Sender - Publishes records through the shared producer of one cluster
+ * <p>
+ * All steps publishing to a cluster share one KafkaSender, so records of concurrent requests
+ * are batched together by the producer (linger.ms / batch.size).
+ * - send: completes when every record is acknowledged by the broker
+ * - sendAndForget: returns once the records are handed to the producer; at most
+ *   maxPendingRecords records may be unacknowledged, further sends are rejected
+ * <p>
+ * Metrics, tagged with cluster and topic:
+ * - apibrick.kafka.records: records acknowledged or failed (tag outcome), i.e. per-topic throughput
+ * - apibrick.kafka.send: time until all records of a send are acknowledged (tag mode)
+ * - apibrick.kafka.rejected: fire-and-forget records rejected because too many are pending
+ */
+public class KafkaClusterSender {
+
+    private static final Logger logger = LoggerFactory.getLogger(KafkaClusterSender.class);
+
+    private final String cluster;
+    private final KafkaSender<String, String> sender;
+    private final int maxPendingRecords;
+    private final AtomicInteger pendingRecords = new AtomicInteger();
+
+    public KafkaClusterSender(String cluster, KafkaSender<String, String> sender, int maxPendingRecords) {
+        this.cluster = cluster;
+        this.sender = sender;
+        this.maxPendingRecords = maxPendingRecords;
+    }
+
+    /**
+     * Publish records and wait for their acknowledgement
+     *
+     * @param topic   Topic
+     * @param records Records, in send order
+     * @return Mono with the metadata of every record, in send order; errors if any record failed
+     */
+    public Mono<List<RecordMetadata>> send(String topic, List<ProducerRecord<String, String>> records) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(Metrics.globalRegistry);
+            return publish(topic, records)
+                    .collectList()
+                    .flatMap(results -> {
+                        sample.stop(timer(topic, "acks"));
+                        RecordMetadata[] metadata = new RecordMetadata[records.size()];
+                        for (SenderResult<Integer> result : results) {
+                            if (result.exception() != null) {
+                                return Mono.<List<RecordMetadata>>error(result.exception());
+                            }
+                            metadata[result.correlationMetadata()] = result.recordMetadata();
+                        }
+                        return Mono.just(List.of(metadata));
+                    });
+        });
+    }
+
+    /**
+     * Publish records without waiting for their acknowledgement
+     * Failures are only logged and counted.
+     *
+     * @param topic   Topic
+     * @param records Records, in send order
+     * @throws IllegalStateException if too many fire-and-forget records are unacknowledged
+     */
+    public void sendAndForget(String topic, List<ProducerRecord<String, String>> records) {
+        int count = records.size();
+        if (pendingRecords.addAndGet(count) > maxPendingRecords) {
+            pendingRecords.addAndGet(-count);
+            Metrics.counter("apibrick.kafka.rejected", "cluster", cluster, "topic", topic).increment(count);
+            throw new IllegalStateException("Kafka cluster " + cluster + " has more than "
+                    + maxPendingRecords + " unacknowledged records");
+        }
+        Timer.Sample sample = Timer.start(Metrics.globalRegistry);
+        publish(topic, records)
+                .doFinally(signal -> {
+                    pendingRecords.addAndGet(-count);
+                    sample.stop(timer(topic, "fire_and_forget"));
+                })
+                .subscribe(result -> {
+                    if (result.exception() != null) {
+                        logger.warn("Kafka send failed. cluster={}, topic={}, error={}",
+                                cluster, topic, result.exception().toString());
+                    }
+                }, error -> logger.warn("Kafka send failed. cluster={}, topic={}, error={}",
+                        cluster, topic, error.toString()));
+    }
+
+    /**
+     * Number of fire-and-forget records not acknowledged yet
+     */
+    public int getPendingRecordCount() {
+        return pendingRecords.get();
+    }
+
+    public void close() {
+        sender.close();
+    }
+
+    private Flux<SenderResult<Integer>> publish(String topic, List<ProducerRecord<String, String>> records) {
+        List<SenderRecord<String, String, Integer>> senderRecords = new ArrayList<>(records.size());
+        for (int i = 0; i < records.size(); i++) {
+            senderRecords.add(SenderRecord.create(records.get(i), i));
+        }
+        return sender.send(Flux.fromIterable(senderRecords))
+                .doOnNext(result -> Metrics.counter("apibrick.kafka.records", "cluster", cluster, "topic", topic,
+                        "outcome", result.exception() == null ? "success" : "error").increment());
+    }
+
+    private Timer timer(String topic, String mode) {
+        return Timer.builder("apibrick.kafka.send")
+                .description("Kafka send latency until acknowledged")
+                .tags("cluster", cluster, "topic", topic, "mode", mode)
+                .register(Metrics.globalRegistry);
+    }
+}
@@ -0,0 +1,16 @@
+package com.citi.tts.apibrick.core.kafka;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for the shared Kafka senders used by KAFKA_SEND steps
+ */
+@Configuration
+public class KafkaConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public KafkaSenderRegistry kafkaSenderRegistry(KafkaClusterProperties properties) {
+        return new KafkaSenderRegistry(properties);
+    }
+}
@@ -0,0 +1,115 @@
+package com.citi.tts.apibrick.core.kafka;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderOptions;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Kafka Sender Registry - One shared sender per configured Kafka cluster
+ * <p>
+ * Senders are created on first use from apibrick.kafka.clusters.* (see KafkaClusterProperties)
+ * and closed on shutdown. Records are sent with stopOnError disabled, so each record reports
+ * its own outcome.
+ */
+public class KafkaSenderRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(KafkaSenderRegistry.class);
+
+    private final KafkaClusterProperties properties;
+    private final Function<SenderOptions<String, String>, KafkaSender<String, String>> senderFactory;
+
+    // Map: cluster name -> shared sender
+    private final Map<String, KafkaClusterSender> senders = new ConcurrentHashMap<>();
+
+    public KafkaSenderRegistry(KafkaClusterProperties properties) {
+        this(properties, KafkaSender::create);
+    }
+
+    /**
+     * @param properties    Cluster configuration
+     * @param senderFactory Creates the sender of a cluster from its options
+     */
+    public KafkaSenderRegistry(KafkaClusterProperties properties,
+                               Function<SenderOptions<String, String>, KafkaSender<String, String>> senderFactory) {
+        this.properties = properties;
+        this.senderFactory = senderFactory;
+    }
+
+    /**
+     * Get the shared sender of a cluster
+     *
+     * @param cluster Cluster name
+     * @throws IllegalArgumentException if the cluster is not configured
+     */
+    public KafkaClusterSender getSender(String cluster) {
+        KafkaClusterSender existing = senders.get(cluster);
+        if (existing != null) {
+            return existing;
+        }
+        KafkaClusterProperties.Cluster clusterConfig = properties.getClusters().get(cluster);
+        if (clusterConfig == null || clusterConfig.getBootstrapServers() == null) {
+            throw new IllegalArgumentException("Kafka cluster is not configured: " + cluster);
+        }
+        return senders.computeIfAbsent(cluster, name -> {
+            logger.info("Created Kafka sender. cluster={}, bootstrapServers={}",
+                    name, clusterConfig.getBootstrapServers());
+            return new KafkaClusterSender(name, senderFactory.apply(senderOptions(clusterConfig)),
+                    clusterConfig.getMaxPendingRecords());
+        });
+    }
+
+    /**
+     * Resolve the topic a tenant names to the topic it uses on a cluster
+     *
+     * @param cluster  Cluster name
+     * @param tenantId Tenant ID
+     * @param topic    Topic named by the tenant
+     * @throws IllegalArgumentException if the cluster is not configured or the tenant may not use the topic
+     * @see KafkaClusterProperties.Cluster#tenantTopic
+     */
+    public String tenantTopic(String cluster, String tenantId, String topic) {
+        KafkaClusterProperties.Cluster clusterConfig = properties.getClusters().get(cluster);
+        if (clusterConfig == null) {
+            throw new IllegalArgumentException("Kafka cluster is not configured: " + cluster);
+        }
+        return clusterConfig.tenantTopic(tenantId, topic);
+    }
+
+    /**
+     * Close all senders, flushing the records they still buffer
+     * Called by the container on shutdown
+     */
+    public void close() {
+        senders.forEach((cluster, sender) -> {
+            if (senders.remove(cluster, sender)) {
+                try {
+                    sender.close();
+                } catch (Exception e) {
+                    logger.warn("Failed to close Kafka sender. cluster={}", cluster, e);
+                }
+            }
+        });
+    }
+
+    static SenderOptions<String, String> senderOptions(KafkaClusterProperties.Cluster cluster) {
+        Map<String, Object> producerProperties = new HashMap<>(cluster.getProperties());
+        producerProperties.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, cluster.getBootstrapServers());
+        producerProperties.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        producerProperties.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        producerProperties.put(ProducerConfig.LINGER_MS_CONFIG, cluster.getLingerMs());
+        producerProperties.put(ProducerConfig.BATCH_SIZE_CONFIG, cluster.getBatchSize());
+        producerProperties.put(ProducerConfig.ACKS_CONFIG, cluster.getAcks());
+        producerProperties.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, cluster.getCompressionType());
+        return SenderOptions.<String, String>create(producerProperties)
+                .maxInFlight(cluster.getMaxInFlight())
+                .stopOnError(false);
+    }
+}
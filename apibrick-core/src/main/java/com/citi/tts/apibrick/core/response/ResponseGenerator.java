@@ -117,12 +117,14 @@ public class ResponseGenerator {
      * 
      * Field mapping configuration format:
      * {
-     *   "sourceType": "fixed|stepOutput|requestParam|expression",
+     *   "sourceType": "fixed|stepOutput|requestParam|expression|nextCursor",
      *   "sourceValue": "value or EL expression",
      *   "defaultValue": "default value if source is null",
      *   "transform": "mask|encrypt|format",
      *   "condition": "EL expression for conditional mapping"
      * }
+     * For "nextCursor" the sourceValue is the ID of a paginated query step; the value is the
+     * cursor of the next page, null on the last page
      */
     @SuppressWarnings("unchecked")
     private Object processFieldMapping(Map<String, Object> fieldConfig, StepContext context) {
@@ -163,6 +165,16 @@ public class ResponseGenerator {
                 }
                 break;
                 
+            case "nextCursor":
+                // Cursor of the next page of a paginated query step
+                if (sourceValue instanceof String stepId) {
+                    Object stepOutput = context.get(stepId + ".output");
+                    if (stepOutput instanceof Map) {
+                        value = ((Map<String, Object>) stepOutput).get("nextCursor");
+                    }
+                }
+                break;
+                
             case "expression":
                 // Evaluate EL expression
                 if (sourceValue instanceof String stringValue) {
@@ -13,6 +13,7 @@ public class FlowDefinition {
     private String description;
     private List<StepDefinition> steps;
     private ExecutionMode executionMode; // SEQUENTIAL, PARALLEL, BRANCH
+    private ConnectionMode connectionMode; // PER_QUERY (default), PER_FLOW, READ_ONLY_SNAPSHOT
     
     public FlowDefinition() {
     }
@@ -66,6 +67,14 @@ public class FlowDefinition {
         this.executionMode = executionMode;
     }
     
+    public ConnectionMode getConnectionMode() {
+        return connectionMode;
+    }
+    
+    public void setConnectionMode(ConnectionMode connectionMode) {
+        this.connectionMode = connectionMode;
+    }
+    
     /**
      * Execution mode for workflow steps
      */
@@ -74,5 +83,13 @@ public class FlowDefinition {
         PARALLEL,    // Steps executed concurrently
         BRANCH       // Conditional execution based on conditions
     }
+    
+    /**
+     * How the data source queries of one execution use relational connections (see FlowConnections)
+     */
+    public enum ConnectionMode {
+        PER_QUERY,          // Every query acquires a pooled connection and releases it when done
+        PER_FLOW,           // Queries reuse one connection per data source until the flow ends
+        READ_ONLY_SNAPSHOT  // PER_FLOW, inside a read-only transaction reading one snapshot
+    }
 }
-
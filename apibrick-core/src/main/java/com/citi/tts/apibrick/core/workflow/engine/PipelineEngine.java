@@ -1,6 +1,7 @@
 package com.citi.tts.apibrick.core.workflow.engine;
 
 import com.citi.tts.apibrick.common.enums.FailureStrategy;
+import com.citi.tts.apibrick.core.datasource.FlowConnections;
 import com.citi.tts.apibrick.core.workflow.config.StepRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -9,6 +10,7 @@ import org.springframework.stereotype.Component;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -21,6 +23,7 @@ import java.util.UUID;
  * - Sequential execution (steps executed in order)
  * - Parallel execution (independent steps executed concurrently)
  * - Branch execution (conditional routing based on step results)
+ * - Per-flow connection affinity for data source queries (see FlowDefinition.ConnectionMode)
  * <p>
  * All execution is reactive and non-blocking using WebFlux
  */
@@ -55,7 +58,7 @@ public class PipelineEngine {
         }
         String flowInstanceId = context.getFlowInstanceId();
         // Execute steps sequentially
-        return executeStepsSequentially(steps, context, 0)
+        return holdConnections(flowDefinition.getConnectionMode(), executeStepsSequentially(steps, context, 0))
                 .collectList()
                 .map(stepResults -> {
                     // Check if any step failed
@@ -110,6 +113,25 @@ public class PipelineEngine {
                 });
     }
 
+    /**
+     * Run the steps of a flow with the connection mode of its definition
+     * PER_FLOW and READ_ONLY_SNAPSHOT hold one connection per data source for the whole execution,
+     * released when it completes, errors or is cancelled
+     */
+    private Flux<StepResult> holdConnections(FlowDefinition.ConnectionMode connectionMode,
+                                             Flux<StepResult> stepResults) {
+        if (connectionMode == null || connectionMode == FlowDefinition.ConnectionMode.PER_QUERY) {
+            return stepResults;
+        }
+        return Flux.usingWhen(
+                Mono.fromSupplier(() -> new FlowConnections(
+                        connectionMode == FlowDefinition.ConnectionMode.READ_ONLY_SNAPSHOT)),
+                connections -> stepResults.contextWrite(connections::bind),
+                connections -> connections.release(true),
+                (connections, error) -> connections.release(false),
+                connections -> connections.release(false));
+    }
+
     /**
      * Execute steps sequentially
      * Each step receives the context (which may be modified by previous steps)
@@ -177,6 +199,14 @@ public class PipelineEngine {
                     ));
                 })
                 .flatMapMany(result -> {
+                    if (!result.isSuccess()) {
+                        // Expose the failure to subsequent steps (e.g. a condition on the error code after SKIP)
+                        Map<String, Object> error = new HashMap<>();
+                        error.put("code", result.getErrorCode());
+                        error.put("message", result.getErrorMsg());
+                        context.set(stepDef.getId() + ".error", error);
+                    }
+
                     // If step failed and failure strategy is TERMINATE, stop execution
                     if (!result.isSuccess() && stepDef.getFailureStrategy() == FailureStrategy.TERMINATE) {
                         return Flux.just(result);
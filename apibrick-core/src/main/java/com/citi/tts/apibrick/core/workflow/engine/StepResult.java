@@ -12,6 +12,7 @@ public class StepResult {
     private boolean success;
     private Map<String, Object> output;
     private String errorMsg;
+    private String errorCode; // Machine-readable failure category, e.g. DATASOURCE_UNAVAILABLE
     private long executeTime; // Execution time in milliseconds
     private String stepId;
     private String stepType;
@@ -41,6 +42,15 @@ public class StepResult {
         return new StepResult(false, null, errorMsg, executeTime);
     }
     
+    /**
+     * Create a failed step result with an error code
+     */
+    public static StepResult failure(String errorMsg, String errorCode, long executeTime) {
+        StepResult result = new StepResult(false, null, errorMsg, executeTime);
+        result.setErrorCode(errorCode);
+        return result;
+    }
+    
     // Getters and Setters
     
     public boolean isSuccess() {
@@ -67,6 +77,14 @@ public class StepResult {
         this.errorMsg = errorMsg;
     }
     
+    public String getErrorCode() {
+        return errorCode;
+    }
+    
+    public void setErrorCode(String errorCode) {
+        this.errorCode = errorCode;
+    }
+    
     public long getExecuteTime() {
         return executeTime;
     }
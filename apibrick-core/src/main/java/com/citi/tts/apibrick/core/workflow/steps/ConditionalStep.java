@@ -64,23 +64,7 @@ public class ConditionalStep implements Step {
      */
     private Boolean evaluateCondition(String condition, StepContext context) {
         try {
-            StandardEvaluationContext evalContext = new StandardEvaluationContext();
-            
-            // Add all context data to evaluation context
-            evalContext.setVariable("request", context.getRequestParams());
-            evalContext.setVariable("variables", context.getVariables());
-            evalContext.setVariable("tenantId", context.getTenantId());
-            evalContext.setVariable("env", context.getEnv());
-            
-            // Add step outputs
-            Map<String, Object> stepOutputs = new HashMap<>();
-            for (Map.Entry<String, Object> entry : context.getVariables().entrySet()) {
-                if (entry.getKey().endsWith(".output")) {
-                    String stepId = entry.getKey().substring(0, entry.getKey().length() - 7);
-                    stepOutputs.put(stepId, entry.getValue());
-                }
-            }
-            evalContext.setVariable("steps", stepOutputs);
+            StandardEvaluationContext evalContext = buildEvaluationContext(context);
             
             // Parse and evaluate
             Expression expr = expressionParser.parseExpression(condition);
@@ -100,6 +84,32 @@ public class ConditionalStep implements Step {
         }
     }
     
+    /**
+     * Build the SpEL evaluation context of a step
+     * Variables: #request (request parameters), #variables, #tenantId, #env and
+     * #steps (step outputs by step ID)
+     */
+    static StandardEvaluationContext buildEvaluationContext(StepContext context) {
+        StandardEvaluationContext evalContext = new StandardEvaluationContext();
+        
+        // Add all context data to evaluation context
+        evalContext.setVariable("request", context.getRequestParams());
+        evalContext.setVariable("variables", context.getVariables());
+        evalContext.setVariable("tenantId", context.getTenantId());
+        evalContext.setVariable("env", context.getEnv());
+        
+        // Add step outputs
+        Map<String, Object> stepOutputs = new HashMap<>();
+        for (Map.Entry<String, Object> entry : context.getVariables().entrySet()) {
+            if (entry.getKey().endsWith(".output")) {
+                String stepId = entry.getKey().substring(0, entry.getKey().length() - 7);
+                stepOutputs.put(stepId, entry.getValue());
+            }
+        }
+        evalContext.setVariable("steps", stepOutputs);
+        return evalContext;
+    }
+    
     @Override
     public String getType() {
         return TYPE;
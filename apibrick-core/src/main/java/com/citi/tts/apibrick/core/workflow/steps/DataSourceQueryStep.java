@@ -1,7 +1,14 @@
 package com.citi.tts.apibrick.core.workflow.steps;
 
 import com.citi.tts.apibrick.common.enums.DataSourceType;
-import com.citi.tts.apibrick.core.datasource.config.DataSourceProperties;
+import com.citi.tts.apibrick.common.exception.DataSourceUnavailableException;
+import com.citi.tts.apibrick.core.binding.ParameterBinder;
+import com.citi.tts.apibrick.core.binding.StepBindings;
+import com.citi.tts.apibrick.core.datasource.DataSource;
+import com.citi.tts.apibrick.core.datasource.QueryKey;
+import com.citi.tts.apibrick.core.datasource.cache.QueryCacheOptions;
+import com.citi.tts.apibrick.core.datasource.cache.QueryResultCache;
+import com.citi.tts.apibrick.core.datasource.config.DataSourceConfigResolver;
 import com.citi.tts.apibrick.core.datasource.manager.DataSourceManager;
 import com.citi.tts.apibrick.core.workflow.engine.Step;
 import com.citi.tts.apibrick.core.workflow.engine.StepContext;
@@ -11,25 +18,53 @@ import org.springframework.stereotype.Component;
 import reactor.core.publisher.Mono;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 /**
  * Data Source Query Step - Executes queries against configured data sources
  * <p>
- * Supports all data source types (Oracle, MySQL, PostgreSQL, MongoDB)
- * Query configuration is data source specific
+ * Supports all data source types (Oracle, MySQL, PostgreSQL, MongoDB, Redis)
+ * Query configuration is data source specific. A data source registered for the tenant is opened with
+ * the type of its definition; "dsType" is only required for data sources without one.
+ * <p>
+ * Results are bounded by maxRows/maxBytes in the query configuration (see QueryLimits);
+ * with "resultMode": "STREAM" the step outputs the row Flux under "rows" instead of a collected list.
+ * Queries rejected by the data source circuit breaker or bulkhead fail the step with error code
+ * DATASOURCE_UNAVAILABLE (see ResilientDataSource).
+ * Results are cached when "cache" is enabled in the query configuration (see QueryCacheOptions).
+ * ${name} placeholders in a Mongo aggregation "pipeline", in Redis "key", "keys" and "commands",
+ * in SQL "pagination" and "parameters", and in the "parameters" (and other entries except "sql") of
+ * each SQL multi query under "queries" are bound from request parameters and context. The "sql"
+ * itself is never bound: values reach the statement only as bind parameters. Mongo and Redis placeholders
+ * only take values (scalars or lists of scalars), never documents or "$" operators.
+ * Paginated SQL queries (see KeysetPagination) also output "nextCursor" and "hasMore".
+ * SQL multi queries (see MultiQuery) output each query's result under its name in "data".
  */
 @Component
 public class DataSourceQueryStep implements Step {
 
     private static final String TYPE = "DATASOURCE_QUERY";
+    private static final String RESULT_MODE_STREAM = "STREAM";
+    public static final String ERROR_DATASOURCE_UNAVAILABLE = "DATASOURCE_UNAVAILABLE";
+    private static final String QUERIES_ENTRY = "queries";
+    // Query configuration entries whose ${name} placeholders are bound before execution
+    private static final List<String> BOUND_ENTRIES = List.of("pipeline", "key", "keys", "commands", "pagination",
+            "parameters", QUERIES_ENTRY);
+    // Mongo and Redis entries, where request values must not add documents or operators
+    private static final List<String> VALUE_ONLY_ENTRIES = List.of("pipeline", "key", "keys", "commands");
 
     @Autowired
-    private DataSourceProperties dataSourceProperties;
+    private DataSourceConfigResolver dataSourceConfigResolver;
 
     @Autowired
     private DataSourceManager dataSourceManager;
 
+    @Autowired
+    private QueryResultCache queryResultCache;
+
     @Override
     public Mono<StepResult> execute(StepContext context) {
         long startTime = System.currentTimeMillis();
@@ -45,17 +80,12 @@ public class DataSourceQueryStep implements Step {
             ));
         }
 
-        if (datasourceTypeStr == null || datasourceTypeStr.isEmpty()) {
-            return Mono.just(StepResult.failure(
-                    "Data source type is required",
-                    System.currentTimeMillis() - startTime
-            ));
-        }
-
-        // Parse data source type
-        DataSourceType datasourceType;
+        // Registered data sources are opened with the type of their definition
+        DataSourceType datasourceType = null;
         try {
-            datasourceType = DataSourceType.valueOf(datasourceTypeStr.toUpperCase());
+            if (datasourceTypeStr != null && !datasourceTypeStr.isEmpty()) {
+                datasourceType = DataSourceType.valueOf(datasourceTypeStr.toUpperCase());
+            }
         } catch (IllegalArgumentException e) {
             return Mono.just(StepResult.failure(
                     "Invalid data source type: " + datasourceTypeStr,
@@ -69,23 +99,82 @@ public class DataSourceQueryStep implements Step {
             queryConfig = new HashMap<>();
         }
 
-        // Get data source (assuming it's already initialized)
-        // In real implementation, you would get data source config from database
+        // Bind ${name} placeholders (aggregation pipeline, Redis keys) from request parameters and context
+        Map<String, Object> boundConfig = null;
+        Function<String, Object> resolver = StepBindings.resolver(context);
+        try {
+            for (String entry : BOUND_ENTRIES) {
+                Object template = queryConfig.get(entry);
+                if (template != null) {
+                    if (boundConfig == null) {
+                        boundConfig = new HashMap<>(queryConfig);
+                    }
+                    boundConfig.put(entry, QUERIES_ENTRY.equals(entry) ? bindQueries(template, resolver)
+                            : VALUE_ONLY_ENTRIES.contains(entry) ? ParameterBinder.bindValues(template, resolver)
+                            : ParameterBinder.bind(template, resolver));
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            return Mono.just(StepResult.failure(
+                    "Invalid query parameters: " + e.getMessage(),
+                    System.currentTimeMillis() - startTime
+            ));
+        }
+        if (boundConfig != null) {
+            queryConfig = boundConfig;
+        }
+
+        // Get the open data source, or open it with the tenant's registered configuration
         Map<String, Object> finalQueryConfig = queryConfig;
-        return dataSourceManager.getOrCreateDataSource(datasourceId, datasourceType,
-                        dataSourceProperties.toMap(), context.getTenantId(), context.getEnv())
+        DataSourceType defaultType = datasourceType;
+        Mono<DataSource> dataSourceMono = dataSourceManager.getDataSource(datasourceId, context.getTenantId())
+                .switchIfEmpty(Mono.defer(() -> dataSourceConfigResolver.resolve(context.getTenantId(), datasourceId,
+                                defaultType)
+                        .flatMap(definition -> dataSourceManager.getOrCreateDataSource(datasourceId,
+                                definition.type(), definition.config(), context.getTenantId(), context.getEnv()))))
                 .switchIfEmpty(Mono.error(new IllegalStateException(
-                        "Data source not found: " + datasourceId)))
+                        "Data source not found: " + datasourceId)));
+
+        // Stream mode: hand a lazy, bounded row stream to downstream steps instead of collecting it
+        if (RESULT_MODE_STREAM.equalsIgnoreCase(String.valueOf(queryConfig.get("resultMode")))) {
+            Map<String, Object> output = new HashMap<>();
+            output.put("rows", dataSourceMono.flatMapMany(dataSource -> dataSource.streamQuery(finalQueryConfig)));
+            output.put("streaming", true);
+            return Mono.just(StepResult.success(output, System.currentTimeMillis() - startTime));
+        }
+
+        // Opt-in result cache, keyed by tenant + data source + statement + parameters
+        QueryCacheOptions cacheOptions = QueryCacheOptions.from(queryConfig);
+
+        return dataSourceMono
                 .flatMap(dataSource -> {
-                    // Execute query
-                    return dataSource.executeQuery(finalQueryConfig);
+                    // Execute query, sharing the execution with identical queries already in flight
+                    Mono<Map<String, Object>> execution = dataSourceManager.executeQuery(
+                            context.getTenantId(), datasourceId, dataSource, finalQueryConfig);
+                    if (cacheOptions != null) {
+                        QueryKey queryKey = QueryKey.of(context.getTenantId(), datasourceId, finalQueryConfig);
+                        return queryResultCache.get(queryKey, cacheOptions, () -> execution);
+                    }
+                    return execution;
                 })
                 .map(queryResult -> {
                     Map<String, Object> output = new HashMap<>();
                     output.put("data", queryResult);
+                    if (queryResult.containsKey("nextCursor")) {
+                        output.put("nextCursor", queryResult.get("nextCursor"));
+                        output.put("hasMore", queryResult.get("hasMore"));
+                    }
                     return StepResult.success(output, System.currentTimeMillis() - startTime);
                 })
                 .onErrorResume(error -> {
+                    if (error instanceof DataSourceUnavailableException) {
+                        // Rejected without reaching the database: circuit open or bulkhead full
+                        return Mono.just(StepResult.failure(
+                                "Data source unavailable: " + error.getMessage(),
+                                ERROR_DATASOURCE_UNAVAILABLE,
+                                System.currentTimeMillis() - startTime
+                        ));
+                    }
                     return Mono.just(StepResult.failure(
                             "Data source query error: " + error.getMessage(),
                             System.currentTimeMillis() - startTime
@@ -93,6 +182,30 @@ public class DataSourceQueryStep implements Step {
                 });
     }
 
+    /**
+     * Bind the named queries of a multi query. The "sql" of each query is kept as written:
+     * values reach the statement only through its bound "parameters", never as SQL text
+     */
+    @SuppressWarnings("unchecked")
+    static Object bindQueries(Object queries, Function<String, Object> resolver) {
+        if (!(queries instanceof Map<?, ?> configured)) {
+            // Rejected by MultiQuery
+            return queries;
+        }
+        Map<String, Object> bound = new LinkedHashMap<>();
+        ((Map<String, Object>) configured).forEach((name, query) -> {
+            if (query instanceof Map<?, ?> entries) {
+                Map<String, Object> boundQuery = new LinkedHashMap<>();
+                ((Map<String, Object>) entries).forEach((key, value) -> boundQuery.put(key,
+                        "sql".equals(key) ? value : ParameterBinder.bind(value, resolver)));
+                bound.put(name, boundQuery);
+            } else {
+                bound.put(name, query);
+            }
+        });
+        return bound;
+    }
+
     @Override
     public String getType() {
         return TYPE;
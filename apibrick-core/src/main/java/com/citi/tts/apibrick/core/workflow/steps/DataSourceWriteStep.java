@@ -0,0 +1,159 @@
+package com.citi.tts.apibrick.core.workflow.steps;
+
+import com.citi.tts.apibrick.common.enums.DataSourceType;
+import com.citi.tts.apibrick.common.exception.DataSourceUnavailableException;
+import com.citi.tts.apibrick.core.binding.ParameterBinder;
+import com.citi.tts.apibrick.core.binding.StepBindings;
+import com.citi.tts.apibrick.core.datasource.DataSource;
+import com.citi.tts.apibrick.core.datasource.cache.QueryResultCache;
+import com.citi.tts.apibrick.core.datasource.config.DataSourceConfigResolver;
+import com.citi.tts.apibrick.core.datasource.manager.DataSourceManager;
+import com.citi.tts.apibrick.core.workflow.engine.Step;
+import com.citi.tts.apibrick.core.workflow.engine.StepContext;
+import com.citi.tts.apibrick.core.workflow.engine.StepResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Data Source Write Step - Executes parameterized writes against relational data sources
+ * <p>
+ * Step configuration:
+ * {
+ *   "dsId": "orders-db",
+ *   "dsType": "MYSQL",
+ *   "writeConfig": {
+ *     "sql": "INSERT INTO orders (id, status) VALUES (?, ?)",
+ *     "rows": "${parse.output.orders}",
+ *     "columns": ["id", "status"]
+ *   }
+ * }
+ * Rows are written in batches within one transaction (see BatchWriter), or acknowledged
+ * immediately and flushed later when "writeBehind" is enabled (see WriteBehindBuffer).
+ * Only INSERT, UPSERT and UPDATE of tables in the data source's "writableTables" allowlist are
+ * accepted; other statements fail the step with error code WRITE_REJECTED.
+ * ${name} placeholders in "rows" and "parameters" are bound from request parameters and context.
+ * "dsType" is only required for data sources not registered for the tenant; registered ones are
+ * opened with the type of their definition.
+ * After a successful write the cached query results of the data source are invalidated
+ * (see QueryResultCache); buffered rows may still be flushed after that.
+ */
+@Component
+public class DataSourceWriteStep implements Step {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataSourceWriteStep.class);
+
+    private static final String TYPE = "DATASOURCE_WRITE";
+    public static final String ERROR_WRITE_REJECTED = "WRITE_REJECTED";
+    // Write configuration entries whose ${name} placeholders are bound before execution
+    private static final List<String> BOUND_ENTRIES = List.of("rows", "parameters");
+
+    @Autowired
+    private DataSourceConfigResolver dataSourceConfigResolver;
+
+    @Autowired
+    private DataSourceManager dataSourceManager;
+
+    @Autowired
+    private QueryResultCache queryResultCache;
+
+    @Override
+    public Mono<StepResult> execute(StepContext context) {
+        long startTime = System.currentTimeMillis();
+
+        String datasourceId = context.get("dsId");
+        String datasourceTypeStr = context.get("dsType");
+
+        if (datasourceId == null || datasourceId.isEmpty()) {
+            return Mono.just(StepResult.failure(
+                    "Data source ID is required",
+                    System.currentTimeMillis() - startTime
+            ));
+        }
+
+        // Registered data sources are opened with the type of their definition
+        DataSourceType datasourceType = null;
+        try {
+            if (datasourceTypeStr != null && !datasourceTypeStr.isEmpty()) {
+                datasourceType = DataSourceType.valueOf(datasourceTypeStr.toUpperCase());
+            }
+        } catch (IllegalArgumentException e) {
+            return Mono.just(StepResult.failure(
+                    "Invalid data source type: " + datasourceTypeStr,
+                    System.currentTimeMillis() - startTime
+            ));
+        }
+
+        Map<String, Object> writeConfig = context.get("writeConfig");
+        if (writeConfig == null || writeConfig.get("sql") == null) {
+            return Mono.just(StepResult.failure(
+                    "Write SQL is required",
+                    ERROR_WRITE_REJECTED,
+                    System.currentTimeMillis() - startTime
+            ));
+        }
+
+        // Bind ${name} placeholders (rows from a previous step, request parameters)
+        Map<String, Object> boundConfig = new HashMap<>(writeConfig);
+        for (String entry : BOUND_ENTRIES) {
+            if (writeConfig.get(entry) != null) {
+                boundConfig.put(entry, ParameterBinder.bind(writeConfig.get(entry), StepBindings.resolver(context)));
+            }
+        }
+
+        DataSourceType defaultType = datasourceType;
+        return dataSourceManager.getDataSource(datasourceId, context.getTenantId())
+                .switchIfEmpty(Mono.defer(() -> dataSourceConfigResolver.resolve(context.getTenantId(), datasourceId,
+                                defaultType)
+                        .flatMap(definition -> dataSourceManager.getOrCreateDataSource(datasourceId,
+                                definition.type(), definition.config(), context.getTenantId(), context.getEnv()))))
+                .switchIfEmpty(Mono.error(new IllegalStateException(
+                        "Data source not found: " + datasourceId)))
+                .flatMap((DataSource dataSource) -> dataSource.executeWrite(boundConfig))
+                // Cached results of the data source may no longer match its data
+                .flatMap(writeResult -> queryResultCache.invalidate(context.getTenantId(), datasourceId)
+                        .onErrorResume(error -> {
+                            logger.warn("Query cache invalidation failed after write. tenantId={}, datasourceId={}",
+                                    context.getTenantId(), datasourceId, error);
+                            return Mono.empty();
+                        })
+                        .thenReturn(writeResult))
+                .map(writeResult -> {
+                    Map<String, Object> output = new HashMap<>();
+                    output.put("data", writeResult);
+                    return StepResult.success(output, System.currentTimeMillis() - startTime);
+                })
+                .onErrorResume(error -> {
+                    if (error instanceof DataSourceUnavailableException) {
+                        return Mono.just(StepResult.failure(
+                                "Data source unavailable: " + error.getMessage(),
+                                DataSourceQueryStep.ERROR_DATASOURCE_UNAVAILABLE,
+                                System.currentTimeMillis() - startTime
+                        ));
+                    }
+                    if (error instanceof IllegalArgumentException || error instanceof UnsupportedOperationException) {
+                        // Statement not allowed, table not writable, or data source without writes
+                        return Mono.just(StepResult.failure(
+                                "Write rejected: " + error.getMessage(),
+                                ERROR_WRITE_REJECTED,
+                                System.currentTimeMillis() - startTime
+                        ));
+                    }
+                    return Mono.just(StepResult.failure(
+                            "Data source write error: " + error.getMessage(),
+                            System.currentTimeMillis() - startTime
+                    ));
+                });
+    }
+
+    @Override
+    public String getType() {
+        return TYPE;
+    }
+}
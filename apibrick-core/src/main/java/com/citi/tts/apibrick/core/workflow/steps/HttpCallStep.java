@@ -0,0 +1,141 @@
+package com.citi.tts.apibrick.core.workflow.steps;
+
+import com.citi.tts.apibrick.common.util.ConfigValueUtil;
+import com.citi.tts.apibrick.core.binding.ParameterBinder;
+import com.citi.tts.apibrick.core.binding.StepBindings;
+import com.citi.tts.apibrick.core.http.HttpCallClient;
+import com.citi.tts.apibrick.core.workflow.engine.Step;
+import com.citi.tts.apibrick.core.workflow.engine.StepContext;
+import com.citi.tts.apibrick.core.workflow.engine.StepResult;
+import io.netty.handler.timeout.ReadTimeoutException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriUtils;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * HTTP Call Step - Calls a downstream HTTP service without blocking
+ * <p>
+ * Step configuration:
+ * {
+ *   "httpConfig": {
+ *     "method": "POST",
+ *     "url": "https://customer-service/customers/${customerId}/notes",
+ *     "headers": {"X-Request-Source": "apibrick", "X-Customer": "${customerId}"},
+ *     "body": {"text": "${note}", "orders": "${orders.output.data}"},
+ *     "timeoutMillis": 3000,
+ *     "maxResponseBytes": 262144
+ *   }
+ * }
+ * ${name} placeholders are bound from request parameters and context; values in the url are
+ * URI-encoded. Map and list bodies are sent as JSON. Calls go through the shared, pooled
+ * client (see HttpCallClient) and are bounded by its timeout and response size limit.
+ * <p>
+ * Output: "status", "headers" and "body" (parsed JSON or text).
+ * Error codes: HTTP_STATUS_ERROR for 4xx/5xx responses (unless "failOnErrorStatus": false),
+ * HTTP_TIMEOUT, HTTP_RESPONSE_TOO_LARGE and HTTP_CALL_FAILED for connection failures.
+ */
+@Component
+public class HttpCallStep implements Step {
+
+    private static final String TYPE = "HTTP_CALL";
+    public static final String ERROR_HTTP_STATUS = "HTTP_STATUS_ERROR";
+    public static final String ERROR_HTTP_TIMEOUT = "HTTP_TIMEOUT";
+    public static final String ERROR_HTTP_RESPONSE_TOO_LARGE = "HTTP_RESPONSE_TOO_LARGE";
+    public static final String ERROR_HTTP_CALL_FAILED = "HTTP_CALL_FAILED";
+
+    @Autowired
+    private HttpCallClient httpCallClient;
+
+    @Override
+    public Mono<StepResult> execute(StepContext context) {
+        long startTime = System.currentTimeMillis();
+
+        Map<String, Object> httpConfig = context.get("httpConfig");
+        if (httpConfig == null || httpConfig.get("url") == null) {
+            return Mono.just(StepResult.failure(
+                    "HTTP url is required",
+                    System.currentTimeMillis() - startTime
+            ));
+        }
+
+        Function<String, Object> resolver = StepBindings.resolver(context);
+        HttpMethod method;
+        URI uri;
+        Duration timeout;
+        int maxResponseBytes;
+        try {
+            method = HttpMethod.valueOf(String.valueOf(httpConfig.getOrDefault("method", "GET")).toUpperCase());
+            uri = URI.create(String.valueOf(ParameterBinder.bind(httpConfig.get("url"), name -> {
+                Object value = resolver.apply(name);
+                return value != null ? UriUtils.encode(value.toString(), StandardCharsets.UTF_8) : "";
+            })));
+            if (uri.getScheme() == null || !uri.getScheme().matches("(?i)https?") || uri.getHost() == null) {
+                throw new IllegalArgumentException("url must be an absolute http(s) URL: " + uri);
+            }
+            timeout = httpConfig.get("timeoutMillis") != null
+                    ? Duration.ofMillis(ConfigValueUtil.toLong(httpConfig.get("timeoutMillis"), 0)) : null;
+            maxResponseBytes = (int) Math.min(Integer.MAX_VALUE,
+                    ConfigValueUtil.toLong(httpConfig.get("maxResponseBytes"), 0));
+        } catch (IllegalArgumentException e) {
+            return Mono.just(StepResult.failure(
+                    "Invalid HTTP call configuration: " + e.getMessage(),
+                    System.currentTimeMillis() - startTime
+            ));
+        }
+
+        Map<String, String> headers = new LinkedHashMap<>();
+        if (httpConfig.get("headers") instanceof Map<?, ?> configuredHeaders) {
+            ((Map<?, ?>) ParameterBinder.bind(configuredHeaders, resolver)).forEach((name, value) -> {
+                if (value != null) {
+                    headers.put(name.toString(), value.toString());
+                }
+            });
+        }
+        Object body = httpConfig.get("body") != null ? ParameterBinder.bind(httpConfig.get("body"), resolver) : null;
+        boolean failOnErrorStatus = !"false".equalsIgnoreCase(String.valueOf(httpConfig.get("failOnErrorStatus")));
+
+        return httpCallClient.call(method, uri, headers, body, timeout, maxResponseBytes)
+                .map(response -> {
+                    if (failOnErrorStatus && response.status() >= 400) {
+                        return StepResult.failure(
+                                "HTTP call returned status " + response.status(),
+                                ERROR_HTTP_STATUS,
+                                System.currentTimeMillis() - startTime
+                        );
+                    }
+                    Map<String, Object> output = new HashMap<>();
+                    output.put("status", response.status());
+                    output.put("headers", response.headers());
+                    output.put("body", response.body());
+                    return StepResult.success(output, System.currentTimeMillis() - startTime);
+                })
+                .onErrorResume(error -> {
+                    String errorCode = error instanceof TimeoutException
+                            || error.getCause() instanceof ReadTimeoutException ? ERROR_HTTP_TIMEOUT
+                            : error instanceof DataBufferLimitException ? ERROR_HTTP_RESPONSE_TOO_LARGE
+                            : ERROR_HTTP_CALL_FAILED;
+                    return Mono.just(StepResult.failure(
+                            "HTTP call failed: " + error.getMessage(),
+                            errorCode,
+                            System.currentTimeMillis() - startTime
+                    ));
+                });
+    }
+
+    @Override
+    public String getType() {
+        return TYPE;
+    }
+}
@@ -0,0 +1,186 @@
+package com.citi.tts.apibrick.core.workflow.steps;
+
+import com.citi.tts.apibrick.core.binding.ParameterBinder;
+import com.citi.tts.apibrick.core.binding.StepBindings;
+import com.citi.tts.apibrick.core.kafka.KafkaClusterSender;
+import com.citi.tts.apibrick.core.kafka.KafkaSenderRegistry;
+import com.citi.tts.apibrick.core.workflow.engine.Step;
+import com.citi.tts.apibrick.core.workflow.engine.StepContext;
+import com.citi.tts.apibrick.core.workflow.engine.StepResult;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionException;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Kafka Send Step - Publishes messages to a Kafka topic
+ * <p>
+ * Step configuration:
+ * {
+ *   "sendConfig": {
+ *     "cluster": "default",
+ *     "topic": "order-events",
+ *     "key": "#record['orderId']",
+ *     "records": "${save.output.data.rows}",
+ *     "ackMode": "ACKS"
+ *   }
+ * }
+ * - cluster: name under apibrick.kafka.clusters (default "default"), whose shared sender batches
+ *   the records of all steps (see KafkaClusterSender)
+ * - topic: scoped to the tenant, by default prefixed with the tenant ID (see KafkaClusterProperties);
+ *   topics the tenant may not use fail the step
+ * - records: list of message values, or "value" for a single message; ${name} placeholders are
+ *   bound from request parameters and context, non-string values are sent as JSON
+ * - key: optional SpEL expression for the partitioning key, evaluated per message with #record
+ *   (the message value) in addition to #request, #steps, #tenantId and #env
+ * - ackMode: ACKS (default) waits for the broker acknowledgement of every message and outputs
+ *   their partitions and offsets; FIRE_AND_FORGET completes once the messages are handed to
+ *   the producer
+ * Send failures and rejected fire-and-forget sends fail the step with error code KAFKA_SEND_FAILED.
+ */
+@Component
+public class KafkaSendStep implements Step {
+
+    private static final String TYPE = "KAFKA_SEND";
+    private static final String DEFAULT_CLUSTER = "default";
+    private static final String ACK_MODE_FIRE_AND_FORGET = "FIRE_AND_FORGET";
+    public static final String ERROR_KAFKA_SEND_FAILED = "KAFKA_SEND_FAILED";
+    static final int MAX_RECORDS = 10_000;
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    private KafkaSenderRegistry kafkaSenderRegistry;
+
+    private final ExpressionParser expressionParser = new SpelExpressionParser();
+
+    @Override
+    public Mono<StepResult> execute(StepContext context) {
+        long startTime = System.currentTimeMillis();
+
+        Map<String, Object> sendConfig = context.get("sendConfig");
+        if (sendConfig == null || sendConfig.get("topic") == null) {
+            return Mono.just(StepResult.failure(
+                    "Kafka topic is required",
+                    System.currentTimeMillis() - startTime
+            ));
+        }
+        String cluster = String.valueOf(sendConfig.getOrDefault("cluster", DEFAULT_CLUSTER));
+        boolean fireAndForget = ACK_MODE_FIRE_AND_FORGET.equalsIgnoreCase(String.valueOf(sendConfig.get("ackMode")));
+
+        String topic;
+        List<ProducerRecord<String, String>> records;
+        KafkaClusterSender sender;
+        try {
+            topic = kafkaSenderRegistry.tenantTopic(cluster, context.getTenantId(), sendConfig.get("topic").toString());
+            records = buildRecords(topic, sendConfig, context);
+            sender = kafkaSenderRegistry.getSender(cluster);
+        } catch (IllegalArgumentException e) {
+            return Mono.just(StepResult.failure(
+                    "Invalid Kafka send configuration: " + e.getMessage(),
+                    System.currentTimeMillis() - startTime
+            ));
+        }
+
+        Map<String, Object> output = new HashMap<>();
+        output.put("topic", topic);
+        output.put("sent", records.size());
+
+        if (fireAndForget) {
+            try {
+                sender.sendAndForget(topic, records);
+            } catch (IllegalStateException e) {
+                return Mono.just(StepResult.failure(
+                        "Kafka send rejected: " + e.getMessage(),
+                        ERROR_KAFKA_SEND_FAILED,
+                        System.currentTimeMillis() - startTime
+                ));
+            }
+            output.put("acked", false);
+            return Mono.just(StepResult.success(output, System.currentTimeMillis() - startTime));
+        }
+
+        return sender.send(topic, records)
+                .map(metadata -> {
+                    List<Map<String, Object>> offsets = new ArrayList<>(metadata.size());
+                    for (RecordMetadata recordMetadata : metadata) {
+                        offsets.add(Map.of("partition", recordMetadata.partition(),
+                                "offset", recordMetadata.offset()));
+                    }
+                    output.put("acked", true);
+                    output.put("offsets", offsets);
+                    return StepResult.success(output, System.currentTimeMillis() - startTime);
+                })
+                .onErrorResume(error -> Mono.just(StepResult.failure(
+                        "Kafka send failed: " + error.getMessage(),
+                        ERROR_KAFKA_SEND_FAILED,
+                        System.currentTimeMillis() - startTime
+                )));
+    }
+
+    private List<ProducerRecord<String, String>> buildRecords(String topic, Map<String, Object> sendConfig,
+                                                             StepContext context) {
+        Function<String, Object> resolver = StepBindings.resolver(context);
+        Object values = sendConfig.containsKey("records")
+                ? ParameterBinder.bind(sendConfig.get("records"), resolver)
+                : Collections.singletonList(ParameterBinder.bind(sendConfig.get("value"), resolver));
+        if (!(values instanceof List<?> messages)) {
+            throw new IllegalArgumentException("records must be a list");
+        }
+        if (messages.size() > MAX_RECORDS) {
+            throw new IllegalArgumentException("at most " + MAX_RECORDS + " records per send");
+        }
+
+        Object keyConfig = sendConfig.get("key");
+        try {
+            Expression keyExpression = keyConfig != null ? expressionParser.parseExpression(keyConfig.toString()) : null;
+            StandardEvaluationContext evalContext = keyExpression != null
+                    ? ConditionalStep.buildEvaluationContext(context) : null;
+
+            List<ProducerRecord<String, String>> records = new ArrayList<>(messages.size());
+            for (Object message : messages) {
+                String key = null;
+                if (keyExpression != null) {
+                    evalContext.setVariable("record", message);
+                    Object keyValue = keyExpression.getValue(evalContext);
+                    key = keyValue != null ? keyValue.toString() : null;
+                }
+                records.add(new ProducerRecord<>(topic, key, serialize(message)));
+            }
+            return records;
+        } catch (ExpressionException e) {
+            throw new IllegalArgumentException("key expression failed: " + e.getMessage());
+        }
+    }
+
+    private static String serialize(Object message) {
+        if (message == null || message instanceof String) {
+            return (String) message;
+        }
+        try {
+            return objectMapper.writeValueAsString(message);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("message cannot be serialized: " + e.getOriginalMessage());
+        }
+    }
+
+    @Override
+    public String getType() {
+        return TYPE;
+    }
+}
@@ -6,6 +6,7 @@ import com.citi.tts.apibrick.core.workflow.engine.StepContext;
 import com.citi.tts.apibrick.core.workflow.engine.StepResult;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import java.util.HashMap;
 import java.util.Map;
@@ -37,13 +38,28 @@ public class ResponseStep implements Step {
         // Generate response
         Map<String, Object> response = responseGenerator.generate(responseTemplate, context);
         
+        // Fields bound to streamed query rows (DATASOURCE_QUERY with resultMode STREAM) are collected here;
+        // rows are already bounded by the query limits, so this is safe and non-blocking
+        if (response != null && response.values().stream().anyMatch(Flux.class::isInstance)) {
+            return Flux.fromIterable(response.entrySet())
+                    .<Map.Entry<String, Object>>concatMap(entry -> entry.getValue() instanceof Flux<?> rows
+                            ? rows.collectList().map(list -> Map.entry(entry.getKey(), (Object) list))
+                            : Mono.just(entry))
+                    .collect(HashMap<String, Object>::new, (map, entry) -> map.put(entry.getKey(), entry.getValue()))
+                    .map(resolved -> buildResult(resolved, context, startTime));
+        }
+        
+        return Mono.just(buildResult(response, context, startTime));
+    }
+    
+    private StepResult buildResult(Map<String, Object> response, StepContext context, long startTime) {
         // Store response in context
         context.set("finalResponse", response);
         
         Map<String, Object> output = new HashMap<>();
         output.put("response", response);
         
-        return Mono.just(StepResult.success(output, System.currentTimeMillis() - startTime));
+        return StepResult.success(output, System.currentTimeMillis() - startTime);
     }
     
     @Override
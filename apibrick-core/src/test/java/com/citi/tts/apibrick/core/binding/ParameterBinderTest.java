@@ -0,0 +1,75 @@
+package com.citi.tts.apibrick.core.binding;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ParameterBinder
+ */
+class ParameterBinderTest {
+
+    private static final Map<String, Object> VALUES = Map.of(
+            "status", "OPEN",
+            "minAmount", 100,
+            "regions", List.of("EU", "US"));
+
+    @Test
+    void testWholePlaceholdersKeepType() {
+        Object bound = ParameterBinder.bind(List.of(
+                Map.of("$match", Map.of(
+                        "status", "${status}",
+                        "amount", Map.of("$gte", "${minAmount}"),
+                        "region", Map.of("$in", "${regions}")))), VALUES::get);
+
+        assertEquals(List.of(Map.of("$match", Map.of(
+                "status", "OPEN",
+                "amount", Map.of("$gte", 100),
+                "region", Map.of("$in", List.of("EU", "US"))))), bound);
+    }
+
+    @Test
+    void testEmbeddedPlaceholdersAreFormatted() {
+        assertEquals("status-OPEN-100", ParameterBinder.bind("status-${status}-${minAmount}", VALUES::get));
+    }
+
+    @Test
+    void testFieldReferencesAndUnknownNamesAreHandled() {
+        assertEquals("$amount", ParameterBinder.bind("$amount", VALUES::get));
+        assertNull(ParameterBinder.bind("${missing}", VALUES::get));
+    }
+
+    @Test
+    void testBindValuesAcceptsScalarsAndListsOfScalars() {
+        Object bound = ParameterBinder.bindValues(List.of(Map.of("$match", Map.of(
+                "status", "${status}", "region", Map.of("$in", "${regions}")))), VALUES::get);
+
+        assertEquals(List.of(Map.of("$match", Map.of(
+                "status", "OPEN", "region", Map.of("$in", List.of("EU", "US"))))), bound);
+        // Field references written in the template are kept
+        assertEquals("$amount", ParameterBinder.bindValues("$amount", VALUES::get));
+    }
+
+    @Test
+    void testBindValuesRejectsInjectedOperators() {
+        Map<String, Object> request = Map.of(
+                "name", Map.of("$ne", "x"),
+                "names", List.of("Alice", Map.of("$gt", "")),
+                "field", "$where",
+                "suffix", "$expr");
+        List<Object> pipeline = List.of(Map.of("$match", Map.of("name", "${name}")));
+
+        // Plain binding would turn {"name": "${name}"} into {"name": {"$ne": "x"}}
+        assertEquals(List.of(Map.of("$match", Map.of("name", Map.of("$ne", "x")))),
+                ParameterBinder.bind(pipeline, request::get));
+        assertThrows(IllegalArgumentException.class, () -> ParameterBinder.bindValues(pipeline, request::get));
+        assertThrows(IllegalArgumentException.class, () -> ParameterBinder.bindValues("${names}", request::get));
+        assertThrows(IllegalArgumentException.class, () -> ParameterBinder.bindValues("${field}", request::get));
+        assertThrows(IllegalArgumentException.class,
+                () -> ParameterBinder.bindValues("${suffix}${field}", request::get));
+        assertEquals("user:$expr", ParameterBinder.bindValues("user:${suffix}", request::get));
+    }
+}
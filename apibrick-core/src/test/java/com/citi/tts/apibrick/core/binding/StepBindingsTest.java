@@ -0,0 +1,29 @@
+package com.citi.tts.apibrick.core.binding;
+
+import com.citi.tts.apibrick.core.workflow.engine.StepContext;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for StepBindings
+ */
+class StepBindingsTest {
+
+    @Test
+    void testRequestParametersComeBeforeContextVariables() {
+        StepContext context = new StepContext("test-flow", "instance-001", "tenant-a", "DEV",
+                new HashMap<>(Map.of("customerId", 42, "customer", Map.of("tier", "GOLD"))));
+        context.set("customerId", 7);
+        context.set("lookup.output", Map.of("data", Map.of("name", "Alice")));
+
+        assertEquals(42, StepBindings.resolve("customerId", context));
+        assertEquals("GOLD", StepBindings.resolve("customer.tier", context));
+        assertEquals("Alice", StepBindings.resolve("lookup.output.data.name", context));
+        assertNull(StepBindings.resolve("lookup.output.data.name.first", context));
+        assertNull(StepBindings.resolver(context).apply("missing"));
+    }
+}
@@ -0,0 +1,128 @@
+package com.citi.tts.apibrick.core.datasource;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FlowConnections, against an in-memory H2 database
+ */
+class FlowConnectionsTest {
+
+    private final AtomicInteger acquired = new AtomicInteger();
+    private final AtomicInteger released = new AtomicInteger();
+    private AbstractR2dbcDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        ConnectionFactory h2 = H2DataSource.database(
+                "CREATE TABLE customer (id INT PRIMARY KEY, name VARCHAR(50))",
+                "INSERT INTO customer VALUES (1, 'Alice'), (2, 'Bob'), (3, 'Carol')");
+        dataSource = new H2DataSource() {
+            @Override
+            protected Publisher<? extends Connection> acquireConnection(Map<String, Object> queryConfig) {
+                return Mono.from(super.acquireConnection(queryConfig)).doOnNext(connection -> acquired.incrementAndGet());
+            }
+
+            @Override
+            protected Publisher<Void> releaseConnection(Connection connection, Throwable error) {
+                return Mono.from(super.releaseConnection(connection, error)).doOnSubscribe(s -> released.incrementAndGet());
+            }
+        };
+        dataSource.initPool(h2, Map.of());
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.close();
+    }
+
+    @Test
+    void testEveryQueryAcquiresWithoutAffinity() {
+        StepVerifier.create(queries(3))
+                .expectNextCount(3)
+                .verifyComplete();
+
+        assertEquals(3, acquired.get());
+        assertEquals(3, released.get());
+    }
+
+    @Test
+    void testQueriesOfAFlowShareOneConnection() {
+        FlowConnections connections = new FlowConnections(false);
+
+        StepVerifier.create(queries(3).contextWrite(connections::bind))
+                .expectNextCount(3)
+                .verifyComplete();
+
+        assertEquals(1, acquired.get());
+        assertEquals(0, released.get());
+        assertEquals(1, connections.getHeldCount());
+        // The held connection keeps the data source from being closed as idle
+        assertEquals(1, dataSource.getInFlightCount());
+
+        connections.release(true).block();
+        assertEquals(1, released.get());
+        assertEquals(0, connections.getHeldCount());
+        assertEquals(0, dataSource.getInFlightCount());
+    }
+
+    @Test
+    void testReadOnlySnapshotRunsInATransaction() {
+        FlowConnections connections = new FlowConnections(true);
+
+        StepVerifier.create(queries(2).contextWrite(connections::bind))
+                .assertNext(result -> assertEquals("Alice", result.get("NAME")))
+                .assertNext(result -> assertEquals("Bob", result.get("NAME")))
+                .verifyComplete();
+
+        StepVerifier.create(connections.release(true)).verifyComplete();
+        assertEquals(1, acquired.get());
+        assertEquals(1, released.get());
+    }
+
+    @Test
+    void testQueriesAfterReleaseUseThePool() {
+        FlowConnections connections = new FlowConnections(false);
+        connections.release(true).block();
+
+        StepVerifier.create(queries(2).contextWrite(connections::bind))
+                .expectNextCount(2)
+                .verifyComplete();
+
+        assertEquals(2, acquired.get());
+        assertEquals(2, released.get());
+    }
+
+    @Test
+    void testStreamsNeverUseTheHeldConnection() {
+        FlowConnections connections = new FlowConnections(false);
+
+        StepVerifier.create(dataSource.streamQuery(Map.of("sql", "SELECT id, name FROM customer"))
+                        .contextWrite(connections::bind))
+                .expectNextCount(3)
+                .verifyComplete();
+
+        assertEquals(0, connections.getHeldCount());
+        assertEquals(1, released.get());
+    }
+
+    private Flux<Map<String, Object>> queries(int count) {
+        return Flux.range(1, count)
+                .concatMap(id -> dataSource.executeQuery(Map.of(
+                        "sql", "SELECT id, name FROM customer WHERE id = ?",
+                        "parameters", List.of(id))));
+    }
+}
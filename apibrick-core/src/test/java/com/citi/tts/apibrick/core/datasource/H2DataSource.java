@@ -0,0 +1,81 @@
+package com.citi.tts.apibrick.core.datasource;
+
+import com.citi.tts.apibrick.common.enums.DataSourceType;
+import com.citi.tts.apibrick.core.datasource.mysql.MySqlQueryParser;
+import io.r2dbc.h2.H2ConnectionFactory;
+import io.r2dbc.spi.ColumnMetadata;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Result;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Test fixture - R2DBC data source over an in-memory H2 database
+ * <p>
+ * Queries are parsed like MySQL queries and column values are returned as H2 reads them.
+ * Tests override converterFor, acquireConnection or releaseConnection to change or observe that.
+ */
+class H2DataSource extends AbstractR2dbcDataSource {
+
+    private final QueryParser queryParser = new MySqlQueryParser();
+
+    /**
+     * Create a new in-memory database
+     *
+     * @param statements Statements creating and filling its tables
+     * @return Connection factory of the database
+     */
+    static ConnectionFactory database(String... statements) {
+        ConnectionFactory database = H2ConnectionFactory.inMemory("test-" + UUID.randomUUID());
+        execute(database, statements);
+        return database;
+    }
+
+    /**
+     * Run statements on a database, one after another on one connection
+     */
+    static void execute(ConnectionFactory database, String... statements) {
+        Mono.usingWhen(database.create(),
+                connection -> Flux.fromArray(statements)
+                        .concatMap(sql -> Flux.from(connection.createStatement(sql).execute())
+                                .flatMap(Result::getRowsUpdated))
+                        .then(),
+                Connection::close).block();
+    }
+
+    /**
+     * Open a data source on a database
+     *
+     * @param database Database from database(...)
+     * @param config   Data source configuration (pool, queryLimits, ...)
+     */
+    static H2DataSource open(ConnectionFactory database, Map<String, Object> config) {
+        H2DataSource dataSource = new H2DataSource();
+        dataSource.initPool(database, config);
+        return dataSource;
+    }
+
+    @Override
+    protected QueryParser getQueryParser() {
+        return queryParser;
+    }
+
+    @Override
+    protected ColumnConverter converterFor(ColumnMetadata column) {
+        return (row, index) -> row.get(index);
+    }
+
+    @Override
+    public Mono<Void> init(Map<String, Object> config, String tenantId, String env) {
+        return Mono.empty();
+    }
+
+    @Override
+    public DataSourceType getType() {
+        return DataSourceType.MYSQL;
+    }
+}
@@ -0,0 +1,163 @@
+package com.citi.tts.apibrick.core.datasource;
+
+import io.r2dbc.spi.ColumnMetadata;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for KeysetPagination, paging through an in-memory H2 database
+ */
+class KeysetPaginationTest {
+
+    private static final String SQL = "SELECT id, name, region FROM customer WHERE region = ?";
+
+    private AbstractR2dbcDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        ConnectionFactory h2 = H2DataSource.database(
+                "CREATE TABLE customer (id INT PRIMARY KEY, name VARCHAR(50), region VARCHAR(10))",
+                "INSERT INTO customer VALUES (1, 'Alice', 'EU'), (2, 'Bob', 'US'), (3, 'Carol', 'EU'), "
+                        + "(4, 'Dave', 'EU'), (5, 'Erin', 'EU'), (6, 'Frank', 'EU'), (7, 'Grace', 'EU'), "
+                        + "(8, 'Heidi', 'EU')",
+                "CREATE TABLE event (id INT PRIMARY KEY, created_at TIMESTAMP)",
+                "INSERT INTO event VALUES (1, TIMESTAMP '2024-01-01 10:00:00'), "
+                        + "(2, TIMESTAMP '2024-01-01 09:00:00'), (3, TIMESTAMP '2024-01-01 10:00:00'), "
+                        + "(4, TIMESTAMP '2024-01-02 08:00:00')");
+        dataSource = new H2DataSource() {
+            @Override
+            protected ColumnConverter converterFor(ColumnMetadata column) {
+                // Dates are formatted like the MySQL converters do
+                return (row, index) -> row.get(index) instanceof LocalDateTime dateTime
+                        ? dateTime.toString()
+                        : row.get(index);
+            }
+        };
+        dataSource.initPool(h2, Map.of());
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.close();
+    }
+
+    @Test
+    void testPagesFollowTheCursor() {
+        Map<String, Object> first = page(null, "ASC").block();
+        assertEquals(List.of(1, 3, 4), ids(first));
+        assertEquals(true, first.get("hasMore"));
+
+        Map<String, Object> second = page((String) first.get("nextCursor"), "ASC").block();
+        assertEquals(List.of(5, 6, 7), ids(second));
+        assertEquals(true, second.get("hasMore"));
+
+        Map<String, Object> last = page((String) second.get("nextCursor"), "ASC").block();
+        assertEquals(List.of(8), ids(last));
+        assertEquals(false, last.get("hasMore"));
+        assertNull(last.get("nextCursor"));
+    }
+
+    @Test
+    void testDescendingPages() {
+        Map<String, Object> first = page(null, "DESC").block();
+        assertEquals(List.of(8, 7, 6), ids(first));
+
+        Map<String, Object> second = page((String) first.get("nextCursor"), "DESC").block();
+        assertEquals(List.of(5, 4, 3), ids(second));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSortKeyIsReadEvenIfNotMapped() {
+        Map<String, Object> queryConfig = query(null, "ASC");
+        queryConfig.put("fieldMapping", Map.of("customerName", "NAME"));
+
+        Map<String, Object> first = dataSource.executeQuery(queryConfig).block();
+        assertNotNull(first.get("nextCursor"));
+        assertEquals("Alice", ((List<Map<String, Object>>) first.get("data")).get(0).get("customerName"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testTimestampSortKeyKeepsItsType() {
+        Map<String, Object> queryConfig = query(null, "ASC");
+        queryConfig.put("sql", "SELECT id, created_at FROM event");
+        queryConfig.put("parameters", List.of());
+        ((Map<String, Object>) queryConfig.get("pagination")).put("sortKey", List.of("CREATED_AT", "ID"));
+        ((Map<String, Object>) queryConfig.get("pagination")).put("pageSize", 2);
+
+        Map<String, Object> first = dataSource.executeQuery(queryConfig).block();
+        assertEquals(List.of(2, 1), ids(first));
+        assertEquals("2024-01-01T10:00",
+                ((List<Map<String, Object>>) first.get("data")).get(1).get("CREATED_AT"));
+        String cursor = (String) first.get("nextCursor");
+        // The cursor carries the TIMESTAMP as a datetime, not as the converted string
+        assertTrue(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                .contains("[\"datetime\",\"2024-01-01T10:00\"]"));
+
+        ((Map<String, Object>) queryConfig.get("pagination")).put("cursor", cursor);
+        Map<String, Object> second = dataSource.executeQuery(queryConfig).block();
+        assertEquals(List.of(3, 4), ids(second));
+        assertEquals(false, second.get("hasMore"));
+    }
+
+    @Test
+    void testCursorOfAnotherOrderIsRejected() {
+        String ascendingCursor = (String) page(null, "ASC").block().get("nextCursor");
+
+        StepVerifier.create(page(ascendingCursor, "DESC"))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+        StepVerifier.create(page("not-a-cursor", "ASC"))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+    }
+
+    @Test
+    void testQueryWithOwnLimitIsRejected() {
+        Map<String, Object> queryConfig = query(null, "ASC");
+        queryConfig.put("sql", SQL + " LIMIT 10");
+
+        StepVerifier.create(dataSource.executeQuery(queryConfig))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+    }
+
+    private Mono<Map<String, Object>> page(String cursor, String direction) {
+        return dataSource.executeQuery(query(cursor, direction));
+    }
+
+    private static Map<String, Object> query(String cursor, String direction) {
+        Map<String, Object> pagination = new HashMap<>();
+        pagination.put("sortKey", "ID");
+        pagination.put("direction", direction);
+        pagination.put("pageSize", 3);
+        pagination.put("cursor", cursor);
+
+        Map<String, Object> queryConfig = new HashMap<>();
+        queryConfig.put("sql", SQL);
+        queryConfig.put("parameters", List.of("EU"));
+        queryConfig.put("pagination", pagination);
+        return queryConfig;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Object> ids(Map<String, Object> result) {
+        return ((List<Map<String, Object>>) result.get("data")).stream()
+                .map(row -> row.get("ID"))
+                .toList();
+    }
+}
@@ -0,0 +1,97 @@
+package com.citi.tts.apibrick.core.datasource;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MultiQuery, executing against an in-memory H2 database
+ */
+class MultiQueryTest {
+
+    private final AtomicInteger acquired = new AtomicInteger();
+    private AbstractR2dbcDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        ConnectionFactory h2 = H2DataSource.database(
+                "CREATE TABLE customer (id INT PRIMARY KEY, name VARCHAR(50))",
+                "CREATE TABLE orders (id INT PRIMARY KEY, customer_id INT, status VARCHAR(10))",
+                "INSERT INTO customer VALUES (1, 'Alice'), (2, 'Bob')",
+                "INSERT INTO orders VALUES (10, 1, 'NEW'), (11, 1, 'PAID'), (12, 1, 'NEW'), (13, 2, 'NEW')");
+        dataSource = new H2DataSource() {
+            @Override
+            protected Publisher<? extends Connection> acquireConnection(Map<String, Object> queryConfig) {
+                return Mono.from(super.acquireConnection(queryConfig)).doOnNext(connection -> acquired.incrementAndGet());
+            }
+        };
+        dataSource.initPool(h2, Map.of());
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.close();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testEachQueryResultIsReturnedUnderItsName() {
+        Map<String, Object> queries = new LinkedHashMap<>();
+        queries.put("customer", Map.of("sql", "SELECT id, name FROM customer WHERE id = ?", "parameters", List.of(1)));
+        queries.put("orders", Map.of("sql", "SELECT id, status FROM orders WHERE customer_id = ? ORDER BY id",
+                "parameters", List.of(1)));
+
+        StepVerifier.create(dataSource.executeQuery(Map.of("queries", queries)))
+                .assertNext(result -> {
+                    assertEquals(List.of("customer", "orders"), List.copyOf(result.keySet()));
+                    assertEquals("Alice", ((Map<String, Object>) result.get("customer")).get("NAME"));
+                    Map<String, Object> orders = (Map<String, Object>) result.get("orders");
+                    assertEquals(3, orders.get("count"));
+                    assertEquals(false, orders.get("truncated"));
+                })
+                .verifyComplete();
+
+        assertEquals(1, acquired.get());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testOuterLimitsApplyToEveryQuery() {
+        Map<String, Object> queries = new LinkedHashMap<>();
+        queries.put("orders", Map.of("sql", "SELECT id FROM orders ORDER BY id"));
+        queries.put("customers", Map.of("sql", "SELECT id FROM customer ORDER BY id", "maxRows", 10));
+
+        Map<String, Object> result = dataSource.executeQuery(Map.of("queries", queries, "maxRows", 2)).block();
+
+        Map<String, Object> orders = (Map<String, Object>) result.get("orders");
+        assertEquals(2, orders.get("count"));
+        assertEquals(true, orders.get("truncated"));
+        assertEquals(2, ((Map<String, Object>) result.get("customers")).get("count"));
+    }
+
+    @Test
+    void testInvalidMultiQueriesAreRejected() {
+        StepVerifier.create(dataSource.executeQuery(Map.of("queries", List.of("SELECT 1"))))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+        StepVerifier.create(dataSource.executeQuery(Map.of("queries", Map.of("page", Map.of(
+                        "sql", "SELECT id FROM orders", "pagination", Map.of("sortKey", "id"))))))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+        StepVerifier.create(dataSource.executeQuery(Map.of("queries", Map.of())))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+    }
+}
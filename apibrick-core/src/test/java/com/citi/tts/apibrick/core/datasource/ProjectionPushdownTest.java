@@ -0,0 +1,172 @@
+package com.citi.tts.apibrick.core.datasource;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ProjectionPushdown
+ */
+class ProjectionPushdownTest {
+
+    private static final String[] ORDER_COLUMNS = {"id", "status", "amount", "created_at", "notes"};
+
+    private ProjectionPushdown pushdown;
+
+    @BeforeEach
+    void setUp() {
+        pushdown = new ProjectionPushdown('`');
+    }
+
+    @Test
+    void testSelectStarIsNarrowedOnceColumnsAreLearned() {
+        String sql = "SELECT * FROM orders WHERE customer_id = ?";
+        Map<String, Object> queryConfig = query(sql, Map.of("orderId", "id", "state", "status"));
+        ParsedSql parsedSql = new ParsedSql(sql, List.of(7));
+
+        // First execution runs unchanged and reports its columns
+        assertSame(parsedSql, pushdown.apply(parsedSql, queryConfig));
+        assertTrue(pushdown.needsColumns(sql, queryConfig));
+        pushdown.learn(sql, ORDER_COLUMNS);
+        assertFalse(pushdown.needsColumns(sql, queryConfig));
+
+        ParsedSql narrowed = pushdown.apply(parsedSql, queryConfig);
+        assertEquals("SELECT `id`, `status` FROM orders WHERE customer_id = ?", narrowed.getSql());
+        assertEquals(List.of(7), narrowed.getParameters());
+    }
+
+    @Test
+    void testMappedColumnsMissingFromResultAreNotSelected() {
+        String sql = "SELECT * FROM orders";
+        pushdown.learn(sql, ORDER_COLUMNS);
+
+        ParsedSql narrowed = pushdown.apply(new ParsedSql(sql, null),
+                query(sql, Map.of("id", "id", "missing", "no_such_column")));
+
+        assertEquals("SELECT `id` FROM orders", narrowed.getSql());
+    }
+
+    @Test
+    void testSelectStarMappingEveryColumnRunsUnchanged() {
+        String sql = "SELECT * FROM orders";
+        pushdown.learn(sql, new String[]{"id", "status"});
+        ParsedSql parsedSql = new ParsedSql(sql, null);
+
+        assertSame(parsedSql, pushdown.apply(parsedSql, query(sql, Map.of("orderId", "id", "state", "status"))));
+    }
+
+    @Test
+    void testExplicitItemsKeepParametersAndReferencedAliases() {
+        String sql = "SELECT id, status, amount * ? AS converted, notes AS remark, created_at AS ts "
+                + "FROM orders ORDER BY ts";
+        pushdown.learn(sql, new String[]{"id", "status", "converted", "remark", "ts"});
+
+        ParsedSql narrowed = pushdown.apply(new ParsedSql(sql, List.of(2)), query(sql, Map.of("id", "id")));
+
+        assertEquals("SELECT id, amount * ? AS converted, created_at AS ts FROM orders ORDER BY ts",
+                narrowed.getSql());
+    }
+
+    @Test
+    void testUnsafeStatementsRunUnchanged() {
+        List<String> statements = List.of(
+                "SELECT DISTINCT * FROM orders",
+                "SELECT * FROM orders o JOIN customer c ON o.customer_id = c.id",
+                "SELECT id, status FROM orders ORDER BY 2",
+                "SELECT id, status FROM orders UNION SELECT id, status FROM archived_orders");
+        for (String sql : statements) {
+            pushdown.learn(sql, new String[]{"id", "status"});
+            ParsedSql parsedSql = new ParsedSql(sql, null);
+            assertSame(parsedSql, pushdown.apply(parsedSql, query(sql, Map.of("id", "id"))), sql);
+        }
+    }
+
+    @Test
+    void testDisabledWithoutMappingOrWhenTurnedOff() {
+        String sql = "SELECT * FROM orders";
+        pushdown.learn(sql, ORDER_COLUMNS);
+        ParsedSql parsedSql = new ParsedSql(sql, null);
+
+        assertSame(parsedSql, pushdown.apply(parsedSql, query(sql, null)));
+
+        Map<String, Object> queryConfig = query(sql, Map.of("id", "id"));
+        queryConfig.put("projectionPushdown", false);
+        assertSame(parsedSql, pushdown.apply(parsedSql, queryConfig));
+    }
+
+    @Test
+    void testLearnedColumnsExpire() {
+        AtomicLong nanos = new AtomicLong();
+        Ticker ticker = nanos::get;
+        pushdown = new ProjectionPushdown('`', ticker);
+        String sql = "SELECT * FROM orders";
+        Map<String, Object> queryConfig = query(sql, Map.of("id", "id"));
+        ParsedSql parsedSql = new ParsedSql(sql, null);
+        pushdown.learn(sql, ORDER_COLUMNS);
+        assertEquals("SELECT `id` FROM orders", pushdown.apply(parsedSql, queryConfig).getSql());
+
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(11));
+
+        // Columns are learned again from the statement as written, e.g. after a schema change
+        assertSame(parsedSql, pushdown.apply(parsedSql, queryConfig));
+        assertTrue(pushdown.needsColumns(sql, queryConfig));
+        pushdown.learn(sql, new String[]{"id", "status"});
+        assertEquals("SELECT `id` FROM orders", pushdown.apply(parsedSql, queryConfig).getSql());
+    }
+
+    @Test
+    void testForgottenStatementRunsAsWritten() {
+        String sql = "SELECT * FROM orders";
+        Map<String, Object> queryConfig = query(sql, Map.of("id", "id"));
+        ParsedSql parsedSql = new ParsedSql(sql, null);
+        pushdown.learn(sql, ORDER_COLUMNS);
+        assertNotSame(parsedSql, pushdown.apply(parsedSql, queryConfig));
+
+        pushdown.forget(sql);
+
+        assertSame(parsedSql, pushdown.apply(parsedSql, queryConfig));
+        assertTrue(pushdown.needsColumns(sql, queryConfig));
+    }
+
+    @Test
+    void testRejectedNarrowedQueryRunsAsWritten() {
+        ConnectionFactory h2 = H2DataSource.database(
+                "CREATE TABLE orders (id INT PRIMARY KEY, status VARCHAR(10), notes VARCHAR(100))",
+                "INSERT INTO orders VALUES (1, 'NEW', 'first')");
+        AbstractR2dbcDataSource dataSource = H2DataSource.open(h2, Map.of());
+        try {
+            Map<String, Object> queryConfig = query("SELECT * FROM orders", Map.of("id", "ID", "state", "STATUS"));
+            // Learns the columns, then runs narrowed to ID and STATUS
+            dataSource.streamQuery(queryConfig).blockLast();
+            H2DataSource.execute(h2, "ALTER TABLE orders DROP COLUMN status");
+
+            StepVerifier.create(dataSource.streamQuery(queryConfig))
+                    .assertNext(row -> {
+                        assertEquals(1, row.get("id"));
+                        assertNull(row.get("state"));
+                    })
+                    .verifyComplete();
+        } finally {
+            dataSource.close();
+        }
+    }
+
+    private static Map<String, Object> query(String sql, Map<String, Object> fieldMapping) {
+        Map<String, Object> queryConfig = new HashMap<>();
+        queryConfig.put("sql", sql);
+        if (fieldMapping != null) {
+            queryConfig.put("fieldMapping", fieldMapping);
+        }
+        return queryConfig;
+    }
+}
@@ -0,0 +1,218 @@
+package com.citi.tts.apibrick.core.datasource;
+
+import com.citi.tts.apibrick.common.exception.QueryLimitExceededException;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for QueryLimits and the bounded query execution of AbstractR2dbcDataSource,
+ * against an in-memory H2 database
+ */
+class QueryLimitsTest {
+
+    private static final String ALL_ORDERS = "SELECT id, status FROM orders ORDER BY id";
+
+    private ConnectionFactory h2;
+    private AbstractR2dbcDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        h2 = H2DataSource.database(
+                "CREATE TABLE orders (id INT PRIMARY KEY, status VARCHAR(10))",
+                "INSERT INTO orders SELECT x, 'NEW' FROM SYSTEM_RANGE(1, 50)");
+        dataSource = H2DataSource.open(h2, Map.of());
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.close();
+    }
+
+    @Test
+    void testLimitsFromQueryConfiguration() {
+        QueryLimits defaults = QueryLimits.from(Map.of());
+        assertEquals(QueryLimits.DEFAULT_MAX_ROWS, defaults.getMaxRows());
+        assertEquals(QueryLimits.DEFAULT_MAX_BYTES, defaults.getMaxBytes());
+        assertEquals(QueryLimits.DEFAULT_FETCH_SIZE, defaults.getFetchSize());
+        assertFalse(defaults.isFailOnExceed());
+        assertFalse(defaults.isRowLimited());
+
+        QueryLimits configured = QueryLimits.from(Map.of("maxRows", "20", "maxBytes", 4096, "onLimitExceeded", "error"));
+        assertEquals(20, configured.getMaxRows());
+        assertEquals(4096, configured.getMaxBytes());
+        // The fetch size never exceeds the rows that may be returned
+        assertEquals(20, configured.getFetchSize());
+        assertTrue(configured.isFailOnExceed());
+
+        assertThrows(IllegalArgumentException.class, () -> QueryLimits.from(Map.of("maxRows", 0)));
+    }
+
+    @Test
+    void testDataSourceLimitsApplyUnlessTheQueryOverridesThem() {
+        assertSame(QueryLimits.UNLIMITED, QueryLimits.forDataSource(Map.of("host", "db-1")));
+
+        QueryLimits dataSourceLimits = QueryLimits.forDataSource(Map.of("queryLimits",
+                Map.of("maxRows", 100, "onLimitExceeded", "ERROR")));
+        assertEquals(100, dataSourceLimits.getMaxRows());
+        assertTrue(dataSourceLimits.isFailOnExceed());
+
+        QueryLimits inherited = QueryLimits.from(Map.of("fetchSize", 10), dataSourceLimits);
+        assertEquals(100, inherited.getMaxRows());
+        assertEquals(10, inherited.getFetchSize());
+        assertTrue(inherited.isFailOnExceed());
+
+        QueryLimits overridden = QueryLimits.from(Map.of("maxRows", 500, "onLimitExceeded", "TRUNCATE"),
+                dataSourceLimits);
+        assertEquals(500, overridden.getMaxRows());
+        assertFalse(overridden.isFailOnExceed());
+    }
+
+    @Test
+    void testRowLimitTruncatesAndCancelsTheUpstream() {
+        QueryLimits limits = new QueryLimits(3, QueryLimits.DEFAULT_MAX_BYTES, 2, false);
+        AtomicInteger truncations = new AtomicInteger();
+        AtomicBoolean cancelled = new AtomicBoolean();
+
+        StepVerifier.create(limits.apply(Flux.range(1, 100).doOnCancel(() -> cancelled.set(true)),
+                        value -> 24, truncations::incrementAndGet))
+                .expectNext(1, 2, 3)
+                .verifyComplete();
+
+        assertEquals(1, truncations.get());
+        assertTrue(cancelled.get());
+    }
+
+    @Test
+    void testByteLimitTruncates() {
+        // Each row is estimated at 48 + 32 + 40 + 2 * 2 + 24 = 148 bytes
+        QueryLimits limits = new QueryLimits(100, 400, 10, false);
+        AtomicBoolean truncated = new AtomicBoolean();
+
+        StepVerifier.create(limits.apply(Flux.range(1, 10).map(id -> Map.<String, Object>of("id", id)),
+                        () -> truncated.set(true)))
+                .expectNextCount(2)
+                .verifyComplete();
+
+        assertTrue(truncated.get());
+    }
+
+    @Test
+    void testResultWithinLimitsIsNotFlagged() {
+        QueryLimits limits = new QueryLimits(3, QueryLimits.DEFAULT_MAX_BYTES, 2, false);
+        AtomicBoolean truncated = new AtomicBoolean();
+
+        StepVerifier.create(limits.apply(Flux.range(1, 3), value -> 24, () -> truncated.set(true)))
+                .expectNext(1, 2, 3)
+                .verifyComplete();
+
+        assertFalse(truncated.get());
+    }
+
+    @Test
+    void testErrorModeFailsInsteadOfTruncating() {
+        QueryLimits rowLimit = new QueryLimits(3, QueryLimits.DEFAULT_MAX_BYTES, 2, true);
+        StepVerifier.create(rowLimit.apply(Flux.range(1, 100), value -> 24, null))
+                .expectNext(1, 2, 3)
+                .expectErrorSatisfies(error -> {
+                    assertInstanceOf(QueryLimitExceededException.class, error);
+                    assertTrue(error.getMessage().contains("row limit 3"));
+                })
+                .verify();
+
+        QueryLimits byteLimit = new QueryLimits(100, 50, 2, true);
+        StepVerifier.create(byteLimit.apply(Flux.range(1, 100), value -> 24, null))
+                .expectNext(1, 2)
+                .expectErrorSatisfies(error -> assertTrue(error.getMessage().contains("byte limit 50")))
+                .verify();
+    }
+
+    @Test
+    void testQueryResultIsNotTruncatedByDefault() {
+        StepVerifier.create(dataSource.executeQuery(Map.of("sql", ALL_ORDERS)))
+                .assertNext(result -> {
+                    assertEquals(50, result.get("count"));
+                    assertEquals(false, result.get("truncated"));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void testDataSourceQueryLimitsBoundQueriesWithoutTheirOwn() {
+        AbstractR2dbcDataSource limited = H2DataSource.open(h2, Map.of("queryLimits", Map.of("maxRows", 20)));
+        try {
+            StepVerifier.create(limited.executeQuery(Map.of("sql", ALL_ORDERS)))
+                    .assertNext(result -> {
+                        assertEquals(20, result.get("count"));
+                        assertEquals(true, result.get("truncated"));
+                    })
+                    .verifyComplete();
+
+            StepVerifier.create(limited.executeQuery(Map.of("sql", ALL_ORDERS, "maxRows", 50)))
+                    .assertNext(result -> assertEquals(false, result.get("truncated")))
+                    .verifyComplete();
+        } finally {
+            limited.close();
+        }
+    }
+
+    @Test
+    void testQueryResultIsTruncatedAtMaxRows() {
+        StepVerifier.create(dataSource.executeQuery(Map.of("sql", ALL_ORDERS, "maxRows", 10)))
+                .assertNext(result -> {
+                    assertEquals(10, result.get("count"));
+                    assertEquals(true, result.get("truncated"));
+                    assertEquals(10, ((List<?>) result.get("data")).size());
+                })
+                .verifyComplete();
+
+        StepVerifier.create(dataSource.executeQuery(Map.of("sql", ALL_ORDERS, "maxRows", 50)))
+                .assertNext(result -> {
+                    assertEquals(50, result.get("count"));
+                    assertEquals(false, result.get("truncated"));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void testQueryResultIsTruncatedAtMaxBytes() {
+        StepVerifier.create(dataSource.executeQuery(Map.of("sql", ALL_ORDERS, "maxBytes", 2000)))
+                .assertNext(result -> {
+                    assertEquals(true, result.get("truncated"));
+                    assertTrue((int) result.get("count") < 50);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void testQueryExceedingLimitFailsInErrorMode() {
+        StepVerifier.create(dataSource.executeQuery(Map.of("sql", ALL_ORDERS, "maxRows", 10,
+                        "onLimitExceeded", "ERROR")))
+                .expectError(QueryLimitExceededException.class)
+                .verify();
+    }
+
+    @Test
+    void testStreamQueryIsBoundedByMaxRows() {
+        StepVerifier.create(dataSource.streamQuery(Map.of("sql", ALL_ORDERS, "maxRows", 5, "fetchSize", 2)))
+                .assertNext(row -> assertEquals(1, row.get("ID")))
+                .expectNextCount(4)
+                .verifyComplete();
+
+        StepVerifier.create(dataSource.streamQuery(Map.of("sql", ALL_ORDERS, "maxRows", 5,
+                        "onLimitExceeded", "ERROR")))
+                .expectNextCount(5)
+                .expectError(QueryLimitExceededException.class)
+                .verify();
+    }
+}
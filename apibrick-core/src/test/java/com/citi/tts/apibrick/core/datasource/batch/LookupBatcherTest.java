@@ -0,0 +1,255 @@
+package com.citi.tts.apibrick.core.datasource.batch;
+
+import com.citi.tts.apibrick.core.datasource.QueryLimits;
+import io.r2dbc.h2.H2ConnectionFactory;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import io.r2dbc.spi.Result;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LookupBatcher, against an in-memory H2 database
+ */
+class LookupBatcherTest {
+
+    private static final String SQL = "SELECT id, name FROM customer WHERE id = ?";
+    private static final Map<String, Object> FIELD_MAPPING = Map.of("id", "ID", "name", "NAME");
+
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicReference<Object> connectionTenant = new AtomicReference<>();
+    private LookupBatcher batcher;
+
+    @BeforeEach
+    void setUp() {
+        ConnectionFactory h2 = H2ConnectionFactory.inMemory("lookup-" + UUID.randomUUID());
+        Mono.usingWhen(h2.create(),
+                connection -> Flux.from(connection.createBatch()
+                                .add("CREATE TABLE customer (id INT PRIMARY KEY, name VARCHAR(50), region VARCHAR(10))")
+                                .add("INSERT INTO customer VALUES (1, 'Alice', 'EU')")
+                                .add("INSERT INTO customer VALUES (2, 'Bob', 'US')")
+                                .add("INSERT INTO customer VALUES (3, 'Carol', 'EU')")
+                                .execute())
+                        .flatMap(Result::getRowsUpdated)
+                        .then(),
+                Connection::close).block();
+
+        ConnectionFactory counting = new ConnectionFactory() {
+            @Override
+            public Publisher<? extends Connection> create() {
+                return Mono.deferContextual(context -> {
+                    connections.incrementAndGet();
+                    connectionTenant.set(context.getOrDefault("tenantId", null));
+                    return Mono.from(h2.create());
+                });
+            }
+
+            @Override
+            public ConnectionFactoryMetadata getMetadata() {
+                return h2.getMetadata();
+            }
+        };
+        batcher = new LookupBatcher(counting, column -> (row, index) -> row.get(index));
+    }
+
+    @Test
+    void testConcurrentLookupsShareOneQuery() {
+        LookupBatchOptions options = new LookupBatchOptions("id", null, Duration.ofMillis(50), 100);
+
+        List<Map<String, Object>> results = Flux.mergeSequential(
+                        lookup(1L, options), lookup(2L, options), lookup(3L, options), lookup(2L, options))
+                .collectList()
+                .block();
+
+        assertEquals(1, connections.get());
+        assertEquals("Alice", results.get(0).get("name"));
+        assertEquals("Bob", results.get(1).get("name"));
+        assertEquals("Carol", results.get(2).get("name"));
+        assertEquals("Bob", results.get(3).get("name"));
+    }
+
+    @Test
+    void testMissingKeyGetsEmptyResult() {
+        LookupBatchOptions options = new LookupBatchOptions("id", null, Duration.ofMillis(20), 100);
+
+        List<Map<String, Object>> results = Flux.mergeSequential(lookup(1L, options), lookup(99L, options))
+                .collectList()
+                .block();
+
+        assertEquals("Alice", results.get(0).get("name"));
+        assertEquals(0, results.get(1).get("count"));
+        assertEquals(List.of(), results.get(1).get("data"));
+    }
+
+    @Test
+    void testFullBatchIsExecutedBeforeWindowEnds() {
+        LookupBatchOptions options = new LookupBatchOptions("id", null, Duration.ofSeconds(30), 2);
+
+        List<Map<String, Object>> results = Flux.mergeSequential(
+                        lookup(1L, options), lookup(2L, options), lookup(3L, options), lookup(1L, options))
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertEquals(2, connections.get());
+        assertEquals(4, results.size());
+    }
+
+    @Test
+    void testBatchRunsWithTheContextOfItsCallers() {
+        LookupBatchOptions options = new LookupBatchOptions("id", null, Duration.ofMillis(20), 100);
+
+        List<Map<String, Object>> results = Flux.mergeSequential(lookup(1L, options), lookup(2L, options))
+                .collectList()
+                .contextWrite(Context.of("tenantId", "tenant-a"))
+                .block(Duration.ofSeconds(5));
+
+        assertEquals(1, connections.get());
+        assertEquals("tenant-a", connectionTenant.get());
+        assertEquals("Bob", results.get(1).get("name"));
+    }
+
+    @Test
+    void testBatchCancelledByAllCallersIsNotExecuted() throws Exception {
+        LookupBatchOptions options = new LookupBatchOptions("id", null, Duration.ofMillis(50), 100);
+
+        Disposable first = lookup(1L, options).subscribe();
+        Disposable second = lookup(2L, options).subscribe();
+        first.dispose();
+        second.dispose();
+        Thread.sleep(200);
+
+        assertEquals(0, connections.get());
+        // A later lookup of the same statement opens a new batch
+        assertEquals("Carol", lookup(3L, options).block(Duration.ofSeconds(5)).get("name"));
+        assertEquals(1, connections.get());
+    }
+
+    @Test
+    void testBatchCancelledByOneCallerStillAnswersTheOthers() {
+        LookupBatchOptions options = new LookupBatchOptions("id", null, Duration.ofMillis(50), 100);
+
+        Disposable first = lookup(1L, options).subscribe();
+        Mono<Map<String, Object>> second = lookup(2L, options).cache();
+        second.subscribe();
+        first.dispose();
+
+        assertEquals("Bob", second.block(Duration.ofSeconds(5)).get("name"));
+        assertEquals(1, connections.get());
+    }
+
+    @Test
+    void testOtherParametersAreKeptInPlace() {
+        LookupBatchOptions options = new LookupBatchOptions("id", null, Duration.ofMillis(20), 100);
+        String sql = "SELECT id, name FROM customer WHERE region = ? AND id = ?";
+
+        List<Map<String, Object>> results = Flux.mergeSequential(
+                        batcher.execute(sql, List.of("EU", 1), Map.of("fieldMapping", FIELD_MAPPING),
+                                QueryLimits.UNLIMITED, options),
+                        batcher.execute(sql, List.of("EU", 2), Map.of("fieldMapping", FIELD_MAPPING),
+                                QueryLimits.UNLIMITED, options),
+                        batcher.execute(sql, List.of("US", 2), Map.of("fieldMapping", FIELD_MAPPING),
+                                QueryLimits.UNLIMITED, options))
+                .collectList()
+                .block();
+
+        // Different region parameter -> separate batch
+        assertEquals(2, connections.get());
+        assertEquals("Alice", results.get(0).get("name"));
+        assertEquals(0, results.get(1).get("count"));
+        assertEquals("Bob", results.get(2).get("name"));
+    }
+
+    @Test
+    void testStatementRewrite() {
+        LookupBatcher.BatchStatement statement = LookupBatcher.BatchStatement.parse(
+                "SELECT * FROM orders o WHERE o.status = ? AND o.id = ? ORDER BY o.id", "o.id");
+
+        assertEquals(1, statement.keyParameterIndex());
+        assertEquals("SELECT * FROM orders o WHERE o.status = ? AND o.id IN (?, ?, ?) ORDER BY o.id",
+                statement.sqlFor(3));
+        assertEquals(List.of("OPEN", 1, 2, 3), statement.bindings(List.of("OPEN"), List.of(1, 2, 3)));
+        assertThrows(IllegalArgumentException.class,
+                () -> LookupBatcher.BatchStatement.parse("SELECT * FROM orders WHERE uid = ?", "id"));
+    }
+
+    @Test
+    void testStatementsDependingOnOtherKeysAreNotBatched() {
+        List<String> unbatchable = List.of(
+                "SELECT id, name FROM customer WHERE id = ? LIMIT 1",
+                "SELECT id, name FROM customer WHERE id = ? OFFSET 1",
+                "SELECT id, name FROM customer WHERE id = ? OR region = ?",
+                "SELECT DISTINCT region FROM customer WHERE id = ?",
+                "SELECT COUNT(*) AS total FROM customer WHERE id = ?",
+                "SELECT region, MAX(name) FROM customer WHERE id = ? GROUP BY region",
+                "SELECT id, ROW_NUMBER() OVER (ORDER BY name) AS rn FROM customer WHERE id = ?",
+                "SELECT id, name FROM customer WHERE region IN (SELECT region FROM customer WHERE id = ?)",
+                "SELECT c.id FROM customer c JOIN orders o ON o.customer_id = c.id AND id = ?",
+                "SELECT id, name FROM customer WHERE id = ? UNION SELECT id, name FROM customer WHERE id = ?");
+        for (String sql : unbatchable) {
+            assertNull(LookupBatcher.BatchStatement.parse(sql, "id"), sql);
+        }
+        LookupBatcher.BatchStatement nested = LookupBatcher.BatchStatement.parse(
+                "SELECT id, name FROM customer WHERE (region = ? AND id = ?) AND name IS NOT NULL", "id");
+        assertNotNull(nested);
+        assertEquals(1, nested.keyParameterIndex());
+    }
+
+    @Test
+    void testUnbatchableStatementRunsAsSingleQueries() {
+        LookupBatchOptions options = new LookupBatchOptions("id", null, Duration.ofMillis(20), 100);
+        String sql = "SELECT id, name FROM customer WHERE id = ? ORDER BY id LIMIT 1";
+
+        assertFalse(batcher.canBatch(sql, options));
+        List<Map<String, Object>> results = Flux.mergeSequential(
+                        batcher.execute(sql, List.of(1), Map.of("fieldMapping", FIELD_MAPPING),
+                                QueryLimits.UNLIMITED, options),
+                        batcher.execute(sql, List.of(2), Map.of("fieldMapping", FIELD_MAPPING),
+                                QueryLimits.UNLIMITED, options))
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertEquals(2, connections.get());
+        assertEquals("Alice", results.get(0).get("name"));
+        assertEquals("Bob", results.get(1).get("name"));
+    }
+
+    @Test
+    void testBatchHittingItsRowBoundFallsBackToSingleQueries() {
+        LookupBatchOptions options = new LookupBatchOptions("region", null, Duration.ofMillis(20), 100);
+        String sql = "SELECT id, name, region FROM customer WHERE region = ? ORDER BY id";
+        Map<String, Object> queryConfig = Map.of("maxRows", 1,
+                "fieldMapping", Map.of("name", "NAME", "region", "REGION"));
+
+        // EU has two rows: 2 keys x maxRows 1 cannot hold the three matching rows
+        List<Map<String, Object>> results = Flux.mergeSequential(
+                        batcher.execute(sql, List.of("EU"), queryConfig, QueryLimits.from(queryConfig), options),
+                        batcher.execute(sql, List.of("US"), queryConfig, QueryLimits.from(queryConfig), options))
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertEquals(3, connections.get());
+        assertEquals(true, results.get(0).get("truncated"));
+        assertEquals(1, results.get(0).get("count"));
+        assertEquals("Bob", results.get(1).get("name"));
+    }
+
+    private Mono<Map<String, Object>> lookup(Object id, LookupBatchOptions options) {
+        return batcher.execute(SQL, List.of(id), Map.of("fieldMapping", FIELD_MAPPING), QueryLimits.UNLIMITED,
+                options);
+    }
+}
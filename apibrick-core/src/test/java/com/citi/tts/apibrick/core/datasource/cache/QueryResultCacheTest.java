@@ -0,0 +1,174 @@
+package com.citi.tts.apibrick.core.datasource.cache;
+
+import com.citi.tts.apibrick.core.datasource.QueryKey;
+import com.citi.tts.apibrick.core.datasource.result.ColumnarResultSet;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for QueryResultCache
+ */
+class QueryResultCacheTest {
+
+    private static final Map<String, Object> QUERY = Map.of(
+            "sql", "SELECT * FROM orders WHERE id = ?",
+            "parameters", Map.of("id", 42),
+            "cache", Map.of("enabled", true, "ttlSeconds", 30));
+
+    private final QueryCacheOptions options = QueryCacheOptions.from(QUERY);
+
+    @Test
+    void testSecondCallIsServedFromCache() {
+        QueryResultCache cache = new QueryResultCache(null);
+        AtomicInteger loads = new AtomicInteger();
+        QueryKey key = QueryKey.of("tenant-a", "orders-db", QUERY);
+
+        for (int i = 0; i < 2; i++) {
+            StepVerifier.create(cache.get(key, options, () -> load(loads)))
+                    .assertNext(result -> assertEquals(42, result.get("id")))
+                    .verifyComplete();
+        }
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testConcurrentMissesShareOneLoad() {
+        QueryResultCache cache = new QueryResultCache(null);
+        AtomicInteger loads = new AtomicInteger();
+        QueryKey key = QueryKey.of("tenant-a", "orders-db", QUERY);
+
+        Mono<Map<String, Object>> slowLoad = Mono.delay(Duration.ofMillis(100)).then(load(loads));
+        StepVerifier.create(Mono.zip(cache.get(key, options, () -> slowLoad),
+                        cache.get(key, options, () -> slowLoad)))
+                .assertNext(results -> assertEquals(results.getT1(), results.getT2()))
+                .verifyComplete();
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCallerWritesDoNotReachTheCachedEntry() {
+        QueryResultCache cache = new QueryResultCache(null);
+        QueryKey key = QueryKey.of("tenant-a", "orders-db", QUERY);
+        ColumnarResultSet rows = ColumnarResultSet.builder()
+                .addRow(Map.of("id", 1, "status", "OPEN"))
+                .addRow(Map.of("id", 2, "status", "OPEN"))
+                .build();
+        Mono<Map<String, Object>> load = Mono.fromSupplier(() -> Map.of("data", rows, "count", 2));
+
+        Map<String, Object> first = cache.get(key, options, () -> load).block();
+        ((List<Map<String, Object>>) first.get("data")).get(0).put("status", "CLOSED");
+        first.put("extra", true);
+        Map<String, Object> second = cache.get(key, options, () -> load).block();
+
+        assertEquals("OPEN", ((List<Map<String, Object>>) second.get("data")).get(0).get("status"));
+        assertFalse(second.containsKey("extra"));
+    }
+
+    @Test
+    void testTenantsDoNotShareEntries() {
+        QueryResultCache cache = new QueryResultCache(null);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(QueryKey.of("tenant-a", "orders-db", QUERY), options, () -> load(loads)).block();
+        cache.get(QueryKey.of("tenant-b", "orders-db", QUERY), options, () -> load(loads)).block();
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testSharedStoreServesOtherNodes() {
+        InMemoryCacheStore store = new InMemoryCacheStore();
+        AtomicInteger loads = new AtomicInteger();
+        QueryKey key = QueryKey.of("tenant-a", "orders-db", QUERY);
+
+        new QueryResultCache(store).get(key, options, () -> load(loads)).block();
+        Map<String, Object> result = new QueryResultCache(store).get(key, options, () -> load(loads)).block();
+
+        assertEquals(1, loads.get());
+        assertEquals(42, result.get("id"));
+        assertTrue(store.entries.keySet().stream().allMatch(k -> k.startsWith("tenant-a:qcache:orders-db:")));
+    }
+
+    @Test
+    void testInvalidateDropsBothTiers() {
+        InMemoryCacheStore store = new InMemoryCacheStore();
+        QueryResultCache cache = new QueryResultCache(store);
+        AtomicInteger loads = new AtomicInteger();
+        QueryKey key = QueryKey.of("tenant-a", "orders-db", QUERY);
+
+        cache.get(key, options, () -> load(loads)).block();
+        StepVerifier.create(cache.invalidate("tenant-a", "orders-db")).verifyComplete();
+        cache.get(key, options, () -> load(loads)).block();
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testClosedDataSourceDropsOnlyItsLocalRegions() {
+        InMemoryCacheStore store = new InMemoryCacheStore();
+        QueryResultCache cache = new QueryResultCache(store);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(QueryKey.of("tenant-a", "orders-db", QUERY), options, () -> load(loads)).block();
+        cache.get(QueryKey.of("tenant-a", "other-db", QUERY), options, () -> load(loads)).block();
+        assertEquals(2, cache.getRegionCount());
+
+        cache.dropRegions("tenant-a", "orders-db");
+
+        assertEquals(1, cache.getRegionCount());
+        // Other nodes may still serve the shared entry
+        assertEquals(2, store.entries.size());
+    }
+
+    @Test
+    void testExecutionOnlyEntriesDoNotChangeKey() {
+        Map<String, Object> streamed = new HashMap<>(QUERY);
+        streamed.put("resultMode", "STREAM");
+        streamed.remove("cache");
+
+        assertEquals(QueryKey.of("t", "ds", QUERY), QueryKey.of("t", "ds", streamed));
+        assertNotEquals(QueryKey.of("t", "ds", QUERY), QueryKey.of("t", "other", QUERY));
+    }
+
+    private static Mono<Map<String, Object>> load(AtomicInteger loads) {
+        return Mono.fromSupplier(() -> {
+            loads.incrementAndGet();
+            return Map.of("id", 42, "status", "OPEN");
+        });
+    }
+
+    private static class InMemoryCacheStore implements QueryCacheStore {
+
+        private final Map<String, String> entries = new ConcurrentHashMap<>();
+
+        @Override
+        public Mono<String> get(String key) {
+            return Mono.justOrEmpty(entries.get(key));
+        }
+
+        @Override
+        public Mono<Void> put(String key, String value, Duration ttl) {
+            return Mono.fromRunnable(() -> entries.put(key, value));
+        }
+
+        @Override
+        public Mono<Long> deleteByPrefix(String prefix) {
+            return Mono.fromSupplier(() -> {
+                long before = entries.size();
+                entries.keySet().removeIf(key -> key.startsWith(prefix));
+                return before - entries.size();
+            });
+        }
+    }
+}
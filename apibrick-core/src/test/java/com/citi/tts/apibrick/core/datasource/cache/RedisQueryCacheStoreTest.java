@@ -0,0 +1,59 @@
+package com.citi.tts.apibrick.core.datasource.cache;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import org.springframework.data.redis.core.ScanOptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RedisQueryCacheStore against a mocked Redis template
+ */
+class RedisQueryCacheStoreTest {
+
+    private final ReactiveStringRedisTemplate redisTemplate = mock(ReactiveStringRedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final ReactiveValueOperations<String, String> values = mock(ReactiveValueOperations.class);
+    private final RedisQueryCacheStore store = new RedisQueryCacheStore(redisTemplate);
+
+    @Test
+    void testEntriesAreWrittenWithTheirTtl() {
+        when(redisTemplate.opsForValue()).thenReturn(values);
+        when(values.set("tenant-a:qcache:k", "{}", Duration.ofSeconds(30))).thenReturn(Mono.just(true));
+        when(values.get("tenant-a:qcache:k")).thenReturn(Mono.just("{}"));
+
+        StepVerifier.create(store.put("tenant-a:qcache:k", "{}", Duration.ofSeconds(30))).verifyComplete();
+        StepVerifier.create(store.get("tenant-a:qcache:k")).expectNext("{}").verifyComplete();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testDeleteByPrefixScansOnlyThePrefix() {
+        Flux<String> keys = Flux.just("tenant-a:qcache:orders*:1");
+        when(redisTemplate.scan(any(ScanOptions.class))).thenReturn(keys);
+        when(redisTemplate.delete(any(Flux.class))).thenReturn(Mono.just(1L));
+
+        StepVerifier.create(store.deleteByPrefix("tenant-a:qcache:orders*:")).expectNext(1L).verifyComplete();
+
+        ArgumentCaptor<ScanOptions> options = ArgumentCaptor.forClass(ScanOptions.class);
+        verify(redisTemplate).scan(options.capture());
+        // The '*' of the data source ID must not match other data sources
+        assertEquals("tenant-a:qcache:orders\\*:*", options.getValue().getPattern());
+        verify(redisTemplate).delete(keys);
+    }
+
+    @Test
+    void testGlobCharactersAreEscaped() {
+        assertEquals("t:qcache:a\\?b\\[c\\]\\\\:", RedisQueryCacheStore.escapeGlob("t:qcache:a?b[c]\\:"));
+        assertEquals("plain:", RedisQueryCacheStore.escapeGlob("plain:"));
+    }
+}
@@ -0,0 +1,221 @@
+package com.citi.tts.apibrick.core.datasource.manager;
+
+import com.citi.tts.apibrick.common.enums.DataSourceType;
+import com.citi.tts.apibrick.core.datasource.DataSource;
+import com.citi.tts.apibrick.core.datasource.DataSourceFactory;
+import com.citi.tts.apibrick.core.datasource.result.ColumnarResultSet;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for DataSourceManager query coalescing and data source lifecycle
+ */
+class DataSourceManagerTest {
+
+    private static final Map<String, Object> UNGUARDED = Map.of("resilience", Map.of("enabled", false));
+
+    private final DataSourceManager manager = new DataSourceManager();
+    private final AtomicInteger executions = new AtomicInteger();
+    private final DataSource dataSource = mock(DataSource.class);
+
+    DataSourceManagerTest() {
+        when(dataSource.executeQuery(anyMap())).thenReturn(Mono.delay(Duration.ofMillis(100))
+                .map(tick -> Map.of("id", executions.incrementAndGet())));
+    }
+
+    @Test
+    void testIdenticalInFlightQueriesShareOneExecution() {
+        Map<String, Object> query = query(42);
+
+        List<Map<String, Object>> results = Flux.range(0, 10)
+                .flatMap(i -> manager.executeQuery("tenant-a", "orders-db", dataSource, query))
+                .collectList()
+                .block();
+
+        assertEquals(10, results.size());
+        assertEquals(1, executions.get());
+        assertTrue(results.stream().allMatch(result -> result.get("id").equals(1)));
+        assertEquals(0, manager.getInFlightQueryCount());
+    }
+
+    @Test
+    void testDifferentParametersOrTenantsAreNotShared() {
+        StepVerifier.create(Flux.merge(
+                        manager.executeQuery("tenant-a", "orders-db", dataSource, query(1)),
+                        manager.executeQuery("tenant-a", "orders-db", dataSource, query(2)),
+                        manager.executeQuery("tenant-b", "orders-db", dataSource, query(1))))
+                .expectNextCount(3)
+                .verifyComplete();
+
+        assertEquals(3, executions.get());
+    }
+
+    @Test
+    void testCompletedQueryIsExecutedAgain() {
+        manager.executeQuery("tenant-a", "orders-db", dataSource, query(42)).block();
+        manager.executeQuery("tenant-a", "orders-db", dataSource, query(42)).block();
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void testCoalescingCanBeDisabled() {
+        Map<String, Object> query = query(42);
+        query.put("coalesce", false);
+
+        Flux.merge(manager.executeQuery("tenant-a", "orders-db", dataSource, query),
+                        manager.executeQuery("tenant-a", "orders-db", dataSource, query))
+                .blockLast();
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void testCallersGetIndependentMaps() {
+        Map<String, Object> query = query(42);
+
+        List<Map<String, Object>> results = Flux.merge(
+                        manager.executeQuery("tenant-a", "orders-db", dataSource, query),
+                        manager.executeQuery("tenant-a", "orders-db", dataSource, query))
+                .collectList()
+                .block();
+
+        results.get(0).put("extra", true);
+        assertFalse(results.get(1).containsKey("extra"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCallersGetIndependentRows() {
+        ColumnarResultSet rows = ColumnarResultSet.builder()
+                .addRow(Map.of("id", 1, "status", "OPEN"))
+                .build();
+        when(dataSource.executeQuery(anyMap())).thenReturn(Mono.delay(Duration.ofMillis(100))
+                .map(tick -> Map.of("data", rows)));
+
+        List<Map<String, Object>> results = Flux.merge(
+                        manager.executeQuery("tenant-a", "orders-db", dataSource, query(42)),
+                        manager.executeQuery("tenant-a", "orders-db", dataSource, query(42)))
+                .collectList()
+                .block();
+
+        ((List<Map<String, Object>>) results.get(0).get("data")).get(0).put("status", "CLOSED");
+        assertEquals("OPEN", ((List<Map<String, Object>>) results.get(1).get("data")).get(0).get("status"));
+    }
+
+    @Test
+    void testIdleDataSourceIsClosed() {
+        DataSourceManager evicting = new DataSourceManager(Duration.ZERO, Duration.ofHours(1));
+        evicting.registerFactory(factory());
+
+        List<String> closed = new ArrayList<>();
+        evicting.addCloseListener((tenantId, datasourceId) -> closed.add(tenantId + ":" + datasourceId));
+
+        DataSource created = evicting.getOrCreateDataSource("orders-db", DataSourceType.MYSQL,
+                UNGUARDED, "tenant-a", "DEV").block();
+
+        assertSame(dataSource, created);
+        assertEquals(1, evicting.evictIdle());
+        verify(dataSource).close();
+        assertNull(evicting.getDataSourceState("orders-db", "tenant-a"));
+        assertEquals(List.of("tenant-a:orders-db"), closed);
+    }
+
+    @Test
+    void testDataSourceWithWorkInProgressIsNotClosed() {
+        DataSourceManager evicting = new DataSourceManager(Duration.ZERO, Duration.ofHours(1));
+        evicting.registerFactory(factory());
+        // Not wrapped by ResilientDataSource, e.g. a connection held by a flow between steps
+        when(dataSource.getInFlightCount()).thenReturn(1);
+        evicting.getOrCreateDataSource("orders-db", DataSourceType.MYSQL, UNGUARDED, "tenant-a", "DEV").block();
+
+        assertEquals(0, evicting.evictIdle());
+        verify(dataSource, never()).close();
+
+        when(dataSource.getInFlightCount()).thenReturn(0);
+        assertEquals(1, evicting.evictIdle());
+        verify(dataSource).close();
+    }
+
+    @Test
+    void testHealthCheckReusesExistingDataSource() {
+        DataSourceFactory factory = factory();
+        manager.registerFactory(factory);
+        when(dataSource.testConnection()).thenReturn(Mono.just(true));
+        manager.getOrCreateDataSource("orders-db", DataSourceType.MYSQL, UNGUARDED, "tenant-a", "DEV").block();
+
+        manager.runMaintenance().block();
+
+        DataSourceState state = manager.getDataSourceState("orders-db", "tenant-a");
+        assertEquals(DataSourceState.Health.UP, state.health());
+        assertNotNull(state.lastHealthCheckAt());
+        verify(factory, times(1)).create(anyMap(), anyString(), anyString());
+        verify(dataSource, never()).close();
+    }
+
+    @Test
+    void testConnectionTestClosesTemporaryDataSource() {
+        manager.registerFactory(factory());
+        when(dataSource.testConnection()).thenReturn(Mono.just(true));
+
+        StepVerifier.create(manager.testConnection(DataSourceType.MYSQL, UNGUARDED, "tenant-a", "DEV"))
+                .expectNext(true)
+                .verifyComplete();
+
+        verify(dataSource).close();
+        assertTrue(manager.getDataSourceStates().isEmpty());
+    }
+
+    @Test
+    void testWarmUpOpensAndValidatesRegisteredDataSources() {
+        DataSource unreachable = mock(DataSource.class);
+        when(unreachable.testConnection()).thenReturn(Mono.error(new IllegalStateException("refused")));
+        when(dataSource.testConnection()).thenReturn(Mono.just(true));
+        DataSourceFactory factory = factory();
+        when(factory.create(anyMap(), eq("tenant-b"), anyString())).thenReturn(Mono.just(unreachable));
+        manager.registerFactory(factory);
+
+        StepVerifier.create(manager.warmUp(Flux.just(
+                        new DataSourceDefinition("tenant-a", "orders-db", DataSourceType.MYSQL, "DEV", UNGUARDED),
+                        new DataSourceDefinition("tenant-b", "orders-db", DataSourceType.MYSQL, "DEV", UNGUARDED),
+                        new DataSourceDefinition("tenant-c", "ledger-db", DataSourceType.ORACLE, "DEV", UNGUARDED)),
+                        4))
+                .expectNext(1)
+                .verifyComplete();
+
+        assertEquals(DataSourceState.Health.UP, manager.getDataSourceState("orders-db", "tenant-a").health());
+        assertEquals(DataSourceState.Health.DOWN, manager.getDataSourceState("orders-db", "tenant-b").health());
+        assertNull(manager.getDataSourceState("ledger-db", "tenant-c"));
+        // Opened pools are reused by the first request
+        assertSame(dataSource, manager.getDataSource("orders-db", "tenant-a").block());
+    }
+
+    private DataSourceFactory factory() {
+        DataSourceFactory factory = mock(DataSourceFactory.class);
+        when(factory.getSupportedType()).thenReturn(DataSourceType.MYSQL);
+        when(factory.create(anyMap(), anyString(), anyString())).thenReturn(Mono.just(dataSource));
+        return factory;
+    }
+
+    private static Map<String, Object> query(int id) {
+        Map<String, Object> query = new HashMap<>();
+        query.put("sql", "SELECT * FROM orders WHERE id = ?");
+        query.put("parameters", Map.of("id", id));
+        return query;
+    }
+}
@@ -0,0 +1,121 @@
+package com.citi.tts.apibrick.core.datasource.mongo;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MongoQueryParser find options
+ */
+class MongoQueryParserTest {
+
+    private final MongoQueryParser parser = new MongoQueryParser();
+
+    @Test
+    void testSortFromFieldList() {
+        Map<String, Object> queryConfig = Map.of("sort", List.of(
+                Map.of("field", "createdAt", "direction", "DESC"),
+                Map.of("field", "name")));
+
+        assertEquals(new Document("createdAt", -1).append("name", 1), parser.buildSort(queryConfig));
+    }
+
+    @Test
+    void testKeysetAddsConditionAndSortKey() {
+        ObjectId lastId = new ObjectId();
+        Map<String, Object> queryConfig = Map.of(
+                "conditions", List.of(Map.of("field", "status", "operator", "eq", "value", "OPEN")),
+                "keyset", Map.of("field", "_id", "after", lastId.toHexString()));
+
+        Document sort = parser.buildSort(queryConfig);
+        Document filter = parser.applyKeyset((Document) parser.parse(queryConfig), queryConfig, sort);
+
+        assertEquals(new Document("_id", 1), sort);
+        assertEquals(new Document("$and", List.of(
+                new Document("status", "OPEN"),
+                new Document("_id", new Document("$gt", lastId)))), filter);
+    }
+
+    @Test
+    void testKeysetFollowsDescendingSort() {
+        Map<String, Object> queryConfig = Map.of(
+                "sort", List.of(Map.of("field", "seq", "direction", "DESC")),
+                "keyset", Map.of("field", "seq", "after", 100));
+
+        Document sort = parser.buildSort(queryConfig);
+
+        assertEquals(new Document("seq", new Document("$lt", 100)),
+                parser.applyKeyset(new Document(), queryConfig, sort));
+    }
+
+    @Test
+    void testKeysetRejectsSortByAnotherField() {
+        Map<String, Object> queryConfig = Map.of(
+                "collection", "orders",
+                "sort", List.of(Map.of("field", "createdAt", "direction", "DESC")),
+                "keyset", Map.of("field", "_id"));
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> parser.validate(queryConfig));
+        assertTrue(error.getMessage().contains("createdAt"));
+
+        parser.validate(Map.of(
+                "collection", "orders",
+                "sort", List.of(Map.of("field", "_id", "direction", "DESC")),
+                "keyset", Map.of("field", "_id")));
+    }
+
+    @Test
+    void testProjectionFromFieldMapping() {
+        Map<String, Object> fieldMapping = new LinkedHashMap<>();
+        fieldMapping.put("customerName", "name");
+        fieldMapping.put("city", "address.city");
+
+        assertEquals(new Document("name", 1).append("address.city", 1).append("_id", 0),
+                parser.buildProjection(fieldMapping, null));
+        assertEquals(new Document("name", 1).append("address.city", 1).append("_id", 1),
+                parser.buildProjection(fieldMapping, "_id"));
+        assertNull(parser.buildProjection(null, null));
+    }
+
+    @Test
+    void testNestedFieldMapping() {
+        Document document = new Document("name", "Alice")
+                .append("address", new Document("city", "Dublin"));
+
+        Map<String, Object> result = new MongoDataConverter().convert(document,
+                Map.of("customerName", "name", "city", "address.city"));
+
+        assertEquals(Map.of("customerName", "Alice", "city", "Dublin"), result);
+    }
+
+    @Test
+    void testPipelineStagesAreBuilt() {
+        Map<String, Object> queryConfig = Map.of("pipeline", List.of(
+                Map.of("$match", Map.of("status", "OPEN")),
+                Map.of("$group", Map.of("_id", "$region", "total", Map.of("$sum", "$amount"))),
+                Map.of("$sort", Map.of("total", -1))));
+
+        List<Document> pipeline = parser.buildPipeline(queryConfig);
+
+        assertTrue(parser.isAggregation(queryConfig));
+        assertEquals(3, pipeline.size());
+        assertEquals(new Document("$match", Map.of("status", "OPEN")), pipeline.get(0));
+    }
+
+    @Test
+    void testPipelineRejectsCrossCollectionAndScriptStages() {
+        assertThrows(IllegalArgumentException.class, () -> parser.buildPipeline(Map.of("pipeline", List.of(
+                Map.of("$lookup", Map.of("from", "other_tenant_orders"))))));
+        assertThrows(IllegalArgumentException.class, () -> parser.buildPipeline(Map.of("pipeline", List.of(
+                Map.of("$facet", Map.of("all", List.of(Map.of("$unionWith", "users"))))))));
+        assertThrows(IllegalArgumentException.class, () -> parser.buildPipeline(Map.of("pipeline", List.of(
+                Map.of("$match", Map.of("$where", "sleep(1000)"))))));
+    }
+}
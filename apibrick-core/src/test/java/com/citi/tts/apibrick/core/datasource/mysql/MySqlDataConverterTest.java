@@ -0,0 +1,99 @@
+package com.citi.tts.apibrick.core.datasource.mysql;
+
+import com.citi.tts.apibrick.core.datasource.ColumnConverter;
+import com.citi.tts.apibrick.core.datasource.R2dbcRowMapper;
+import io.r2dbc.spi.ColumnMetadata;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for MySqlDataConverter per-column row mapping
+ */
+class MySqlDataConverterTest {
+
+    private MySqlDataConverter converter;
+    private RowMetadata metadata;
+
+    @BeforeEach
+    void setUp() {
+        converter = new MySqlDataConverter();
+
+        ColumnMetadata id = column("id", Long.class, 20, 0);
+        ColumnMetadata amount = column("amount", BigDecimal.class, 10, 2);
+        ColumnMetadata bigAmount = column("big_amount", BigDecimal.class, 30, 4);
+        ColumnMetadata createTime = column("create_time", LocalDateTime.class, null, null);
+
+        metadata = mock(RowMetadata.class);
+        doReturn(List.of(id, amount, bigAmount, createTime)).when(metadata).getColumnMetadatas();
+    }
+
+    @Test
+    void testRowMapper_ConvertsByColumnIndex() {
+        Row row = mock(Row.class);
+        when(row.get(0)).thenReturn(42L);
+        when(row.get(1, BigDecimal.class)).thenReturn(new BigDecimal("12.34"));
+        when(row.get(2, BigDecimal.class)).thenReturn(new BigDecimal("12345678901234567890.1234"));
+        when(row.get(3, LocalDateTime.class)).thenReturn(LocalDateTime.of(2024, 1, 2, 3, 4, 5));
+
+        R2dbcRowMapper mapper = converter.newRowMapper(null);
+        Map<String, Object> result = mapper.apply(row, metadata);
+
+        assertEquals(42L, result.get("id"));
+        assertEquals(12.34, result.get("amount"));
+        assertEquals("12345678901234567890.1234", result.get("big_amount"));
+        assertEquals("2024-01-02T03:04:05", result.get("create_time"));
+
+        // Cells are never looked up by name
+        verify(row, never()).get(anyString());
+    }
+
+    @Test
+    void testRowMapper_AppliesFieldMappingOncePerResult() {
+        Row first = mock(Row.class);
+        when(first.get(0)).thenReturn(1L);
+        Row second = mock(Row.class);
+        when(second.get(0)).thenReturn(2L);
+
+        R2dbcRowMapper mapper = converter.newRowMapper(Map.of("userId", "id", "missing", "no_such_column"));
+
+        Map<String, Object> firstResult = mapper.apply(first, metadata);
+        Map<String, Object> secondResult = mapper.apply(second, metadata);
+
+        assertEquals(1L, firstResult.get("userId"));
+        assertEquals(2L, secondResult.get("userId"));
+        assertTrue(secondResult.containsKey("missing"));
+        assertNull(secondResult.get("missing"));
+
+        // Conversion plan is built from the first row's metadata only
+        verify(metadata, times(1)).getColumnMetadatas();
+    }
+
+    @Test
+    void testDecimalConverter_IntegralColumnBecomesLong() {
+        Row row = mock(Row.class);
+        when(row.get(0, BigDecimal.class)).thenReturn(new BigDecimal("123456789012"));
+
+        assertEquals(123456789012L, ColumnConverter.decimal(18, 0).read(row, 0));
+        assertEquals("123456789012", ColumnConverter.decimal(19, 0).read(row, 0));
+    }
+
+    private static ColumnMetadata column(String name, Class<?> javaType, Integer precision, Integer scale) {
+        ColumnMetadata column = mock(ColumnMetadata.class);
+        lenient().when(column.getName()).thenReturn(name);
+        lenient().doReturn(javaType).when(column).getJavaType();
+        lenient().when(column.getPrecision()).thenReturn(precision);
+        lenient().when(column.getScale()).thenReturn(scale);
+        return column;
+    }
+}
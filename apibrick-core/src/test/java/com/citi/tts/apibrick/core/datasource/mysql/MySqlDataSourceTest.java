@@ -0,0 +1,44 @@
+package com.citi.tts.apibrick.core.datasource.mysql;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MySqlDataSource read replica routing decisions
+ */
+class MySqlDataSourceTest {
+
+    @Test
+    void testPlainReadsMayUseReplicas() {
+        assertFalse(MySqlDataSource.isPrimaryOnly(Map.of("sql", "SELECT id FROM orders")));
+        assertFalse(MySqlDataSource.isPrimaryOnly(Map.of("sql", "WITH o AS (SELECT id FROM orders) SELECT * FROM o")));
+    }
+
+    @Test
+    void testWritesLockingReadsAndPinnedQueriesUseThePrimary() {
+        assertTrue(MySqlDataSource.isPrimaryOnly(Map.of("sql", "UPDATE orders SET status = 'X'")));
+        assertTrue(MySqlDataSource.isPrimaryOnly(Map.of("sql", "SELECT id FROM orders FOR UPDATE")));
+        assertTrue(MySqlDataSource.isPrimaryOnly(Map.of("sql", "SELECT id FROM orders", "readFromPrimary", true)));
+    }
+
+    @Test
+    void testMultiQueryUsesReplicasOnlyIfEveryQueryMay() {
+        Map<String, Object> reads = Map.of("queries", Map.of(
+                "customer", Map.of("sql", "SELECT id FROM customer"),
+                "orders", Map.of("sql", "SELECT id FROM orders")));
+        assertFalse(MySqlDataSource.isPrimaryOnly(reads));
+
+        Map<String, Object> locking = Map.of("queries", Map.of(
+                "customer", Map.of("sql", "SELECT id FROM customer"),
+                "orders", Map.of("sql", "SELECT id FROM orders LOCK IN SHARE MODE")));
+        assertTrue(MySqlDataSource.isPrimaryOnly(locking));
+
+        Map<String, Object> pinned = Map.of("queries", Map.of(
+                "customer", Map.of("sql", "SELECT id FROM customer", "readFromPrimary", "true")));
+        assertTrue(MySqlDataSource.isPrimaryOnly(pinned));
+        assertTrue(MySqlDataSource.isPrimaryOnly(Map.of("queries", Map.of())));
+    }
+}
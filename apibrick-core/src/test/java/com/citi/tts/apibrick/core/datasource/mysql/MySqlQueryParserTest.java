@@ -0,0 +1,54 @@
+package com.citi.tts.apibrick.core.datasource.mysql;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MySqlQueryParser compound statement rendering
+ */
+class MySqlQueryParserTest {
+
+    @Test
+    void testParametersAreRenderedAsLiterals() {
+        assertEquals("SELECT * FROM orders WHERE id = 42 AND amount > 9.50 AND paid = TRUE AND note IS NULL",
+                MySqlQueryParser.toCompoundStatement(
+                        "SELECT * FROM orders WHERE id = ? AND amount > ? AND paid = ? AND note IS ?",
+                        Arrays.asList(42L, new BigDecimal("9.50"), true, null)));
+        assertEquals("SELECT * FROM orders WHERE day = DATE '2024-03-01' AND ts < TIMESTAMP '2024-03-01 10:15'",
+                MySqlQueryParser.toCompoundStatement("SELECT * FROM orders WHERE day = ? AND ts < ?",
+                        List.of(LocalDate.of(2024, 3, 1), LocalDateTime.of(2024, 3, 1, 10, 15))));
+    }
+
+    @Test
+    void testStringsAreSentAsHexLiterals() {
+        assertEquals("SELECT * FROM customer WHERE name = _utf8mb4 X'27206f7220313d31'",
+                MySqlQueryParser.toCompoundStatement("SELECT * FROM customer WHERE name = ?", List.of("' or 1=1")));
+    }
+
+    @Test
+    void testQuotedQuestionMarksAreKept() {
+        assertEquals("SELECT 'why?', `col?`, 'it\\'s?' FROM t WHERE id = 7",
+                MySqlQueryParser.toCompoundStatement("SELECT 'why?', `col?`, 'it\\'s?' FROM t WHERE id = ?",
+                        List.of(7)));
+    }
+
+    @Test
+    void testUnsupportedParametersFallBack() {
+        assertNull(MySqlQueryParser.toCompoundStatement("SELECT * FROM t WHERE data = ?", List.of(new Object())));
+        assertNull(MySqlQueryParser.toCompoundStatement("SELECT * FROM t WHERE id = ?", List.of()));
+        assertNull(MySqlQueryParser.toCompoundStatement("SELECT * FROM t", List.of(1)));
+    }
+
+    @Test
+    void testSeveralStatementsAreRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> MySqlQueryParser.toCompoundStatement("SELECT 1; SELECT 2", List.of()));
+    }
+}
@@ -0,0 +1,78 @@
+package com.citi.tts.apibrick.core.datasource.oracle;
+
+import com.citi.tts.apibrick.core.datasource.R2dbcRowMapper;
+import io.r2dbc.spi.ColumnMetadata;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for OracleDataConverter per-column row mapping
+ */
+class OracleDataConverterTest {
+
+    private final OracleDataConverter converter = new OracleDataConverter();
+
+    @Test
+    void testNumberColumnsFollowDeclaredPrecision() {
+        RowMetadata metadata = metadata(
+                column("ID", BigDecimal.class, 10, 0),
+                column("RATE", BigDecimal.class, 7, 4),
+                column("ANY_NUMBER", BigDecimal.class, 0, -127),
+                column("ANY_DECIMAL", BigDecimal.class, 0, -127));
+        Row row = mock(Row.class);
+        when(row.get(0, BigDecimal.class)).thenReturn(new BigDecimal("42"));
+        when(row.get(1, BigDecimal.class)).thenReturn(new BigDecimal("0.1250"));
+        when(row.get(2, BigDecimal.class)).thenReturn(new BigDecimal("7"));
+        when(row.get(3, BigDecimal.class)).thenReturn(new BigDecimal("1.10000000000000000001"));
+
+        Map<String, Object> result = converter.newRowMapper(null).apply(row, metadata);
+
+        assertEquals(42L, result.get("ID"));
+        assertEquals(0.125, result.get("RATE"));
+        assertEquals(7L, result.get("ANY_NUMBER"));
+        assertEquals("1.10000000000000000001", result.get("ANY_DECIMAL"));
+    }
+
+    @Test
+    void testDateAndTimestampColumns() {
+        RowMetadata metadata = metadata(
+                column("CREATED", LocalDateTime.class, null, null),
+                column("UPDATED_TZ", OffsetDateTime.class, null, null));
+        Row row = mock(Row.class);
+        when(row.get(0, LocalDateTime.class)).thenReturn(LocalDateTime.of(2024, 3, 1, 0, 0, 0));
+        when(row.get(1, OffsetDateTime.class))
+                .thenReturn(OffsetDateTime.of(2024, 3, 1, 10, 30, 0, 0, ZoneOffset.ofHours(8)));
+
+        R2dbcRowMapper mapper = converter.newRowMapper(Map.of("created", "CREATED", "updated", "UPDATED_TZ"));
+        Map<String, Object> result = mapper.apply(row, metadata);
+
+        assertEquals("2024-03-01T00:00:00", result.get("created"));
+        assertEquals("2024-03-01T10:30:00+08:00", result.get("updated"));
+    }
+
+    private static RowMetadata metadata(ColumnMetadata... columns) {
+        RowMetadata metadata = mock(RowMetadata.class);
+        doReturn(List.of(columns)).when(metadata).getColumnMetadatas();
+        return metadata;
+    }
+
+    private static ColumnMetadata column(String name, Class<?> javaType, Integer precision, Integer scale) {
+        ColumnMetadata column = mock(ColumnMetadata.class);
+        lenient().when(column.getName()).thenReturn(name);
+        lenient().doReturn(javaType).when(column).getJavaType();
+        lenient().when(column.getPrecision()).thenReturn(precision);
+        lenient().when(column.getScale()).thenReturn(scale);
+        return column;
+    }
+}
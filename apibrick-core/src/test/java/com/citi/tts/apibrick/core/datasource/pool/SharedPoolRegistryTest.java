@@ -0,0 +1,219 @@
+package com.citi.tts.apibrick.core.datasource.pool;
+
+import com.citi.tts.apibrick.common.exception.DataSourceUnavailableException;
+import io.r2dbc.h2.H2ConnectionFactory;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SharedPoolRegistry and TenantShare, against an in-memory H2 database
+ */
+class SharedPoolRegistryTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+    private static final PoolSharingOptions FAIR_SHARE = new PoolSharingOptions(true, 2, 2, 0, TIMEOUT);
+
+    private final SharedPoolRegistry registry = new SharedPoolRegistry();
+    private final AtomicInteger poolsCreated = new AtomicInteger();
+    private final AtomicInteger physicalMaxSize = new AtomicInteger();
+    private final String poolKey = SharedPoolRegistry.poolKey("MYSQL", List.of("db", 3306, "app", "user", "secret"),
+            Map.of("maxSize", 2));
+    private ConnectionFactory h2;
+
+    @BeforeEach
+    void setUp() {
+        h2 = H2ConnectionFactory.inMemory("shared-" + UUID.randomUUID());
+    }
+
+    @AfterEach
+    void tearDown() {
+        while (registry.getReferenceCount(poolKey) > 0) {
+            registry.release(poolKey, "tenant-a");
+        }
+    }
+
+    @Test
+    void testTenantsOnOneConnectionShareOnePool() {
+        acquire("tenant-a", FAIR_SHARE);
+        acquire("tenant-b", FAIR_SHARE);
+
+        assertEquals(1, poolsCreated.get());
+        assertEquals(1, registry.getPoolCount());
+        assertEquals(2, registry.getReferenceCount(poolKey));
+        assertEquals(2, registry.getTenantCount(poolKey));
+
+        registry.release(poolKey, "tenant-b");
+        assertEquals(1, registry.getTenantCount(poolKey));
+        registry.release(poolKey, "tenant-a");
+        assertEquals(0, registry.getPoolCount());
+    }
+
+    @Test
+    void testPoolKeyDependsOnConnectionAndPoolSettings() {
+        assertEquals(poolKey, SharedPoolRegistry.poolKey("MYSQL", List.of("db", 3306, "app", "user", "secret"),
+                Map.of("maxSize", 2)));
+        assertNotEquals(poolKey, SharedPoolRegistry.poolKey("MYSQL", List.of("db", 3306, "app", "user", "other"),
+                Map.of("maxSize", 2)));
+        assertNotEquals(poolKey, SharedPoolRegistry.poolKey("MYSQL", List.of("db", 3306, "app", "user", "secret"),
+                Map.of("maxSize", 4)));
+        assertFalse(poolKey.contains("secret"));
+    }
+
+    @Test
+    void testTenantAloneUsesTheWholePool() {
+        TenantShare share = acquire("tenant-a", FAIR_SHARE);
+
+        Connection first = share.create().block(TIMEOUT);
+        Connection second = share.create().block(TIMEOUT);
+
+        assertEquals(2, share.getLimit());
+        assertEquals(2, share.getActiveCount());
+        close(first);
+        close(second);
+        assertEquals(0, share.getActiveCount());
+    }
+
+    @Test
+    void testBusyTenantWaitsForItsFairShare() {
+        TenantShare tenantA = acquire("tenant-a", FAIR_SHARE);
+        TenantShare tenantB = acquire("tenant-b", FAIR_SHARE);
+
+        Connection held = tenantB.create().block(TIMEOUT);
+        Connection first = tenantA.create().block(TIMEOUT);
+        assertEquals(1, tenantA.getLimit());
+
+        CompletableFuture<Connection> second = tenantA.create().toFuture();
+        assertFalse(second.isDone());
+        assertEquals(1, tenantA.getPendingCount());
+
+        close(first);
+        Connection granted = await(second);
+        assertEquals(0, tenantA.getPendingCount());
+        assertEquals(1, tenantA.getActiveCount());
+
+        close(granted);
+        close(held);
+    }
+
+    @Test
+    void testWaitingTenantGetsCapacityOfIdleTenant() {
+        TenantShare tenantA = acquire("tenant-a", FAIR_SHARE);
+        TenantShare tenantB = acquire("tenant-b", FAIR_SHARE);
+
+        Connection held = tenantB.create().block(TIMEOUT);
+        Connection first = tenantA.create().block(TIMEOUT);
+        CompletableFuture<Connection> second = tenantA.create().toFuture();
+        assertFalse(second.isDone());
+
+        // Tenant B going idle leaves the whole pool to tenant A
+        close(held);
+        Connection granted = await(second);
+        assertEquals(2, tenantA.getActiveCount());
+
+        close(first);
+        close(granted);
+    }
+
+    @Test
+    void testAcquisitionBeyondShareIsRejectedAfterMaxWait() {
+        TenantShare share = acquire("tenant-a", new PoolSharingOptions(true, 2, 2, 1, Duration.ofMillis(100)));
+        Connection held = share.create().block(TIMEOUT);
+
+        StepVerifier.create(share.create())
+                .expectErrorSatisfies(error -> {
+                    assertInstanceOf(DataSourceUnavailableException.class, error);
+                    assertEquals(TenantShare.REASON_POOL_SHARE_EXHAUSTED,
+                            ((DataSourceUnavailableException) error).getReason());
+                })
+                .verify(TIMEOUT);
+
+        assertEquals(0, share.getPendingCount());
+        assertEquals(1, share.getActiveCount());
+        close(held);
+        assertEquals(0, share.getActiveCount());
+    }
+
+    @Test
+    void testPoolWithoutSizeIsSizedByTheTenantCaps() {
+        PoolSharingOptions capOfTwo = new PoolSharingOptions(true, 0, 2, 0, TIMEOUT);
+        TenantShare tenantA = acquire("tenant-a", capOfTwo);
+        TenantShare tenantB = acquire("tenant-b", capOfTwo);
+
+        // The tenant shares bound the connections, not the first tenant's pool.maxSize
+        assertEquals(Integer.MAX_VALUE, physicalMaxSize.get());
+        Connection first = tenantA.create().block(TIMEOUT);
+        Connection second = tenantA.create().block(TIMEOUT);
+        assertEquals(2, tenantA.getLimit());
+        assertEquals(2, tenantA.getActiveCount());
+
+        CompletableFuture<Connection> third = tenantA.create().toFuture();
+        assertFalse(third.isDone());
+        Connection other = tenantB.create().block(TIMEOUT);
+        assertEquals(1, tenantB.getActiveCount());
+
+        close(first);
+        Connection granted = await(third);
+        close(second);
+        close(granted);
+        close(other);
+    }
+
+    @Test
+    void testSharingIsOptIn() {
+        assertFalse(PoolSharingOptions.from(Map.of()).isEnabled());
+        assertFalse(PoolSharingOptions.from(Map.of("pool", Map.of("maxSize", 8))).isEnabled());
+
+        PoolSharingOptions options = PoolSharingOptions.from(Map.of(
+                "pool", Map.of("maxSize", 8),
+                "poolSharing", Map.of("enabled", true)));
+        assertTrue(options.isEnabled());
+        assertEquals(0, options.getMaxPoolSize());
+        assertEquals(8, options.getTenantCap());
+    }
+
+    @Test
+    void testConnectionReleasesItsShareOnlyOnce() {
+        TenantShare share = acquire("tenant-a", FAIR_SHARE);
+        Connection connection = share.create().block(TIMEOUT);
+
+        close(connection);
+        close(connection);
+
+        assertEquals(0, share.getActiveCount());
+    }
+
+    private TenantShare acquire(String tenantId, PoolSharingOptions options) {
+        return registry.acquire(poolKey, "db:3306/app", maxSize -> {
+            poolsCreated.incrementAndGet();
+            physicalMaxSize.set(maxSize);
+            return h2;
+        }, tenantId, options);
+    }
+
+    private static Connection await(CompletableFuture<Connection> connection) {
+        try {
+            return connection.get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            return fail("Connection not granted", e);
+        }
+    }
+
+    private static void close(Connection connection) {
+        Mono.from(connection.close()).onErrorResume(error -> Mono.empty()).block(TIMEOUT);
+    }
+}
@@ -0,0 +1,54 @@
+package com.citi.tts.apibrick.core.datasource.postgresql;
+
+import com.citi.tts.apibrick.core.datasource.ParsedSql;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PostgreSqlQueryParser
+ */
+class PostgreSqlQueryParserTest {
+
+    private final PostgreSqlQueryParser parser = new PostgreSqlQueryParser();
+
+    @Test
+    void testPlaceholdersAreNumbered() {
+        assertEquals("SELECT * FROM orders WHERE status = $1 AND amount > $2",
+                PostgreSqlQueryParser.toNativeSql("SELECT * FROM orders WHERE status = ? AND amount > ?"));
+    }
+
+    @Test
+    void testQuotedAndEscapedQuestionMarksAreKept() {
+        assertEquals("SELECT 'why?', \"col?\" FROM t WHERE data ? 'key' AND id = $1",
+                PostgreSqlQueryParser.toNativeSql("SELECT 'why?', \"col?\" FROM t WHERE data ?? 'key' AND id = ?"));
+        assertEquals("SELECT 'it''s?' FROM t WHERE id = $1",
+                PostgreSqlQueryParser.toNativeSql("SELECT 'it''s?' FROM t WHERE id = ?"));
+    }
+
+    @Test
+    void testParseKeepsJdbcPlaceholders() {
+        ParsedSql parsed = (ParsedSql) parser.parse(Map.of(
+                "sql", " SELECT * FROM orders WHERE id = ? ",
+                "parameters", List.of(42)));
+
+        assertEquals("SELECT * FROM orders WHERE id = ?", parsed.getSql());
+        assertEquals(List.of(42), parsed.getParameters());
+    }
+
+    @Test
+    void testValidateRejectsUnsafeQueries() {
+        assertThrows(IllegalArgumentException.class,
+                () -> parser.validate(Map.of("sql", "SELECT pg_sleep(10)")));
+        assertThrows(IllegalArgumentException.class,
+                () -> parser.validate(Map.of("sql", "SELECT 1; SELECT 2")));
+        assertThrows(IllegalArgumentException.class,
+                () -> parser.validate(Map.of("sql", "SELECT * FROM t WHERE a = ? AND b = '?'",
+                        "parameters", List.of(1, 2))));
+        assertDoesNotThrow(() -> parser.validate(Map.of("sql", "SELECT * FROM t WHERE a = ? AND b = '?'",
+                "parameters", List.of(1))));
+    }
+}
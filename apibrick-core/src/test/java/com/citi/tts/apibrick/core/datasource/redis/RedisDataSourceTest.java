@@ -0,0 +1,151 @@
+package com.citi.tts.apibrick.core.datasource.redis;
+
+import io.lettuce.core.KeyValue;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.reactive.RedisReactiveCommands;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RedisDataSource
+ */
+@SuppressWarnings("unchecked")
+class RedisDataSourceTest {
+
+    private final StatefulRedisConnection<String, String> connection = mock(StatefulRedisConnection.class);
+    private final RedisReactiveCommands<String, String> commands = mock(RedisReactiveCommands.class);
+    private final RedisConnectionRegistry registry = new RedisConnectionRegistry(uri -> connection);
+
+    private RedisDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        when(connection.isOpen()).thenReturn(true);
+        when(connection.reactive()).thenReturn(commands);
+        dataSource = new RedisDataSource(registry);
+        dataSource.init(Map.of("host", "localhost"), "t1", "DEV").block();
+    }
+
+    @Test
+    void testGetPrefixesKeyWithTenantAndDecodesJson() {
+        when(commands.get("t1:flags:checkout")).thenReturn(Mono.just("{\"enabled\":true}"));
+
+        StepVerifier.create(dataSource.executeQuery(Map.of(
+                        "command", "GET", "key", "flags:checkout", "format", "JSON")))
+                .assertNext(result -> {
+                    assertEquals("flags:checkout", result.get("key"));
+                    assertEquals(Map.of("enabled", true), result.get("value"));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void testMgetKeepsKeyOrderAndMissingKeys() {
+        when(commands.mget("t1:counter:a", "t1:counter:b")).thenReturn(Flux.just(
+                KeyValue.just("t1:counter:a", "42"),
+                KeyValue.empty("t1:counter:b")));
+
+        StepVerifier.create(dataSource.executeQuery(Map.of(
+                        "command", "MGET", "keys", List.of("counter:a", "counter:b"), "format", "NUMBER")))
+                .assertNext(result -> {
+                    assertEquals(2, result.get("count"));
+                    List<Map<String, Object>> rows = (List<Map<String, Object>>) result.get("data");
+                    assertEquals("counter:a", rows.get(0).get("key"));
+                    assertEquals(42L, rows.get(0).get("value"));
+                    assertNull(rows.get(1).get("value"));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void testPipelineNamesResults() {
+        when(commands.get("t1:session:s1")).thenReturn(Mono.empty());
+        when(commands.hgetall("t1:customer:42")).thenReturn(Flux.just(
+                KeyValue.just("name", "Alice"), KeyValue.just("tier", "GOLD")));
+
+        Map<String, Object> queryConfig = Map.of("command", "PIPELINE", "commands", List.of(
+                Map.of("command", "GET", "key", "session:s1", "as", "session"),
+                Map.of("command", "HGETALL", "key", "customer:42", "as", "customer")));
+
+        StepVerifier.create(dataSource.executeQuery(queryConfig))
+                .assertNext(result -> {
+                    assertTrue(result.containsKey("session"));
+                    assertNull(result.get("session"));
+                    assertEquals(Map.of("name", "Alice", "tier", "GOLD"), result.get("customer"));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void testInvalidQueriesAreRejected() {
+        StepVerifier.create(dataSource.executeQuery(Map.of("command", "DEL", "key", "x")))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+        StepVerifier.create(dataSource.executeQuery(Map.of(
+                        "command", "MGET", "keys", List.of("a", "b", "c"), "maxKeys", 2)))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+        verifyNoInteractions(commands);
+    }
+
+    @Test
+    void testDataSourcesShareOneConnection() {
+        RedisDataSource other = new RedisDataSource(registry);
+        other.init(Map.of("host", "localhost"), "t2", "DEV").block();
+
+        assertEquals(1, registry.getConnectionCount());
+
+        other.close();
+        verify(connection, never()).close();
+        dataSource.close();
+        verify(connection).close();
+        assertEquals(0, registry.getConnectionCount());
+    }
+
+    @Test
+    void testClosedConnectionIsReplacedForAllDataSources() {
+        StatefulRedisConnection<String, String> replacement = mock(StatefulRedisConnection.class);
+        RedisReactiveCommands<String, String> replacementCommands = mock(RedisReactiveCommands.class);
+        when(replacement.isOpen()).thenReturn(true);
+        when(replacement.reactive()).thenReturn(replacementCommands);
+        when(replacementCommands.ping()).thenReturn(Mono.just("PONG"));
+        Iterator<StatefulRedisConnection<String, String>> opened = List.of(connection, replacement).iterator();
+        RedisConnectionRegistry replacing = new RedisConnectionRegistry(uri -> opened.next());
+        RedisDataSource first = new RedisDataSource(replacing);
+        first.init(Map.of("host", "localhost"), "t1", "DEV").block();
+
+        when(connection.isOpen()).thenReturn(false);
+        RedisDataSource second = new RedisDataSource(replacing);
+        second.init(Map.of("host", "localhost"), "t2", "DEV").block();
+
+        // The first data source does not keep the closed connection
+        StepVerifier.create(first.testConnection()).expectNext(true).verifyComplete();
+        verify(replacementCommands).ping();
+        assertEquals(1, replacing.getConnectionCount());
+        first.close();
+        second.close();
+        verify(replacement).close();
+    }
+
+    @Test
+    void testFailedConnectDoesNotLeaveAReference() {
+        RedisConnectionRegistry failing = new RedisConnectionRegistry(uri -> {
+            throw new IllegalStateException("connection refused");
+        });
+
+        StepVerifier.create(new RedisDataSource(failing).init(Map.of("host", "localhost"), "t1", "DEV"))
+                .expectError(IllegalStateException.class)
+                .verify();
+        assertEquals(0, failing.getConnectionCount());
+    }
+}
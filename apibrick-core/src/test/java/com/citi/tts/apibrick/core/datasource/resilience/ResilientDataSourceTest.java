@@ -0,0 +1,115 @@
+package com.citi.tts.apibrick.core.datasource.resilience;
+
+import com.citi.tts.apibrick.common.exception.DataSourceUnavailableException;
+import com.citi.tts.apibrick.core.datasource.DataSource;
+import io.r2dbc.spi.R2dbcBadGrammarException;
+import io.r2dbc.spi.R2dbcNonTransientResourceException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ResilientDataSource and CircuitBreaker
+ */
+class ResilientDataSourceTest {
+
+    private static final Map<String, Object> QUERY = Map.of("sql", "SELECT 1");
+
+    private final AtomicLong clock = new AtomicLong();
+    private final DataSource delegate = mock(DataSource.class);
+    private ResilientDataSource dataSource;
+
+    @AfterEach
+    void tearDown() {
+        if (dataSource != null) {
+            dataSource.close();
+        }
+    }
+
+    @Test
+    void testCircuitOpensOnFailuresAndClosesAfterProbes() {
+        dataSource = resilient(options(10));
+        when(delegate.executeQuery(any()))
+                .thenReturn(Mono.error(new R2dbcNonTransientResourceException("connection refused")));
+
+        for (int i = 0; i < 4; i++) {
+            StepVerifier.create(dataSource.executeQuery(QUERY))
+                    .expectError(R2dbcNonTransientResourceException.class)
+                    .verify();
+        }
+        assertEquals(CircuitBreaker.State.OPEN, dataSource.getCircuitState());
+
+        // Rejected without reaching the data source
+        StepVerifier.create(dataSource.executeQuery(QUERY))
+                .expectErrorSatisfies(error -> {
+                    assertInstanceOf(DataSourceUnavailableException.class, error);
+                    assertEquals(ResilientDataSource.REASON_CIRCUIT_OPEN,
+                            ((DataSourceUnavailableException) error).getReason());
+                })
+                .verify();
+        verify(delegate, times(4)).executeQuery(any());
+
+        // After openSeconds the probes pass and close the circuit
+        clock.addAndGet(Duration.ofSeconds(30).toNanos());
+        when(delegate.executeQuery(any())).thenReturn(Mono.just(Map.of("id", 1)));
+        for (int i = 0; i < 2; i++) {
+            StepVerifier.create(dataSource.executeQuery(QUERY)).expectNextCount(1).verifyComplete();
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, dataSource.getCircuitState());
+    }
+
+    @Test
+    void testQueryErrorsDoNotOpenCircuit() {
+        dataSource = resilient(options(10));
+        when(delegate.executeQuery(any())).thenReturn(Mono.error(new R2dbcBadGrammarException("bad sql")));
+
+        for (int i = 0; i < 10; i++) {
+            StepVerifier.create(dataSource.executeQuery(QUERY))
+                    .expectError(R2dbcBadGrammarException.class)
+                    .verify();
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, dataSource.getCircuitState());
+    }
+
+    @Test
+    void testBulkheadRejectsExcessConcurrentQueries() {
+        dataSource = resilient(options(1));
+        Sinks.One<Map<String, Object>> pending = Sinks.one();
+        when(delegate.executeQuery(any())).thenReturn(pending.asMono());
+
+        StepVerifier.create(dataSource.executeQuery(QUERY))
+                .then(() -> {
+                    assertEquals(1, dataSource.getInFlightCount());
+                    StepVerifier.create(dataSource.executeQuery(QUERY))
+                            .expectErrorSatisfies(error -> assertEquals(ResilientDataSource.REASON_BULKHEAD_FULL,
+                                    ((DataSourceUnavailableException) error).getReason()))
+                            .verify();
+                    pending.tryEmitValue(Map.of("id", 1));
+                })
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertEquals(0, dataSource.getInFlightCount());
+    }
+
+    private ResilientDataSource resilient(ResilienceOptions options) {
+        return new ResilientDataSource(delegate, "t1", "ds1", options, clock::get);
+    }
+
+    private static ResilienceOptions options(int maxConcurrent) {
+        // Window of 4 calls, opens at 50% failures, 2 probes while half-open
+        return new ResilienceOptions(true, 4, 4, 50, Duration.ofSeconds(2), 80,
+                Duration.ofSeconds(30), 2, maxConcurrent);
+    }
+}
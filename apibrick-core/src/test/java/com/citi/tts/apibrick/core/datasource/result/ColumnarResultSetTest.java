@@ -0,0 +1,104 @@
+package com.citi.tts.apibrick.core.datasource.result;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ColumnarResultSet
+ */
+class ColumnarResultSetTest {
+
+    private static final String[] COLUMNS = {"id", "status", "amount", "note"};
+
+    @Test
+    void testRowsReadBackAsMaps() {
+        ColumnarResultSet rows = ColumnarResultSet.builder()
+                .addRow(COLUMNS, new Object[]{1L, "ACTIVE", 10.5, null})
+                .addRow(COLUMNS, new Object[]{2L, "ACTIVE", null, "second"})
+                .addRow(COLUMNS, new Object[]{null, "CLOSED", 7.25, null})
+                .build();
+
+        assertEquals(3, rows.size());
+        assertEquals(List.of("id", "status", "amount", "note"), rows.getColumnNames());
+
+        assertEquals(Map.of("id", 1L, "status", "ACTIVE", "amount", 10.5), withoutNulls(rows.get(0)));
+        assertEquals(2L, rows.get(1).get("id"));
+        assertNull(rows.get(1).get("amount"));
+        assertEquals("second", rows.get(1).get("note"));
+        assertNull(rows.get(2).get("id"));
+        assertEquals("CLOSED", rows.getValue(2, "status"));
+        assertTrue(rows.get(2).containsKey("note"));
+        assertFalse(rows.get(2).containsKey("unknown"));
+    }
+
+    @Test
+    void testMixedTypesArePromoted() {
+        String[] columns = {"value"};
+        ColumnarResultSet rows = ColumnarResultSet.builder()
+                .addRow(columns, new Object[]{1L})
+                .addRow(columns, new Object[]{"two"})
+                .addRow(columns, new Object[]{new BigDecimal("3.5")})
+                .build();
+
+        assertEquals(1L, rows.get(0).get("value"));
+        assertEquals("two", rows.get(1).get("value"));
+        assertEquals(new BigDecimal("3.5"), rows.get(2).get("value"));
+    }
+
+    @Test
+    void testWritesThroughRowViewAreKept() {
+        ColumnarResultSet rows = ColumnarResultSet.builder()
+                .addRow(Map.of("id", 1))
+                .addRow(Map.of("id", 2))
+                .build();
+
+        rows.get(0).put("flag", true);
+
+        assertEquals(true, rows.get(0).get("flag"));
+        assertEquals(1, rows.get(0).get("id"));
+        assertFalse(rows.get(1).containsKey("flag"));
+    }
+
+    @Test
+    void testCopiesKeepTheirOwnRowWrites() {
+        ColumnarResultSet rows = ColumnarResultSet.builder()
+                .addRow(Map.of("id", 1))
+                .addRow(Map.of("id", 2))
+                .build();
+        rows.get(1).put("flag", "before copy");
+
+        ColumnarResultSet copy = rows.copy();
+        copy.get(0).put("flag", true);
+        copy.get(1).put("flag", "after copy");
+
+        assertFalse(rows.get(0).containsKey("flag"));
+        assertEquals("before copy", rows.get(1).get("flag"));
+        assertEquals(true, copy.get(0).get("flag"));
+        assertEquals("after copy", copy.get(1).get("flag"));
+        assertEquals(2, copy.get(1).get("id"));
+    }
+
+    @Test
+    void testEmptyResultSet() {
+        ColumnarResultSet rows = ColumnarResultSet.builder().build();
+
+        assertTrue(rows.isEmpty());
+        assertTrue(rows.getColumnNames().isEmpty());
+    }
+
+    private static Map<String, Object> withoutNulls(Map<String, Object> row) {
+        Map<String, Object> copy = new HashMap<>();
+        row.forEach((key, value) -> {
+            if (value != null) {
+                copy.put(key, value);
+            }
+        });
+        return copy;
+    }
+}
@@ -0,0 +1,40 @@
+package com.citi.tts.apibrick.core.datasource.result;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SharedResults
+ */
+class SharedResultsTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCallerWritesDoNotReachTheSharedResult() {
+        ColumnarResultSet rows = ColumnarResultSet.builder()
+                .addRow(Map.of("id", 1, "status", "OPEN"))
+                .build();
+        Map<String, Object> nested = new HashMap<>(Map.of("id", 7));
+        Map<String, Object> shared = new HashMap<>();
+        shared.put("data", rows);
+        shared.put("count", 1);
+        shared.put("items", new ArrayList<>(List.of(nested)));
+
+        Map<String, Object> copy = SharedResults.copyOf(shared);
+        copy.put("extra", true);
+        ((List<Map<String, Object>>) copy.get("data")).get(0).put("status", "CLOSED");
+        ((List<Map<String, Object>>) copy.get("items")).get(0).put("id", 8);
+
+        assertFalse(shared.containsKey("extra"));
+        assertEquals("OPEN", rows.get(0).get("status"));
+        assertEquals(7, nested.get("id"));
+        assertEquals("CLOSED", ((List<Map<String, Object>>) copy.get("data")).get(0).get("status"));
+        assertEquals(1, copy.get("count"));
+    }
+}
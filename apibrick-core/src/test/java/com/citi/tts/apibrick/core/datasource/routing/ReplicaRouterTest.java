@@ -0,0 +1,165 @@
+package com.citi.tts.apibrick.core.datasource.routing;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.R2dbcBadGrammarException;
+import io.r2dbc.spi.R2dbcNonTransientResourceException;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ReplicaRouter
+ */
+class ReplicaRouterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final Connection primaryConnection = connection();
+
+    @Test
+    void testLeastPendingPrefersIdleReplica() {
+        Connection first = connection();
+        Connection second = connection();
+        ReplicaRouter router = router(ReplicaRoutingOptions.Strategy.LEAST_PENDING, null,
+                factory(Mono.just(first)), factory(Mono.just(second)));
+
+        Connection busy = router.acquire(this::primary).block();
+        Connection next = router.acquire(this::primary).block();
+
+        assertNotSame(busy, next);
+        assertNotSame(primaryConnection, next);
+        Mono.from(router.release(busy)).block();
+        Mono.from(router.release(next)).block();
+        verify(first).close();
+        verify(second).close();
+    }
+
+    @Test
+    void testFailingReplicaIsEjectedAndReadmitted() {
+        Connection replicaConnection = connection();
+        ConnectionFactory replica = mock(ConnectionFactory.class);
+        doReturn(Mono.error(new R2dbcNonTransientResourceException("connection refused")))
+                .when(replica).create();
+        ReplicaRouter router = router(ReplicaRoutingOptions.Strategy.LEAST_PENDING, null, replica);
+
+        // Failed acquisitions fall back to the primary until the replica is ejected
+        for (int i = 0; i < 3; i++) {
+            assertSame(primaryConnection, router.acquire(this::primary).block());
+        }
+        assertNull(router.select());
+        assertEquals(false, router.getReplicaStatus().get(0).get("available"));
+
+        doReturn(Mono.just(replicaConnection)).when(replica).create();
+        clock.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        assertSame(replicaConnection, router.acquire(this::primary).block());
+        assertEquals(0, router.getReplicaStatus().get(0).get("consecutiveFailures"));
+    }
+
+    @Test
+    void testSqlErrorsDoNotEject() {
+        Connection replicaConnection = connection();
+        ReplicaRouter router = router(ReplicaRoutingOptions.Strategy.LEAST_PENDING, null,
+                factory(Mono.just(replicaConnection)));
+
+        for (int i = 0; i < 5; i++) {
+            Connection connection = router.acquire(this::primary).block();
+            StepVerifier.create(router.observe(connection, Mono.error(new R2dbcBadGrammarException("bad sql"))))
+                    .expectError(R2dbcBadGrammarException.class)
+                    .verify();
+            Mono.from(router.release(connection)).block();
+        }
+
+        assertNotNull(router.select());
+        assertEquals(0, router.getReplicaStatus().get(0).get("inFlight"));
+    }
+
+    @Test
+    void testSlowReplicaIsEjectedByLatency() {
+        Connection slowConnection = connection();
+        ReplicaRouter router = router(ReplicaRoutingOptions.Strategy.LATENCY, Duration.ofMillis(100),
+                factory(Mono.just(slowConnection)));
+
+        for (int i = 0; i < 5; i++) {
+            Connection connection = router.acquire(this::primary).block();
+            router.observe(connection, Mono.fromRunnable(() -> clock.addAndGet(Duration.ofMillis(500).toNanos())))
+                    .blockLast();
+            Mono.from(router.release(connection)).block();
+        }
+
+        assertNull(router.select());
+        assertSame(primaryConnection, router.acquire(this::primary).block());
+    }
+
+    @Test
+    void testHeldConnectionIsTimedPerQuery() {
+        Connection heldConnection = connection();
+        ReplicaRouter router = router(ReplicaRoutingOptions.Strategy.LATENCY, Duration.ofMillis(100),
+                factory(Mono.just(heldConnection)));
+
+        // A flow holds the connection across fast queries with slow steps in between
+        Connection connection = router.acquire(this::primary).block();
+        for (int i = 0; i < 5; i++) {
+            clock.addAndGet(Duration.ofMillis(500).toNanos());
+            router.observe(connection, Mono.fromRunnable(() -> clock.addAndGet(Duration.ofMillis(10).toNanos())))
+                    .blockLast();
+        }
+        clock.addAndGet(Duration.ofMillis(500).toNanos());
+        Mono.from(router.release(connection)).block();
+
+        assertNotNull(router.select());
+        assertEquals(10L, router.getReplicaStatus().get(0).get("latencyMillis"));
+    }
+
+    @Test
+    void testConnectivityErrorOfQueryCountsAsFailure() {
+        Connection replicaConnection = connection();
+        ReplicaRouter router = router(ReplicaRoutingOptions.Strategy.LEAST_PENDING, null,
+                factory(Mono.just(replicaConnection)));
+
+        for (int i = 0; i < 3; i++) {
+            Connection connection = router.acquire(this::primary).block();
+            StepVerifier.create(router.observe(connection,
+                            Mono.error(new R2dbcNonTransientResourceException("connection reset"))))
+                    .expectError(R2dbcNonTransientResourceException.class)
+                    .verify();
+            Mono.from(router.release(connection)).block();
+        }
+
+        assertNull(router.select());
+    }
+
+    private ReplicaRouter router(ReplicaRoutingOptions.Strategy strategy, Duration maxLatency,
+                                 ConnectionFactory... replicas) {
+        Map<String, ConnectionFactory> pools = new LinkedHashMap<>();
+        for (int i = 0; i < replicas.length; i++) {
+            pools.put("replica-" + i + ":3306", replicas[i]);
+        }
+        ReplicaRoutingOptions options = new ReplicaRoutingOptions(strategy, 3, maxLatency, Duration.ofSeconds(30));
+        return new ReplicaRouter(pools, options, clock::get);
+    }
+
+    private Mono<Connection> primary() {
+        return Mono.just(primaryConnection);
+    }
+
+    private static ConnectionFactory factory(Mono<Connection> connection) {
+        ConnectionFactory factory = mock(ConnectionFactory.class);
+        doReturn(connection).when(factory).create();
+        return factory;
+    }
+
+    private static Connection connection() {
+        Connection connection = mock(Connection.class);
+        doReturn(Mono.empty()).when(connection).close();
+        return connection;
+    }
+}
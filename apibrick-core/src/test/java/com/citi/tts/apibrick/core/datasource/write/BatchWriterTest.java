@@ -0,0 +1,227 @@
+package com.citi.tts.apibrick.core.datasource.write;
+
+import io.r2dbc.h2.H2ConnectionFactory;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import io.r2dbc.spi.Result;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BatchWriter, WriteBehindBuffer and WriteStatementValidator,
+ * against an in-memory H2 database
+ */
+class BatchWriterTest {
+
+    private static final String INSERT = "INSERT INTO orders (id, status) VALUES (?, ?)";
+
+    private final AtomicInteger connections = new AtomicInteger();
+    private ConnectionFactory h2;
+    private BatchWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        h2 = H2ConnectionFactory.inMemory("write-" + UUID.randomUUID());
+        Mono.usingWhen(h2.create(),
+                connection -> Flux.from(connection.createStatement(
+                                "CREATE TABLE orders (id INT PRIMARY KEY, status VARCHAR(10))").execute())
+                        .flatMap(Result::getRowsUpdated)
+                        .then(),
+                Connection::close).block();
+
+        ConnectionFactory counting = new ConnectionFactory() {
+            @Override
+            public Publisher<? extends Connection> create() {
+                return Mono.defer(() -> {
+                    connections.incrementAndGet();
+                    return Mono.from(h2.create());
+                });
+            }
+
+            @Override
+            public ConnectionFactoryMetadata getMetadata() {
+                return h2.getMetadata();
+            }
+        };
+        writer = new BatchWriter(counting, UnaryOperator.identity());
+    }
+
+    @Test
+    void testRowsAreWrittenInBatchesOnOneConnection() {
+        StepVerifier.create(writer.write(INSERT, rows(1, 250), 100))
+                .expectNext(250L)
+                .verifyComplete();
+
+        assertEquals(1, connections.get());
+        assertEquals(250L, countOrders());
+    }
+
+    @Test
+    void testFailedBatchRollsBackTheWholeWrite() {
+        List<List<Object>> rows = new ArrayList<>(rows(1, 10));
+        rows.add(Arrays.asList(1, "DUPLICATE"));
+
+        StepVerifier.create(writer.write(INSERT, rows, 5))
+                .expectError()
+                .verify();
+
+        assertEquals(0L, countOrders());
+    }
+
+    @Test
+    void testNullParametersAreBound() {
+        StepVerifier.create(writer.write(INSERT, List.of(Arrays.asList(1, null)), 10))
+                .expectNext(1L)
+                .verifyComplete();
+    }
+
+    @Test
+    void testNullsAreTypedByConfigurationOrByTheParametersValues() {
+        List<List<Object>> rows = List.of(Arrays.asList(1, null, null), Arrays.asList(null, "NEW", null));
+
+        assertArrayEquals(new Class<?>[]{Integer.class, String.class, String.class},
+                BatchWriter.nullTypes(rows, List.of()));
+        assertArrayEquals(new Class<?>[]{Long.class, String.class, LocalDateTime.class},
+                BatchWriter.nullTypes(rows, Arrays.asList(Long.class, null, LocalDateTime.class)));
+
+        WriteRequest request = WriteRequest.from(Map.of("sql", INSERT, "rows", rows,
+                "nullTypes", Arrays.asList("bigint", null, "TIMESTAMP")));
+        assertEquals(Arrays.asList(Long.class, null, LocalDateTime.class), request.getNullTypes());
+        assertThrows(IllegalArgumentException.class, () -> WriteRequest.from(Map.of("sql", INSERT,
+                "nullTypes", List.of("NO_SUCH_TYPE"))));
+    }
+
+    @Test
+    void testWriteBehindFlushesBySize() {
+        WriteBehindBuffer buffer = new WriteBehindBuffer(writer, "tenant-a");
+        WriteBehindOptions options = new WriteBehindOptions(50, Duration.ofSeconds(30), 1000);
+
+        StepVerifier.create(buffer.submit(INSERT, rows(1, 100), options))
+                .assertNext(result -> {
+                    assertEquals(100, result.get("accepted"));
+                    assertEquals(true, result.get("buffered"));
+                })
+                .verifyComplete();
+
+        awaitOrders(100);
+        assertEquals(2, connections.get());
+        buffer.close();
+    }
+
+    @Test
+    void testWriteBehindFlushesByTime() {
+        WriteBehindBuffer buffer = new WriteBehindBuffer(writer, "tenant-a");
+        WriteBehindOptions options = new WriteBehindOptions(500, Duration.ofMillis(50), 1000);
+
+        buffer.submit(INSERT, rows(1, 3), options).block();
+        buffer.submit(INSERT, rows(4, 3), options).block();
+
+        awaitOrders(6);
+        awaitDrained(buffer);
+        buffer.close();
+    }
+
+    @Test
+    void testWriteBehindRejectsWhenFull() {
+        WriteBehindBuffer buffer = new WriteBehindBuffer(writer, "tenant-a");
+        WriteBehindOptions options = new WriteBehindOptions(10, Duration.ofSeconds(30), 10);
+
+        buffer.submit(INSERT, rows(1, 5), options).block();
+
+        StepVerifier.create(buffer.submit(INSERT, rows(6, 20), options))
+                .expectError(IllegalStateException.class)
+                .verify();
+        buffer.close();
+    }
+
+    @Test
+    void testCloseFlushesBufferedRows() {
+        WriteBehindBuffer buffer = new WriteBehindBuffer(writer, "tenant-a");
+        WriteBehindOptions options = new WriteBehindOptions(500, Duration.ofSeconds(30), 1000);
+
+        buffer.submit(INSERT, rows(1, 7), options).block();
+        buffer.close();
+
+        assertEquals(7L, countOrders());
+        StepVerifier.create(buffer.submit(INSERT, rows(8, 1), options))
+                .expectError(IllegalStateException.class)
+                .verify();
+    }
+
+    @Test
+    void testValidatorAcceptsAllowlistedWrites() {
+        WriteStatementValidator validator = WriteStatementValidator.from(
+                Map.of("writableTables", List.of("orders", "audit.order_event")));
+
+        assertEquals("orders", validator.validate(INSERT));
+        assertEquals("orders", validator.validate("UPDATE `orders` SET status = ? WHERE id = ?"));
+        assertEquals("orders", validator.validate(
+                "INSERT INTO orders (id, status) VALUES (?, ?) ON DUPLICATE KEY UPDATE status = VALUES(status)"));
+        assertEquals("audit.order_event", validator.validate("INSERT INTO audit.order_event (id) VALUES (?)"));
+    }
+
+    @Test
+    void testValidatorRejectsOtherStatementsAndTables() {
+        WriteStatementValidator validator = WriteStatementValidator.from(Map.of("writableTables", "orders"));
+
+        assertThrows(IllegalArgumentException.class, () -> validator.validate("DELETE FROM orders WHERE id = ?"));
+        assertThrows(IllegalArgumentException.class, () -> validator.validate("UPDATE orders SET status = ?"));
+        assertThrows(IllegalArgumentException.class, () -> validator.validate("INSERT INTO users (id) VALUES (?)"));
+        assertThrows(IllegalArgumentException.class, () -> validator.validate("INSERT INTO other.orders (id) VALUES (?)"));
+        assertThrows(IllegalArgumentException.class,
+                () -> validator.validate("INSERT INTO orders (id, status) SELECT id, name FROM users"));
+        assertThrows(IllegalArgumentException.class,
+                () -> WriteStatementValidator.from(Map.of()).validate(INSERT));
+    }
+
+    private static List<List<Object>> rows(int firstId, int count) {
+        List<List<Object>> rows = new ArrayList<>();
+        for (int id = firstId; id < firstId + count; id++) {
+            rows.add(List.of(id, "NEW"));
+        }
+        return rows;
+    }
+
+    private long countOrders() {
+        return Mono.usingWhen(h2.create(),
+                connection -> Mono.from(connection.createStatement("SELECT COUNT(*) FROM orders").execute())
+                        .flatMap(result -> Mono.from(result.map((row, metadata) -> row.get(0, Long.class)))),
+                Connection::close).block();
+    }
+
+    private void awaitOrders(long expected) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (countOrders() < expected && System.currentTimeMillis() < deadline) {
+            Mono.delay(Duration.ofMillis(20)).block();
+        }
+        assertEquals(expected, countOrders());
+    }
+
+    /**
+     * Rows are counted down when their flush completes, just after they become visible
+     */
+    private static void awaitDrained(WriteBehindBuffer buffer) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (buffer.getBufferedRowCount() > 0 && System.currentTimeMillis() < deadline) {
+            Mono.delay(Duration.ofMillis(20)).block();
+        }
+        assertEquals(0, buffer.getBufferedRowCount());
+    }
+}
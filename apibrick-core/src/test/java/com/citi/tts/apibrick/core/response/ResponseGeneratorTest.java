@@ -194,6 +194,30 @@ class ResponseGeneratorTest {
         assertEquals("13800138000", data.get("phone"));
     }
     
+    @Test
+    void testGenerateResponse_WithNextCursor() {
+        // Given: Paginated query step output
+        StepContext context = createContextWithQueryResult();
+        Map<String, Object> pageOutput = new HashMap<>();
+        pageOutput.put("data", Map.of("count", 50));
+        pageOutput.put("nextCursor", "eyJrIjoiMTIzIn0");
+        pageOutput.put("hasMore", true);
+        context.set("orders.output", pageOutput);
+        
+        Map<String, Object> cursorField = new HashMap<>();
+        cursorField.put("sourceType", "nextCursor");
+        cursorField.put("sourceValue", "orders");
+        
+        Map<String, Object> responseTemplate = new HashMap<>();
+        responseTemplate.put("nextCursor", cursorField);
+        
+        // When: Generate response
+        Map<String, Object> response = responseGenerator.generate(responseTemplate, context);
+        
+        // Then: Cursor of the next page is exposed
+        assertEquals("eyJrIjoiMTIzIn0", response.get("nextCursor"));
+    }
+    
     @Test
     void testGenerateResponse_DefaultResponse() {
         // Given: Step context without template
@@ -0,0 +1,184 @@
+package com.citi.tts.apibrick.core.workflow.steps;
+
+import com.citi.tts.apibrick.common.enums.DataSourceType;
+import com.citi.tts.apibrick.core.datasource.DataSource;
+import com.citi.tts.apibrick.core.datasource.config.DataSourceConfigResolver;
+import com.citi.tts.apibrick.core.datasource.manager.DataSourceDefinition;
+import com.citi.tts.apibrick.core.datasource.manager.DataSourceManager;
+import com.citi.tts.apibrick.core.workflow.engine.StepContext;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for DataSourceQueryStep placeholder binding and result modes
+ */
+class DataSourceQueryStepTest {
+
+    private static final Map<String, Object> REQUEST = Map.of("customerId", 42, "status", "x' OR '1'='1");
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testMultiQueryBindsParametersButNotSql() {
+        Map<String, Object> queries = Map.of(
+                "customer", Map.of(
+                        "sql", "SELECT id, name FROM customer WHERE id = ? -- ${status}",
+                        "parameters", List.of("${customerId}")),
+                "orders", Map.of(
+                        "sql", "SELECT id FROM orders WHERE customer_id = ? AND status = ?",
+                        "parameters", List.of("${customerId}", "${status}"),
+                        "maxRows", "${customerId}"));
+
+        Map<String, Map<String, Object>> bound =
+                (Map<String, Map<String, Object>>) DataSourceQueryStep.bindQueries(queries, REQUEST::get);
+
+        assertEquals("SELECT id, name FROM customer WHERE id = ? -- ${status}", bound.get("customer").get("sql"));
+        assertEquals(List.of(42), bound.get("customer").get("parameters"));
+        assertEquals(List.of(42, "x' OR '1'='1"), bound.get("orders").get("parameters"));
+        assertEquals(42, bound.get("orders").get("maxRows"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSingleQueryParametersAreBoundLikeMultiQueryParameters() throws Exception {
+        DataSource dataSource = mock(DataSource.class);
+        DataSourceManager dataSourceManager = mock(DataSourceManager.class);
+        when(dataSourceManager.getDataSource("orders-db", "tenant-a")).thenReturn(Mono.just(dataSource));
+        when(dataSourceManager.executeQuery(eq("tenant-a"), eq("orders-db"), eq(dataSource), anyMap()))
+                .thenReturn(Mono.just(Map.of("data", List.of())));
+        DataSourceQueryStep step = new DataSourceQueryStep();
+        Field field = DataSourceQueryStep.class.getDeclaredField("dataSourceManager");
+        field.setAccessible(true);
+        field.set(step, dataSourceManager);
+
+        StepContext context = new StepContext("test-flow", "instance-001", "tenant-a", "DEV", new HashMap<>(REQUEST));
+        context.set("dsId", "orders-db");
+        context.set("dsType", "MYSQL");
+        context.set("queryConfig", Map.of(
+                "sql", "SELECT id FROM orders WHERE customer_id = ? AND status = ? -- ${status}",
+                "parameters", List.of("${customerId}", "${status}")));
+
+        StepVerifier.create(step.execute(context))
+                .assertNext(result -> assertTrue(result.isSuccess()))
+                .verifyComplete();
+
+        ArgumentCaptor<Map<String, Object>> executed = ArgumentCaptor.forClass(Map.class);
+        verify(dataSourceManager).executeQuery(eq("tenant-a"), eq("orders-db"), eq(dataSource), executed.capture());
+        assertEquals(List.of(42, "x' OR '1'='1"), executed.getValue().get("parameters"));
+        assertEquals("SELECT id FROM orders WHERE customer_id = ? AND status = ? -- ${status}",
+                executed.getValue().get("sql"));
+    }
+
+    @Test
+    void testMalformedQueriesAreLeftForMultiQueryToReject() {
+        assertEquals("SELECT 1", DataSourceQueryStep.bindQueries("SELECT 1", REQUEST::get));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testStreamModeOutputsTheRowStream() throws Exception {
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.streamQuery(anyMap())).thenReturn(Flux.just(Map.of("id", 1), Map.of("id", 2)));
+        DataSourceManager dataSourceManager = mock(DataSourceManager.class);
+        when(dataSourceManager.getDataSource("orders-db", "tenant-a")).thenReturn(Mono.just(dataSource));
+        DataSourceQueryStep step = new DataSourceQueryStep();
+        Field field = DataSourceQueryStep.class.getDeclaredField("dataSourceManager");
+        field.setAccessible(true);
+        field.set(step, dataSourceManager);
+
+        StepContext context = new StepContext("test-flow", "instance-001", "tenant-a", "DEV", new HashMap<>());
+        context.set("dsId", "orders-db");
+        context.set("dsType", "MYSQL");
+        context.set("queryConfig", Map.of("sql", "SELECT id FROM orders", "resultMode", "stream"));
+
+        StepVerifier.create(step.execute(context))
+                .assertNext(result -> {
+                    assertTrue(result.isSuccess());
+                    assertEquals(true, result.getOutput().get("streaming"));
+                    // Rows are read lazily, when downstream steps subscribe
+                    verify(dataSource, never()).streamQuery(anyMap());
+                    StepVerifier.create((Flux<Map<String, Object>>) result.getOutput().get("rows"))
+                            .expectNext(Map.of("id", 1), Map.of("id", 2))
+                            .verifyComplete();
+                })
+                .verifyComplete();
+
+        verify(dataSourceManager, never()).executeQuery(any(), any(), any(), anyMap());
+    }
+
+    @Test
+    void testMongoPipelineRejectsOperatorsFromTheRequest() throws Exception {
+        DataSource dataSource = mock(DataSource.class);
+        DataSourceManager dataSourceManager = mock(DataSourceManager.class);
+        when(dataSourceManager.getDataSource("orders-db", "tenant-a")).thenReturn(Mono.just(dataSource));
+        DataSourceQueryStep step = new DataSourceQueryStep();
+        Field field = DataSourceQueryStep.class.getDeclaredField("dataSourceManager");
+        field.setAccessible(true);
+        field.set(step, dataSourceManager);
+
+        // The JSON body is copied into the request parameters, so a value can be a document
+        Map<String, Object> request = new HashMap<>(Map.of("name", Map.of("$ne", "")));
+        StepContext context = new StepContext("test-flow", "instance-001", "tenant-a", "DEV", request);
+        context.set("dsId", "orders-db");
+        context.set("dsType", "MONGO");
+        context.set("queryConfig", Map.of("collection", "customers",
+                "pipeline", List.of(Map.of("$match", Map.of("name", "${name}")))));
+
+        StepVerifier.create(step.execute(context))
+                .assertNext(result -> {
+                    assertFalse(result.isSuccess());
+                    assertTrue(result.getErrorMsg().contains("must be a value"));
+                })
+                .verifyComplete();
+
+        verify(dataSourceManager, never()).executeQuery(any(), any(), any(), anyMap());
+    }
+
+    @Test
+    void testRegisteredDataSourceIsOpenedWithTheTypeOfItsDefinition() throws Exception {
+        DataSource dataSource = mock(DataSource.class);
+        Map<String, Object> config = Map.of("host", "db-1");
+        DataSourceConfigResolver resolver = mock(DataSourceConfigResolver.class);
+        when(resolver.resolve("tenant-a", "orders-db", DataSourceType.MYSQL)).thenReturn(Mono.just(
+                new DataSourceDefinition("tenant-a", "orders-db", DataSourceType.POSTGRESQL, "DEV", config)));
+        DataSourceManager dataSourceManager = mock(DataSourceManager.class);
+        when(dataSourceManager.getDataSource("orders-db", "tenant-a")).thenReturn(Mono.empty());
+        when(dataSourceManager.getOrCreateDataSource("orders-db", DataSourceType.POSTGRESQL, config, "tenant-a", "DEV"))
+                .thenReturn(Mono.just(dataSource));
+        when(dataSourceManager.executeQuery(eq("tenant-a"), eq("orders-db"), eq(dataSource), anyMap()))
+                .thenReturn(Mono.just(Map.of("data", List.of())));
+        DataSourceQueryStep step = new DataSourceQueryStep();
+        Field managerField = DataSourceQueryStep.class.getDeclaredField("dataSourceManager");
+        managerField.setAccessible(true);
+        managerField.set(step, dataSourceManager);
+        Field resolverField = DataSourceQueryStep.class.getDeclaredField("dataSourceConfigResolver");
+        resolverField.setAccessible(true);
+        resolverField.set(step, resolver);
+
+        StepContext context = new StepContext("test-flow", "instance-001", "tenant-a", "DEV", new HashMap<>());
+        context.set("dsId", "orders-db");
+        // Stale type in the step configuration
+        context.set("dsType", "MYSQL");
+        context.set("queryConfig", Map.of("sql", "SELECT id FROM orders"));
+
+        StepVerifier.create(step.execute(context))
+                .assertNext(result -> assertTrue(result.isSuccess()))
+                .verifyComplete();
+
+        verify(dataSourceManager).getOrCreateDataSource("orders-db", DataSourceType.POSTGRESQL, config,
+                "tenant-a", "DEV");
+    }
+}
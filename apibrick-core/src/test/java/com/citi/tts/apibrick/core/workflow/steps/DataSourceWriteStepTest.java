@@ -0,0 +1,92 @@
+package com.citi.tts.apibrick.core.workflow.steps;
+
+import com.citi.tts.apibrick.core.datasource.DataSource;
+import com.citi.tts.apibrick.core.datasource.cache.QueryResultCache;
+import com.citi.tts.apibrick.core.datasource.manager.DataSourceManager;
+import com.citi.tts.apibrick.core.workflow.engine.StepContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for DataSourceWriteStep
+ */
+class DataSourceWriteStepTest {
+
+    private final DataSource dataSource = mock(DataSource.class);
+    private final QueryResultCache queryResultCache = mock(QueryResultCache.class);
+    private DataSourceWriteStep step;
+    private StepContext context;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        DataSourceManager dataSourceManager = mock(DataSourceManager.class);
+        when(dataSourceManager.getDataSource("orders-db", "tenant-a")).thenReturn(Mono.just(dataSource));
+        when(queryResultCache.invalidate(anyString(), anyString())).thenReturn(Mono.empty());
+
+        step = new DataSourceWriteStep();
+        inject("dataSourceManager", dataSourceManager);
+        inject("queryResultCache", queryResultCache);
+
+        context = new StepContext("test-flow", "instance-001", "tenant-a", "DEV", new HashMap<>());
+        context.set("dsId", "orders-db");
+        context.set("dsType", "MYSQL");
+        context.set("writeConfig", Map.of(
+                "sql", "INSERT INTO orders (id, status) VALUES (?, ?)",
+                "rows", List.of(List.of(1, "NEW"))));
+    }
+
+    @Test
+    void testSuccessfulWriteInvalidatesCachedResults() {
+        when(dataSource.executeWrite(anyMap())).thenReturn(Mono.just(Map.of("rowsUpdated", 1L)));
+
+        StepVerifier.create(step.execute(context))
+                .assertNext(result -> assertTrue(result.isSuccess()))
+                .verifyComplete();
+
+        verify(queryResultCache).invalidate("tenant-a", "orders-db");
+    }
+
+    @Test
+    void testFailedWriteKeepsCachedResults() {
+        when(dataSource.executeWrite(anyMap()))
+                .thenReturn(Mono.error(new IllegalArgumentException("Table is not writable: orders")));
+
+        StepVerifier.create(step.execute(context))
+                .assertNext(result -> {
+                    assertFalse(result.isSuccess());
+                    assertEquals(DataSourceWriteStep.ERROR_WRITE_REJECTED, result.getErrorCode());
+                })
+                .verifyComplete();
+
+        verify(queryResultCache, never()).invalidate(anyString(), anyString());
+    }
+
+    @Test
+    void testInvalidationErrorDoesNotFailTheWrite() {
+        when(dataSource.executeWrite(anyMap())).thenReturn(Mono.just(Map.of("rowsUpdated", 1L)));
+        when(queryResultCache.invalidate(anyString(), anyString()))
+                .thenReturn(Mono.error(new IllegalStateException("Redis unavailable")));
+
+        StepVerifier.create(step.execute(context))
+                .assertNext(result -> assertTrue(result.isSuccess()))
+                .verifyComplete();
+    }
+
+    private void inject(String name, Object value) throws Exception {
+        Field field = DataSourceWriteStep.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(step, value);
+    }
+}
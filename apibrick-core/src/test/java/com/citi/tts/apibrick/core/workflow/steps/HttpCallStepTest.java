@@ -0,0 +1,161 @@
+package com.citi.tts.apibrick.core.workflow.steps;
+
+import com.citi.tts.apibrick.core.http.HttpCallClient;
+import com.citi.tts.apibrick.core.http.HttpClientProperties;
+import com.citi.tts.apibrick.core.workflow.engine.StepContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.test.StepVerifier;
+
+import java.lang.reflect.Field;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for HttpCallStep against a local reactor-netty stub server
+ */
+class HttpCallStepTest {
+
+    private DisposableServer server;
+    private HttpCallClient client;
+    private HttpCallStep step;
+    private StepContext context;
+    private volatile String lastUri;
+    private volatile String lastAcceptEncoding;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create()
+                .port(0)
+                .compress(true)
+                .route(routes -> routes
+                        .get("/customers/{id}", (request, response) -> {
+                            lastUri = request.uri();
+                            lastAcceptEncoding = request.requestHeaders().get("Accept-Encoding");
+                            return response.header("Content-Type", "application/json")
+                                    .sendString(Mono.just("{\"id\":\"" + request.param("id") + "\",\"tier\":\"GOLD\"}"));
+                        })
+                        .post("/notes", (request, response) -> response.header("Content-Type", "application/json")
+                                .sendString(request.receive().aggregate().asString().map(body ->
+                                        "{\"received\":" + body + ",\"customer\":\""
+                                                + request.requestHeaders().get("X-Customer") + "\"}")))
+                        .get("/slow", (request, response) ->
+                                response.sendString(Mono.delay(Duration.ofSeconds(2)).thenReturn("late")))
+                        .get("/large", (request, response) -> response.sendString(Mono.just("x".repeat(4096))))
+                        .get("/missing", (request, response) -> response.status(404).send()))
+                .bindNow();
+
+        HttpClientProperties properties = new HttpClientProperties();
+        properties.setMaxConnectionsPerHost(4);
+        properties.setMaxResponseBytes(2048);
+        client = new HttpCallClient(properties);
+
+        step = new HttpCallStep();
+        Field field = HttpCallStep.class.getDeclaredField("httpCallClient");
+        field.setAccessible(true);
+        field.set(step, client);
+
+        Map<String, Object> requestParams = new HashMap<>();
+        requestParams.put("customerId", "C 7");
+        context = new StepContext("test-flow", "instance-001", "tenant-001", "DEV", requestParams);
+        context.set("orders.output", Map.of("data", List.of(Map.of("id", 1))));
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+        server.disposeNow();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGetWithTemplatedUrl() {
+        context.set("httpConfig", Map.of("url", baseUrl() + "/customers/${customerId}"));
+
+        StepVerifier.create(step.execute(context))
+                .assertNext(result -> {
+                    assertTrue(result.isSuccess(), result.getErrorMsg());
+                    assertEquals(200, result.getOutput().get("status"));
+                    Map<String, Object> body = (Map<String, Object>) result.getOutput().get("body");
+                    assertEquals("GOLD", body.get("tier"));
+                })
+                .verifyComplete();
+
+        assertEquals("/customers/C%207", lastUri);
+        assertTrue(lastAcceptEncoding.contains("gzip"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testPostJsonBodyAndHeaders() {
+        context.set("httpConfig", Map.of(
+                "method", "POST",
+                "url", baseUrl() + "/notes",
+                "headers", Map.of("X-Customer", "${customerId}"),
+                "body", Map.of("orders", "${orders.output.data}")));
+
+        StepVerifier.create(step.execute(context))
+                .assertNext(result -> {
+                    assertTrue(result.isSuccess(), result.getErrorMsg());
+                    Map<String, Object> body = (Map<String, Object>) result.getOutput().get("body");
+                    assertEquals("C 7", body.get("customer"));
+                    assertEquals(Map.of("orders", List.of(Map.of("id", 1))), body.get("received"));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void testTimeout() {
+        context.set("httpConfig", Map.of("url", baseUrl() + "/slow", "timeoutMillis", 200));
+
+        StepVerifier.create(step.execute(context))
+                .assertNext(result -> assertEquals(HttpCallStep.ERROR_HTTP_TIMEOUT, result.getErrorCode()))
+                .verifyComplete();
+    }
+
+    @Test
+    void testResponseSizeLimit() {
+        context.set("httpConfig", Map.of("url", baseUrl() + "/large"));
+
+        StepVerifier.create(step.execute(context))
+                .assertNext(result -> assertEquals(HttpCallStep.ERROR_HTTP_RESPONSE_TOO_LARGE, result.getErrorCode()))
+                .verifyComplete();
+    }
+
+    @Test
+    void testErrorStatus() {
+        context.set("httpConfig", Map.of("url", baseUrl() + "/missing"));
+        StepVerifier.create(step.execute(context))
+                .assertNext(result -> assertEquals(HttpCallStep.ERROR_HTTP_STATUS, result.getErrorCode()))
+                .verifyComplete();
+
+        context.set("httpConfig", Map.of("url", baseUrl() + "/missing", "failOnErrorStatus", false));
+        StepVerifier.create(step.execute(context))
+                .assertNext(result -> {
+                    assertTrue(result.isSuccess());
+                    assertEquals(404, result.getOutput().get("status"));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void testInvalidUrlIsRejected() {
+        context.set("httpConfig", Map.of("url", "file:///etc/passwd"));
+
+        StepVerifier.create(step.execute(context))
+                .assertNext(result -> assertFalse(result.isSuccess()))
+                .verifyComplete();
+    }
+
+    private String baseUrl() {
+        return "http://localhost:" + server.port();
+    }
+}
@@ -0,0 +1,239 @@
+package com.citi.tts.apibrick.core.workflow.steps;
+
+import com.citi.tts.apibrick.core.kafka.KafkaClusterProperties;
+import com.citi.tts.apibrick.core.kafka.KafkaSenderRegistry;
+import com.citi.tts.apibrick.core.workflow.engine.StepContext;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderOptions;
+import reactor.kafka.sender.SenderRecord;
+import reactor.kafka.sender.SenderResult;
+import reactor.test.StepVerifier;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for KafkaSendStep against a mocked KafkaSender
+ */
+class KafkaSendStepTest {
+
+    private final List<SenderRecord<String, String, Integer>> sent = new ArrayList<>();
+    private final List<SenderOptions<String, String>> createdSenders = new ArrayList<>();
+    private Function<SenderRecord<String, String, Integer>, SenderResult<Integer>> broker;
+    private KafkaSendStep step;
+    private KafkaClusterProperties.Cluster cluster;
+    private StepContext context;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        KafkaSender<String, String> kafkaSender = mock(KafkaSender.class);
+        broker = record -> acked(record, 100 + record.correlationMetadata());
+        when(kafkaSender.send(any())).thenAnswer(invocation ->
+                Flux.from((Publisher<SenderRecord<String, String, Integer>>) invocation.getArgument(0))
+                        .doOnNext(sent::add)
+                        .map(record -> broker.apply(record)));
+
+        step = new KafkaSendStep();
+        useSender(kafkaSender);
+
+        Map<String, Object> requestParams = new HashMap<>();
+        requestParams.put("customerId", "C-7");
+        context = new StepContext("test-flow", "instance-001", "tenant-001", "DEV", requestParams);
+        context.set("save.output", Map.of("rows", List.of(
+                Map.of("orderId", 1, "status", "NEW"),
+                Map.of("orderId", 2, "status", "PAID"))));
+    }
+
+    @Test
+    void testRecordsAreKeyedAndAcknowledged() {
+        context.set("sendConfig", Map.of(
+                "topic", "order-events",
+                "key", "#record['orderId']",
+                "records", "${save.output.rows}"));
+
+        StepVerifier.create(step.execute(context))
+                .assertNext(result -> {
+                    assertTrue(result.isSuccess());
+                    assertEquals(2, result.getOutput().get("sent"));
+                    assertEquals(true, result.getOutput().get("acked"));
+                    assertEquals(List.of(Map.of("partition", 0, "offset", 100L), Map.of("partition", 0, "offset", 101L)),
+                            result.getOutput().get("offsets"));
+                })
+                .verifyComplete();
+
+        assertEquals("1", sent.get(0).key());
+        assertEquals("2", sent.get(1).key());
+        assertEquals("tenant-001.order-events", sent.get(0).topic());
+        assertTrue(sent.get(1).value().contains("\"status\":\"PAID\""));
+    }
+
+    @Test
+    void testSingleValueKeyedFromRequest() {
+        context.set("sendConfig", Map.of(
+                "topic", "customer-events",
+                "key", "#request['customerId']",
+                "value", "viewed ${customerId}"));
+
+        StepVerifier.create(step.execute(context))
+                .assertNext(result -> assertTrue(result.isSuccess()))
+                .verifyComplete();
+
+        assertEquals("C-7", sent.get(0).key());
+        assertEquals("viewed C-7", sent.get(0).value());
+    }
+
+    @Test
+    void testOneSharedSenderPerClusterWithBatchingSettings() {
+        context.set("sendConfig", Map.of("topic", "order-events", "value", "a"));
+        step.execute(context).block();
+        step.execute(context).block();
+
+        assertEquals(1, createdSenders.size());
+        Map<String, Object> producerProperties = createdSenders.get(0).producerProperties();
+        assertEquals(20, producerProperties.get(ProducerConfig.LINGER_MS_CONFIG));
+        assertEquals("broker-1:9092", producerProperties.get(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG));
+    }
+
+    @Test
+    void testFailedRecordFailsAcknowledgedSend() {
+        broker = record -> failed(record, new IllegalStateException("NOT_LEADER_OR_FOLLOWER"));
+        context.set("sendConfig", Map.of("topic", "order-events", "records", "${save.output.rows}"));
+
+        StepVerifier.create(step.execute(context))
+                .assertNext(result -> {
+                    assertFalse(result.isSuccess());
+                    assertEquals(KafkaSendStep.ERROR_KAFKA_SEND_FAILED, result.getErrorCode());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFireAndForgetDoesNotWaitAndIsBounded() {
+        // Broker never acknowledges, so fire-and-forget records stay pending
+        KafkaSender<String, String> silent = mock(KafkaSender.class);
+        when(silent.send(any())).thenReturn(Flux.never());
+        useSender(silent);
+        context.set("sendConfig", Map.of(
+                "topic", "order-events",
+                "ackMode", "FIRE_AND_FORGET",
+                "records", "${save.output.rows}"));
+
+        StepVerifier.create(step.execute(context))
+                .assertNext(result -> {
+                    assertTrue(result.isSuccess());
+                    assertEquals(false, result.getOutput().get("acked"));
+                })
+                .verifyComplete();
+
+        // 2 pending + 2 more exceeds maxPendingRecords = 3
+        StepVerifier.create(step.execute(context))
+                .assertNext(result -> {
+                    assertFalse(result.isSuccess());
+                    assertEquals(KafkaSendStep.ERROR_KAFKA_SEND_FAILED, result.getErrorCode());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void testUnknownClusterOrMissingTopicFails() {
+        context.set("sendConfig", Map.of("cluster", "analytics", "topic", "order-events", "value", "a"));
+        StepVerifier.create(step.execute(context))
+                .assertNext(result -> assertFalse(result.isSuccess()))
+                .verifyComplete();
+
+        context.set("sendConfig", Map.of("value", "a"));
+        StepVerifier.create(step.execute(context))
+                .assertNext(result -> assertFalse(result.isSuccess()))
+                .verifyComplete();
+    }
+
+    @Test
+    void testTopicsAreScopedToTheTenant() {
+        context.set("sendConfig", Map.of("topic", "order-events", "value", "a"));
+        StepVerifier.create(step.execute(context))
+                .assertNext(result -> assertEquals("tenant-001.order-events", result.getOutput().get("topic")))
+                .verifyComplete();
+
+        // A tenant with an allowlist uses exactly the listed topics
+        cluster.getTenantTopics().put("tenant-001", List.of("shared-order-events"));
+        StepVerifier.create(step.execute(context))
+                .assertNext(result -> {
+                    assertFalse(result.isSuccess());
+                    assertTrue(result.getErrorMsg().contains("not allowed for tenant tenant-001"));
+                })
+                .verifyComplete();
+
+        context.set("sendConfig", Map.of("topic", "shared-order-events", "value", "a"));
+        StepVerifier.create(step.execute(context))
+                .assertNext(result -> assertTrue(result.isSuccess()))
+                .verifyComplete();
+
+        assertEquals(List.of("tenant-001.order-events", "shared-order-events"),
+                sent.stream().map(SenderRecord::topic).toList());
+    }
+
+    private void useSender(KafkaSender<String, String> kafkaSender) {
+        cluster = new KafkaClusterProperties.Cluster();
+        cluster.setBootstrapServers("broker-1:9092");
+        cluster.setLingerMs(20);
+        cluster.setMaxPendingRecords(3);
+        KafkaClusterProperties properties = new KafkaClusterProperties();
+        properties.getClusters().put("default", cluster);
+        try {
+            Field field = KafkaSendStep.class.getDeclaredField("kafkaSenderRegistry");
+            field.setAccessible(true);
+            field.set(step, new KafkaSenderRegistry(properties, options -> {
+                createdSenders.add(options);
+                return kafkaSender;
+            }));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static SenderResult<Integer> acked(SenderRecord<String, String, Integer> record, long offset) {
+        RecordMetadata metadata = new RecordMetadata(new TopicPartition(record.topic(), 0), offset, 0, 0L, -1, -1);
+        return result(record, metadata, null);
+    }
+
+    private static SenderResult<Integer> failed(SenderRecord<String, String, Integer> record, Exception error) {
+        return result(record, null, error);
+    }
+
+    private static SenderResult<Integer> result(SenderRecord<String, String, Integer> record,
+                                                RecordMetadata metadata, Exception error) {
+        return new SenderResult<>() {
+            @Override
+            public RecordMetadata recordMetadata() {
+                return metadata;
+            }
+
+            @Override
+            public Exception exception() {
+                return error;
+            }
+
+            @Override
+            public Integer correlationMetadata() {
+                return record.correlationMetadata();
+            }
+        };
+    }
+}
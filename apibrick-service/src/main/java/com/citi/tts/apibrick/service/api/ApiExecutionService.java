@@ -59,14 +59,35 @@ public class ApiExecutionService {
         logger.info("Executing API: apiCode={}, flowCode={}, tenantId={}", 
                    apiDef.getApiCode(), apiDef.getFlowCode(), tenantId);
         
+        return executeFlow(apiDef.getFlowCode(), requestParams, tenantId, env)
+                .doOnSuccess(result -> {
+                    logger.info("API execution completed: apiCode={}, success={}, time={}ms",
+                               apiDef.getApiCode(), result.isSuccess(), result.getExecuteTime());
+                })
+                .doOnError(error -> {
+                    logger.error("API execution failed: apiCode={}", apiDef.getApiCode(), error);
+                });
+    }
+    
+    /**
+     * Execute a flow with the given input
+     * Shared by HTTP APIs and Kafka topic bindings
+     * 
+     * @param flowCode Flow code
+     * @param requestParams Flow input parameters
+     * @param tenantId Tenant ID
+     * @param env Environment
+     * @return Mono<WorkflowResult> execution result
+     */
+    public Mono<WorkflowResult> executeFlow(String flowCode, Map<String, Object> requestParams,
+                                            String tenantId, String env) {
         // Load flow definition
-        return loadFlowDefinition(apiDef.getFlowCode(), tenantId)
+        return loadFlowDefinition(flowCode, tenantId)
                 .flatMap(flowDef -> {
                     // Build execution context
-                    String flowId = apiDef.getFlowCode();
                     String flowInstanceId = UUID.randomUUID().toString();
                     StepContext context = new StepContext(
-                            flowId,
+                            flowCode,
                             flowInstanceId,
                             tenantId,
                             env,
@@ -74,14 +95,7 @@ public class ApiExecutionService {
                     );
                     
                     // Execute workflow
-                    return pipelineEngine.execute(flowId, flowDef, context)
-                            .doOnSuccess(result -> {
-                                logger.info("API execution completed: apiCode={}, success={}, time={}ms",
-                                           apiDef.getApiCode(), result.isSuccess(), result.getExecuteTime());
-                            })
-                            .doOnError(error -> {
-                                logger.error("API execution failed: apiCode={}", apiDef.getApiCode(), error);
-                            });
+                    return pipelineEngine.execute(flowCode, flowDef, context);
                 });
     }
     
@@ -135,6 +149,7 @@ public class ApiExecutionService {
         flowDef.setName(flow.getFlowName());
         flowDef.setDescription(flow.getFlowDesc());
         flowDef.setExecutionMode(FlowDefinition.ExecutionMode.SEQUENTIAL);
+        flowDef.setConnectionMode(flow.getConnectionMode());
         
         // Convert stepList to StepDefinition list
         List<StepDefinition> stepDefinitions = new ArrayList<>();
@@ -0,0 +1,66 @@
+package com.citi.tts.apibrick.service.datasource;
+
+import com.citi.tts.apibrick.core.datasource.manager.DataSourceManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Data Source Warm-Up Runner - Opens the pools of active tenant data sources at startup
+ * <p>
+ * Runs before the application reports ready, so the first requests after a restart find their
+ * pools open and validated. Pools are opened in parallel, at most
+ * apibrick.datasource.warm-up.concurrency (default 8) at a time, for up to
+ * apibrick.datasource.warm-up.timeout-seconds (default 60). Data sources that fail or are not
+ * done in time are opened on first use instead. Disabled with apibrick.datasource.warm-up.enabled=false.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class DataSourceWarmUpRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataSourceWarmUpRunner.class);
+
+    private final TenantDataSourceRegistry registry;
+    private final DataSourceManager dataSourceManager;
+    private final boolean enabled;
+    private final int concurrency;
+    private final Duration timeout;
+
+    public DataSourceWarmUpRunner(TenantDataSourceRegistry registry,
+                                  DataSourceManager dataSourceManager,
+                                  @Value("${apibrick.datasource.warm-up.enabled:true}") boolean enabled,
+                                  @Value("${apibrick.datasource.warm-up.concurrency:8}") int concurrency,
+                                  @Value("${apibrick.datasource.warm-up.timeout-seconds:60}") long timeoutSeconds) {
+        this.registry = registry;
+        this.dataSourceManager = dataSourceManager;
+        this.enabled = enabled;
+        this.concurrency = Math.max(1, concurrency);
+        this.timeout = Duration.ofSeconds(timeoutSeconds);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        long startTime = System.currentTimeMillis();
+        Integer opened = dataSourceManager.warmUp(registry.findActiveDefinitions(), concurrency)
+                .timeout(timeout)
+                .onErrorResume(error -> {
+                    logger.warn("Data source warm-up incomplete, remaining pools open on first use. error={}",
+                            error.toString());
+                    return Mono.empty();
+                })
+                .block();
+        logger.info("Data source warm-up finished. opened={}, durationMs={}",
+                opened != null ? opened : 0, System.currentTimeMillis() - startTime);
+    }
+}
@@ -0,0 +1,210 @@
+package com.citi.tts.apibrick.service.datasource;
+
+import com.citi.tts.apibrick.core.datasource.manager.DataSourceDefinition;
+import com.citi.tts.apibrick.core.datasource.manager.DataSourceDefinitionProvider;
+import com.citi.tts.apibrick.core.datasource.manager.DataSourceManager;
+import com.citi.tts.apibrick.core.encryption.DecryptionService;
+import com.citi.tts.apibrick.service.domain.TenantDataSource;
+import com.citi.tts.apibrick.service.repository.TenantDataSourceRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tenant Data Source Registry - Persistent per-tenant data source definitions
+ * <p>
+ * Definitions are stored in tenant_data_source with encrypted passwords, decrypted with
+ * apibrick.datasource.credential-key (Base64 AES-256 key) when loaded, and kept in memory
+ * per tenant:datasourceId. Active definitions are loaded at startup (see DataSourceWarmUpRunner),
+ * others on first use. Repository calls run on the bounded elastic scheduler.
+ * <p>
+ * Every apibrick.datasource.registry.refresh-seconds (default 60, 0 disables) the active definitions
+ * are read again; cached definitions that were changed, disabled or deleted are invalidated, which
+ * closes their pools, so rotated credentials and edited settings apply without a restart.
+ * <p>
+ * DATASOURCE_QUERY / DATASOURCE_WRITE steps of tenants without a registered definition
+ * keep using the data source configured under database.mysql.
+ */
+@Service
+public class TenantDataSourceRegistry implements DataSourceDefinitionProvider {
+
+    private static final Logger logger = LoggerFactory.getLogger(TenantDataSourceRegistry.class);
+
+    private final TenantDataSourceRepository repository;
+    private final DecryptionService decryptionService;
+    private final DataSourceManager dataSourceManager;
+    private final String credentialKey;
+    private final Duration refreshInterval;
+    private volatile Disposable refresher;
+
+    // Map: tenantId:datasourceId -> definition with decrypted credentials, and the stored values it was built from
+    private final Map<String, Registered> definitions = new ConcurrentHashMap<>();
+
+    public TenantDataSourceRegistry(TenantDataSourceRepository repository,
+                                    DecryptionService decryptionService,
+                                    DataSourceManager dataSourceManager,
+                                    @Value("${apibrick.datasource.credential-key:}") String credentialKey,
+                                    @Value("${apibrick.datasource.registry.refresh-seconds:60}") long refreshSeconds) {
+        this.repository = repository;
+        this.decryptionService = decryptionService;
+        this.dataSourceManager = dataSourceManager;
+        this.credentialKey = credentialKey;
+        this.refreshInterval = Duration.ofSeconds(Math.max(0, refreshSeconds));
+    }
+
+    /**
+     * Start the periodic refresh of the cached definitions
+     */
+    @PostConstruct
+    public void start() {
+        if (refreshInterval.isZero()) {
+            return;
+        }
+        refresher = Flux.interval(refreshInterval, refreshInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> refresh()
+                        .onErrorResume(error -> {
+                            logger.warn("Data source definition refresh failed. error={}", error.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        Disposable current = refresher;
+        if (current != null) {
+            current.dispose();
+        }
+    }
+
+    @Override
+    public Mono<DataSourceDefinition> findDefinition(String tenantId, String datasourceId) {
+        Registered cached = definitions.get(buildKey(tenantId, datasourceId));
+        if (cached != null) {
+            return Mono.just(cached.definition());
+        }
+        return Mono.fromCallable(() -> repository.findByTenantIdAndDatasourceIdAndEnabledTrue(tenantId, datasourceId))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(Mono::justOrEmpty)
+                .map(this::register);
+    }
+
+    /**
+     * Load all active definitions into the registry
+     * Definitions whose credentials cannot be decrypted are logged and skipped.
+     */
+    @Override
+    public Flux<DataSourceDefinition> findActiveDefinitions() {
+        return Mono.fromCallable(repository::findByEnabledTrue)
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapIterable(entities -> entities)
+                .concatMap(entity -> Mono.fromCallable(() -> register(entity))
+                        .onErrorResume(error -> {
+                            logger.warn("Skipped data source definition. tenantId={}, datasourceId={}, error={}",
+                                    entity.getTenantId(), entity.getDatasourceId(), error.getMessage());
+                            return Mono.empty();
+                        }));
+    }
+
+    /**
+     * Invalidate the cached definitions that no longer match their stored, active definition
+     *
+     * @return Mono with the number of invalidated definitions
+     */
+    public Mono<Integer> refresh() {
+        return Mono.fromCallable(repository::findByEnabledTrue)
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(entities -> {
+                    Map<String, List<Object>> stored = new HashMap<>();
+                    for (TenantDataSource entity : entities) {
+                        stored.put(buildKey(entity.getTenantId(), entity.getDatasourceId()), storedValues(entity));
+                    }
+                    int invalidated = 0;
+                    for (Map.Entry<String, Registered> entry : definitions.entrySet()) {
+                        if (!entry.getValue().storedValues().equals(stored.get(entry.getKey()))) {
+                            DataSourceDefinition definition = entry.getValue().definition();
+                            logger.info("Data source definition changed, reopening. tenantId={}, datasourceId={}",
+                                    definition.tenantId(), definition.datasourceId());
+                            invalidate(definition.tenantId(), definition.datasourceId());
+                            invalidated++;
+                        }
+                    }
+                    return invalidated;
+                });
+    }
+
+    /**
+     * Drop a definition after it was changed or disabled, closing its open pool
+     * The next request reloads the definition and opens a new pool.
+     *
+     * @param tenantId     Tenant ID
+     * @param datasourceId Data source ID
+     */
+    public void invalidate(String tenantId, String datasourceId) {
+        definitions.remove(buildKey(tenantId, datasourceId));
+        dataSourceManager.removeDataSource(datasourceId, tenantId);
+    }
+
+    private DataSourceDefinition register(TenantDataSource entity) {
+        DataSourceDefinition definition = toDefinition(entity);
+        definitions.put(buildKey(entity.getTenantId(), entity.getDatasourceId()),
+                new Registered(definition, storedValues(entity)));
+        return definition;
+    }
+
+    // Stored values a definition is built from; update_time is included for changes made elsewhere
+    private static List<Object> storedValues(TenantDataSource entity) {
+        return Arrays.asList(entity.getDsType(), entity.getEnv(), entity.getHost(), entity.getPort(),
+                entity.getDbName(), entity.getUsername(), entity.getEncryptedPassword(), entity.getOptions(),
+                entity.getUpdateTime());
+    }
+
+    private DataSourceDefinition toDefinition(TenantDataSource entity) {
+        Map<String, Object> config = new HashMap<>();
+        if (entity.getOptions() != null) {
+            config.putAll(entity.getOptions());
+        }
+        config.put("host", entity.getHost());
+        if (entity.getPort() != null) {
+            config.put("port", entity.getPort());
+        }
+        config.put("dbName", entity.getDbName());
+        config.put("username", entity.getUsername());
+        config.put("password", decryptPassword(entity));
+        return new DataSourceDefinition(entity.getTenantId(), entity.getDatasourceId(), entity.getDsType(),
+                entity.getEnv(), Collections.unmodifiableMap(config));
+    }
+
+    private String decryptPassword(TenantDataSource entity) {
+        if (entity.getEncryptedPassword() == null || entity.getEncryptedPassword().isEmpty()) {
+            return null;
+        }
+        if (credentialKey == null || credentialKey.isEmpty()) {
+            throw new IllegalStateException("apibrick.datasource.credential-key is not configured");
+        }
+        return decryptionService.decrypt(entity.getEncryptedPassword(), credentialKey);
+    }
+
+    private String buildKey(String tenantId, String datasourceId) {
+        return tenantId + ":" + datasourceId;
+    }
+
+    private record Registered(DataSourceDefinition definition, List<Object> storedValues) {
+    }
+}
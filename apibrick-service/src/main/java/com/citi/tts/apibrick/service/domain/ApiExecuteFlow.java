@@ -1,5 +1,6 @@
 package com.citi.tts.apibrick.service.domain;
 
+import com.citi.tts.apibrick.core.workflow.engine.FlowDefinition;
 import com.citi.tts.apibrick.core.workflow.engine.Step;
 import com.citi.tts.apibrick.service.tool.JsonStringConverter;
 import jakarta.persistence.*;
@@ -60,6 +61,13 @@ public class ApiExecuteFlow {
     @Column(name = "flow_desc")
     private String flowDesc;
 
+    /**
+     * Connection use of the flow's data source queries (PER_QUERY when not set)
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "connection_mode")
+    private FlowDefinition.ConnectionMode connectionMode;
+
     /**
      * Creation time
      */
@@ -0,0 +1,110 @@
+package com.citi.tts.apibrick.service.domain;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.DynamicInsert;
+import org.hibernate.annotations.DynamicUpdate;
+
+import java.time.LocalDateTime;
+
+/**
+ * Binding of a flow to a Kafka topic (every record consumed from the topic executes the flow)
+ */
+@Data
+@Entity
+@Table(name = "flow_topic_binding", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_tenant_flow_topic", columnNames = {"tenant_id", "flow_code", "topic"})
+}, indexes = {
+        @Index(name = "idx_enabled", columnList = "enabled")
+})
+@DynamicInsert
+@DynamicUpdate
+public class FlowTopicBinding {
+    /**
+     * Primary key ID (auto-increment)
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Tenant ID (multi-tenancy isolation)
+     */
+    @Column(name = "tenant_id", nullable = false)
+    private String tenantId;
+
+    /**
+     * Flow executed for each record
+     */
+    @Column(name = "flow_code", nullable = false)
+    private String flowCode;
+
+    /**
+     * Environment (DEV/CTE/PROD)
+     */
+    @Column(name = "env")
+    private String env;
+
+    /**
+     * Kafka cluster name under apibrick.kafka.clusters
+     */
+    @Column(name = "cluster", nullable = false)
+    private String cluster = "default";
+
+    /**
+     * Topic consumed
+     */
+    @Column(name = "topic", nullable = false)
+    private String topic;
+
+    /**
+     * Consumer group, apibrick-{tenantId}-{flowCode} if not set
+     */
+    @Column(name = "consumer_group")
+    private String consumerGroup;
+
+    /**
+     * Records of a partition executed concurrently; records with the same key are always executed in order
+     */
+    @Column(name = "concurrency_per_partition")
+    private Integer concurrencyPerPartition = 1;
+
+    /**
+     * Records received but not yet committed before consumption pauses
+     */
+    @Column(name = "max_in_flight")
+    private Integer maxInFlight = 1000;
+
+    /**
+     * Offsets are committed every commitBatchSize records or commitIntervalMillis, whichever comes first
+     */
+    @Column(name = "commit_batch_size")
+    private Integer commitBatchSize = 100;
+
+    @Column(name = "commit_interval_millis")
+    private Long commitIntervalMillis = 1000L;
+
+    /**
+     * Where a new consumer group starts: latest or earliest
+     */
+    @Column(name = "auto_offset_reset")
+    private String autoOffsetReset = "latest";
+
+    /**
+     * Whether the binding is consumed
+     */
+    @Column(name = "enabled", nullable = false)
+    private Boolean enabled = Boolean.TRUE;
+
+    /**
+     * Creation time
+     */
+    @Column(name = "create_time", nullable = false, updatable = false)
+    private LocalDateTime createTime = LocalDateTime.now();
+
+    /**
+     * Update time
+     */
+    @Column(name = "update_time")
+    private LocalDateTime updateTime = LocalDateTime.now();
+}
@@ -0,0 +1,112 @@
+package com.citi.tts.apibrick.service.domain;
+
+import com.citi.tts.apibrick.common.enums.DataSourceType;
+import com.citi.tts.apibrick.service.tool.JsonStringConverter;
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.DynamicInsert;
+import org.hibernate.annotations.DynamicUpdate;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Tenant data source definition (connection settings registered per tenant)
+ */
+@Data
+@Entity
+@Table(name = "tenant_data_source", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_tenant_datasource", columnNames = {"tenant_id", "datasource_id"})
+}, indexes = {
+        @Index(name = "idx_enabled", columnList = "enabled")
+})
+@DynamicInsert
+@DynamicUpdate
+public class TenantDataSource {
+    /**
+     * Primary key ID (auto-increment)
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Tenant ID (multi-tenancy isolation)
+     */
+    @Column(name = "tenant_id", nullable = false)
+    private String tenantId;
+
+    /**
+     * Data source ID referenced by steps as dsId (e.g., ds_mysql_001)
+     */
+    @Column(name = "datasource_id", nullable = false)
+    private String datasourceId;
+
+    /**
+     * Data source type
+     */
+    @Column(name = "ds_type", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private DataSourceType dsType;
+
+    /**
+     * Environment (DEV/CTE/PROD)
+     */
+    @Column(name = "env")
+    private String env;
+
+    /**
+     * Database host
+     */
+    @Column(name = "host", nullable = false)
+    private String host;
+
+    /**
+     * Database port
+     */
+    @Column(name = "port")
+    private Integer port;
+
+    /**
+     * Database / schema name
+     */
+    @Column(name = "db_name")
+    private String dbName;
+
+    /**
+     * Database user
+     */
+    @Column(name = "username")
+    private String username;
+
+    /**
+     * Database password, AES-256-GCM encrypted with apibrick.datasource.credential-key (Base64)
+     */
+    @Column(name = "encrypted_password", length = 512)
+    private String encryptedPassword;
+
+    /**
+     * Further data source options (JSON format, e.g., pool, resilience, replicas, writableTables)
+     */
+    @Column(name = "options", columnDefinition = "TEXT")
+    @Convert(converter = JsonStringConverter.class)
+    private Map<String, Object> options;
+
+    /**
+     * Whether the data source is active; pools of active data sources are opened at startup
+     */
+    @Column(name = "enabled", nullable = false)
+    private Boolean enabled = Boolean.TRUE;
+
+    /**
+     * Creation time
+     */
+    @Column(name = "create_time", nullable = false, updatable = false)
+    private LocalDateTime createTime = LocalDateTime.now();
+
+    /**
+     * Update time
+     */
+    @Column(name = "update_time")
+    private LocalDateTime updateTime = LocalDateTime.now();
+}
@@ -0,0 +1,201 @@
+package com.citi.tts.apibrick.service.ingest;
+
+import com.citi.tts.apibrick.common.util.JsonUtil;
+import com.citi.tts.apibrick.core.workflow.engine.WorkflowResult;
+import com.citi.tts.apibrick.service.api.ApiExecutionService;
+import com.citi.tts.apibrick.service.domain.FlowTopicBinding;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.kafka.receiver.KafkaReceiver;
+import reactor.kafka.receiver.ReceiverOptions;
+import reactor.kafka.receiver.ReceiverRecord;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Kafka Flow Consumer - Executes a flow for every record of a bound topic
+ * <p>
+ * - Records are grouped by partition and key slot: records of one partition run with up to
+ *   concurrencyPerPartition flows at a time, records with the same key always one after another
+ * - Offsets are acknowledged once the flow completed (successfully or not) and committed in
+ *   batches (commitBatchSize / commitIntervalMillis); an offset is only committed when all
+ *   earlier offsets of its partition are done, so completing out of order never skips records
+ * - Backpressure: records are only polled as flows complete; with maxInFlight records
+ *   uncommitted the consumer pauses
+ * - The record value is the flow input: a JSON object as is, anything else as "payload";
+ *   "kafka" holds topic, partition, offset and key
+ * <p>
+ * Metrics: apibrick.ingest.records (tags tenant, flow, topic, outcome) and
+ * apibrick.ingest.duration per flow execution.
+ */
+public class KafkaFlowConsumer {
+
+    private static final Logger logger = LoggerFactory.getLogger(KafkaFlowConsumer.class);
+
+    private final FlowTopicBinding binding;
+    private final String topic;
+    private final ReceiverOptions<String, String> receiverOptions;
+    private final ApiExecutionService executionService;
+    private final Function<ReceiverOptions<String, String>, KafkaReceiver<String, String>> receiverFactory;
+    private final int concurrency;
+    private volatile Disposable subscription;
+
+    /**
+     * @param binding           Flow topic binding
+     * @param topic             Topic of the binding on the cluster, scoped to the binding's tenant
+     *                          (see KafkaClusterProperties.Cluster#tenantTopic)
+     * @param clusterProperties Client properties of the cluster (bootstrap.servers, security)
+     * @param executionService  Executes the flow
+     */
+    public KafkaFlowConsumer(FlowTopicBinding binding, String topic, Map<String, Object> clusterProperties,
+                             ApiExecutionService executionService) {
+        this(binding, topic, clusterProperties, executionService, KafkaReceiver::create);
+    }
+
+    /**
+     * @param binding           Flow topic binding
+     * @param topic             Topic of the binding on the cluster, scoped to the binding's tenant
+     * @param clusterProperties Client properties of the cluster (bootstrap.servers, security)
+     * @param executionService  Executes the flow
+     * @param receiverFactory   Creates the receiver from its options
+     */
+    public KafkaFlowConsumer(FlowTopicBinding binding, String topic, Map<String, Object> clusterProperties,
+                             ApiExecutionService executionService,
+                             Function<ReceiverOptions<String, String>, KafkaReceiver<String, String>> receiverFactory) {
+        this.binding = binding;
+        this.topic = topic;
+        this.executionService = executionService;
+        this.receiverFactory = receiverFactory;
+        this.concurrency = Math.max(1, valueOrDefault(binding.getConcurrencyPerPartition(), 1));
+
+        Map<String, Object> consumerProperties = new HashMap<>(clusterProperties);
+        consumerProperties.put(ConsumerConfig.GROUP_ID_CONFIG, binding.getConsumerGroup() != null
+                ? binding.getConsumerGroup() : "apibrick-" + binding.getTenantId() + "-" + binding.getFlowCode());
+        consumerProperties.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        consumerProperties.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        consumerProperties.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG,
+                binding.getAutoOffsetReset() != null ? binding.getAutoOffsetReset() : "latest");
+        this.receiverOptions = ReceiverOptions.<String, String>create(consumerProperties)
+                .subscription(List.of(topic))
+                .commitBatchSize(valueOrDefault(binding.getCommitBatchSize(), 100))
+                .commitInterval(Duration.ofMillis(valueOrDefault(binding.getCommitIntervalMillis(), 1000L)))
+                // Out-of-order acknowledgements are committed once the gaps before them are filled
+                .maxDeferredCommits(valueOrDefault(binding.getMaxInFlight(), 1000));
+    }
+
+    /**
+     * Start consuming; the consumer restarts with backoff after failures
+     */
+    public void start() {
+        subscription = receiverFactory.apply(receiverOptions)
+                .receive()
+                .groupBy(record -> new RecordGroup(record.partition(), keySlot(record)))
+                .flatMap(group -> group.concatMap(this::process), Integer.MAX_VALUE)
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                        .maxBackoff(Duration.ofMinutes(1))
+                        .doBeforeRetry(signal -> logger.warn(
+                                "Kafka flow consumer restarting. tenantId={}, flowCode={}, topic={}, error={}",
+                                binding.getTenantId(), binding.getFlowCode(), topic,
+                                signal.failure().toString())))
+                .subscribe();
+        logger.info("Kafka flow consumer started. tenantId={}, flowCode={}, topic={}, concurrencyPerPartition={}",
+                binding.getTenantId(), binding.getFlowCode(), topic, concurrency);
+    }
+
+    /**
+     * Stop consuming; acknowledged offsets are committed when the consumer closes
+     */
+    public void stop() {
+        Disposable current = subscription;
+        if (current != null) {
+            current.dispose();
+        }
+    }
+
+    private Mono<Void> process(ReceiverRecord<String, String> record) {
+        return Mono.defer(() -> {
+                    Timer.Sample sample = Timer.start(Metrics.globalRegistry);
+                    return executionService.executeFlow(binding.getFlowCode(), toFlowInput(record),
+                                    binding.getTenantId(), binding.getEnv())
+                            .map(WorkflowResult::isSuccess)
+                            .defaultIfEmpty(false)
+                            .onErrorResume(error -> {
+                                logger.warn("Flow failed for Kafka record. flowCode={}, topic={}, partition={}, "
+                                                + "offset={}, error={}", binding.getFlowCode(), record.topic(),
+                                        record.partition(), record.offset(), error.toString());
+                                return Mono.just(false);
+                            })
+                            .doOnNext(success -> {
+                                String outcome = success ? "success" : "failure";
+                                sample.stop(Timer.builder("apibrick.ingest.duration")
+                                        .tags("tenant", binding.getTenantId(), "flow", binding.getFlowCode())
+                                        .register(Metrics.globalRegistry));
+                                Metrics.counter("apibrick.ingest.records", "tenant", binding.getTenantId(),
+                                        "flow", binding.getFlowCode(), "topic", record.topic(),
+                                        "outcome", outcome).increment();
+                            });
+                })
+                // Flow loading may block on the repository; keep the receiver thread polling
+                .subscribeOn(Schedulers.boundedElastic())
+                .doOnNext(success -> record.receiverOffset().acknowledge())
+                .then();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> toFlowInput(ReceiverRecord<String, String> record) {
+        Map<String, Object> input = new HashMap<>();
+        String value = record.value();
+        Object parsed = null;
+        if (value != null && value.trim().startsWith("{")) {
+            try {
+                parsed = JsonUtil.parse(value, Map.class);
+            } catch (Exception e) {
+                logger.debug("Kafka record value is not a JSON object, passed as payload: {}", e.getMessage());
+            }
+        }
+        if (parsed instanceof Map) {
+            input.putAll((Map<String, Object>) parsed);
+        } else {
+            input.put("payload", value);
+        }
+        Map<String, Object> kafka = new HashMap<>();
+        kafka.put("topic", record.topic());
+        kafka.put("partition", record.partition());
+        kafka.put("offset", record.offset());
+        kafka.put("key", record.key());
+        input.put("kafka", kafka);
+        return input;
+    }
+
+    /**
+     * Slot of a record within its partition; records with the same key share a slot
+     */
+    private int keySlot(ReceiverRecord<String, String> record) {
+        if (concurrency == 1) {
+            return 0;
+        }
+        return record.key() != null
+                ? Math.floorMod(record.key().hashCode(), concurrency)
+                : (int) (record.offset() % concurrency);
+    }
+
+    private static <T> T valueOrDefault(T value, T defaultValue) {
+        return value != null ? value : defaultValue;
+    }
+
+    private record RecordGroup(int partition, int slot) {
+    }
+}
@@ -0,0 +1,111 @@
+package com.citi.tts.apibrick.service.ingest;
+
+import com.citi.tts.apibrick.core.kafka.KafkaClusterProperties;
+import com.citi.tts.apibrick.service.api.ApiExecutionService;
+import com.citi.tts.apibrick.service.domain.FlowTopicBinding;
+import com.citi.tts.apibrick.service.repository.FlowTopicBindingRepository;
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.clients.CommonClientConfigs;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import reactor.kafka.receiver.KafkaReceiver;
+import reactor.kafka.receiver.ReceiverOptions;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+/**
+ * Kafka Flow Ingestion Service - Consumes the topics flows are bound to
+ * <p>
+ * Each enabled flow_topic_binding gets a KafkaFlowConsumer, started once the application has
+ * started (after the data source warm-up) and stopped on shutdown. Clusters are resolved from
+ * apibrick.kafka.clusters.* (see KafkaClusterProperties); the bound topic is scoped to the binding's
+ * tenant like the topics of KAFKA_SEND steps, and bindings to topics the tenant may not use are
+ * skipped. Disabled with
+ * apibrick.ingest.kafka.enabled=false.
+ */
+@Service
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class KafkaFlowIngestionService implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(KafkaFlowIngestionService.class);
+
+    private final FlowTopicBindingRepository bindingRepository;
+    private final KafkaClusterProperties clusterProperties;
+    private final ApiExecutionService executionService;
+    private final boolean enabled;
+    private final Function<ReceiverOptions<String, String>, KafkaReceiver<String, String>> receiverFactory;
+
+    private final List<KafkaFlowConsumer> consumers = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    public KafkaFlowIngestionService(FlowTopicBindingRepository bindingRepository,
+                                     KafkaClusterProperties clusterProperties,
+                                     ApiExecutionService executionService,
+                                     @Value("${apibrick.ingest.kafka.enabled:true}") boolean enabled) {
+        this(bindingRepository, clusterProperties, executionService, enabled, KafkaReceiver::create);
+    }
+
+    KafkaFlowIngestionService(FlowTopicBindingRepository bindingRepository,
+                              KafkaClusterProperties clusterProperties,
+                              ApiExecutionService executionService,
+                              boolean enabled,
+                              Function<ReceiverOptions<String, String>,
+                                      KafkaReceiver<String, String>> receiverFactory) {
+        this.bindingRepository = bindingRepository;
+        this.clusterProperties = clusterProperties;
+        this.executionService = executionService;
+        this.enabled = enabled;
+        this.receiverFactory = receiverFactory;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        for (FlowTopicBinding binding : bindingRepository.findByEnabledTrue()) {
+            KafkaClusterProperties.Cluster cluster = clusterProperties.getClusters().get(binding.getCluster());
+            if (cluster == null || cluster.getBootstrapServers() == null) {
+                logger.warn("Kafka cluster of flow binding is not configured. tenantId={}, flowCode={}, cluster={}",
+                        binding.getTenantId(), binding.getFlowCode(), binding.getCluster());
+                continue;
+            }
+            String topic;
+            try {
+                topic = cluster.tenantTopic(binding.getTenantId(), binding.getTopic());
+            } catch (IllegalArgumentException e) {
+                logger.warn("Topic of flow binding rejected. tenantId={}, flowCode={}, error={}",
+                        binding.getTenantId(), binding.getFlowCode(), e.getMessage());
+                continue;
+            }
+            Map<String, Object> properties = new HashMap<>(cluster.getProperties());
+            properties.put(CommonClientConfigs.BOOTSTRAP_SERVERS_CONFIG, cluster.getBootstrapServers());
+            KafkaFlowConsumer consumer = new KafkaFlowConsumer(binding, topic, properties, executionService,
+                    receiverFactory);
+            consumer.start();
+            consumers.add(consumer);
+        }
+        logger.info("Kafka flow ingestion started with {} topic bindings", consumers.size());
+    }
+
+    /**
+     * Stop all consumers
+     * Called by the container on shutdown
+     */
+    @PreDestroy
+    public void stop() {
+        consumers.forEach(KafkaFlowConsumer::stop);
+        consumers.clear();
+    }
+}
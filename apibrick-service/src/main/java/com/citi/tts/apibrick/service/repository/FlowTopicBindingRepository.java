@@ -0,0 +1,18 @@
+package com.citi.tts.apibrick.service.repository;
+
+import com.citi.tts.apibrick.service.domain.FlowTopicBinding;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * JPA persistence interface for FlowTopicBinding
+ */
+@Repository
+public interface FlowTopicBindingRepository extends JpaRepository<FlowTopicBinding, Long> {
+    /**
+     * Query all bindings to consume
+     */
+    List<FlowTopicBinding> findByEnabledTrue();
+}
@@ -0,0 +1,24 @@
+package com.citi.tts.apibrick.service.repository;
+
+import com.citi.tts.apibrick.service.domain.TenantDataSource;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * JPA persistence interface for TenantDataSource
+ */
+@Repository
+public interface TenantDataSourceRepository extends JpaRepository<TenantDataSource, Long> {
+    /**
+     * Query all active data sources
+     */
+    List<TenantDataSource> findByEnabledTrue();
+
+    /**
+     * Query an active data source by tenant ID + data source ID
+     */
+    Optional<TenantDataSource> findByTenantIdAndDatasourceIdAndEnabledTrue(String tenantId, String datasourceId);
+}
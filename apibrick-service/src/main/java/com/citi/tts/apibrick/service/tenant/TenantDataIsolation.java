@@ -1,5 +1,6 @@
 package com.citi.tts.apibrick.service.tenant;
 
+import com.citi.tts.apibrick.common.util.TenantKeyUtil;
 import org.springframework.stereotype.Component;
 import reactor.util.context.Context;
 import java.util.Map;
@@ -38,13 +39,7 @@ public class TenantDataIsolation {
      * @return Prefixed key
      */
     public String prefixRedisKey(String key, String tenantId) {
-        if (key == null || key.isEmpty()) {
-            throw new IllegalArgumentException("Redis key cannot be null or empty");
-        }
-        if (tenantId == null || tenantId.isEmpty()) {
-            throw new IllegalArgumentException("Tenant ID cannot be null or empty");
-        }
-        return tenantId + ":" + key;
+        return TenantKeyUtil.prefixRedisKey(key, tenantId);
     }
     
     /**
@@ -54,11 +49,7 @@ public class TenantDataIsolation {
      * @return Tenant ID or null if key is not properly formatted
      */
     public String extractTenantFromKey(String prefixedKey) {
-        if (prefixedKey == null || !prefixedKey.contains(":")) {
-            return null;
-        }
-        int firstColon = prefixedKey.indexOf(':');
-        return prefixedKey.substring(0, firstColon);
+        return TenantKeyUtil.extractTenantFromKey(prefixedKey);
     }
     
     /**
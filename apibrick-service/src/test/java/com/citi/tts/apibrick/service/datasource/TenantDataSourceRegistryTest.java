@@ -0,0 +1,99 @@
+package com.citi.tts.apibrick.service.datasource;
+
+import com.citi.tts.apibrick.common.enums.DataSourceType;
+import com.citi.tts.apibrick.core.datasource.manager.DataSourceManager;
+import com.citi.tts.apibrick.core.encryption.DecryptionService;
+import com.citi.tts.apibrick.service.domain.TenantDataSource;
+import com.citi.tts.apibrick.service.repository.TenantDataSourceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TenantDataSourceRegistry definition caching and refresh
+ */
+class TenantDataSourceRegistryTest {
+
+    private final TenantDataSourceRepository repository = mock(TenantDataSourceRepository.class);
+    private final DecryptionService decryptionService = mock(DecryptionService.class);
+    private final DataSourceManager dataSourceManager = mock(DataSourceManager.class);
+
+    private TenantDataSourceRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        when(decryptionService.decrypt(anyString(), eq("key"))).thenAnswer(invocation ->
+                "plain-" + invocation.getArgument(0));
+        registry = new TenantDataSourceRegistry(repository, decryptionService, dataSourceManager, "key", 0);
+    }
+
+    @Test
+    void testDefinitionIsLoadedOnceWithItsStoredType() {
+        when(repository.findByTenantIdAndDatasourceIdAndEnabledTrue("tenant-a", "orders-db"))
+                .thenReturn(Optional.of(entity("tenant-a", "orders-db", "secret-1")));
+
+        StepVerifier.create(registry.findDefinition("tenant-a", "orders-db"))
+                .assertNext(definition -> {
+                    assertEquals(DataSourceType.POSTGRESQL, definition.type());
+                    assertEquals("plain-secret-1", definition.config().get("password"));
+                })
+                .verifyComplete();
+        StepVerifier.create(registry.findDefinition("tenant-a", "orders-db"))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        verify(repository, times(1)).findByTenantIdAndDatasourceIdAndEnabledTrue("tenant-a", "orders-db");
+    }
+
+    @Test
+    void testRefreshInvalidatesChangedAndDisabledDefinitions() {
+        TenantDataSource orders = entity("tenant-a", "orders-db", "secret-1");
+        TenantDataSource audit = entity("tenant-a", "audit-db", "secret-2");
+        TenantDataSource billing = entity("tenant-b", "billing-db", "secret-3");
+        when(repository.findByEnabledTrue()).thenReturn(List.of(orders, audit, billing));
+        StepVerifier.create(registry.findActiveDefinitions())
+                .expectNextCount(3)
+                .verifyComplete();
+
+        // Rotated password, disabled data source, unchanged data source
+        TenantDataSource rotated = entity("tenant-a", "orders-db", "secret-9");
+        when(repository.findByEnabledTrue()).thenReturn(List.of(rotated, billing));
+
+        StepVerifier.create(registry.refresh())
+                .expectNext(2)
+                .verifyComplete();
+
+        verify(dataSourceManager).removeDataSource("orders-db", "tenant-a");
+        verify(dataSourceManager).removeDataSource("audit-db", "tenant-a");
+        verify(dataSourceManager, never()).removeDataSource("billing-db", "tenant-b");
+
+        // The next use loads the stored definition again
+        when(repository.findByTenantIdAndDatasourceIdAndEnabledTrue("tenant-a", "orders-db"))
+                .thenReturn(Optional.of(rotated));
+        StepVerifier.create(registry.findDefinition("tenant-a", "orders-db"))
+                .assertNext(definition -> assertEquals("plain-secret-9", definition.config().get("password")))
+                .verifyComplete();
+        StepVerifier.create(registry.refresh())
+                .expectNext(0)
+                .verifyComplete();
+    }
+
+    private static TenantDataSource entity(String tenantId, String datasourceId, String encryptedPassword) {
+        TenantDataSource entity = new TenantDataSource();
+        entity.setTenantId(tenantId);
+        entity.setDatasourceId(datasourceId);
+        entity.setDsType(DataSourceType.POSTGRESQL);
+        entity.setHost("db-1");
+        entity.setPort(5432);
+        entity.setDbName("orders");
+        entity.setUsername("app");
+        entity.setEncryptedPassword(encryptedPassword);
+        return entity;
+    }
+}
@@ -0,0 +1,142 @@
+package com.citi.tts.apibrick.service.ingest;
+
+import com.citi.tts.apibrick.core.workflow.engine.WorkflowResult;
+import com.citi.tts.apibrick.service.api.ApiExecutionService;
+import com.citi.tts.apibrick.service.domain.FlowTopicBinding;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.kafka.receiver.KafkaReceiver;
+import reactor.kafka.receiver.ReceiverOffset;
+import reactor.kafka.receiver.ReceiverOptions;
+import reactor.kafka.receiver.ReceiverRecord;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for KafkaFlowConsumer against a mocked KafkaReceiver
+ */
+class KafkaFlowConsumerTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration SLOW = Duration.ofMillis(300);
+    private static final Duration FAST = Duration.ofMillis(10);
+
+    private final ApiExecutionService executionService = mock(ApiExecutionService.class);
+    private final List<Long> completed = new CopyOnWriteArrayList<>();
+    private final List<Long> acknowledged = new CopyOnWriteArrayList<>();
+    private final List<ReceiverOffset> offsets = new CopyOnWriteArrayList<>();
+    private Function<Long, Mono<WorkflowResult>> flow;
+    private ReceiverOptions<String, String> receiverOptions;
+    private KafkaFlowConsumer consumer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        when(executionService.executeFlow(eq("order-ingest"), anyMap(), eq("tenant-a"), any()))
+                .thenAnswer(invocation -> {
+                    Map<String, Object> input = invocation.getArgument(1);
+                    long offset = (long) ((Map<String, Object>) input.get("kafka")).get("offset");
+                    return flow.apply(offset).doOnTerminate(() -> completed.add(offset));
+                });
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (consumer != null) {
+            consumer.stop();
+        }
+    }
+
+    @Test
+    void testSameKeyRecordsRunInOrder() {
+        flow = offset -> succeed(offset == 0 ? SLOW : FAST);
+
+        start(4, record(0, "A"), record(1, "A"), record(2, "B"), record(3, "A"));
+        awaitAcknowledged(4);
+
+        assertEquals(List.of(0L, 1L, 3L), completed.stream().filter(offset -> offset != 2).toList());
+        // Another key is not held up by the slow record
+        assertTrue(completed.indexOf(2L) < completed.indexOf(0L));
+    }
+
+    @Test
+    void testOutOfOrderCompletionIsNotCommittedPastAGap() {
+        flow = offset -> succeed(offset == 0 ? SLOW : FAST);
+
+        start(2, record(0, "A"), record(1, "B"));
+        awaitAcknowledged(2);
+
+        assertEquals(List.of(1L, 0L), acknowledged);
+        // Offsets are only acknowledged; the receiver defers the commit of offset 1 until offset 0 is done
+        assertTrue(receiverOptions.maxDeferredCommits() > 0);
+        offsets.forEach(offset -> verify(offset, never()).commit());
+    }
+
+    @Test
+    void testFailedFlowIsStillAcknowledged() {
+        flow = offset -> switch (offset.intValue()) {
+            case 0 -> Mono.error(new IllegalStateException("flow failed"));
+            case 1 -> Mono.just(WorkflowResult.failure("validation failed", 1, "instance-1"));
+            default -> Mono.empty();
+        };
+
+        start(1, record(0, "A"), record(1, "A"), record(2, "A"));
+        awaitAcknowledged(3);
+
+        assertEquals(List.of(0L, 1L, 2L), acknowledged);
+    }
+
+    @SafeVarargs
+    @SuppressWarnings("unchecked")
+    private void start(int concurrencyPerPartition, ReceiverRecord<String, String>... records) {
+        FlowTopicBinding binding = new FlowTopicBinding();
+        binding.setTenantId("tenant-a");
+        binding.setFlowCode("order-ingest");
+        binding.setEnv("DEV");
+        binding.setTopic("orders");
+        binding.setConcurrencyPerPartition(concurrencyPerPartition);
+
+        KafkaReceiver<String, String> receiver = mock(KafkaReceiver.class);
+        when(receiver.receive()).thenReturn(Flux.fromArray(records).concatWith(Flux.never()));
+        consumer = new KafkaFlowConsumer(binding, "tenant-a.orders", Map.of("bootstrap.servers", "broker-1:9092"), executionService,
+                options -> {
+                    receiverOptions = options;
+                    return receiver;
+                });
+        consumer.start();
+    }
+
+    private ReceiverRecord<String, String> record(long offset, String key) {
+        ReceiverOffset receiverOffset = mock(ReceiverOffset.class);
+        doAnswer(invocation -> acknowledged.add(offset)).when(receiverOffset).acknowledge();
+        offsets.add(receiverOffset);
+        return new ReceiverRecord<>(new ConsumerRecord<>("orders", 0, offset, key, "{\"orderId\": " + offset + "}"),
+                receiverOffset);
+    }
+
+    private static Mono<WorkflowResult> succeed(Duration duration) {
+        return Mono.delay(duration).map(tick -> WorkflowResult.success(Map.of(), duration.toMillis(), "instance-1"));
+    }
+
+    private void awaitAcknowledged(int expected) {
+        long deadline = System.currentTimeMillis() + TIMEOUT.toMillis();
+        while (acknowledged.size() < expected && System.currentTimeMillis() < deadline) {
+            Mono.delay(Duration.ofMillis(10)).block();
+        }
+        assertEquals(expected, acknowledged.size());
+    }
+}
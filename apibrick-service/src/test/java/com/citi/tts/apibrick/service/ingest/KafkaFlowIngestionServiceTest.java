@@ -0,0 +1,100 @@
+package com.citi.tts.apibrick.service.ingest;
+
+import com.citi.tts.apibrick.core.kafka.KafkaClusterProperties;
+import com.citi.tts.apibrick.service.api.ApiExecutionService;
+import com.citi.tts.apibrick.service.domain.FlowTopicBinding;
+import com.citi.tts.apibrick.service.repository.FlowTopicBindingRepository;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.kafka.receiver.KafkaReceiver;
+import reactor.kafka.receiver.ReceiverOptions;
+import reactor.kafka.receiver.ReceiverRecord;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for KafkaFlowIngestionService against mocked KafkaReceivers
+ */
+class KafkaFlowIngestionServiceTest {
+
+    private final FlowTopicBindingRepository bindingRepository = mock(FlowTopicBindingRepository.class);
+    private final KafkaClusterProperties clusterProperties = new KafkaClusterProperties();
+    private final List<ReceiverOptions<String, String>> receivers = new CopyOnWriteArrayList<>();
+    private final AtomicInteger cancelled = new AtomicInteger();
+
+    @Test
+    void testEnabledBindingsOfConfiguredClustersAreConsumed() {
+        KafkaClusterProperties.Cluster cluster = new KafkaClusterProperties.Cluster();
+        cluster.setBootstrapServers("broker-1:9092");
+        cluster.setProperties(Map.of("security.protocol", "SSL"));
+        clusterProperties.setClusters(Map.of("default", cluster));
+        when(bindingRepository.findByEnabledTrue()).thenReturn(List.of(
+                binding("order-ingest", "default"),
+                binding("audit-ingest", "unknown")));
+
+        KafkaFlowIngestionService service = service(true);
+        service.run(null);
+
+        assertEquals(1, receivers.size());
+        ReceiverOptions<String, String> options = receivers.get(0);
+        assertEquals("broker-1:9092", options.bootstrapServers());
+        assertEquals("SSL", options.consumerProperty("security.protocol"));
+        assertEquals("apibrick-tenant-a-order-ingest", options.consumerProperty(ConsumerConfig.GROUP_ID_CONFIG));
+        assertEquals(List.of("tenant-a.orders"), List.copyOf(options.subscriptionTopics()));
+
+        service.stop();
+        assertEquals(1, cancelled.get());
+    }
+
+    @Test
+    void testBindingToTopicOutsideTheTenantAllowlistIsSkipped() {
+        KafkaClusterProperties.Cluster cluster = new KafkaClusterProperties.Cluster();
+        cluster.setBootstrapServers("broker-1:9092");
+        cluster.setTenantTopics(Map.of("tenant-a", List.of("payments")));
+        clusterProperties.setClusters(Map.of("default", cluster));
+        FlowTopicBinding payments = binding("payment-ingest", "default");
+        payments.setTopic("payments");
+        when(bindingRepository.findByEnabledTrue()).thenReturn(List.of(binding("order-ingest", "default"), payments));
+
+        service(true).run(null);
+
+        assertEquals(1, receivers.size());
+        assertEquals(List.of("payments"), List.copyOf(receivers.get(0).subscriptionTopics()));
+    }
+
+    @Test
+    void testDisabledIngestionStartsNoConsumer() {
+        service(false).run(null);
+
+        verifyNoInteractions(bindingRepository);
+        assertTrue(receivers.isEmpty());
+    }
+
+    @SuppressWarnings("unchecked")
+    private KafkaFlowIngestionService service(boolean enabled) {
+        return new KafkaFlowIngestionService(bindingRepository, clusterProperties, mock(ApiExecutionService.class),
+                enabled, options -> {
+                    receivers.add(options);
+                    KafkaReceiver<String, String> receiver = mock(KafkaReceiver.class);
+                    when(receiver.receive()).thenReturn(Flux.<ReceiverRecord<String, String>>never()
+                            .doOnCancel(cancelled::incrementAndGet));
+                    return receiver;
+                });
+    }
+
+    private static FlowTopicBinding binding(String flowCode, String cluster) {
+        FlowTopicBinding binding = new FlowTopicBinding();
+        binding.setTenantId("tenant-a");
+        binding.setFlowCode(flowCode);
+        binding.setCluster(cluster);
+        binding.setTopic("orders");
+        return binding;
+    }
+}